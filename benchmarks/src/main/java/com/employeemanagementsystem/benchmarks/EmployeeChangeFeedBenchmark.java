@@ -0,0 +1,126 @@
+package com.employeemanagementsystem.benchmarks;
+
+import com.employeemanagementsystem.EmployeeChangeDTO;
+import com.employeemanagementsystem.EmployeeChangeFeed;
+import com.employeemanagementsystem.EmployeeChangeLog;
+import com.employeemanagementsystem.EmployeeChangeLog.ChangeRecord;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Fan-out of the SSE change feed: changes appended one by one to the change log, each pushed to
+ * the subscribers of its manager's team (a fifth of them), until every subscriber has been sent
+ * every change. Events per second are subscribers * changes / 5 divided by the score. The streams
+ * are held open by MockMvc, so this is the feed and its sender threads without the network.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeChangeFeedBenchmark {
+
+    private static final int CHANGES = 100;
+    private static final int TEAMS = 5;
+
+    @Param({"100", "2000"})
+    public int subscribers;
+
+    @Param({"1", "4"})
+    public int senders;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+
+    private Path directory;
+    private EmployeeChangeLog changeLog;
+    private EmployeeChangeFeed feed;
+    private List<List<ChangeRecord>> changes;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("employee-change-feed-");
+        changeLog = new EmployeeChangeLog(directory.toString(), DataSize.ofMegabytes(64), Duration.ofDays(7), false,
+                true);
+        feed = new EmployeeChangeFeed(changeLog, objectMapper, new SimpleMeterRegistry(), 256, subscribers,
+                10_000, senders, Duration.ofHours(1));
+        changes = new ArrayList<>(CHANGES);
+        for (int i = 0; i < CHANGES; i++) {
+            EmployeeChangeDTO change = new EmployeeChangeDTO();
+            change.setChangeType(EmployeeChangeDTO.UPDATED);
+            change.setEmployeeId(i);
+            change.setManagerId(101 + i % TEAMS);
+            change.setVersion(1L);
+            change.setName("Employee");
+            changes.add(List.of(new ChangeRecord(i, i, 0, 0, 1_000L + i, objectMapper.writeValueAsBytes(change))));
+        }
+
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new StreamController()).build();
+        for (int i = 0; i < subscribers; i++) {
+            mockMvc.perform(get("/stream").param("managerId", String.valueOf(101 + i % TEAMS)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        feed.stop();
+        changeLog.destroy();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public long fanOut() throws IOException {
+        long delivered = feed.sentEvents() + (long) subscribers * CHANGES / TEAMS;
+        for (List<ChangeRecord> change : changes) {
+            changeLog.append(change);
+        }
+        while (feed.sentEvents() < delivered) {
+            LockSupport.parkNanos(10_000);
+        }
+        return delivered;
+    }
+
+    @RestController
+    class StreamController {
+
+        @GetMapping("/stream")
+        SseEmitter stream(@RequestParam Integer managerId) {
+            return feed.subscribe(managerId, null);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.employeemanagementsystem.benchmarks;
+
+import com.employeemanagementsystem.EmployeeChangeLog;
+import com.employeemanagementsystem.EmployeeChangeLog.ChangeRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The change log on local disk: appending records in relay-sized batches into an empty log, with
+ * and without fsync, and reading a page of records by offset as GET /employees/changes does.
+ * Records per second are records divided by the append score.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeChangeLogBenchmark {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int PAGE_SIZE = 1_000;
+    private static final DataSize SEGMENT_SIZE = DataSize.ofMegabytes(64);
+
+    @Param({"200000"})
+    public int records;
+
+    private List<List<ChangeRecord>> batches;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        batches = new ArrayList<>();
+        for (int from = 0; from < records; from += BATCH_SIZE) {
+            List<ChangeRecord> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = from; i < Math.min(from + BATCH_SIZE, records); i++) {
+                String payload = "{\"changeType\":\"UPDATED\",\"employeeId\":" + i % 100_000
+                        + ",\"managerId\":101,\"version\":3,\"name\":\"Employee\",\"salary\":" + (50_000 + i) + "}";
+                batch.add(new ChangeRecord(i, i % 100_000, 0, i, 1_000L + i, payload.getBytes(StandardCharsets.UTF_8)));
+            }
+            batches.add(batch);
+        }
+    }
+
+    // A fresh, empty log for every append run; only append depends on fsync
+    @State(Scope.Benchmark)
+    public static class Empty {
+
+        @Param({"false", "true"})
+        public boolean fsync;
+
+        private Path directory;
+        private EmployeeChangeLog log;
+
+        @Setup(Level.Invocation)
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("employee-change-log-");
+            log = open(directory, fsync);
+        }
+
+        @TearDown(Level.Invocation)
+        public void tearDown() throws IOException {
+            log.destroy();
+            FileSystemUtils.deleteRecursively(directory);
+        }
+    }
+
+    // The whole data set appended once; reads walk through it page by page
+    @State(Scope.Benchmark)
+    public static class Filled {
+
+        private Path directory;
+        private EmployeeChangeLog log;
+        private long offset;
+
+        @Setup(Level.Trial)
+        public void setUp(EmployeeChangeLogBenchmark benchmark) throws IOException {
+            directory = Files.createTempDirectory("employee-change-log-");
+            log = open(directory, false);
+            for (List<ChangeRecord> batch : benchmark.batches) {
+                log.append(batch);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            log.destroy();
+            FileSystemUtils.deleteRecursively(directory);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 5)
+    public long append(Empty empty) throws IOException {
+        for (List<ChangeRecord> batch : batches) {
+            empty.log.append(batch);
+        }
+        return empty.log.endOffset();
+    }
+
+    @Benchmark
+    public List<ChangeRecord> read(Filled filled) throws IOException {
+        List<ChangeRecord> page = filled.log.read(filled.offset, PAGE_SIZE);
+        filled.offset = (filled.offset + PAGE_SIZE) % records;
+        return page;
+    }
+
+    private static EmployeeChangeLog open(Path directory, boolean fsync) throws IOException {
+        return new EmployeeChangeLog(directory.toString(), SEGMENT_SIZE, Duration.ofDays(7), fsync, true);
+    }
+}
@@ -0,0 +1,136 @@
+package com.employeemanagementsystem.benchmarks;
+
+import com.employeemanagementsystem.EmployeeManagementSystemApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The application without a web server, on an in-memory H2 database in Oracle mode migrated by
+ * Flyway, for the benchmarks of paths that read the tables. Scheduled jobs, the outbox relay and
+ * the startup loads are off, and the change log and warm-start snapshot go to a temporary
+ * directory; each benchmark calls what it measures. Seeded with INSERT ... SELECT, so a million
+ * employees take seconds rather than minutes.
+ */
+final class EmployeeDatabase implements AutoCloseable {
+
+    private static final int SEED_CHUNK = 20_000;
+
+    private final ConfigurableApplicationContext context;
+    private final Path directory;
+
+    private EmployeeDatabase(ConfigurableApplicationContext context, Path directory) {
+        this.context = context;
+        this.directory = directory;
+    }
+
+    // Later properties override the defaults below, e.g. "employee.payroll.parallelism=8"
+    static EmployeeDatabase start(String name, String... properties) {
+        Path directory;
+        try {
+            directory = Files.createTempDirectory("employee-benchmark-");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        List<String> all = new ArrayList<>(List.of(
+                "spring.main.banner-mode=off",
+                "logging.level.root=WARN",
+                "spring.datasource.url=jdbc:h2:mem:" + name + ";MODE=Oracle;DB_CLOSE_DELAY=-1",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "employee.outbox.relay-enabled=false",
+                "employee.warm-start.load-on-startup=false",
+                "employee.lookup.load-on-startup=false",
+                "employee.org-chart.load-on-startup=false",
+                "employee.salary-stats.load-on-startup=false",
+                "employee.payroll.snapshot-cron=-",
+                "employee.salary-stats.reconcile-cron=-",
+                "employee.sync.tombstone-purge-cron=-",
+                "employee.change-log.maintenance-cron=-",
+                "employee.notifier.taxable-cron=-",
+                "employee.notifier.missing-voter-id-cron=-",
+                "employee.notification.sink=memory",
+                "employee.change-log.dir=" + directory.resolve("change-log"),
+                "employee.warm-start.file=" + directory.resolve("warm-start/employees.snapshot")));
+        all.addAll(List.of(properties));
+        // As command line arguments, since default properties would lose to application.properties
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(EmployeeManagementSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(all.stream().map(property -> "--" + property).toArray(String[]::new));
+        return new EmployeeDatabase(context, directory);
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    DataSource dataSource() {
+        return context.getBean(DataSource.class);
+    }
+
+    Path directory() {
+        return directory;
+    }
+
+    // Employees 1..employees with one phone each and a voter ID for all but one in a thousand. Names
+    // start with A..Z, managers are 101..105, DOBs spread over ~40 years and salaries over 10000..200000
+    void seed(int employees) {
+        seed(employees, true);
+    }
+
+    // The employee rows of seed() alone, for jobs that read nothing else
+    void seedEmployees(int employees) {
+        seed(employees, false);
+    }
+
+    private void seed(int employees, boolean withDetails) {
+        for (int from = 1; from <= employees; from += SEED_CHUNK) {
+            String range = "SYSTEM_RANGE(" + from + ", " + Math.min(from + SEED_CHUNK - 1, employees) + ")";
+            execute("INSERT INTO employee (EMPLOYEE_ID, EMP_NAME, DOB, MANAGER_ID, SALARY, EMAIL_ID, CREATED_DATETIME) "
+                    + "SELECT X, CHAR(65 + MOD(X, 26)) || 'mployee', DATE '1960-01-01' + MOD(X, 15000), 101 + MOD(X, 5), "
+                    + "10000 + MOD(X * 7919, 190000), 'employee' || X || '@example.com', CURRENT_TIMESTAMP FROM " + range);
+            if (!withDetails) {
+                continue;
+            }
+            execute("INSERT INTO phone_number (PHONE_ID, EMPLOYEE_ID, PHONE_NUMBER, PROVIDER, TYPE) "
+                    + "SELECT X, X, '9' || LPAD(X, 9, '0'), CASE MOD(X, 3) WHEN 0 THEN 'Jio' WHEN 1 THEN 'Airtel' ELSE 'Vi' END, 'MOBILE' "
+                    + "FROM " + range);
+            execute("INSERT INTO VoterID (VOTER_ID, EMPLOYEE_ID, VOTER_NUMBER, CITY) "
+                    + "SELECT X, X, 'VOTER' || X, CASE MOD(X, 4) WHEN 0 THEN 'Pune' WHEN 1 THEN 'Mumbai' WHEN 2 THEN 'Delhi' ELSE 'Chennai' END "
+                    + "FROM " + range + " WHERE MOD(X, 1000) <> 0");
+        }
+        execute("ANALYZE");
+    }
+
+    void execute(String sql) {
+        try (Connection connection = dataSource().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to execute " + sql, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        context.close();
+        try {
+            FileSystemUtils.deleteRecursively(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
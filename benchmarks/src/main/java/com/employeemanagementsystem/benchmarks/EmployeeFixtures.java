@@ -0,0 +1,93 @@
+package com.employeemanagementsystem.benchmarks;
+
+import com.employeemanagementsystem.Employee;
+import com.employeemanagementsystem.EmployeeDTO;
+import com.employeemanagementsystem.PhoneNumber;
+import com.employeemanagementsystem.PhoneNumberDTO;
+import com.employeemanagementsystem.VoterID;
+import com.employeemanagementsystem.VoterIDDTO;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic, fully populated employees for the benchmarks.
+ */
+final class EmployeeFixtures {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2023, 7, 1, 9, 30);
+
+    private EmployeeFixtures() {
+    }
+
+    // A detached entity shaped like one loaded by findByIdWithDetails
+    static Employee employee(int employeeId, int phoneCount) {
+        Employee employee = new Employee();
+        employee.setEmployeeId(employeeId);
+        employee.setName("Employee" + letters(employeeId));
+        employee.setDob(LocalDate.of(1990, 1, 1).plusDays(employeeId % 3650));
+        employee.setManagerId(101 + employeeId % 5);
+        employee.setSalary(BigDecimal.valueOf(50000 + employeeId % 50000, 2));
+        employee.setEmailId("employee" + employeeId + "@example.com");
+        employee.setCreatedDateTime(CREATED);
+        employee.setUpdatedDateTime(CREATED);
+
+        VoterID voterID = new VoterID();
+        voterID.setVoterId(employeeId);
+        voterID.setEmployeeId(employeeId);
+        voterID.setVoterNumber("VTR" + employeeId);
+        voterID.setCity("Bhubaneswar");
+        employee.setVoterID(voterID);
+
+        for (int i = 0; i < phoneCount; i++) {
+            PhoneNumber phoneNumber = new PhoneNumber();
+            phoneNumber.setPhoneId(employeeId * 1000 + i);
+            phoneNumber.setPhoneNumber(String.valueOf(9000000000L + employeeId * 1000L + i));
+            phoneNumber.setProvider(i % 2 == 0 ? "Airtel" : "Jio");
+            phoneNumber.setType(i % 2 == 0 ? "mobile" : "home");
+            phoneNumber.setEmployee(employee); // also adds it to employee.getPhoneNumbers()
+        }
+        return employee;
+    }
+
+    static EmployeeDTO employeeDTO(int employeeId, int phoneCount) {
+        EmployeeDTO employeeDTO = new EmployeeDTO();
+        employeeDTO.setEmployeeId(employeeId);
+        employeeDTO.setName("Employee" + letters(employeeId));
+        employeeDTO.setDob(LocalDate.of(1990, 1, 1).plusDays(employeeId % 3650));
+        employeeDTO.setManagerId(101 + employeeId % 5);
+        employeeDTO.setSalary(BigDecimal.valueOf(50000 + employeeId % 50000, 2));
+        employeeDTO.setEmailId("employee" + employeeId + "@example.com");
+        employeeDTO.setCreatedDateTime(CREATED);
+        employeeDTO.setUpdatedDateTime(CREATED);
+        employeeDTO.setVoterID(new VoterIDDTO(employeeId, employeeId, "VTR" + employeeId, "Bhubaneswar"));
+        employeeDTO.setPhoneNumbers(phoneNumberDTOs(employeeId, phoneCount));
+        return employeeDTO;
+    }
+
+    static List<PhoneNumberDTO> phoneNumberDTOs(int employeeId, int phoneCount) {
+        List<PhoneNumberDTO> phoneNumberDTOs = new ArrayList<>(phoneCount);
+        for (int i = 0; i < phoneCount; i++) {
+            PhoneNumberDTO phoneNumberDTO = new PhoneNumberDTO();
+            phoneNumberDTO.setPhoneId(employeeId * 1000 + i);
+            phoneNumberDTO.setPhoneNumber(String.valueOf(9000000000L + employeeId * 1000L + i));
+            phoneNumberDTO.setProvider(i % 2 == 0 ? "Airtel" : "Jio");
+            phoneNumberDTO.setType(i % 2 == 0 ? "mobile" : "home");
+            phoneNumberDTOs.add(phoneNumberDTO);
+        }
+        return phoneNumberDTOs;
+    }
+
+    // Employee.name only accepts letters, so encode the id as a-j digits
+    private static String letters(int value) {
+        String digits = Integer.toString(value);
+        StringBuilder letters = new StringBuilder(digits.length());
+        for (int i = 0; i < digits.length(); i++) {
+            letters.append((char) ('a' + digits.charAt(i) - '0'));
+        }
+        return letters.toString();
+    }
+}
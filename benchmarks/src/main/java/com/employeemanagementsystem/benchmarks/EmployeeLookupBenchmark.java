@@ -0,0 +1,82 @@
+package com.employeemanagementsystem.benchmarks;
+
+import com.employeemanagementsystem.EmployeeLookupIndex;
+import com.employeemanagementsystem.EmployeeLookupResultDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Top-k queries of GET /employees/lookup against the in-memory index: short word prefixes, full
+ * names, email local parts, phone digits, a substring and a miss. load builds the whole index,
+ * as EmployeeLookupLoader does at startup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeLookupBenchmark {
+
+    private static final int LIMIT = 20;
+    private static final String[] FIRST_NAMES = {"Aarav", "Priya", "Rohan", "Ananya", "Vikram", "Meera", "Kabir",
+            "Sneha", "Arjun", "Divya", "Nikhil", "Pooja", "Rahul", "Kavya", "Siddharth", "Isha"};
+    private static final String[] LAST_NAMES = {"Sharma", "Patel", "Iyer", "Reddy", "Nair", "Gupta", "Mehta",
+            "Das", "Kulkarni", "Joshi", "Menon", "Rao", "Bose", "Verma", "Singh", "Chopra", "Pillai"};
+
+    @Param({"100000", "1000000"})
+    public int employees;
+
+    // Only lookup runs once per query; load does not depend on it
+    @State(Scope.Benchmark)
+    public static class Loaded {
+
+        @Param({"pr", "kulkarni", "vikram nair", "employee.12", "9000012", "ooja", "xyzzy"})
+        public String query;
+
+        private EmployeeLookupIndex index;
+
+        @Setup(Level.Trial)
+        public void setUp(EmployeeLookupBenchmark benchmark) {
+            index = load(benchmark.employees);
+        }
+    }
+
+    @Benchmark
+    public List<EmployeeLookupResultDTO> lookup(Loaded loaded) {
+        return loaded.index.lookup(loaded.query, LIMIT);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public EmployeeLookupIndex load() {
+        return load(employees);
+    }
+
+    private static EmployeeLookupIndex load(int employees) {
+        EmployeeLookupIndex index = new EmployeeLookupIndex();
+        for (int id = 1; id <= employees; id++) {
+            index.index(id, FIRST_NAMES[id % FIRST_NAMES.length] + " "
+                            + LAST_NAMES[(id / FIRST_NAMES.length) % LAST_NAMES.length],
+                    "employee." + id + "@example.com", List.of(String.format("+91-9%09d", id)));
+        }
+        index.compact();
+        return index;
+    }
+}
@@ -0,0 +1,68 @@
+package com.employeemanagementsystem.benchmarks;
+
+import com.employeemanagementsystem.Employee;
+import com.employeemanagementsystem.EmployeeDTO;
+import com.employeemanagementsystem.EmployeeMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity/DTO mapping for a whole team, as done by GET /managers/{managerId} and POST /create.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeMappingBenchmark {
+
+    private static final int PHONES_PER_EMPLOYEE = 2;
+
+    @Param({"1", "100", "10000"})
+    public int teamSize;
+
+    private List<Employee> team;
+    private List<EmployeeDTO> teamDTOs;
+
+    @Setup
+    public void setUp() {
+        team = new ArrayList<>(teamSize);
+        teamDTOs = new ArrayList<>(teamSize);
+        for (int i = 1; i <= teamSize; i++) {
+            team.add(EmployeeFixtures.employee(i, PHONES_PER_EMPLOYEE));
+            teamDTOs.add(EmployeeFixtures.employeeDTO(i, PHONES_PER_EMPLOYEE));
+        }
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> entityToDTO() {
+        List<EmployeeDTO> employeeDTOs = new ArrayList<>(team.size());
+        for (Employee employee : team) {
+            employeeDTOs.add(EmployeeMapper.convertToDTO(employee));
+        }
+        return employeeDTOs;
+    }
+
+    @Benchmark
+    public List<Employee> dtoToEntity() {
+        List<Employee> employees = new ArrayList<>(teamDTOs.size());
+        for (EmployeeDTO employeeDTO : teamDTOs) {
+            employees.add(EmployeeMapper.toEntity(employeeDTO));
+        }
+        return employees;
+    }
+}
@@ -0,0 +1,90 @@
+package com.employeemanagementsystem.benchmarks;
+
+import com.employeemanagementsystem.EmployeeOrgChart;
+import com.employeemanagementsystem.EmployeeReportsDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The in-memory org chart on a ten-way tree: a full rebuild as at startup, the whole organisation
+ * under the root, a direct team, the chain of command of a leaf and a manager change that moves a
+ * subtree. The memory footprint is in EmployeeOrgChart.stats(); the test asserts it per employee.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeOrgChartBenchmark {
+
+    private static final int FAN_OUT = 10;
+
+    @Param({"100000", "1000000"})
+    public int employees;
+
+    private int[] employeeIds;
+    private int[] managerIds;
+    private EmployeeOrgChart orgChart;
+    private boolean moved;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        employeeIds = new int[employees];
+        managerIds = new int[employees];
+        for (int i = 0; i < employees; i++) {
+            employeeIds[i] = i + 1;
+            managerIds[i] = i == 0 ? EmployeeOrgChart.NO_MANAGER : i / FAN_OUT + 1;
+        }
+        orgChart = new EmployeeOrgChart();
+        orgChart.rebuild(employeeIds, managerIds, employees);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public EmployeeOrgChart rebuild() {
+        EmployeeOrgChart rebuilt = new EmployeeOrgChart();
+        rebuilt.rebuild(employeeIds, managerIds, employees);
+        return rebuilt;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public EmployeeReportsDTO allReports() {
+        return orgChart.reports(1, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public EmployeeReportsDTO directReports() {
+        return orgChart.reports(2, 1);
+    }
+
+    @Benchmark
+    public List<Integer> chainOfCommand() {
+        return orgChart.chainOfCommand(employees);
+    }
+
+    // Employee 3 and its team move to employee 2 and back on alternate calls, so the tree stays the same
+    @Benchmark
+    public EmployeeOrgChart move() {
+        orgChart.put(3, moved ? 1 : 2);
+        moved = !moved;
+        return orgChart;
+    }
+}
@@ -0,0 +1,67 @@
+package com.employeemanagementsystem.benchmarks;
+
+import com.employeemanagementsystem.EmployeeOutboxRelay;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The outbox relay draining a backlog of events into the change log, batch by batch, each batch
+ * read, appended with fsync and deleted in one transaction. Events per second are events divided
+ * by the score.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeOutboxRelayBenchmark {
+
+    @Param({"20000"})
+    public int events;
+
+    @Param({"100", "500", "2000"})
+    public int batchSize;
+
+    private EmployeeDatabase database;
+    private EmployeeOutboxRelay relay;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = EmployeeDatabase.start("outbox", "employee.outbox.batch-size=" + batchSize);
+        relay = database.bean(EmployeeOutboxRelay.class);
+    }
+
+    // The backlog the relay finds after a burst of creates
+    @Setup(Level.Invocation)
+    public void fillOutbox() {
+        database.execute("INSERT INTO employee_outbox (EVENT_ID, EMPLOYEE_ID, CHANGE_TYPE, CREATED_DATETIME, PAYLOAD) "
+                + "SELECT employee_outbox_seq.NEXTVAL, X, 'CREATED', CURRENT_TIMESTAMP, "
+                + "'{\"changeType\":\"CREATED\",\"employeeId\":' || X || ',\"managerId\":' || (101 + MOD(X, 5)) "
+                + "|| ',\"version\":0,\"changedDateTime\":\"2024-01-01T00:00:00\",\"name\":\"Employee\",\"dob\":\"1990-01-01\","
+                + "\"salary\":50000.00,\"emailId\":\"employee' || X || '@example.com\"}' FROM SYSTEM_RANGE(1, " + events + ")");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public int relay() {
+        return relay.relay();
+    }
+}
@@ -0,0 +1,95 @@
+package com.employeemanagementsystem.benchmarks;
+
+import com.employeemanagementsystem.Employee;
+import com.employeemanagementsystem.EmployeeDTO;
+import com.employeemanagementsystem.EmployeeRepository;
+import com.employeemanagementsystem.EmployeeSearchCriteria;
+import com.employeemanagementsystem.EmployeeSpecifications;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A page and the total count of GET /employees/search for three typical filters: manager and
+ * salary (both indexed), city and provider (EXISTS on the child tables) and a name prefix.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeSearchBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"100000"})
+    public int employees;
+
+    @Param({"managerAndSalary", "cityAndProvider", "namePrefix"})
+    public String filter;
+
+    private EmployeeDatabase database;
+    private EmployeeRepository employeeRepository;
+    private Specification<Employee> specification;
+    private Sort sort;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = EmployeeDatabase.start("search", "employee.jpa-cache.enabled=false");
+        database.seed(employees);
+        employeeRepository = database.bean(EmployeeRepository.class);
+
+        EmployeeSearchCriteria criteria = new EmployeeSearchCriteria();
+        switch (filter) {
+            case "managerAndSalary" -> {
+                criteria.setManagerId(101);
+                criteria.setMinSalary(new BigDecimal("100000"));
+                sort = Sort.by(Sort.Direction.DESC, "salary").and(Sort.by("employeeId"));
+            }
+            case "cityAndProvider" -> {
+                criteria.setCity("Delhi");
+                criteria.setProvider("Airtel");
+                sort = Sort.by("employeeId");
+            }
+            case "namePrefix" -> {
+                criteria.setName("Q");
+                sort = Sort.by("name").and(Sort.by("employeeId"));
+            }
+            default -> throw new IllegalArgumentException("Unknown filter: " + filter);
+        }
+        specification = EmployeeSpecifications.matching(criteria);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    // One row more than the page, as the service fetches to tell whether there is a next page
+    @Benchmark
+    public List<EmployeeDTO> page() {
+        return employeeRepository.searchDTOs(specification, sort, 0, PAGE_SIZE + 1);
+    }
+
+    @Benchmark
+    public long count() {
+        return employeeRepository.count(specification);
+    }
+}
@@ -0,0 +1,62 @@
+package com.employeemanagementsystem.benchmarks;
+
+import com.employeemanagementsystem.Employee;
+import com.employeemanagementsystem.EmployeeDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of the response DTO against the JPA entity it is mapped from.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeSerializationBenchmark {
+
+    @Param({"2", "50"})
+    public int phoneCount;
+
+    private ObjectWriter writer;
+    private Employee employee;
+    private EmployeeDTO employeeDTO;
+
+    @Setup
+    public void setUp() {
+        // Same date handling as the ObjectMapper Spring Boot auto-configures
+        writer = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writer();
+        employee = EmployeeFixtures.employee(1, phoneCount);
+        employeeDTO = EmployeeFixtures.employeeDTO(1, phoneCount);
+    }
+
+    @Benchmark
+    public byte[] serializeDTO() throws JsonProcessingException {
+        return writer.writeValueAsBytes(employeeDTO);
+    }
+
+    @Benchmark
+    public byte[] serializeEntity() throws JsonProcessingException {
+        return writer.writeValueAsBytes(employee);
+    }
+}
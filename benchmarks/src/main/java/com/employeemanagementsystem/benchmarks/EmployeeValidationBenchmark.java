@@ -0,0 +1,68 @@
+package com.employeemanagementsystem.benchmarks;
+
+import com.employeemanagementsystem.Employee;
+import com.employeemanagementsystem.EmployeeDTO;
+import com.employeemanagementsystem.PhoneNumber;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean Validation of an incoming employee: the DTO check done by POST /create and the
+ * entity plus phone checks done per row by POST /bulk.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private EmployeeDTO employeeDTO;
+    private Employee employee;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        employeeDTO = EmployeeFixtures.employeeDTO(1, 2);
+        employee = EmployeeFixtures.employee(1, 2);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<EmployeeDTO>> validateDTO() {
+        return validator.validate(employeeDTO);
+    }
+
+    @Benchmark
+    public void validateEntityWithPhones(Blackhole blackhole) {
+        blackhole.consume(validator.validate(employee));
+        for (PhoneNumber phoneNumber : employee.getPhoneNumbers()) {
+            blackhole.consume(validator.validate(phoneNumber));
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.employeemanagementsystem.benchmarks;
+
+import com.employeemanagementsystem.EmployeeCache;
+import com.employeemanagementsystem.EmployeeRepository;
+import com.employeemanagementsystem.EmployeeService;
+import com.employeemanagementsystem.EmployeeSyncService;
+import com.employeemanagementsystem.EmployeeTombstoneRepository;
+import com.employeemanagementsystem.EmployeeWarmStartSnapshot;
+import com.employeemanagementsystem.PhoneNumberRepository;
+import com.employeemanagementsystem.VoterIDRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The warm-start snapshot: writing it, loading it into empty caches (decode, catch-up through the
+ * sync queries and fill), and the first lookups after a start, served by the database (cold) or
+ * from the caches the snapshot filled (warm). Each run gets caches of its own, sized to hold every
+ * employee, as a freshly started instance has. H2 runs the phone and voter ID IN-list queries of
+ * write and of the cold lookups as scans, so those grow faster with employees here than on Oracle.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeWarmStartBenchmark {
+
+    private static final int LOOKUPS = 2_000;
+
+    @Param({"20000"})
+    public int employees;
+
+    private EmployeeDatabase database;
+    private EmployeeWarmStartSnapshot snapshot;
+    private int[] lookupIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        database = EmployeeDatabase.start("warmstart", "employee.jpa-cache.enabled=false",
+                "employee.sync.overlap=0s");
+        database.seed(employees);
+        snapshot = database.bean(EmployeeWarmStartSnapshot.class);
+        snapshot.write();
+        Random random = new Random(42);
+        lookupIds = random.ints(LOOKUPS, 1, employees + 1).toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    // A started instance: caches left empty (cold) or prefilled from the snapshot (warm)
+    @State(Scope.Benchmark)
+    public static class Started {
+
+        @Param({"cold", "warm"})
+        public String start;
+
+        private EmployeeService employeeService;
+
+        @Setup(Level.Invocation)
+        public void setUp(EmployeeWarmStartBenchmark benchmark) {
+            EmployeeCache cache = benchmark.cache();
+            employeeService = benchmark.employeeService(cache);
+            if (start.equals("warm") && !benchmark.snapshot(cache, employeeService).load()) {
+                throw new IllegalStateException("The warm-start snapshot did not load");
+            }
+        }
+    }
+
+    @Benchmark
+    public int write() throws IOException {
+        return snapshot.write();
+    }
+
+    @Benchmark
+    public boolean load() {
+        EmployeeCache cache = cache();
+        return snapshot(cache, employeeService(cache)).load();
+    }
+
+    @Benchmark
+    public int firstLookups(Started started) {
+        int found = 0;
+        for (int id : lookupIds) {
+            found += started.employeeService.getEmployeeDTO(id).isPresent() ? 1 : 0;
+        }
+        return found;
+    }
+
+    private EmployeeCache cache() {
+        return new EmployeeCache(employees, Duration.ofMinutes(10), employees);
+    }
+
+    // Wired by hand, as the tests do, so that every run has caches of its own
+    private EmployeeService employeeService(EmployeeCache cache) {
+        EmployeeService employeeService = new EmployeeService(database.bean(EmployeeRepository.class));
+        ReflectionTestUtils.setField(employeeService, "phoneNumberRepository", database.bean(PhoneNumberRepository.class));
+        ReflectionTestUtils.setField(employeeService, "voterIDRepository", database.bean(VoterIDRepository.class));
+        ReflectionTestUtils.setField(employeeService, "employeeCache", cache);
+        return employeeService;
+    }
+
+    private EmployeeWarmStartSnapshot snapshot(EmployeeCache cache, EmployeeService employeeService) {
+        EmployeeSyncService syncService = new EmployeeSyncService(database.bean(EmployeeRepository.class),
+                database.bean(EmployeeTombstoneRepository.class), employeeService, 100, 1_000, Duration.ZERO,
+                Duration.ofDays(30));
+        EmployeeWarmStartSnapshot loader = new EmployeeWarmStartSnapshot(database.bean(EmployeeRepository.class),
+                employeeService, syncService, cache, database.bean(PlatformTransactionManager.class),
+                new SimpleMeterRegistry(), database.directory().resolve("warm-start/employees.snapshot").toString(),
+                false, 1_000, 0, 1_000, Duration.ZERO);
+        ReflectionTestUtils.setField(loader, "entityManager", database.bean(EntityManager.class));
+        return loader;
+    }
+}
@@ -0,0 +1,66 @@
+package com.employeemanagementsystem.benchmarks;
+
+import com.employeemanagementsystem.PayrollSnapshotDTO;
+import com.employeemanagementsystem.PayrollSnapshotService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The payroll snapshot job over 64 partitions of five million employees at 1 to 16 threads; the
+ * speed-up and scaling efficiency are the score at one thread divided by the score at n (and by
+ * n). Each run also writes its snapshot row, as POST /employees/payroll/snapshots does. The H2
+ * database holds the rows in the benchmark's heap, so give the fork a few GB with -jvmArgsAppend.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PayrollSnapshotBenchmark {
+
+    private static final int PARTITIONS = 64;
+
+    @Param({"5000000"})
+    public int employees;
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int threads;
+
+    private EmployeeDatabase database;
+    private PayrollSnapshotService payrollSnapshotService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Every partition holds a connection while it reads, so the budget and the pool cover the most threads
+        database = EmployeeDatabase.start("payroll", "employee.jpa-cache.enabled=false",
+                "spring.datasource.hikari.maximum-pool-size=20", "employee.payroll.max-connections=16",
+                "employee.payroll.partition-size=" + (employees + PARTITIONS - 1) / PARTITIONS);
+        // The job reads salaries only, so phones and voter IDs would just take memory
+        database.seedEmployees(employees);
+        payrollSnapshotService = database.bean(PayrollSnapshotService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public PayrollSnapshotDTO snapshot() {
+        return payrollSnapshotService.createSnapshot(threads);
+    }
+}
@@ -0,0 +1,61 @@
+package com.employeemanagementsystem.benchmarks;
+
+import com.employeemanagementsystem.Employee;
+import com.employeemanagementsystem.EmployeeMapper;
+import com.employeemanagementsystem.PhoneNumberDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The phone number merge of PUT /update/{id}: every existing phone is sent back with a
+ * changed provider, plus one new phone in ten.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PhoneNumberMergeBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int phoneCount;
+
+    private List<PhoneNumberDTO> request;
+    private Employee existingEmployee;
+
+    @Setup(Level.Trial)
+    public void setUpRequest() {
+        request = EmployeeFixtures.phoneNumberDTOs(1, phoneCount);
+        for (PhoneNumberDTO phoneNumberDTO : request) {
+            phoneNumberDTO.setProvider("Vodafone");
+        }
+        // Ids of employee 2 are not on employee 1, so these are inserts
+        request.addAll(EmployeeFixtures.phoneNumberDTOs(2, Math.max(1, phoneCount / 10)));
+    }
+
+    // The merge mutates the employee, so every call needs a fresh one
+    @Setup(Level.Invocation)
+    public void setUpEmployee() {
+        existingEmployee = EmployeeFixtures.employee(1, phoneCount);
+    }
+
+    @Benchmark
+    public Employee merge() {
+        EmployeeMapper.mergePhoneNumbers(existingEmployee, request);
+        return existingEmployee;
+    }
+}
@@ -0,0 +1,120 @@
+package com.employeemanagementsystem.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop HTTP load against a running application, used to compare the default Tomcat thread
+ * pool with the virtual-thread mode. Each level starts that many concurrent clients that request
+ * the URL back to back for the given duration, and prints p50/p99/max latency, throughput, 503s
+ * (turned away by DatabasePermitFilter) and failures (timeouts, 5xx). The summary is the highest
+ * level that completed with no failures.
+ *
+ * java -cp target/benchmarks.jar com.employeemanagementsystem.benchmarks.RestLoadTest \
+ *     http://localhost:1234/employees/1 50,100,200,400,800,1600 30
+ */
+public final class RestLoadTest {
+
+    private RestLoadTest() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        URI uri = URI.create(args.length > 0 ? args[0] : "http://localhost:1234/employees/1");
+        int[] levels = Arrays.stream((args.length > 1 ? args[1] : "50,100,200,400,800,1600").split(","))
+                .mapToInt(Integer::parseInt).toArray();
+        Duration duration = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 30);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        int maxClean = 0;
+        System.out.printf("%8s %10s %10s %10s %10s %10s %8s %8s%n", "clients", "requests", "req/s", "p50 ms",
+                "p99 ms", "max ms", "503", "failed");
+        for (int clients : levels) {
+            LevelResult result = runLevel(client, uri, clients, duration);
+            long[] latencies = result.latencies();
+            System.out.printf("%8d %10d %10.0f %10.1f %10.1f %10.1f %8d %8d%n", clients, latencies.length,
+                    latencies.length / (double) duration.toSeconds(), percentile(latencies, 0.50) / 1e6,
+                    percentile(latencies, 0.99) / 1e6, percentile(latencies, 1.0) / 1e6, result.rejected(),
+                    result.failed());
+            if (result.failed() == 0) {
+                maxClean = clients;
+            }
+        }
+        System.out.printf("highest concurrency without failures: %d clients%n", maxClean);
+    }
+
+    private static LevelResult runLevel(HttpClient client, URI uri, int clients, Duration duration)
+            throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<long[]> perClient = new ArrayList<>(clients);
+        AtomicInteger[] counts = new AtomicInteger[clients];
+        LongAdder rejected = new LongAdder();
+        LongAdder failed = new LongAdder();
+        CountDownLatch done = new CountDownLatch(clients);
+
+        for (int c = 0; c < clients; c++) {
+            long[] latencies = new long[1 << 16];
+            AtomicInteger count = new AtomicInteger();
+            perClient.add(latencies);
+            counts[c] = count;
+            Thread thread = new Thread(() -> {
+                try {
+                    long[] buffer = latencies;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        int status;
+                        try {
+                            status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (Exception e) {
+                            status = -1;
+                        }
+                        if (status == 503) {
+                            rejected.increment();
+                        } else if (status < 200 || status >= 500) {
+                            failed.increment();
+                        } else if (count.get() < buffer.length) {
+                            buffer[count.getAndIncrement()] = System.nanoTime() - start;
+                        }
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }, "load-client-" + c);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        done.await();
+
+        int total = Arrays.stream(counts).mapToInt(AtomicInteger::get).sum();
+        long[] all = new long[total];
+        int offset = 0;
+        for (int c = 0; c < clients; c++) {
+            System.arraycopy(perClient.get(c), 0, all, offset, counts[c].get());
+            offset += counts[c].get();
+        }
+        Arrays.sort(all);
+        return new LevelResult(all, rejected.sum(), failed.sum());
+    }
+
+    private static long percentile(long[] sorted, double q) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.max(0, (int) Math.ceil(q * sorted.length) - 1)];
+    }
+
+    private record LevelResult(long[] latencies, long rejected, long failed) {
+    }
+}
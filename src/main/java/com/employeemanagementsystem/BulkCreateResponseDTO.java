@@ -0,0 +1,66 @@
+package com.employeemanagementsystem;
+
+import java.util.List;
+
+public class BulkCreateResponseDTO {
+
+    private int total;
+    private int created;
+    private int failed;
+    private long elapsedMillis;
+    // Created rows divided by wall-clock time spent validating and persisting
+    private double rowsPerSecond;
+    private List<BulkRowResultDTO> results;
+
+    public BulkCreateResponseDTO() {
+        super();
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    public List<BulkRowResultDTO> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BulkRowResultDTO> results) {
+        this.results = results;
+    }
+}
@@ -0,0 +1,60 @@
+package com.employeemanagementsystem;
+
+import java.util.List;
+
+public class BulkRowResultDTO {
+
+    public static final String CREATED = "CREATED";
+    public static final String INVALID = "INVALID";
+    public static final String FAILED = "FAILED";
+
+    // Position of the row in the request body
+    private int index;
+    private Integer employeeId;
+    private String status;
+    private List<String> errors;
+
+    public BulkRowResultDTO() {
+        super();
+    }
+
+    public BulkRowResultDTO(int index, Integer employeeId, String status, List<String> errors) {
+        super();
+        this.index = index;
+        this.employeeId = employeeId;
+        this.status = status;
+        this.errors = errors;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Integer getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(Integer employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,117 @@
+package com.employeemanagementsystem;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Admits a fixed number of requests at a time, each of which holds at most one connection of its
+ * own, so requests alone cannot exhaust the connection pool. POST /employees/payroll/snapshots
+ * reads its partitions on the payroll connection budget, which is part of the reserve rather than
+ * of these permits (see VirtualThreadConfig). The rest wait in FIFO order for up to the permit
+ * timeout and are then answered with 503 and Retry-After instead of piling up on Hikari's
+ * connection timeout. Async requests (the NDJSON export) keep their permit until the response
+ * completes; the SSE change stream touches no connection and is not counted.
+ */
+public class DatabasePermitFilter extends OncePerRequestFilter {
+    static final String CHANGE_STREAM_PATH = "/employees/changes/stream";
+
+    private final Semaphore permits;
+    private final long timeoutNanos;
+    private final LongAdder rejected = new LongAdder();
+
+    public DatabasePermitFilter(int permits, Duration timeout) {
+        this.permits = new Semaphore(permits, true);
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!acquire()) {
+            rejected.increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader("Retry-After", "1");
+            response.setContentType("text/plain");
+            response.getWriter().write("Too many concurrent requests; retry shortly");
+            return;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseListener(released));
+            } else {
+                release(released);
+            }
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return CHANGE_STREAM_PATH.equals(request.getServletPath());
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    public long rejectedRequests() {
+        return rejected.sum();
+    }
+
+    private boolean acquire() {
+        try {
+            return permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void release(AtomicBoolean released) {
+        if (released.compareAndSet(false, true)) {
+            permits.release();
+        }
+    }
+
+    // onComplete follows a timeout or an error as well
+    private final class ReleaseListener implements AsyncListener {
+        private final AtomicBoolean released;
+
+        private ReleaseListener(AtomicBoolean released) {
+            this.released = released;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release(released);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
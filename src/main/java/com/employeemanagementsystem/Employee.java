@@ -13,12 +13,16 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.format.annotation.DateTimeFormat;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -31,6 +35,7 @@ import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import jakarta.persistence.Temporal;
 import jakarta.persistence.TemporalType;
+import jakarta.persistence.Version;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validation;
 import jakarta.validation.ValidationException;
@@ -48,6 +53,9 @@ import jakarta.validation.constraints.Size;
 
 @Entity(name = "Employee")
 @Table(name = "employee")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate // UPDATEs carry only the changed columns (PATCH /employees/{id} touches one or two)
 public class Employee {
 
     @Id
@@ -96,6 +104,11 @@ public class Employee {
     @Column(name = "UPDATED_DATETIME")
     private LocalDateTime updatedDateTime;
 
+    // Optimistic lock: bumped on every update, served as the ETag of GET /employees/{id}
+    @Version
+    @Column(name = "VERSION")
+    private Long version;
+
    
     @PrePersist
     public void prePersist() {
@@ -109,6 +122,7 @@ public class Employee {
     }
 
     @OneToMany(mappedBy = "employee", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JsonIgnoreProperties({"hibernateLazyInitializer", "handler", "employee"})
     private List<PhoneNumber> phoneNumbers = new ArrayList<>();
 
@@ -189,6 +203,14 @@ public class Employee {
 		this.updatedDateTime = updatedDateTime;
 	}
 
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
 	public List<PhoneNumber> getPhoneNumbers() {
 		return phoneNumbers;
 	}
@@ -226,13 +248,6 @@ public class Employee {
 	      if (voterID != null) {
 	          voterID.setEmployee(this);
 	      }
-	
-	      // Update the employee reference for each phone number
-	      if (phoneNumbers != null) {
-	          for (PhoneNumber phoneNumber : phoneNumbers) {
-	              phoneNumber.setEmployee(this);
-	          }
-	      }
 	  }
 
 
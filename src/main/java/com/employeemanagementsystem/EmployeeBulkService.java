@@ -0,0 +1,196 @@
+package com.employeemanagementsystem;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+@Service
+public class EmployeeBulkService {
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final EmployeeService employeeService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${employee.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${employee.bulk.max-rows:100000}")
+    private int maxRows;
+
+    public EmployeeBulkService(Validator validator, ObjectMapper objectMapper,
+                               PlatformTransactionManager transactionManager, EmployeeService employeeService) {
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.employeeService = employeeService;
+    }
+
+    // Accepts both a JSON array and whitespace/newline separated objects (NDJSON)
+    public List<EmployeeDTO> readEmployees(InputStream body) throws IOException {
+        List<EmployeeDTO> employees = new ArrayList<>();
+        try (MappingIterator<EmployeeDTO> iterator = objectMapper.readerFor(EmployeeDTO.class).readValues(body)) {
+            while (iterator.hasNextValue()) {
+                if (employees.size() == maxRows) {
+                    throw new IllegalArgumentException("At most " + maxRows + " employees can be created per request");
+                }
+                employees.add(iterator.nextValue());
+            }
+        }
+        return employees;
+    }
+
+    public BulkCreateResponseDTO createEmployees(List<EmployeeDTO> employeeDTOs) {
+        long start = System.nanoTime();
+        int total = employeeDTOs.size();
+        BulkRowResultDTO[] results = new BulkRowResultDTO[total];
+        Employee[] employees = new Employee[total];
+
+        // Conversion and Bean Validation are CPU bound and independent per row
+        IntStream.range(0, total).parallel().forEach(i -> {
+            EmployeeDTO employeeDTO = employeeDTOs.get(i);
+            List<String> errors = validate(employeeDTO);
+            if (errors.isEmpty()) {
+                employees[i] = EmployeeMapper.toEntity(employeeDTO);
+            } else {
+                results[i] = new BulkRowResultDTO(i, employeeDTO.getEmployeeId(), BulkRowResultDTO.INVALID, errors);
+            }
+        });
+
+        // Duplicate ids inside the request would only surface as a failed chunk at flush time
+        Set<Integer> seenIds = new HashSet<>(total * 2);
+        List<Integer> pending = new ArrayList<>(total);
+        EmployeeOrgChart.Overlay orgChart = employeeService.orgChartOverlay();
+        for (int i = 0; i < total; i++) {
+            if (employees[i] == null) {
+                continue;
+            }
+            if (!seenIds.add(employees[i].getEmployeeId())) {
+                results[i] = new BulkRowResultDTO(i, employees[i].getEmployeeId(), BulkRowResultDTO.INVALID,
+                        List.of("employeeId: duplicated within the request"));
+                employees[i] = null;
+                continue;
+            }
+            // The same check as a single create, against the org chart as committed plus the rows
+            // before this one, so rows naming each other as managers are caught too
+            try {
+                employeeService.checkManager(employees[i], orgChart);
+            } catch (RequestException e) {
+                results[i] = new BulkRowResultDTO(i, employees[i].getEmployeeId(), BulkRowResultDTO.INVALID,
+                        List.of(e.getMessage()));
+                employees[i] = null;
+                continue;
+            }
+            pending.add(i);
+        }
+
+        for (int from = 0; from < pending.size(); from += chunkSize) {
+            persistChunk(pending.subList(from, Math.min(from + chunkSize, pending.size())), employeeDTOs, employees,
+                    results);
+        }
+
+        int created = 0;
+        for (BulkRowResultDTO result : results) {
+            if (BulkRowResultDTO.CREATED.equals(result.getStatus())) {
+                created++;
+            }
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        BulkCreateResponseDTO response = new BulkCreateResponseDTO();
+        response.setTotal(total);
+        response.setCreated(created);
+        response.setFailed(total - created);
+        response.setElapsedMillis(elapsedNanos / 1_000_000);
+        response.setRowsPerSecond(elapsedNanos == 0 ? 0 : created * 1_000_000_000.0 / elapsedNanos);
+        response.setResults(Arrays.asList(results));
+        return response;
+    }
+
+    private List<String> validate(EmployeeDTO employeeDTO) {
+        List<String> errors = new ArrayList<>();
+        if (employeeDTO.getEmployeeId() == null) {
+            errors.add("employeeId: must not be null");
+        }
+        Employee employee = EmployeeMapper.convertToEntity(employeeDTO);
+        for (ConstraintViolation<Employee> violation : validator.validate(employee)) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        if (employeeDTO.getPhoneNumbers() != null) {
+            for (PhoneNumber phoneNumber : EmployeeMapper.convertPhoneNumbersToEntities(employeeDTO.getPhoneNumbers())) {
+                if (phoneNumber.getPhoneId() == null) {
+                    errors.add("phoneNumbers.phoneId: must not be null");
+                }
+                for (ConstraintViolation<PhoneNumber> violation : validator.validate(phoneNumber)) {
+                    errors.add("phoneNumbers." + violation.getPropertyPath() + ": " + violation.getMessage());
+                }
+            }
+        }
+        return errors;
+    }
+
+    // One transaction per chunk so the inserts go out as JDBC batches; if the chunk fails
+    // it is replayed row by row to find out which rows were at fault
+    private void persistChunk(List<Integer> chunk, List<EmployeeDTO> employeeDTOs, Employee[] employees,
+                              BulkRowResultDTO[] results) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Employee> persisted = new ArrayList<>(chunk.size());
+                for (Integer i : chunk) {
+                    entityManager.persist(employees[i]);
+                    persisted.add(employees[i]);
+                }
+                // The events follow the flushed inserts (see EmployeeOutbox) and go out in batches of their own
+                entityManager.flush();
+                employeeService.afterCreate(persisted);
+                entityManager.flush();
+                entityManager.clear();
+            });
+            for (Integer i : chunk) {
+                results[i] = new BulkRowResultDTO(i, employees[i].getEmployeeId(), BulkRowResultDTO.CREATED, null);
+            }
+        } catch (RuntimeException chunkFailure) {
+            // The rolled back entities still carry collection wrappers of the dead session, so start from the DTOs
+            for (Integer i : chunk) {
+                results[i] = persistRow(i, EmployeeMapper.toEntity(employeeDTOs.get(i)));
+            }
+        }
+    }
+
+    private BulkRowResultDTO persistRow(int index, Employee employee) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                entityManager.persist(employee);
+                entityManager.flush();
+                employeeService.afterCreate(List.of(employee));
+                entityManager.flush();
+                entityManager.clear();
+            });
+            return new BulkRowResultDTO(index, employee.getEmployeeId(), BulkRowResultDTO.CREATED, null);
+        } catch (RuntimeException e) {
+            return new BulkRowResultDTO(index, employee.getEmployeeId(), BulkRowResultDTO.FAILED,
+                    List.of(String.valueOf(NestedExceptionUtils.getMostSpecificCause(e).getMessage())));
+        }
+    }
+}
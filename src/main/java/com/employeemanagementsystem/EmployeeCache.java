@@ -0,0 +1,111 @@
+package com.employeemanagementsystem;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * Bounded read-through cache of fully assembled EmployeeDTOs keyed by employee ID, plus the team
+ * of each manager (GET /employees/managers/{id}), bounded by the employees it holds in total.
+ * Cached DTOs and lists are shared between requests and must not be modified by callers.
+ */
+@Component
+public class EmployeeCache {
+    private final Cache<Integer, EmployeeDTO> cache;
+    private final Cache<Integer, List<EmployeeDTO>> teams;
+    private final long maxSize;
+
+    public EmployeeCache(@Value("${employee.cache.max-size:10000}") long maxSize,
+                         @Value("${employee.cache.ttl:10m}") Duration ttl,
+                         @Value("${employee.cache.team-max-employees:100000}") long teamMaxEmployees) {
+        this.maxSize = maxSize;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.teams = Caffeine.newBuilder()
+                .maximumWeight(teamMaxEmployees)
+                .<Integer, List<EmployeeDTO>>weigher((managerId, team) -> team.size())
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    // The loader may return null (employee not found); misses are not cached
+    public EmployeeDTO get(Integer employeeId, Function<Integer, EmployeeDTO> loader) {
+        return cache.get(employeeId, loader);
+    }
+
+    public EmployeeDTO getIfPresent(Integer employeeId) {
+        return cache.getIfPresent(employeeId);
+    }
+
+    public void put(Integer employeeId, EmployeeDTO employeeDTO) {
+        cache.put(employeeId, employeeDTO);
+    }
+
+    // Evicts now and again after commit, so a reader that reloaded the old row while the
+    // transaction was still open cannot leave a stale entry behind
+    public void invalidate(Integer employeeId) {
+        cache.invalidate(employeeId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(employeeId);
+                }
+            });
+        }
+    }
+
+    public long maxSize() {
+        return maxSize;
+    }
+
+    // The loader may return null (no such team); misses are not cached
+    public List<EmployeeDTO> getTeam(Integer managerId, Function<Integer, List<EmployeeDTO>> loader) {
+        return teams.get(managerId, loader);
+    }
+
+    public void putTeam(Integer managerId, List<EmployeeDTO> team) {
+        teams.put(managerId, team);
+    }
+
+    // Any write to a member changes the list; like invalidate(), evicts again after commit
+    public void invalidateTeam(Integer managerId) {
+        if (managerId == null) {
+            return;
+        }
+        teams.invalidate(managerId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    teams.invalidate(managerId);
+                }
+            });
+        }
+    }
+
+    // Runs pending evictions first, so the size reported is the size after the latest writes
+    public EmployeeCacheStatsDTO stats() {
+        cache.cleanUp();
+        CacheStats stats = cache.stats();
+        EmployeeCacheStatsDTO statsDTO = new EmployeeCacheStatsDTO();
+        statsDTO.setSize(cache.estimatedSize());
+        statsDTO.setHitCount(stats.hitCount());
+        statsDTO.setMissCount(stats.missCount());
+        statsDTO.setEvictionCount(stats.evictionCount());
+        statsDTO.setHitRate(stats.hitRate());
+        return statsDTO;
+    }
+}
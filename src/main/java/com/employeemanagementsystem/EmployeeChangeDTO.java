@@ -0,0 +1,145 @@
+package com.employeemanagementsystem;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Compact change event for one employee write: the employee row (no phones or voter ID), what
+ * kind of change it was and where it sits in the change log. Null fields are left out of the JSON.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EmployeeChangeDTO {
+    public static final String CREATED = "CREATED";
+    public static final String UPDATED = "UPDATED";
+    public static final String DELETED = "DELETED";
+
+    // Position in the change log; not part of the outbox payload
+    private Long offset;
+    private Long eventId;
+    // CREATED, UPDATED or DELETED
+    private String changeType;
+    private Integer employeeId;
+    private Integer managerId;
+    // Set on updates that moved the employee to another manager
+    private Integer previousManagerId;
+    // Bumped each time the employee ID is created again after a delete; version restarts at 0 then
+    private Integer generation;
+    private Long version;
+    private LocalDateTime changedDateTime;
+    // The employee's state after the change; absent on DELETED
+    private String name;
+    private LocalDate dob;
+    private BigDecimal salary;
+    private String emailId;
+
+    public EmployeeChangeDTO() {
+        super();
+    }
+
+    public Long getOffset() {
+        return offset;
+    }
+
+    public void setOffset(Long offset) {
+        this.offset = offset;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getChangeType() {
+        return changeType;
+    }
+
+    public void setChangeType(String changeType) {
+        this.changeType = changeType;
+    }
+
+    public Integer getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(Integer employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public Integer getManagerId() {
+        return managerId;
+    }
+
+    public void setManagerId(Integer managerId) {
+        this.managerId = managerId;
+    }
+
+    public Integer getPreviousManagerId() {
+        return previousManagerId;
+    }
+
+    public void setPreviousManagerId(Integer previousManagerId) {
+        this.previousManagerId = previousManagerId;
+    }
+
+    public Integer getGeneration() {
+        return generation;
+    }
+
+    public void setGeneration(Integer generation) {
+        this.generation = generation;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getChangedDateTime() {
+        return changedDateTime;
+    }
+
+    public void setChangedDateTime(LocalDateTime changedDateTime) {
+        this.changedDateTime = changedDateTime;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public LocalDate getDob() {
+        return dob;
+    }
+
+    public void setDob(LocalDate dob) {
+        this.dob = dob;
+    }
+
+    public BigDecimal getSalary() {
+        return salary;
+    }
+
+    public void setSalary(BigDecimal salary) {
+        this.salary = salary;
+    }
+
+    public String getEmailId() {
+        return emailId;
+    }
+
+    public void setEmailId(String emailId) {
+        this.emailId = emailId;
+    }
+}
@@ -0,0 +1,313 @@
+package com.employeemanagementsystem;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Pushes the change log to Server-Sent Events subscribers as the relay appends to it. The SSE id
+ * of each event is its change log offset, so a reconnecting client resumes with Last-Event-ID.
+ *
+ * Connections are async requests: an idle subscriber holds a socket and a small queue, not a
+ * thread. Appends are decoded once and offered to every matching subscriber's bounded queue, which
+ * a few shared sender threads drain. A subscriber whose queue is full stops receiving live events
+ * and catches up from the log instead (as a resumed one does), and is disconnected once it falls
+ * more than max-replay events behind; on reconnect it is told to reload.
+ */
+@Component
+public class EmployeeChangeFeed implements EmployeeChangeLog.AppendListener {
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeChangeFeed.class);
+    private static final FeedEvent HEARTBEAT = new FeedEvent(-1, null, null, null, null);
+
+    private final EmployeeChangeLog changeLog;
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final int maxReplay;
+    private final Duration timeout;
+    private final ExecutorService senders;
+    private final Map<Subscriber, Boolean> subscribers = new ConcurrentHashMap<>();
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+
+    public EmployeeChangeFeed(EmployeeChangeLog changeLog, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                              @Value("${employee.change-feed.buffer-size:256}") int bufferSize,
+                              @Value("${employee.change-feed.max-subscribers:5000}") int maxSubscribers,
+                              @Value("${employee.change-feed.max-replay:10000}") int maxReplay,
+                              @Value("${employee.change-feed.senders:4}") int senders,
+                              @Value("${employee.change-feed.timeout:30m}") Duration timeout) {
+        this.changeLog = changeLog;
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.maxReplay = maxReplay;
+        this.timeout = timeout;
+        this.senders = Executors.newFixedThreadPool(senders, new CustomizableThreadFactory("change-feed-"));
+        Gauge.builder("employee.change-feed.subscribers", subscribers, Map::size).register(meterRegistry);
+        FunctionCounter.builder("employee.change-feed.sent", sent, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder("employee.change-feed.evicted", evicted, LongAdder::sum).register(meterRegistry);
+        changeLog.addListener(this);
+    }
+
+    /**
+     * Opens a stream of the changes to employees under managerId (all employees when null), starting
+     * after lastEventId when given and with the next change otherwise. Returns null when the feed
+     * already has as many subscribers as it accepts.
+     */
+    public SseEmitter subscribe(Integer managerId, Long lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, managerId, bufferSize);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        // Serialized with appended(), so no offset falls between the catch-up and the live events
+        synchronized (this) {
+            long endOffset = changeLog.endOffset();
+            long fromOffset = lastEventId == null ? endOffset : lastEventId + 1;
+            if (fromOffset < changeLog.startOffset() || fromOffset > endOffset || endOffset - fromOffset > maxReplay) {
+                subscriber.queue.offer(reset(endOffset));
+                fromOffset = endOffset;
+            }
+            subscriber.nextOffset = fromOffset;
+            subscriber.sentOffset = fromOffset;
+            subscriber.catchingUp = fromOffset < endOffset;
+            subscribers.put(subscriber, Boolean.TRUE);
+        }
+        schedule(subscriber);
+        return emitter;
+    }
+
+    @Override
+    public synchronized void appended(List<EmployeeChangeLog.ChangeRecord> records) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        List<FeedEvent> events = new ArrayList<>(records.size());
+        for (EmployeeChangeLog.ChangeRecord record : records) {
+            FeedEvent event = decode(record);
+            if (event != null) {
+                events.add(event);
+            }
+        }
+        long endOffset = changeLog.endOffset();
+        for (Subscriber subscriber : subscribers.keySet()) {
+            if (subscriber.catchingUp) {
+                if (endOffset - subscriber.sentOffset > maxReplay) {
+                    evict(subscriber);
+                }
+                continue;
+            }
+            for (FeedEvent event : events) {
+                if (event.offset < subscriber.nextOffset) {
+                    continue;
+                }
+                if (subscriber.matches(event) && !subscriber.queue.offer(event)) {
+                    // The rest is read back from the log, starting with this event
+                    subscriber.catchingUp = true;
+                    break;
+                }
+                subscriber.nextOffset = event.offset + 1;
+            }
+            schedule(subscriber);
+        }
+    }
+
+    // Keeps proxies and load balancers from closing idle streams, and finds dead connections. Run
+    // every heartbeat-ms by EmployeeChangeFeedScheduler
+    @Timed(value = "employee.scheduled.jobs", histogram = true)
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers.keySet()) {
+            if (!subscriber.catchingUp && subscriber.queue.isEmpty() && subscriber.queue.offer(HEARTBEAT)) {
+                schedule(subscriber);
+            }
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    public long sentEvents() {
+        return sent.sum();
+    }
+
+    public long evictedSubscribers() {
+        return evicted.sum();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        for (Subscriber subscriber : subscribers.keySet()) {
+            subscriber.emitter.complete();
+        }
+        senders.shutdown();
+        if (!senders.awaitTermination(5, TimeUnit.SECONDS)) {
+            senders.shutdownNow();
+        }
+    }
+
+    // The sender completes the emitter, since a send to a slow client may be holding it
+    private void evict(Subscriber subscriber) {
+        if (subscribers.remove(subscriber) != null) {
+            evicted.increment();
+            logger.debug("Disconnecting a change feed subscriber more than {} events behind", maxReplay);
+            subscriber.evicted = true;
+            subscriber.queue.clear();
+            schedule(subscriber);
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if ((subscriber.evicted || subscriber.catchingUp || !subscriber.queue.isEmpty())
+                && subscriber.sending.compareAndSet(false, true)) {
+            senders.execute(() -> send(subscriber));
+        }
+    }
+
+    private void send(Subscriber subscriber) {
+        try {
+            boolean more = true;
+            while (more && !subscriber.evicted) {
+                FeedEvent event;
+                while (!subscriber.evicted && (event = subscriber.queue.poll()) != null) {
+                    send(subscriber, event);
+                }
+                more = subscriber.catchingUp && catchUp(subscriber);
+            }
+            if (subscriber.evicted) {
+                subscriber.emitter.complete();
+                return;
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client went away (or the emitter already completed); the container cleans up
+            subscribers.remove(subscriber);
+            subscriber.evicted = true;
+            subscriber.queue.clear();
+            return;
+        } finally {
+            subscriber.sending.set(false);
+        }
+        schedule(subscriber);
+    }
+
+    // Sends the next page from the log; false once the subscriber is back on live events
+    private boolean catchUp(Subscriber subscriber) throws IOException {
+        List<EmployeeChangeLog.ChangeRecord> records = changeLog.read(subscriber.nextOffset, bufferSize);
+        if (records.isEmpty()) {
+            synchronized (this) {
+                if (changeLog.endOffset() <= subscriber.nextOffset) {
+                    subscriber.catchingUp = false;
+                    return false;
+                }
+            }
+            return true;
+        }
+        for (EmployeeChangeLog.ChangeRecord record : records) {
+            FeedEvent event = decode(record);
+            if (event != null && subscriber.matches(event)) {
+                send(subscriber, event);
+            }
+            subscriber.nextOffset = record.getOffset() + 1;
+            subscriber.sentOffset = subscriber.nextOffset;
+        }
+        return true;
+    }
+
+    private void send(Subscriber subscriber, FeedEvent event) throws IOException {
+        if (event == HEARTBEAT) {
+            subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+            return;
+        }
+        subscriber.emitter.send(SseEmitter.event().id(Long.toString(event.offset)).name(event.name).data(event.data));
+        subscriber.sentOffset = event.offset + 1;
+        sent.increment();
+    }
+
+    private FeedEvent decode(EmployeeChangeLog.ChangeRecord record) {
+        try {
+            EmployeeChangeDTO change = objectMapper.readValue(record.getPayload(), EmployeeChangeDTO.class);
+            change.setOffset(record.getOffset());
+            change.setEventId(record.getEventId());
+            return new FeedEvent(record.getOffset(), change.getChangeType(), change.getManagerId(),
+                    change.getPreviousManagerId(), objectMapper.writeValueAsString(change));
+        } catch (IOException e) {
+            logger.warn("Skipping unreadable change log record at offset {}", record.getOffset(), e);
+            return null;
+        }
+    }
+
+    // Tells the client to reload; its id moves Last-Event-ID past the changes it missed
+    private FeedEvent reset(long endOffset) {
+        return new FeedEvent(endOffset - 1, "RESET", null, null,
+                "{\"startOffset\":" + changeLog.startOffset() + ",\"endOffset\":" + endOffset + "}");
+    }
+
+    private static final class FeedEvent {
+        private final long offset;
+        private final String name;
+        private final Integer managerId;
+        // Set when the change moved the employee away from this manager
+        private final Integer previousManagerId;
+        private final String data;
+
+        private FeedEvent(long offset, String name, Integer managerId, Integer previousManagerId, String data) {
+            this.offset = offset;
+            this.name = name;
+            this.managerId = managerId;
+            this.previousManagerId = previousManagerId;
+            this.data = data;
+        }
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final Integer managerId;
+        private final Queue<FeedEvent> queue;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        // Next offset to queue while live, or to read from the log while catching up
+        private volatile long nextOffset;
+        // Offset after the last event sent, for measuring how far behind a catching-up subscriber is
+        private volatile long sentOffset;
+        private volatile boolean catchingUp;
+        private volatile boolean evicted;
+
+        private Subscriber(SseEmitter emitter, Integer managerId, int bufferSize) {
+            this.emitter = emitter;
+            this.managerId = managerId;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        private boolean matches(FeedEvent event) {
+            return managerId == null || managerId.equals(event.managerId) || managerId.equals(event.previousManagerId);
+        }
+    }
+}
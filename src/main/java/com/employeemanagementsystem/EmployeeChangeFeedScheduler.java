@@ -0,0 +1,72 @@
+package com.employeemanagementsystem;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs the outbox relay and the change feed heartbeat on a scheduler thread of their own. On
+ * Spring's scheduler (one thread unless spring.task.scheduling.pool.size says otherwise) they would
+ * wait behind the payroll snapshot, the warm-start snapshot, change log maintenance and salary
+ * stats rebuilds, some of which run for minutes, and changes would stop reaching the log and the
+ * SSE subscribers meanwhile. The relay holds a connection while it runs, which VirtualThreadConfig
+ * reserves next to the scheduler's.
+ *
+ * The executor is not a bean: a TaskScheduler bean would replace Spring Boot's for every @Scheduled job.
+ */
+@Component
+public class EmployeeChangeFeedScheduler implements SmartInitializingSingleton {
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeChangeFeedScheduler.class);
+
+    private final EmployeeOutboxRelay relay;
+    private final EmployeeChangeFeed changeFeed;
+    private final long relayIntervalMillis;
+    private final long heartbeatMillis;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            new CustomizableThreadFactory("change-feed-scheduler-"));
+
+    public EmployeeChangeFeedScheduler(EmployeeOutboxRelay relay, EmployeeChangeFeed changeFeed,
+                                       @Value("${employee.outbox.relay-interval-ms:200}") long relayIntervalMillis,
+                                       @Value("${employee.change-feed.heartbeat-ms:15000}") long heartbeatMillis) {
+        this.relay = relay;
+        this.changeFeed = changeFeed;
+        this.relayIntervalMillis = relayIntervalMillis;
+        this.heartbeatMillis = heartbeatMillis;
+    }
+
+    // Started once every bean is ready, as @Scheduled jobs are
+    @Override
+    public void afterSingletonsInstantiated() {
+        scheduler.scheduleWithFixedDelay(() -> run("relay", relay::scheduledRelay), relayIntervalMillis,
+                relayIntervalMillis, TimeUnit.MILLISECONDS);
+        scheduler.scheduleAtFixedRate(() -> run("heartbeat", changeFeed::heartbeat), heartbeatMillis,
+                heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Lets a relay batch in flight commit before the context closes
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        scheduler.shutdown();
+        if (!scheduler.awaitTermination(5, TimeUnit.SECONDS)) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    // A task that throws would never run again, so failures are logged as Spring's scheduler does
+    private static void run(String task, Runnable job) {
+        try {
+            job.run();
+        } catch (RuntimeException e) {
+            logger.error("Change feed {} failed", task, e);
+        }
+    }
+}
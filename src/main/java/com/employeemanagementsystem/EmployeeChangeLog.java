@@ -0,0 +1,676 @@
+package com.employeemanagementsystem;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import io.micrometer.core.annotation.Timed;
+
+/**
+ * Append-only log of employee changes on local disk, split into segment files named after the
+ * offset of their first record. Appends are written sequentially in batches through a FileChannel
+ * and read back by offset with positional reads, starting from a sparse in-memory index kept per
+ * segment. Closed segments are deleted once older than the retention period and compacted down to
+ * the latest record per employee ID, the one with the highest (generation, version): for one
+ * employee that follows commit order (see EmployeeOutbox), while the log is in relay order and may
+ * hold a batch twice after a failed relay. Offsets never change, so compacted ranges just have gaps.
+ *
+ * Record layout: length of the rest (int), CRC32 of what follows it (int), offset (long), outbox
+ * event ID (long), employee ID (int), generation (int), version (long), epoch millis (long), payload.
+ */
+@Component
+public class EmployeeChangeLog implements DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeChangeLog.class);
+    static final int HEADER_BYTES = 48;
+    private static final int INDEX_INTERVAL_BYTES = 4096;
+    private static final int BUFFER_BYTES = 64 * 1024;
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CLEANED_SUFFIX = ".log.cleaned";
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final Duration retention;
+    private final boolean fsync;
+    private final boolean compaction;
+
+    // Guards the segment list: readers share it, rolling, retention and compaction swap under it
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Segment> segments = new ArrayList<>();
+    private final Object maintenanceLock = new Object();
+    private final CRC32 writeCrc = new CRC32();
+    private final List<AppendListener> listeners = new CopyOnWriteArrayList<>();
+    private ByteBuffer writeBuffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private volatile Segment active;
+    private volatile long endOffset;
+
+    public EmployeeChangeLog(@Value("${employee.change-log.dir:change-log}") String directory,
+                             @Value("${employee.change-log.segment-size:64MB}") DataSize segmentSize,
+                             @Value("${employee.change-log.retention:7d}") Duration retention,
+                             @Value("${employee.change-log.fsync:true}") boolean fsync,
+                             @Value("${employee.change-log.compaction:true}") boolean compaction) throws IOException {
+        this.directory = Paths.get(directory);
+        this.segmentBytes = segmentSize.toBytes();
+        this.retention = retention;
+        this.fsync = fsync;
+        this.compaction = compaction;
+        recover();
+    }
+
+    // Assigns consecutive offsets to the records and returns the first. On an I/O error the records
+    // written before it stay in the log and the rest are rolled back; the relay then appends the
+    // whole batch again
+    public synchronized long append(List<ChangeRecord> records) throws IOException {
+        long firstOffset = endOffset;
+        long next = firstOffset;
+        Segment segment = active;
+        segment.mark();
+        try {
+            for (ChangeRecord record : records) {
+                int size = HEADER_BYTES + record.payload.length;
+                long position = segment.size + writeBuffer.position();
+                if (position > 0 && position + size > segmentBytes) {
+                    write(segment, next);
+                    segment = roll(next);
+                    position = 0;
+                } else if (writeBuffer.remaining() < size) {
+                    write(segment, next);
+                    if (writeBuffer.capacity() < size) {
+                        writeBuffer = ByteBuffer.allocateDirect(size);
+                    }
+                }
+                segment.index(next, position);
+                segment.maxTimestamp = Math.max(segment.maxTimestamp, record.timestamp);
+                encode(writeBuffer, next++, record);
+            }
+            write(segment, next);
+        } catch (IOException | RuntimeException e) {
+            rollBack(segment, e);
+            throw e;
+        }
+        notifyListeners(firstOffset, records);
+        return firstOffset;
+    }
+
+    // Called after every append, in offset order, by the appending thread; must not block
+    public void addListener(AppendListener listener) {
+        listeners.add(listener);
+    }
+
+    // Records from fromOffset on (or the oldest retained one after it), in offset order
+    public List<ChangeRecord> read(long fromOffset, int maxRecords) throws IOException {
+        List<ChangeRecord> records = new ArrayList<>(Math.min(maxRecords, 1024));
+        if (fromOffset >= endOffset || maxRecords < 1) {
+            return records;
+        }
+        lock.readLock().lock();
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+            for (int i = floorSegment(fromOffset); i < segments.size() && records.size() < maxRecords; i++) {
+                Segment segment = segments.get(i);
+                long position = fromOffset > segment.baseOffset ? segment.floorPosition(fromOffset) : 0;
+                scan(segment.channel, position, segment.size, buffer, (record, recordPosition) -> {
+                    if (record.offset >= fromOffset) {
+                        records.add(record);
+                    }
+                    return records.size() < maxRecords;
+                });
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return records;
+    }
+
+    // Offset of the oldest retained record (or of the next one when the log is empty)
+    public long startOffset() {
+        lock.readLock().lock();
+        try {
+            for (Segment segment : segments) {
+                if (segment.lastOffset >= 0) {
+                    return segment.baseOffset;
+                }
+            }
+            return endOffset;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Offset the next appended record gets
+    public long endOffset() {
+        return endOffset;
+    }
+
+    public int segmentCount() {
+        lock.readLock().lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long sizeBytes() {
+        lock.readLock().lock();
+        try {
+            return segments.stream().mapToLong(segment -> segment.size).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Timed(value = "employee.scheduled.jobs", histogram = true)
+    @Scheduled(cron = "${employee.change-log.maintenance-cron:0 30 3 * * *}")
+    public void maintain() throws IOException {
+        int deleted = deleteExpiredSegments(System.currentTimeMillis());
+        int removed = compaction ? compact() : 0;
+        logger.info("Change log maintenance: {} expired segments deleted, {} superseded records compacted away",
+                deleted, removed);
+    }
+
+    // Deletes closed segments, oldest first, whose newest record is older than the retention period
+    public int deleteExpiredSegments(long nowMillis) throws IOException {
+        long cutoff = nowMillis - retention.toMillis();
+        int deleted = 0;
+        synchronized (maintenanceLock) {
+            lock.writeLock().lock();
+            try {
+                while (segments.size() > 1 && segments.get(0).maxTimestamp < cutoff) {
+                    Segment segment = segments.remove(0);
+                    segment.channel.close();
+                    Files.delete(segment.path);
+                    deleted++;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        return deleted;
+    }
+
+    // Rewrites every closed segment without the records that one with a higher generation and version
+    // for the same employee supersedes; returns how many records were dropped. Appends carry on meanwhile: records
+    // added after the scan can only make more records obsolete, never fewer, so they are safely ignored
+    public int compact() throws IOException {
+        synchronized (maintenanceLock) {
+            List<Segment> snapshot;
+            lock.readLock().lock();
+            try {
+                snapshot = new ArrayList<>(segments);
+            } finally {
+                lock.readLock().unlock();
+            }
+            if (snapshot.size() < 2) {
+                return 0;
+            }
+            // Generation, version and offset of the latest record per employee; of a relayed-again
+            // duplicate, the later copy
+            Map<Integer, long[]> latest = new HashMap<>();
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+            for (Segment segment : snapshot) {
+                scan(segment.channel, 0, segment.size, buffer, (record, position) -> {
+                    long[] kept = latest.get(record.employeeId);
+                    if (kept == null) {
+                        latest.put(record.employeeId, new long[] { record.generation, record.version, record.offset });
+                    } else if (record.generation > kept[0] || record.generation == kept[0] && record.version >= kept[1]) {
+                        kept[0] = record.generation;
+                        kept[1] = record.version;
+                        kept[2] = record.offset;
+                    }
+                    return true;
+                });
+            }
+            int removed = 0;
+            for (Segment segment : snapshot.subList(0, snapshot.size() - 1)) {
+                removed += compact(segment, latest, buffer);
+            }
+            return removed;
+        }
+    }
+
+    private int compact(Segment segment, Map<Integer, long[]> latest, ByteBuffer buffer) throws IOException {
+        Path cleanedPath = directory.resolve(fileName(segment.baseOffset) + CLEANED_SUFFIX);
+        Segment cleaned = Segment.open(cleanedPath, segment.baseOffset);
+        ByteBuffer out = ByteBuffer.allocate(BUFFER_BYTES);
+        CRC32 crc = new CRC32();
+        int[] removed = new int[1];
+        scan(segment.channel, 0, segment.size, buffer, (record, position) -> {
+            if (latest.get(record.employeeId)[2] != record.offset) {
+                removed[0]++;
+                return true;
+            }
+            int size = HEADER_BYTES + record.payload.length;
+            if (out.remaining() < size) {
+                cleaned.size += flush(out, cleaned.channel, cleaned.size);
+            }
+            ByteBuffer target = out.capacity() < size ? ByteBuffer.allocate(size) : out;
+            cleaned.index(record.offset, cleaned.size + target.position());
+            encode(target, record.offset, record, crc);
+            if (target != out) {
+                cleaned.size += flush(target, cleaned.channel, cleaned.size);
+            }
+            cleaned.lastOffset = record.offset;
+            cleaned.maxTimestamp = Math.max(cleaned.maxTimestamp, record.timestamp);
+            return true;
+        });
+        cleaned.size += flush(out, cleaned.channel, cleaned.size);
+        cleaned.channel.force(true);
+        cleaned.channel.close();
+        if (removed[0] == 0) {
+            Files.delete(cleanedPath);
+            return 0;
+        }
+
+        lock.writeLock().lock();
+        try {
+            int index = segments.indexOf(segment);
+            segment.channel.close();
+            if (cleaned.lastOffset < 0) {
+                Files.delete(cleanedPath);
+                Files.delete(segment.path);
+                segments.remove(index);
+            } else {
+                Files.move(cleanedPath, segment.path, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+                segments.set(index, cleaned.reopen(segment.path));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return removed[0];
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        lock.writeLock().lock();
+        try {
+            for (Segment segment : segments) {
+                segment.channel.close();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Reopens every segment, rebuilding its index, and cuts off a record torn by a crash mid-append
+    private void recover() throws IOException {
+        Files.createDirectories(directory);
+        List<Long> baseOffsets = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(CLEANED_SUFFIX)) {
+                    Files.delete(file); // compaction did not get to swap it in
+                } else if (name.endsWith(SEGMENT_SUFFIX)) {
+                    baseOffsets.add(Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())));
+                }
+            }
+        }
+        baseOffsets.sort(null);
+
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+        for (long baseOffset : baseOffsets) {
+            Segment segment = Segment.open(directory.resolve(fileName(baseOffset) + SEGMENT_SUFFIX), baseOffset);
+            long fileSize = segment.channel.size();
+            long validSize = scan(segment.channel, 0, fileSize, buffer, (record, position) -> {
+                segment.index(record.offset, position);
+                segment.lastOffset = record.offset;
+                segment.maxTimestamp = Math.max(segment.maxTimestamp, record.timestamp);
+                return true;
+            });
+            if (validSize < fileSize) {
+                logger.warn("Truncating change log segment {} from {} to {} bytes after an incomplete record",
+                        segment.path, fileSize, validSize);
+                segment.channel.truncate(validSize);
+            }
+            segment.size = validSize;
+            segments.add(segment);
+        }
+        if (segments.isEmpty()) {
+            segments.add(Segment.open(directory.resolve(fileName(0) + SEGMENT_SUFFIX), 0));
+        }
+        active = segments.get(segments.size() - 1);
+        endOffset = active.lastOffset >= 0 ? active.lastOffset + 1 : active.baseOffset;
+        logger.info("Opened change log {}: {} segments, next offset {}", directory, segments.size(), endOffset);
+    }
+
+    private Segment roll(long baseOffset) throws IOException {
+        Segment segment = Segment.open(directory.resolve(fileName(baseOffset) + SEGMENT_SUFFIX), baseOffset);
+        lock.writeLock().lock();
+        try {
+            segments.add(segment);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        active = segment;
+        return segment;
+    }
+
+    // Writes out the buffered records; only then do readers get to see them
+    private void write(Segment segment, long nextOffset) throws IOException {
+        if (writeBuffer.position() == 0) {
+            return;
+        }
+        long written = flush(writeBuffer, segment.channel, segment.size);
+        if (fsync) {
+            segment.channel.force(false);
+        }
+        segment.lastOffset = nextOffset - 1;
+        segment.size += written;
+        endOffset = nextOffset;
+        segment.mark();
+    }
+
+    // Forgets the records buffered since the last complete write: drops them from the buffer and the
+    // segment's index and cuts off whatever part of them reached the file, so offsets and positions
+    // are handed out again from the end of the last complete write
+    private void rollBack(Segment segment, Throwable failure) {
+        writeBuffer.clear();
+        segment.reset();
+        try {
+            segment.channel.truncate(segment.size);
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    private static long flush(ByteBuffer buffer, FileChannel channel, long position) throws IOException {
+        buffer.flip();
+        long written = 0;
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer, position + written);
+        }
+        buffer.clear();
+        return written;
+    }
+
+    private void encode(ByteBuffer buffer, long offset, ChangeRecord record) {
+        encode(buffer, offset, record, writeCrc);
+    }
+
+    private static void encode(ByteBuffer buffer, long offset, ChangeRecord record, CRC32 crc) {
+        int start = buffer.position();
+        buffer.putInt(HEADER_BYTES - 4 + record.payload.length);
+        buffer.putInt(0);
+        buffer.putLong(offset).putLong(record.eventId).putInt(record.employeeId).putInt(record.generation)
+                .putLong(record.version).putLong(record.timestamp).put(record.payload);
+        crc.reset();
+        crc.update(buffer.slice(start + 8, buffer.position() - start - 8));
+        buffer.putInt(start + 4, (int) crc.getValue());
+    }
+
+    // Hands each record in [position, limit) to the visitor until it returns false. Returns the
+    // position after the last complete record with a valid checksum
+    private static long scan(FileChannel channel, long position, long limit, ByteBuffer buffer,
+                             RecordVisitor visitor) throws IOException {
+        CRC32 crc = new CRC32();
+        fill(channel, buffer, position, limit);
+        long bufferStart = position;
+        while (true) {
+            long recordPosition = bufferStart + buffer.position();
+            if (buffer.remaining() < 4) {
+                if (recordPosition + 4 > limit) {
+                    return recordPosition;
+                }
+                fill(channel, buffer, recordPosition, limit);
+                bufferStart = recordPosition;
+            }
+            int length = buffer.getInt(buffer.position());
+            if (length < HEADER_BYTES - 4 || recordPosition + 4 + length > limit) {
+                return recordPosition;
+            }
+            if (buffer.remaining() < 4 + length) {
+                if (buffer.capacity() < 4 + length) {
+                    buffer = ByteBuffer.allocate(4 + length);
+                }
+                fill(channel, buffer, recordPosition, limit);
+                bufferStart = recordPosition;
+            }
+            int start = buffer.position();
+            crc.reset();
+            crc.update(buffer.array(), buffer.arrayOffset() + start + 8, length - 4);
+            if (buffer.getInt(start + 4) != (int) crc.getValue()) {
+                return recordPosition;
+            }
+            buffer.position(start + 8);
+            long offset = buffer.getLong();
+            long eventId = buffer.getLong();
+            int employeeId = buffer.getInt();
+            int generation = buffer.getInt();
+            long version = buffer.getLong();
+            long timestamp = buffer.getLong();
+            byte[] payload = new byte[length - (HEADER_BYTES - 4)];
+            buffer.get(payload);
+            if (!visitor.visit(new ChangeRecord(offset, eventId, employeeId, generation, version, timestamp, payload),
+                    recordPosition)) {
+                return recordPosition + 4 + length;
+            }
+        }
+    }
+
+    private static void fill(FileChannel channel, ByteBuffer buffer, long position, long limit) throws IOException {
+        buffer.clear();
+        buffer.limit((int) Math.max(0, Math.min(buffer.capacity(), limit - position)));
+        while (buffer.hasRemaining() && channel.read(buffer, position + buffer.position()) >= 0) {
+            // keep reading until the buffer or the range is full
+        }
+        buffer.flip();
+    }
+
+    // Last segment whose base offset is at or below the offset (the first segment if none is)
+    private int floorSegment(long offset) {
+        int low = 0;
+        int high = segments.size() - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (segments.get(middle).baseOffset <= offset) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    private void notifyListeners(long firstOffset, List<ChangeRecord> records) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        List<ChangeRecord> appended = new ArrayList<>(records.size());
+        long offset = firstOffset;
+        for (ChangeRecord record : records) {
+            appended.add(new ChangeRecord(offset++, record.eventId, record.employeeId, record.generation, record.version,
+                    record.timestamp, record.payload));
+        }
+        for (AppendListener listener : listeners) {
+            try {
+                listener.appended(appended);
+            } catch (RuntimeException e) {
+                logger.warn("Change log listener failed", e);
+            }
+        }
+    }
+
+    private static String fileName(long baseOffset) {
+        return String.format("%020d", baseOffset);
+    }
+
+    public interface AppendListener {
+        // The records carry the offsets they were written at
+        void appended(List<ChangeRecord> records);
+    }
+
+    private interface RecordVisitor {
+        boolean visit(ChangeRecord record, long position) throws IOException;
+    }
+
+    /**
+     * One change as stored in the log; the payload is the EmployeeChangeDTO JSON from the outbox.
+     */
+    public static final class ChangeRecord {
+        private final long offset;
+        private final long eventId;
+        private final int employeeId;
+        // Orders one employee's changes; see EmployeeOutboxEvent
+        private final int generation;
+        private final long version;
+        private final long timestamp;
+        private final byte[] payload;
+
+        // For appends; the log assigns the offset
+        public ChangeRecord(long eventId, int employeeId, int generation, long version, long timestamp, byte[] payload) {
+            this(-1, eventId, employeeId, generation, version, timestamp, payload);
+        }
+
+        private ChangeRecord(long offset, long eventId, int employeeId, int generation, long version, long timestamp,
+                             byte[] payload) {
+            this.offset = offset;
+            this.eventId = eventId;
+            this.employeeId = employeeId;
+            this.generation = generation;
+            this.version = version;
+            this.timestamp = timestamp;
+            this.payload = payload;
+        }
+
+        public long getOffset() {
+            return offset;
+        }
+
+        public long getEventId() {
+            return eventId;
+        }
+
+        public int getEmployeeId() {
+            return employeeId;
+        }
+
+        public int getGeneration() {
+            return generation;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        public byte[] getPayload() {
+            return payload;
+        }
+    }
+
+    private static final class Segment {
+        private final long baseOffset;
+        private final Path path;
+        private final FileChannel channel;
+        // Bytes readers may see; grows only after the records are written
+        private volatile long size;
+        private volatile long lastOffset = -1;
+        private volatile long maxTimestamp = Long.MIN_VALUE;
+        // Offset/position pairs of every record that starts INDEX_INTERVAL_BYTES past the previous entry;
+        // the array is replaced before the count grows, so a reader never sees unset entries
+        private volatile long[] index = new long[64];
+        private volatile int indexEntries;
+        private long lastIndexedPosition = -INDEX_INTERVAL_BYTES;
+        // State as of the last complete write, restored when an append fails
+        private int markedIndexEntries;
+        private long markedIndexedPosition = -INDEX_INTERVAL_BYTES;
+        private long markedMaxTimestamp = Long.MIN_VALUE;
+
+        private Segment(long baseOffset, Path path, FileChannel channel) {
+            this.baseOffset = baseOffset;
+            this.path = path;
+            this.channel = channel;
+        }
+
+        private static Segment open(Path path, long baseOffset) throws IOException {
+            return new Segment(baseOffset, path, FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE));
+        }
+
+        // The same records under their final name after compaction
+        private Segment reopen(Path newPath) throws IOException {
+            Segment segment = open(newPath, baseOffset);
+            segment.size = size;
+            segment.lastOffset = lastOffset;
+            segment.maxTimestamp = maxTimestamp;
+            segment.index = index;
+            segment.indexEntries = indexEntries;
+            segment.lastIndexedPosition = lastIndexedPosition;
+            return segment;
+        }
+
+        private void index(long offset, long position) {
+            if (position - lastIndexedPosition < INDEX_INTERVAL_BYTES) {
+                return;
+            }
+            int entries = indexEntries;
+            long[] pairs = index;
+            if (2 * entries + 2 > pairs.length) {
+                pairs = Arrays.copyOf(pairs, pairs.length * 2);
+                index = pairs;
+            }
+            pairs[2 * entries] = offset;
+            pairs[2 * entries + 1] = position;
+            indexEntries = entries + 1;
+            lastIndexedPosition = position;
+        }
+
+        private void mark() {
+            markedIndexEntries = indexEntries;
+            markedIndexedPosition = lastIndexedPosition;
+            markedMaxTimestamp = maxTimestamp;
+        }
+
+        private void reset() {
+            indexEntries = markedIndexEntries;
+            lastIndexedPosition = markedIndexedPosition;
+            maxTimestamp = markedMaxTimestamp;
+        }
+
+        // Position of the last indexed record at or before the offset
+        private long floorPosition(long offset) {
+            int entries = indexEntries;
+            long[] pairs = index;
+            int low = 0;
+            int high = entries - 1;
+            long position = 0;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (pairs[2 * middle] <= offset) {
+                    position = pairs[2 * middle + 1];
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return position;
+        }
+    }
+}
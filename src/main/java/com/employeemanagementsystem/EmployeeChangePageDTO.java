@@ -0,0 +1,57 @@
+package com.employeemanagementsystem;
+
+import java.util.List;
+
+public class EmployeeChangePageDTO {
+
+    private List<EmployeeChangeDTO> changes;
+    // Offset to ask for next; equals endOffset once the consumer has caught up
+    private long nextOffset;
+    // Oldest retained offset; a consumer that asked for less has missed the changes in between
+    private long startOffset;
+    private long endOffset;
+
+    public EmployeeChangePageDTO() {
+        super();
+    }
+
+    public EmployeeChangePageDTO(List<EmployeeChangeDTO> changes, long nextOffset, long startOffset, long endOffset) {
+        super();
+        this.changes = changes;
+        this.nextOffset = nextOffset;
+        this.startOffset = startOffset;
+        this.endOffset = endOffset;
+    }
+
+    public List<EmployeeChangeDTO> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<EmployeeChangeDTO> changes) {
+        this.changes = changes;
+    }
+
+    public long getNextOffset() {
+        return nextOffset;
+    }
+
+    public void setNextOffset(long nextOffset) {
+        this.nextOffset = nextOffset;
+    }
+
+    public long getStartOffset() {
+        return startOffset;
+    }
+
+    public void setStartOffset(long startOffset) {
+        this.startOffset = startOffset;
+    }
+
+    public long getEndOffset() {
+        return endOffset;
+    }
+
+    public void setEndOffset(long endOffset) {
+        this.endOffset = endOffset;
+    }
+}
@@ -0,0 +1,69 @@
+package com.employeemanagementsystem;
+
+/**
+ * Columnar binary format of GET /employees/export/columnar, written by EmployeeColumnarWriter and
+ * read by EmployeeColumnarReader.
+ *
+ * Layout: magic (int), version (int), column count (int), then the name (UTF) and type (byte) of
+ * each column. Row groups follow, each a row count (int) and one chunk per column in header order:
+ * length of the rest (int), encoding (byte), values. A row count of 0 ends the stream. All numbers
+ * are big-endian.
+ *
+ * Encodings, chosen per chunk by the writer: PLAIN ints and longs are fixed width; RLE ints are a
+ * run count (int) and (value, run length) int pairs; PLAIN strings are a UTF-8 length (int, -1 for
+ * null) and bytes each; DICTIONARY strings are an entry count (int), the entries as PLAIN strings,
+ * a code width in bytes (1, 2 or 4) and one code per row, where 0 is null and n is entry n - 1.
+ */
+public final class EmployeeColumnarFormat {
+    public static final String MEDIA_TYPE = "application/x-employee-columnar";
+    // Stands in for null in int and long columns
+    public static final int NULL_INT = Integer.MIN_VALUE;
+    public static final long NULL_LONG = Long.MIN_VALUE;
+
+    static final int MAGIC = 0x454D5043; // "EMPC"
+    static final int VERSION = 1;
+
+    static final byte TYPE_INT = 1;
+    static final byte TYPE_LONG = 2;
+    static final byte TYPE_STRING = 3;
+
+    static final byte PLAIN = 1;
+    static final byte RLE = 2;
+    static final byte DICTIONARY = 3;
+
+    private EmployeeColumnarFormat() {
+    }
+
+    // DOB is in epoch days, salary in cents and the timestamps in epoch microseconds (UTC wall clock)
+    public enum Column {
+        EMPLOYEE_ID(TYPE_INT),
+        NAME(TYPE_STRING),
+        DOB(TYPE_INT),
+        MANAGER_ID(TYPE_INT),
+        SALARY_CENTS(TYPE_LONG),
+        EMAIL_ID(TYPE_STRING),
+        CREATED_MICROS(TYPE_LONG),
+        UPDATED_MICROS(TYPE_LONG),
+        VOTER_NUMBER(TYPE_STRING),
+        CITY(TYPE_STRING);
+
+        final byte type;
+
+        Column(byte type) {
+            this.type = type;
+        }
+    }
+
+    public static String encodingName(byte encoding) {
+        switch (encoding) {
+            case PLAIN:
+                return "PLAIN";
+            case RLE:
+                return "RLE";
+            case DICTIONARY:
+                return "DICTIONARY";
+            default:
+                return "UNKNOWN(" + encoding + ")";
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.employeemanagementsystem;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.employeemanagementsystem.EmployeeColumnarFormat.Column;
+
+/**
+ * Reads the columnar export (see EmployeeColumnarFormat) one row group at a time. Only the
+ * requested columns are decoded; the chunks of the others are skipped unread. Dictionary-encoded
+ * strings share one String per distinct value and RLE ints are expanded into plain arrays.
+ */
+public class EmployeeColumnarReader {
+    private final DataInputStream in;
+    private final Set<Column> columns;
+    // Per column in the stream: the known column, or null for one this reader does not know
+    private final Column[] streamColumns;
+    private boolean finished;
+
+    // Decodes every column
+    public EmployeeColumnarReader(InputStream in) throws IOException {
+        this(in, EnumSet.allOf(Column.class));
+    }
+
+    public EmployeeColumnarReader(InputStream in, Set<Column> columns) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(in, 64 * 1024));
+        this.columns = columns.isEmpty() ? EnumSet.noneOf(Column.class) : EnumSet.copyOf(columns);
+        if (this.in.readInt() != EmployeeColumnarFormat.MAGIC) {
+            throw new IOException("Not a columnar employee export");
+        }
+        int version = this.in.readInt();
+        if (version != EmployeeColumnarFormat.VERSION) {
+            throw new IOException("Unsupported columnar export version " + version);
+        }
+        streamColumns = new Column[this.in.readInt()];
+        for (int i = 0; i < streamColumns.length; i++) {
+            String name = this.in.readUTF();
+            byte type = this.in.readByte();
+            for (Column column : Column.values()) {
+                if (column.name().equals(name) && column.type == type) {
+                    streamColumns[i] = column;
+                }
+            }
+        }
+    }
+
+    // The next row group, or null after the last one
+    public RowGroup next() throws IOException {
+        if (finished) {
+            return null;
+        }
+        int rows = in.readInt();
+        if (rows == 0) {
+            finished = true;
+            return null;
+        }
+        RowGroup rowGroup = new RowGroup(rows);
+        for (Column column : streamColumns) {
+            int length = in.readInt();
+            if (column == null || !columns.contains(column)) {
+                in.skipNBytes(length);
+                continue;
+            }
+            byte[] bytes = new byte[length];
+            in.readFully(bytes);
+            ByteBuffer chunk = ByteBuffer.wrap(bytes);
+            byte encoding = chunk.get();
+            rowGroup.encodings.put(column, encoding);
+            switch (column.type) {
+                case EmployeeColumnarFormat.TYPE_INT:
+                    rowGroup.values.put(column, readInts(chunk, encoding, rows));
+                    break;
+                case EmployeeColumnarFormat.TYPE_LONG:
+                    rowGroup.values.put(column, readLongs(chunk, encoding, rows));
+                    break;
+                default:
+                    rowGroup.values.put(column, readStrings(chunk, encoding, rows));
+            }
+        }
+        return rowGroup;
+    }
+
+    private static int[] readInts(ByteBuffer chunk, byte encoding, int rows) throws IOException {
+        int[] values = new int[rows];
+        if (encoding == EmployeeColumnarFormat.PLAIN) {
+            chunk.asIntBuffer().get(values);
+        } else if (encoding == EmployeeColumnarFormat.RLE) {
+            int runs = chunk.getInt();
+            int row = 0;
+            for (int run = 0; run < runs; run++) {
+                int value = chunk.getInt();
+                int length = chunk.getInt();
+                for (int end = row + length; row < end; row++) {
+                    values[row] = value;
+                }
+            }
+        } else {
+            throw unsupported(encoding);
+        }
+        return values;
+    }
+
+    private static long[] readLongs(ByteBuffer chunk, byte encoding, int rows) throws IOException {
+        if (encoding != EmployeeColumnarFormat.PLAIN) {
+            throw unsupported(encoding);
+        }
+        long[] values = new long[rows];
+        chunk.asLongBuffer().get(values);
+        return values;
+    }
+
+    private static String[] readStrings(ByteBuffer chunk, byte encoding, int rows) throws IOException {
+        String[] values = new String[rows];
+        if (encoding == EmployeeColumnarFormat.PLAIN) {
+            for (int row = 0; row < rows; row++) {
+                values[row] = readString(chunk);
+            }
+        } else if (encoding == EmployeeColumnarFormat.DICTIONARY) {
+            String[] entries = new String[chunk.getInt() + 1];
+            for (int i = 1; i < entries.length; i++) {
+                entries[i] = readString(chunk);
+            }
+            int width = chunk.get();
+            for (int row = 0; row < rows; row++) {
+                int code = width == 1 ? chunk.get() & 0xFF : width == 2 ? chunk.getShort() & 0xFFFF : chunk.getInt();
+                values[row] = entries[code];
+            }
+        } else {
+            throw unsupported(encoding);
+        }
+        return values;
+    }
+
+    private static String readString(ByteBuffer chunk) {
+        int length = chunk.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(chunk.array(), chunk.arrayOffset() + chunk.position(), length, StandardCharsets.UTF_8);
+        chunk.position(chunk.position() + length);
+        return value;
+    }
+
+    private static IOException unsupported(byte encoding) {
+        return new IOException("Unsupported column encoding " + EmployeeColumnarFormat.encodingName(encoding));
+    }
+
+    /**
+     * One row group's decoded columns; null values are EmployeeColumnarFormat.NULL_INT / NULL_LONG
+     * in the primitive arrays.
+     */
+    public static final class RowGroup {
+        private final int rows;
+        private final Map<Column, Object> values = new EnumMap<>(Column.class);
+        private final Map<Column, Byte> encodings = new EnumMap<>(Column.class);
+
+        private RowGroup(int rows) {
+            this.rows = rows;
+        }
+
+        public int rows() {
+            return rows;
+        }
+
+        public int[] ints(Column column) {
+            return (int[]) column(column, EmployeeColumnarFormat.TYPE_INT);
+        }
+
+        public long[] longs(Column column) {
+            return (long[]) column(column, EmployeeColumnarFormat.TYPE_LONG);
+        }
+
+        public String[] strings(Column column) {
+            return (String[]) column(column, EmployeeColumnarFormat.TYPE_STRING);
+        }
+
+        // How the column was stored in this row group: PLAIN, RLE or DICTIONARY
+        public String encoding(Column column) {
+            column(column, column.type);
+            return EmployeeColumnarFormat.encodingName(encodings.get(column));
+        }
+
+        private Object column(Column column, byte type) {
+            if (column.type != type) {
+                throw new IllegalArgumentException(column + " is not of the requested type");
+            }
+            Object value = values.get(column);
+            if (value == null) {
+                throw new IllegalArgumentException(column + " was not read");
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.employeemanagementsystem;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.employeemanagementsystem.EmployeeColumnarFormat.Column;
+
+/**
+ * Streams rows into the columnar format (see EmployeeColumnarFormat). Rows are buffered one row
+ * group at a time, then each column is encoded as a chunk, so memory stays at one row group however
+ * many rows are written. The underlying stream is flushed after every row group but not closed.
+ */
+public class EmployeeColumnarWriter {
+    private static final Column[] COLUMNS = Column.values();
+
+    private final DataOutputStream out;
+    private final int rowGroupSize;
+    private final int[] employeeIds;
+    private final String[] names;
+    private final int[] dobs;
+    private final int[] managerIds;
+    private final long[] salaryCents;
+    private final String[] emailIds;
+    private final long[] createdMicros;
+    private final long[] updatedMicros;
+    private final String[] voterNumbers;
+    private final String[] cities;
+    private final ByteArrayOutputStream chunkBytes = new ByteArrayOutputStream(64 * 1024);
+    private final DataOutputStream chunk = new DataOutputStream(chunkBytes);
+    private int rows;
+    private long totalRows;
+
+    public EmployeeColumnarWriter(OutputStream out, int rowGroupSize) throws IOException {
+        if (rowGroupSize < 1) {
+            throw new IllegalArgumentException("Row group size must be at least 1");
+        }
+        this.out = new DataOutputStream(out);
+        this.rowGroupSize = rowGroupSize;
+        this.employeeIds = new int[rowGroupSize];
+        this.names = new String[rowGroupSize];
+        this.dobs = new int[rowGroupSize];
+        this.managerIds = new int[rowGroupSize];
+        this.salaryCents = new long[rowGroupSize];
+        this.emailIds = new String[rowGroupSize];
+        this.createdMicros = new long[rowGroupSize];
+        this.updatedMicros = new long[rowGroupSize];
+        this.voterNumbers = new String[rowGroupSize];
+        this.cities = new String[rowGroupSize];
+
+        this.out.writeInt(EmployeeColumnarFormat.MAGIC);
+        this.out.writeInt(EmployeeColumnarFormat.VERSION);
+        this.out.writeInt(COLUMNS.length);
+        for (Column column : COLUMNS) {
+            this.out.writeUTF(column.name());
+            this.out.writeByte(column.type);
+        }
+    }
+
+    // Salary is stored in cents; Employee allows at most two decimal places
+    public void write(int employeeId, String name, LocalDate dob, Integer managerId, BigDecimal salary, String emailId,
+                      LocalDateTime createdDateTime, LocalDateTime updatedDateTime, String voterNumber, String city)
+            throws IOException {
+        employeeIds[rows] = employeeId;
+        names[rows] = name;
+        dobs[rows] = dob == null ? EmployeeColumnarFormat.NULL_INT : Math.toIntExact(dob.toEpochDay());
+        managerIds[rows] = managerId == null ? EmployeeColumnarFormat.NULL_INT : managerId;
+        salaryCents[rows] = salary == null ? EmployeeColumnarFormat.NULL_LONG : salary.movePointRight(2).longValueExact();
+        emailIds[rows] = emailId;
+        createdMicros[rows] = micros(createdDateTime);
+        updatedMicros[rows] = micros(updatedDateTime);
+        voterNumbers[rows] = voterNumber;
+        cities[rows] = city;
+        if (++rows == rowGroupSize) {
+            writeRowGroup();
+        }
+    }
+
+    // Writes the last (partial) row group and the end marker; returns the rows written
+    public long finish() throws IOException {
+        if (rows > 0) {
+            writeRowGroup();
+        }
+        out.writeInt(0);
+        out.flush();
+        return totalRows;
+    }
+
+    private void writeRowGroup() throws IOException {
+        out.writeInt(rows);
+        writeInts(employeeIds);
+        writeStrings(names);
+        writeInts(dobs);
+        writeInts(managerIds);
+        writeLongs(salaryCents);
+        writeStrings(emailIds);
+        writeLongs(createdMicros);
+        writeLongs(updatedMicros);
+        writeStrings(voterNumbers);
+        writeStrings(cities);
+        out.flush();
+        totalRows += rows;
+        rows = 0;
+    }
+
+    // RLE once the runs (8 bytes each) take at most half the space of the plain values
+    private void writeInts(int[] values) throws IOException {
+        int runs = rows == 0 ? 0 : 1;
+        for (int i = 1; i < rows; i++) {
+            if (values[i] != values[i - 1]) {
+                runs++;
+            }
+        }
+        if (runs * 4 <= rows) {
+            chunk.writeByte(EmployeeColumnarFormat.RLE);
+            chunk.writeInt(runs);
+            int start = 0;
+            for (int i = 1; i <= rows; i++) {
+                if (i == rows || values[i] != values[start]) {
+                    chunk.writeInt(values[start]);
+                    chunk.writeInt(i - start);
+                    start = i;
+                }
+            }
+        } else {
+            chunk.writeByte(EmployeeColumnarFormat.PLAIN);
+            for (int i = 0; i < rows; i++) {
+                chunk.writeInt(values[i]);
+            }
+        }
+        writeChunk();
+    }
+
+    private void writeLongs(long[] values) throws IOException {
+        chunk.writeByte(EmployeeColumnarFormat.PLAIN);
+        for (int i = 0; i < rows; i++) {
+            chunk.writeLong(values[i]);
+        }
+        writeChunk();
+    }
+
+    // A dictionary while the distinct values stay under half the rows; mostly unique columns
+    // (emails, voter numbers) fall back to plain
+    private void writeStrings(String[] values) throws IOException {
+        Map<String, Integer> codes = new HashMap<>();
+        List<String> entries = new ArrayList<>();
+        int[] rowCodes = new int[rows];
+        boolean dictionary = true;
+        for (int i = 0; i < rows && dictionary; i++) {
+            if (values[i] != null) {
+                Integer code = codes.get(values[i]);
+                if (code == null) {
+                    entries.add(values[i]);
+                    code = entries.size();
+                    codes.put(values[i], code);
+                    dictionary = entries.size() * 2 <= rows;
+                }
+                rowCodes[i] = code;
+            }
+        }
+        if (dictionary) {
+            chunk.writeByte(EmployeeColumnarFormat.DICTIONARY);
+            chunk.writeInt(entries.size());
+            for (String entry : entries) {
+                writeString(entry);
+            }
+            int width = entries.size() < 0xFF ? 1 : entries.size() < 0xFFFF ? 2 : 4;
+            chunk.writeByte(width);
+            for (int i = 0; i < rows; i++) {
+                if (width == 1) {
+                    chunk.writeByte(rowCodes[i]);
+                } else if (width == 2) {
+                    chunk.writeShort(rowCodes[i]);
+                } else {
+                    chunk.writeInt(rowCodes[i]);
+                }
+            }
+        } else {
+            chunk.writeByte(EmployeeColumnarFormat.PLAIN);
+            for (int i = 0; i < rows; i++) {
+                writeString(values[i]);
+            }
+        }
+        writeChunk();
+    }
+
+    private void writeString(String value) throws IOException {
+        if (value == null) {
+            chunk.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        chunk.writeInt(bytes.length);
+        chunk.write(bytes);
+    }
+
+    private void writeChunk() throws IOException {
+        chunk.flush();
+        out.writeInt(chunkBytes.size());
+        chunkBytes.writeTo(out);
+        chunkBytes.reset();
+    }
+
+    // Oracle and H2 keep microseconds, so nothing is lost
+    private static long micros(LocalDateTime value) {
+        if (value == null) {
+            return EmployeeColumnarFormat.NULL_LONG;
+        }
+        return value.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + value.getNano() / 1_000;
+    }
+}
@@ -1,5 +1,8 @@
 package com.employeemanagementsystem;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -8,9 +11,14 @@ import java.util.stream.Collectors;
 
 import javax.validation.Valid;
 
+import com.fasterxml.jackson.databind.JsonNode;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -18,28 +26,69 @@ import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.filter.ServerHttpObservationFilter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
 
 @RestController
 @RequestMapping("/employees")
 public class EmployeeController {
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeController.class);
+
     private final EmployeeService employeeService;
+
+    private final EmployeeExportService employeeExportService;
+
+    private final EmployeeBulkService employeeBulkService;
+
+    private final SalaryStatsService salaryStatsService;
+
+    private final PayrollSnapshotService payrollSnapshotService;
+
+    private final EmployeeOutboxRelay employeeOutboxRelay;
+
+    private final EmployeeChangeFeed employeeChangeFeed;
+
+    private final EmployeeSyncService employeeSyncService;
  
     private final Validator validator;
+
+    @Value("${employee.export.timeout:30m}")
+    private Duration exportTimeout;
  
    
 
-    public EmployeeController(EmployeeService employeeService, Validator validator) {
+    public EmployeeController(EmployeeService employeeService, EmployeeExportService employeeExportService,
+                              EmployeeBulkService employeeBulkService, SalaryStatsService salaryStatsService,
+                              PayrollSnapshotService payrollSnapshotService, EmployeeOutboxRelay employeeOutboxRelay,
+                              EmployeeChangeFeed employeeChangeFeed, EmployeeSyncService employeeSyncService,
+                              Validator validator) {
 		super();
 		this.employeeService = employeeService;
+		this.employeeExportService = employeeExportService;
+		this.employeeBulkService = employeeBulkService;
+		this.salaryStatsService = salaryStatsService;
+		this.payrollSnapshotService = payrollSnapshotService;
+		this.employeeOutboxRelay = employeeOutboxRelay;
+		this.employeeChangeFeed = employeeChangeFeed;
+		this.employeeSyncService = employeeSyncService;
 		this.validator = validator;
 	}
 
@@ -55,20 +104,7 @@ public class EmployeeController {
                 return ResponseEntity.badRequest().body(errors);
             }
 
-            Employee employee = convertToEntity(employeeDTO);
-            
-            if (employeeDTO.getPhoneNumbers() != null && !employeeDTO.getPhoneNumbers().isEmpty()) {
-                List<PhoneNumber> phoneNumbers = convertPhoneNumbersToEntities(employeeDTO.getPhoneNumbers());
-                for (PhoneNumber phoneNumber : phoneNumbers) {
-                    phoneNumber.setEmployee(employee);
-                }
-                employee.setPhoneNumbers(phoneNumbers);
-            }
-            
-            if (employeeDTO.getVoterID() != null) {
-                VoterID voterID = convertVoterIDToEntity(employeeDTO.getVoterID());
-                employee.setVoterID(voterID);
-            }
+            Employee employee = EmployeeMapper.toEntity(employeeDTO);
 
             employeeService.createEmployee(employee);
 
@@ -78,7 +114,7 @@ public class EmployeeController {
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Failed to create employee: " + e.getMessage());
         } catch (Throwable t) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Failed to create employee: " + t.toString());
+            return serverError("Failed to create employee", t);
         }
     }
 
@@ -86,20 +122,25 @@ public class EmployeeController {
     
  
 
+    // The version is the ETag; a matching If-None-Match gets a bodiless 304, so nothing is serialized
     @GetMapping("/{id}")
-    public ResponseEntity<?> getEmployeeById(@PathVariable Integer id) {
+    public ResponseEntity<?> getEmployeeById(@PathVariable Integer id,
+                                             @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            Optional<Employee> employee = employeeService.findByIdWithDetails(id);
-            if (employee.isPresent()) {
-                EmployeeDTO employeeDTO = convertToDTO(employee.get());
-                return ResponseEntity.ok(employeeDTO);
+            Optional<EmployeeDTO> employeeDTO = employeeService.getEmployeeDTO(id);
+            if (employeeDTO.isPresent()) {
+                String eTag = EmployeeETag.of(employeeDTO.get().getVersion());
+                if (EmployeeETag.matchesIfNoneMatch(ifNoneMatch, eTag)) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+                }
+                return ResponseEntity.ok().eTag(eTag).body(employeeDTO.get());
             } else {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Employee not found");
             }
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Failed to retrieve employee: " + e.getMessage());
         } catch (Throwable t) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Failed to retrieve employee: " + t.toString());
+            return serverError("Failed to retrieve employee", t);
         }
     }
 
@@ -107,24 +148,50 @@ public class EmployeeController {
     @GetMapping("/managers/{managerId}")
     public ResponseEntity<List<EmployeeDTO>> getEmployeesByManagerId(@PathVariable Integer managerId) {
         try {
-            List<Employee> employees = employeeService.getEmployeesByManagerId(managerId);
-            if (!employees.isEmpty()) {
-                List<EmployeeDTO> employeeDTOs = employees.stream()
-                        .map(this::convertToDTO)
-                        .collect(Collectors.toList());
+            List<EmployeeDTO> employeeDTOs = employeeService.getTeamDTOs(managerId);
+            if (!employeeDTOs.isEmpty()) {
                 return ResponseEntity.ok(employeeDTOs);
             } else {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ArrayList<>());
             }
         } catch (Throwable t) {
+            recordFailure("Failed to retrieve employees by manager", t);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
         }
     }
 
+    @GetMapping("/managers/{managerId}/reports")
+    public ResponseEntity<?> getReports(@PathVariable Integer managerId,
+                                        @RequestParam(required = false) Integer depth) {
+        try {
+            Optional<EmployeeReportsDTO> reports = employeeService.getReports(managerId, depth);
+            if (reports.isPresent()) {
+                return ResponseEntity.ok(reports.get());
+            } else {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Manager not found");
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Failed to retrieve reports: " + e.getMessage());
+        } catch (Throwable t) {
+            return serverError("Failed to retrieve reports", t);
+        }
+    }
+
+    @GetMapping("/{id}/chain-of-command")
+    public ResponseEntity<?> getChainOfCommand(@PathVariable Integer id) {
+        Optional<List<Integer>> chain = employeeService.getChainOfCommand(id);
+        if (chain.isPresent()) {
+            return ResponseEntity.ok(chain.get());
+        } else {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Employee not found");
+        }
+    }
+
     @PutMapping("/update/{id}")
     public ResponseEntity<String> updateEmployeeDetails(@PathVariable Integer id,
                                                         @RequestBody @Valid EmployeeUpdateRequestDTO employeeUpdateRequest,
-                                                        BindingResult bindingResult) {
+                                                        BindingResult bindingResult,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         if (bindingResult.hasErrors()) {
             List<String> errors = new ArrayList<>();
             for (FieldError error : bindingResult.getFieldErrors()) {
@@ -132,116 +199,269 @@ public class EmployeeController {
            }
             return ResponseEntity.badRequest().body(errors.toString());
         }
+        // Phones are merged by phoneId, and PHONE_ID has no generator for new ones
+        if (employeeUpdateRequest.getPhoneNumbers() != null) {
+            for (PhoneNumberDTO phoneNumberDTO : employeeUpdateRequest.getPhoneNumbers()) {
+                if (phoneNumberDTO.getPhoneId() == null) {
+                    return ResponseEntity.badRequest().body(List.of("phoneNumbers.phoneId: must not be null").toString());
+                }
+            }
+        }
 
         try {
-            employeeService.updateEmployeeDetails(id, employeeUpdateRequest);
+            employeeService.updateEmployeeDetails(id, employeeUpdateRequest, EmployeeETag.expectedVersion(ifMatch));
             return ResponseEntity.ok("Employee details updated successfully");
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                    .body("Failed to update employee details: the employee was modified by another request");
+        } catch (RequestException e) {
+            return ResponseEntity.badRequest().body("Failed to update employee details: " + e.getMessage());
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body("Failed to update employee details: " + e.getMessage());
         } catch (Throwable t) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body("Failed to update employee details: " + t.toString());
+            return serverError("Failed to update employee details", t);
         }
     }
     
     
+    @PatchMapping(value = "/{id}", consumes = EmployeeMergePatch.MEDIA_TYPE)
+    public ResponseEntity<String> patchEmployee(@PathVariable Integer id, @RequestBody JsonNode patch,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            if (!employeeService.patchEmployee(id, patch, EmployeeETag.expectedVersion(ifMatch))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
+            return ResponseEntity.ok("Employee details updated successfully");
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                    .body("Failed to patch employee: the employee was modified by another request");
+        } catch (RequestException e) {
+            return ResponseEntity.badRequest().body("Failed to patch employee: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Failed to patch employee: " + e.getMessage());
+        } catch (Throwable t) {
+            return serverError("Failed to patch employee", t);
+        }
+    }
+
+
     @DeleteMapping("/delete/{id}")
-    public ResponseEntity<String> deleteEmployee(@PathVariable Integer id) {
+    public ResponseEntity<String> deleteEmployee(@PathVariable Integer id,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            employeeService.deleteEmployee(id);
+            employeeService.deleteEmployee(id, EmployeeETag.expectedVersion(ifMatch));
             return ResponseEntity.ok("Employee deleted successfully");
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                    .body("Failed to delete employee: the employee was modified by another request");
         } catch (Throwable t) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Failed to delete employee: " + t.toString());
+            return serverError("Failed to delete employee", t);
         }
     }
 
     @GetMapping
-    public ResponseEntity<?> getAllEmployees() {
+    public ResponseEntity<?> getAllEmployees(@RequestParam(required = false) String cursor,
+                                             @RequestParam(required = false) Integer size) {
         try {
-            List<Employee> employees = employeeService.getAllEmployees();
-            if (!employees.isEmpty()) {
-                return ResponseEntity.ok(employees);
-            } else {
+            EmployeePageDTO page = employeeService.getEmployeePage(cursor, size);
+            if (cursor == null && page.getEmployees().isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body("No employees found");
             }
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Failed to retrieve employees: " + e.getMessage());
+        } catch (Throwable t) {
+            return serverError("Failed to retrieve employees", t);
+        }
+    }
+
+    // Delta sync: omit since for a full sync, then keep passing nextToken back; 410 means start over
+    @GetMapping("/sync")
+    public ResponseEntity<?> syncEmployees(@RequestParam(required = false) String since,
+                                           @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(employeeSyncService.getChangesSince(since, size));
+        } catch (SyncTokenExpiredException e) {
+            return ResponseEntity.status(HttpStatus.GONE).body("Failed to sync employees: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Failed to sync employees: " + e.getMessage());
         } catch (Throwable t) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Failed to retrieve employees: " + t.toString());
+            return serverError("Failed to sync employees", t);
         }
     }
 
-    // Helper methods for conversion
-    private Employee convertToEntity(EmployeeDTO employeeDTO) {
-        Employee employee = new Employee();
-        employee.setEmployeeId(employeeDTO.getEmployeeId());
-        employee.setName(employeeDTO.getName());
-        employee.setDob(employeeDTO.getDob());
-        employee.setManagerId(employeeDTO.getManagerId());
-        employee.setSalary(employeeDTO.getSalary());
-        employee.setEmailId(employeeDTO.getEmailId());
-        return employee;
+    @GetMapping("/search")
+    public ResponseEntity<?> searchEmployees(EmployeeSearchCriteria criteria, BindingResult bindingResult,
+                                             @RequestParam(required = false) String sort,
+                                             @RequestParam(defaultValue = "0") int page,
+                                             @RequestParam(required = false) Integer limit,
+                                             @RequestParam(defaultValue = "true") boolean count) {
+        if (bindingResult.hasErrors()) {
+            List<String> errors = new ArrayList<>();
+            for (FieldError error : bindingResult.getFieldErrors()) {
+                errors.add(error.getField() + ": invalid value " + error.getRejectedValue());
+            }
+            return ResponseEntity.badRequest().body(errors.toString());
+        }
+        try {
+            return ResponseEntity.ok(employeeService.searchEmployees(criteria, sort, page, limit, count));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Failed to search employees: " + e.getMessage());
+        } catch (Throwable t) {
+            return serverError("Failed to search employees", t);
+        }
     }
 
-    private List<PhoneNumber> convertPhoneNumbersToEntities(List<PhoneNumberDTO> phoneNumberDTOs) {
-        List<PhoneNumber> phoneNumbers = new ArrayList<>();
-        for (PhoneNumberDTO phoneNumberDTO : phoneNumberDTOs) {
-            PhoneNumber phoneNumber = new PhoneNumber();
-            phoneNumber.setPhoneId(phoneNumberDTO.getPhoneId());
-            phoneNumber.setPhoneNumber(phoneNumberDTO.getPhoneNumber());
-            phoneNumber.setProvider(phoneNumberDTO.getProvider());
-            phoneNumber.setType(phoneNumberDTO.getType());
-            phoneNumbers.add(phoneNumber);
+    @GetMapping("/lookup")
+    public ResponseEntity<?> lookupEmployees(@RequestParam String q,
+                                             @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(employeeService.lookupEmployees(q, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Failed to look up employees: " + e.getMessage());
+        } catch (Throwable t) {
+            return serverError("Failed to look up employees", t);
         }
-        return phoneNumbers;
     }
 
-    private VoterID convertVoterIDToEntity(VoterIDDTO voterIDDTO) {
-        VoterID voterID = new VoterID();
-        voterID.setVoterId(voterIDDTO.getVoterId());
-        voterID.setEmployeeId(voterIDDTO.getEmployeeId());
-        voterID.setVoterNumber(voterIDDTO.getVoterNumber());
-        voterID.setCity(voterIDDTO.getCity());
-        return voterID;
+    @GetMapping("/cache/stats")
+    public ResponseEntity<EmployeeCacheStatsDTO> getCacheStats() {
+        return ResponseEntity.ok(employeeService.getCacheStats());
     }
 
- 
+    // Served from the in-memory aggregates; managerId narrows the answer to one manager's team
+    @GetMapping("/stats/salary")
+    public ResponseEntity<?> getSalaryStats(@RequestParam(required = false) Integer managerId) {
+        if (managerId == null) {
+            return ResponseEntity.ok(salaryStatsService.getAllStats());
+        }
+        SalaryStatsDTO stats = salaryStatsService.getManagerStats(managerId);
+        if (stats == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Manager not found");
+        }
+        return ResponseEntity.ok(stats);
+    }
 
-    private EmployeeDTO convertToDTO(Employee employee) {
-        EmployeeDTO employeeDTO = new EmployeeDTO();
-        employeeDTO.setEmployeeId(employee.getEmployeeId());
-        employeeDTO.setName(employee.getName());
-        employeeDTO.setDob(employee.getDob());
-        employeeDTO.setManagerId(employee.getManagerId());
-        employeeDTO.setSalary(employee.getSalary());
-        employeeDTO.setEmailId(employee.getEmailId());
-        employeeDTO.setCreatedDateTime(employee.getCreatedDateTime());
-        employeeDTO.setUpdatedDateTime(employee.getUpdatedDateTime());
-        System.out.println(employee.getCreatedDateTime());
-        System.out.println(employee.getUpdatedDateTime());
+    // Runs the snapshot job now and returns the new snapshot with its per-partition timings
+    @PostMapping("/payroll/snapshots")
+    public ResponseEntity<?> createPayrollSnapshot(@RequestParam(required = false) Integer parallelism) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(payrollSnapshotService.createSnapshot(parallelism));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Failed to create payroll snapshot: " + e.getMessage());
+        } catch (Throwable t) {
+            return serverError("Failed to create payroll snapshot", t);
+        }
+    }
 
-        List<PhoneNumberDTO> phoneNumberDTOs = new ArrayList<>();
-        for (PhoneNumber phoneNumber : employee.getPhoneNumbers()) {
-            PhoneNumberDTO phoneNumberDTO = new PhoneNumberDTO();
-            phoneNumberDTO.setPhoneId(phoneNumber.getPhoneId());
-            phoneNumberDTO.setPhoneNumber(phoneNumber.getPhoneNumber());
-            phoneNumberDTO.setProvider(phoneNumber.getProvider());
-            phoneNumberDTO.setType(phoneNumber.getType());
-            phoneNumberDTOs.add(phoneNumberDTO);
+    @GetMapping("/payroll/snapshots/{snapshotId}")
+    public ResponseEntity<?> getPayrollSnapshot(@PathVariable Long snapshotId) {
+        Optional<PayrollSnapshotDTO> snapshot = payrollSnapshotService.getSnapshot(snapshotId);
+        if (snapshot.isPresent()) {
+            return ResponseEntity.ok(snapshot.get());
+        } else {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Payroll snapshot not found");
         }
-        employeeDTO.setPhoneNumbers(phoneNumberDTOs);
+    }
 
-        if (employee.getVoterID() != null) {
-            VoterID voterID = employee.getVoterID();
-            VoterIDDTO voterIDDTO = new VoterIDDTO();
-            voterIDDTO.setVoterId(voterID.getVoterId());
-            voterIDDTO.setEmployeeId(voterID.getEmployeeId());
-            voterIDDTO.setVoterNumber(voterID.getVoterNumber());
-            voterIDDTO.setCity(voterID.getCity());
-            employeeDTO.setVoterID(voterIDDTO);
+    // Change log by offset: start at 0 (or a stored nextOffset) and keep passing nextOffset back
+    @GetMapping("/changes")
+    public ResponseEntity<?> getChanges(@RequestParam(defaultValue = "0") long offset,
+                                        @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(employeeService.getChanges(offset, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Failed to read changes: " + e.getMessage());
+        } catch (Throwable t) {
+            return serverError("Failed to read changes", t);
         }
+    }
 
-        return employeeDTO;
+    // Same changes pushed as Server-Sent Events; the event id is the offset, so EventSource resumes by itself
+    @GetMapping(value = "/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChanges(@RequestParam(required = false) Integer managerId,
+                                                    @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        Long resumeAfter;
+        try {
+            resumeAfter = lastEventId == null || lastEventId.isBlank() ? null : Long.valueOf(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        try {
+            SseEmitter emitter = employeeChangeFeed.subscribe(managerId, resumeAfter);
+            if (emitter == null) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5").build();
+            }
+            return ResponseEntity.ok().header(HttpHeaders.CACHE_CONTROL, "no-cache").body(emitter);
+        } catch (Throwable t) {
+            recordFailure("Failed to open the change stream", t);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @GetMapping("/changes/stats")
+    public ResponseEntity<EmployeeOutboxStatsDTO> getChangeStats() {
+        return ResponseEntity.ok(employeeOutboxRelay.stats());
+    }
+
+    @GetMapping("/org-chart/stats")
+    public ResponseEntity<EmployeeOrgChartStatsDTO> getOrgChartStats() {
+        return ResponseEntity.ok(employeeService.getOrgChartStats());
+    }
+
+    @GetMapping("/notifications/stats")
+    public ResponseEntity<NotificationStatsDTO> getNotificationStats() {
+        return ResponseEntity.ok(employeeService.getNotificationStats());
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public WebAsyncTask<Void> exportEmployees(HttpServletResponse response) {
+        return export(response, MediaType.APPLICATION_NDJSON_VALUE, employeeExportService::exportNdjson);
+    }
+
+    // Same rows as /export without the phones, as columns; read it with EmployeeColumnarReader
+    @GetMapping(value = "/export/columnar", produces = EmployeeColumnarFormat.MEDIA_TYPE)
+    public WebAsyncTask<Void> exportEmployeesColumnar(HttpServletResponse response) {
+        return export(response, EmployeeColumnarFormat.MEDIA_TYPE, employeeExportService::exportColumnar);
+    }
+
+    // A StreamingResponseBody would run under spring.mvc.async.request-timeout, which every async
+    // endpoint shares; the exports write on a WebAsyncTask with employee.export.timeout instead
+    private WebAsyncTask<Void> export(HttpServletResponse response, String contentType, StreamingResponseBody body) {
+        response.setContentType(contentType);
+        return new WebAsyncTask<>(exportTimeout.toMillis(), () -> {
+            body.writeTo(response.getOutputStream());
+            response.flushBuffer();
+            return null;
+        });
+    }
+
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<?> bulkCreateEmployees(InputStream body) {
+        try {
+            List<EmployeeDTO> employeeDTOs = employeeBulkService.readEmployees(body);
+            return ResponseEntity.ok(employeeBulkService.createEmployees(employeeDTOs));
+        } catch (IOException | IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Failed to read employees: " + e.getMessage());
+        } catch (Throwable t) {
+            return serverError("Failed to create employees", t);
+        }
     }
 
+    private ResponseEntity<String> serverError(String message, Throwable t) {
+        recordFailure(message, t);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(message + ": " + t.toString());
     }
 
+    // The exception never leaves the controller, so log it and hand it to the request's
+    // observation; otherwise http.server.requests only sees a 500 with exception "none"
+    private void recordFailure(String message, Throwable t) {
+        logger.error(message, t);
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            ServerHttpObservationFilter.findObservationContext(servletAttributes.getRequest())
+                    .ifPresent(context -> context.setError(t));
+        }
+    }
+}
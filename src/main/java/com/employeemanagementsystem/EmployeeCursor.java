@@ -0,0 +1,33 @@
+package com.employeemanagementsystem;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes the keyset position (last EMPLOYEE_ID served) as an opaque URL-safe token.
+ */
+public final class EmployeeCursor {
+
+    private static final String PREFIX = "emp:";
+
+    private EmployeeCursor() {
+    }
+
+    public static String encode(Integer lastEmployeeId) {
+        String raw = PREFIX + lastEmployeeId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Integer decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return Integer.valueOf(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            // Base64 and number format errors both end up here
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -20,6 +20,7 @@ public class EmployeeDTO {
 	    private VoterIDDTO voterID;
 	    private LocalDateTime createdDateTime;
 	    private LocalDateTime updatedDateTime;
+	    private Long version;
 		public Integer getEmployeeId() {
 			return employeeId;
 		}
@@ -71,12 +72,32 @@ public class EmployeeDTO {
 		public EmployeeDTO() {
 			super();
 		}
+		// Used by the JPQL constructor projections in EmployeeRepository
+		public EmployeeDTO(Integer employeeId, String name, LocalDate dob, Integer managerId, BigDecimal salary,
+				String emailId, LocalDateTime createdDateTime, LocalDateTime updatedDateTime, Long version) {
+			super();
+			this.employeeId = employeeId;
+			this.name = name;
+			this.dob = dob;
+			this.managerId = managerId;
+			this.salary = salary;
+			this.emailId = emailId;
+			this.createdDateTime = createdDateTime;
+			this.updatedDateTime = updatedDateTime;
+			this.version = version;
+		}
 		public LocalDateTime getCreatedDateTime() {
 			return createdDateTime;
 		}
 		public void setCreatedDateTime(LocalDateTime createdDateTime) {
 			this.createdDateTime = createdDateTime;
 		}
+		public Long getVersion() {
+			return version;
+		}
+		public void setVersion(Long version) {
+			this.version = version;
+		}
 		public LocalDateTime getUpdatedDateTime() {
 			return updatedDateTime;
 		}
@@ -0,0 +1,52 @@
+package com.employeemanagementsystem;
+
+/**
+ * Strong ETags built from the employee version column, and the conditional request headers
+ * compared against them.
+ */
+public final class EmployeeETag {
+
+    // Stands in for an If-Match value this API never issues; no employee has a negative version
+    private static final long NO_MATCH = -1L;
+
+    private EmployeeETag() {
+    }
+
+    public static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    // If-None-Match uses the weak comparison: W/ prefixes are ignored and "*" matches any employee
+    public static boolean matchesIfNoneMatch(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // The version an If-Match header asks for, or null when there is no header or it is "*".
+    // Only the single strong ETag returned by GET can match; anything else fails the precondition.
+    public static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            return NO_MATCH;
+        }
+        try {
+            return Long.valueOf(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            return NO_MATCH;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.employeemanagementsystem;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+@Service
+public class EmployeeExportService {
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeService employeeService;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${employee.export.batch-size:500}")
+    private int batchSize;
+
+    @Value("${employee.export.columnar.row-group-size:65536}")
+    private int rowGroupSize;
+
+    public EmployeeExportService(EmployeeRepository employeeRepository, EmployeeService employeeService,
+                                 ObjectMapper objectMapper) {
+        this.employeeRepository = employeeRepository;
+        this.employeeService = employeeService;
+        this.objectMapper = objectMapper;
+    }
+
+    // Writes one EmployeeDTO per line while scrolling the table; bytes go out after every batch
+    @Transactional(readOnly = true)
+    public void exportNdjson(OutputStream out) throws IOException {
+        // The generator is closed even if the stream fails; AUTO_CLOSE_TARGET keeps the response open
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+             Stream<EmployeeDTO> employees = employeeRepository.streamAll()) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+            Iterator<EmployeeDTO> iterator = employees.iterator();
+            List<EmployeeDTO> batch = new ArrayList<>(batchSize);
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == batchSize || !iterator.hasNext()) {
+                    employeeService.attachPhoneNumbersAndVoterIDs(batch);
+                    for (EmployeeDTO employee : batch) {
+                        objectMapper.writeValue(generator, employee);
+                        generator.writeRaw('\n');
+                    }
+                    generator.flush();
+                    batch.clear();
+                    // Drop the phone numbers loaded for this batch so the persistence context stays flat
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    // Employee and voter ID columns in the format of EmployeeColumnarFormat, one row group at a time.
+    // The rows are scalars, so nothing accumulates in the persistence context
+    @Transactional(readOnly = true)
+    public long exportColumnar(OutputStream out) throws IOException {
+        EmployeeColumnarWriter writer = new EmployeeColumnarWriter(out, rowGroupSize);
+        try (Stream<Object[]> rows = employeeRepository.streamColumnarRows()) {
+            Iterator<Object[]> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                Object[] row = iterator.next();
+                writer.write((Integer) row[0], (String) row[1], (LocalDate) row[2], (Integer) row[3],
+                        (BigDecimal) row[4], (String) row[5], (LocalDateTime) row[6], (LocalDateTime) row[7],
+                        (String) row[8], (String) row[9]);
+            }
+        }
+        return writer.finish();
+    }
+}
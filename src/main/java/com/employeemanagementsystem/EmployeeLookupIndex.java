@@ -0,0 +1,350 @@
+package com.employeemanagementsystem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process type-ahead index over employee names, email local parts and phone digits.
+ * Queries of three or more characters intersect trigram postings and check the surviving
+ * candidates; shorter queries read the postings of word prefixes. Loaded at startup by
+ * EmployeeLookupLoader and kept current by EmployeeService once its writes commit.
+ */
+@Component
+public class EmployeeLookupIndex {
+    static final String NAME = "name";
+    static final String EMAIL_ID = "emailId";
+    static final String PHONE_NUMBER = "phoneNumber";
+
+    private static final int GRAM = 3;
+    // Keeps prefix keys apart from trigram keys in the same map
+    private static final char PREFIX_MARK = '\u0001';
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Integer, Entry> entries = new HashMap<>();
+
+    // Replaces whatever was indexed for the employee
+    public void index(int employeeId, String name, String emailId, List<String> phoneNumbers) {
+        Entry entry = new Entry(employeeId, name, emailId, phoneNumbers);
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.put(employeeId, entry);
+            if (previous != null) {
+                unlink(previous);
+            }
+            for (String key : entry.keys()) {
+                postings.computeIfAbsent(key, k -> new Postings()).add(employeeId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(Employee employee) {
+        index(employee.getEmployeeId(), employee.getName(), employee.getEmailId(), phoneNumbersOf(employee));
+    }
+
+    public void remove(int employeeId) {
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.remove(employeeId);
+            if (previous != null) {
+                unlink(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // The values are captured now but only become visible once the transaction commits
+    public void indexAfterCommit(Employee employee) {
+        List<String> phoneNumbers = phoneNumbersOf(employee);
+        int employeeId = employee.getEmployeeId();
+        String name = employee.getName();
+        String emailId = employee.getEmailId();
+        TransactionHooks.afterCommit(() -> index(employeeId, name, emailId, phoneNumbers));
+    }
+
+    public void removeAfterCommit(int employeeId) {
+        TransactionHooks.afterCommit(() -> remove(employeeId));
+    }
+
+    private static List<String> phoneNumbersOf(Employee employee) {
+        List<String> phoneNumbers = new ArrayList<>();
+        if (employee.getPhoneNumbers() != null) {
+            for (PhoneNumber phoneNumber : employee.getPhoneNumbers()) {
+                phoneNumbers.add(phoneNumber.getPhoneNumber());
+            }
+        }
+        return phoneNumbers;
+    }
+
+    // The first matches in employee ID order; scanning stops as soon as limit results are found
+    public List<EmployeeLookupResultDTO> lookup(String query, int limit) {
+        String key = normalizeQuery(query);
+        List<EmployeeLookupResultDTO> results = new ArrayList<>();
+        if (key.isEmpty()) {
+            return results;
+        }
+        lock.readLock().lock();
+        try {
+            if (key.length() < GRAM) {
+                // Prefix postings are exact, nothing to check
+                Postings matches = postings.get(PREFIX_MARK + key);
+                for (int i = 0; matches != null && i < matches.size() && results.size() < limit; i++) {
+                    Entry entry = entries.get(matches.get(i));
+                    results.add(entry.toResult(entry.matchPrefix(key)));
+                }
+                return results;
+            }
+
+            Postings[] lists = new Postings[key.length() - GRAM + 1];
+            for (int i = 0; i < lists.length; i++) {
+                lists[i] = postings.get(key.substring(i, i + GRAM));
+                if (lists[i] == null) {
+                    return results;
+                }
+            }
+            Arrays.sort(lists, Comparator.comparingInt(Postings::size));
+            Postings smallest = lists[0];
+            for (int i = 0; i < smallest.size() && results.size() < limit; i++) {
+                int employeeId = smallest.get(i);
+                if (containedInAll(lists, employeeId)) {
+                    // All trigrams present does not mean they are adjacent in one field
+                    Entry entry = entries.get(employeeId);
+                    String matchedOn = entry.matchContains(key);
+                    if (matchedOn != null) {
+                        results.add(entry.toResult(matchedOn));
+                    }
+                }
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Drops the slack left by growing the posting arrays; called once the startup load is done
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            for (Postings list : postings.values()) {
+                list.trim();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static boolean containedInAll(Postings[] lists, int employeeId) {
+        for (int i = 1; i < lists.length; i++) {
+            if (!lists[i].contains(employeeId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void unlink(Entry entry) {
+        for (String key : entry.keys()) {
+            Postings list = postings.get(key);
+            if (list != null && list.remove(entry.employeeId) && list.size() == 0) {
+                postings.remove(key);
+            }
+        }
+    }
+
+    // Phone-looking input is reduced to its digits; anything after an @ is dropped since only the
+    // local part of an email address is indexed
+    static String normalizeQuery(String query) {
+        if (query == null) {
+            return "";
+        }
+        String trimmed = query.trim();
+        if (trimmed.matches("[0-9+()\\-\\s]*[0-9][0-9+()\\-\\s]*")) {
+            return digits(trimmed);
+        }
+        int at = trimmed.indexOf('@');
+        if (at >= 0) {
+            trimmed = trimmed.substring(0, at);
+        }
+        return normalizeText(trimmed);
+    }
+
+    private static String normalizeText(String value) {
+        return value == null ? "" : value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static String digits(String value) {
+        StringBuilder digits = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+
+    private static final class Entry {
+        private final int employeeId;
+        private final String name;
+        private final String emailId;
+        private final String nameKey;
+        private final String emailKey;
+        private final String[] phoneKeys;
+
+        private Entry(int employeeId, String name, String emailId, List<String> phoneNumbers) {
+            this.employeeId = employeeId;
+            this.name = name;
+            this.emailId = emailId;
+            this.nameKey = normalizeText(name);
+            int at = emailId == null ? -1 : emailId.indexOf('@');
+            this.emailKey = normalizeText(at >= 0 ? emailId.substring(0, at) : emailId);
+            this.phoneKeys = new String[phoneNumbers == null ? 0 : phoneNumbers.size()];
+            for (int i = 0; i < phoneKeys.length; i++) {
+                String phoneNumber = phoneNumbers.get(i);
+                phoneKeys[i] = phoneNumber == null ? "" : digits(phoneNumber);
+            }
+        }
+
+        // Trigrams of every field plus the one and two character prefixes of every word in it
+        private Set<String> keys() {
+            Set<String> keys = new HashSet<>();
+            addKeys(keys, nameKey);
+            addKeys(keys, emailKey);
+            for (String phoneKey : phoneKeys) {
+                addKeys(keys, phoneKey);
+            }
+            return keys;
+        }
+
+        private static void addKeys(Set<String> keys, String field) {
+            for (int i = 0; i + GRAM <= field.length(); i++) {
+                keys.add(field.substring(i, i + GRAM));
+            }
+            for (String word : words(field)) {
+                for (int length = 1; length < GRAM && length <= word.length(); length++) {
+                    keys.add(PREFIX_MARK + word.substring(0, length));
+                }
+            }
+        }
+
+        private String matchContains(String key) {
+            if (nameKey.contains(key)) {
+                return NAME;
+            }
+            if (emailKey.contains(key)) {
+                return EMAIL_ID;
+            }
+            for (String phoneKey : phoneKeys) {
+                if (phoneKey.contains(key)) {
+                    return PHONE_NUMBER;
+                }
+            }
+            return null;
+        }
+
+        private String matchPrefix(String key) {
+            if (anyWordStartsWith(nameKey, key)) {
+                return NAME;
+            }
+            if (anyWordStartsWith(emailKey, key)) {
+                return EMAIL_ID;
+            }
+            return PHONE_NUMBER;
+        }
+
+        private static boolean anyWordStartsWith(String field, String key) {
+            for (String word : words(field)) {
+                if (word.startsWith(key)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // Email local parts split on their usual separators so "smith" finds john.smith
+        private static String[] words(String field) {
+            return field.isEmpty() ? new String[0] : field.split("[\\s._+\\-]+");
+        }
+
+        private EmployeeLookupResultDTO toResult(String matchedOn) {
+            return new EmployeeLookupResultDTO(employeeId, name, emailId, matchedOn);
+        }
+    }
+
+    // Sorted, duplicate-free employee IDs; IDs mostly arrive in ascending order and are appended
+    static final class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int employeeId) {
+            if (size > 0 && ids[size - 1] >= employeeId) {
+                int index = Arrays.binarySearch(ids, 0, size, employeeId);
+                if (index >= 0) {
+                    return;
+                }
+                insertAt(-index - 1, employeeId);
+                return;
+            }
+            insertAt(size, employeeId);
+        }
+
+        boolean remove(int employeeId) {
+            int index = Arrays.binarySearch(ids, 0, size, employeeId);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        boolean contains(int employeeId) {
+            return Arrays.binarySearch(ids, 0, size, employeeId) >= 0;
+        }
+
+        int get(int index) {
+            return ids[index];
+        }
+
+        int size() {
+            return size;
+        }
+
+        void trim() {
+            if (ids.length > size) {
+                ids = Arrays.copyOf(ids, Math.max(size, 1));
+            }
+        }
+
+        private void insertAt(int index, int employeeId) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length + (ids.length >> 1) + 1);
+            }
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            ids[index] = employeeId;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.employeemanagementsystem;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Fills the EmployeeLookupIndex by scrolling the employee table once all beans exist, which is
+ * before the web server accepts requests and before any write hook can fire.
+ */
+@Component
+public class EmployeeLookupLoader implements SmartInitializingSingleton {
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeLookupLoader.class);
+
+    private final EmployeeLookupIndex employeeLookupIndex;
+    private final EmployeeRepository employeeRepository;
+    private final PhoneNumberRepository phoneNumberRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${employee.lookup.load-on-startup:true}")
+    private boolean loadOnStartup;
+
+    @Value("${employee.lookup.batch-size:1000}")
+    private int batchSize;
+
+    public EmployeeLookupLoader(EmployeeLookupIndex employeeLookupIndex, EmployeeRepository employeeRepository,
+                                PhoneNumberRepository phoneNumberRepository, PlatformTransactionManager transactionManager) {
+        this.employeeLookupIndex = employeeLookupIndex;
+        this.employeeRepository = employeeRepository;
+        this.phoneNumberRepository = phoneNumberRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!loadOnStartup) {
+            return;
+        }
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> load());
+        employeeLookupIndex.compact();
+        logger.info("Indexed {} employees for lookup in {} ms", employeeLookupIndex.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Same batching as the NDJSON export: one IN query for the phones of each batch
+    private void load() {
+        try (Stream<EmployeeDTO> employees = employeeRepository.streamAll()) {
+            Iterator<EmployeeDTO> iterator = employees.iterator();
+            // Insertion order keeps the IDs ascending, so every posting list is appended to
+            Map<Integer, EmployeeDTO> batch = new LinkedHashMap<>(batchSize * 2);
+            while (iterator.hasNext()) {
+                EmployeeDTO employee = iterator.next();
+                batch.put(employee.getEmployeeId(), employee);
+                if (batch.size() == batchSize || !iterator.hasNext()) {
+                    indexBatch(batch);
+                    batch.clear();
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    private void indexBatch(Map<Integer, EmployeeDTO> batch) {
+        Map<Integer, List<String>> phoneNumbers = new HashMap<>(batch.size() * 2);
+        for (PhoneNumber phoneNumber : phoneNumberRepository.findByEmployeeIdIn(batch.keySet())) {
+            phoneNumbers.computeIfAbsent(phoneNumber.getEmployee().getEmployeeId(), id -> new ArrayList<>())
+                    .add(phoneNumber.getPhoneNumber());
+        }
+        for (EmployeeDTO employee : batch.values()) {
+            employeeLookupIndex.index(employee.getEmployeeId(), employee.getName(), employee.getEmailId(),
+                    phoneNumbers.getOrDefault(employee.getEmployeeId(), List.of()));
+        }
+    }
+}
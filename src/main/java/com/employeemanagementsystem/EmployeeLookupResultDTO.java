@@ -0,0 +1,54 @@
+package com.employeemanagementsystem;
+
+public class EmployeeLookupResultDTO {
+
+    private Integer employeeId;
+    private String name;
+    private String emailId;
+    // Which field the query matched: name, emailId or phoneNumber
+    private String matchedOn;
+
+    public EmployeeLookupResultDTO() {
+        super();
+    }
+
+    public EmployeeLookupResultDTO(Integer employeeId, String name, String emailId, String matchedOn) {
+        super();
+        this.employeeId = employeeId;
+        this.name = name;
+        this.emailId = emailId;
+        this.matchedOn = matchedOn;
+    }
+
+    public Integer getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(Integer employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getEmailId() {
+        return emailId;
+    }
+
+    public void setEmailId(String emailId) {
+        this.emailId = emailId;
+    }
+
+    public String getMatchedOn() {
+        return matchedOn;
+    }
+
+    public void setMatchedOn(String matchedOn) {
+        this.matchedOn = matchedOn;
+    }
+}
@@ -0,0 +1,180 @@
+package com.employeemanagementsystem;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Entity to DTO conversions shared by the controller and service layers.
+ */
+public final class EmployeeMapper {
+
+    private EmployeeMapper() {
+    }
+
+    // Builds the full aggregate; PhoneNumber.setEmployee links each phone both ways
+    public static Employee toEntity(EmployeeDTO employeeDTO) {
+        Employee employee = convertToEntity(employeeDTO);
+        if (employeeDTO.getVoterID() != null) {
+            employee.setVoterID(convertVoterIDToEntity(employeeDTO.getVoterID()));
+        }
+        if (employeeDTO.getPhoneNumbers() != null) {
+            for (PhoneNumber phoneNumber : convertPhoneNumbersToEntities(employeeDTO.getPhoneNumbers())) {
+                phoneNumber.setEmployee(employee); // also adds it to employee.getPhoneNumbers()
+            }
+        }
+        return employee;
+    }
+
+    public static Employee convertToEntity(EmployeeDTO employeeDTO) {
+        Employee employee = new Employee();
+        employee.setEmployeeId(employeeDTO.getEmployeeId());
+        employee.setName(employeeDTO.getName());
+        employee.setDob(employeeDTO.getDob());
+        employee.setManagerId(employeeDTO.getManagerId());
+        employee.setSalary(employeeDTO.getSalary());
+        employee.setEmailId(employeeDTO.getEmailId());
+        return employee;
+    }
+
+    public static List<PhoneNumber> convertPhoneNumbersToEntities(List<PhoneNumberDTO> phoneNumberDTOs) {
+        List<PhoneNumber> phoneNumbers = new ArrayList<>(phoneNumberDTOs.size());
+        for (PhoneNumberDTO phoneNumberDTO : phoneNumberDTOs) {
+            PhoneNumber phoneNumber = new PhoneNumber();
+            phoneNumber.setPhoneId(phoneNumberDTO.getPhoneId());
+            phoneNumber.setPhoneNumber(phoneNumberDTO.getPhoneNumber());
+            phoneNumber.setProvider(phoneNumberDTO.getProvider());
+            phoneNumber.setType(phoneNumberDTO.getType());
+            phoneNumbers.add(phoneNumber);
+        }
+        return phoneNumbers;
+    }
+
+    public static VoterID convertVoterIDToEntity(VoterIDDTO voterIDDTO) {
+        VoterID voterID = new VoterID();
+        voterID.setVoterId(voterIDDTO.getVoterId());
+        voterID.setEmployeeId(voterIDDTO.getEmployeeId());
+        voterID.setVoterNumber(voterIDDTO.getVoterNumber());
+        voterID.setCity(voterIDDTO.getCity());
+        return voterID;
+    }
+
+    // Diffs the phone numbers of an update request against a managed employee, keyed by phoneId:
+    // known phones are updated only where a value differs, unknown ids are added and phones left out
+    // of the request are removed (orphanRemoval deletes them). Returns whether anything changed.
+    public static boolean mergePhoneNumbers(Employee existingEmployee, List<PhoneNumberDTO> phoneNumberDTOs) {
+        List<PhoneNumberDTO> requested = phoneNumberDTOs == null ? List.of() : phoneNumberDTOs;
+        Map<Integer, PhoneNumberDTO> requestedById = new HashMap<>(requested.size() * 2);
+        for (PhoneNumberDTO phoneNumberDTO : requested) {
+            // PHONE_ID has no generator, so new phones need their id from the client as well
+            if (phoneNumberDTO.getPhoneId() == null) {
+                throw new IllegalArgumentException("phoneNumbers.phoneId: must not be null");
+            }
+            if (requestedById.put(phoneNumberDTO.getPhoneId(), phoneNumberDTO) != null) {
+                throw new IllegalArgumentException("Duplicate phoneId: " + phoneNumberDTO.getPhoneId());
+            }
+        }
+
+        boolean changed = false;
+        Iterator<PhoneNumber> existing = existingEmployee.getPhoneNumbers().iterator();
+        while (existing.hasNext()) {
+            PhoneNumber phoneNumber = existing.next();
+            PhoneNumberDTO phoneNumberDTO = requestedById.remove(phoneNumber.getPhoneId());
+            if (phoneNumberDTO == null) {
+                existing.remove();
+                changed = true;
+            } else {
+                changed |= copyPhoneNumber(phoneNumberDTO, phoneNumber);
+            }
+        }
+
+        // Whatever is left in the map is new; add it in request order
+        for (PhoneNumberDTO phoneNumberDTO : requested) {
+            if (requestedById.remove(phoneNumberDTO.getPhoneId()) != null) {
+                PhoneNumber phoneNumber = new PhoneNumber();
+                phoneNumber.setPhoneId(phoneNumberDTO.getPhoneId());
+                copyPhoneNumber(phoneNumberDTO, phoneNumber);
+                phoneNumber.setEmployee(existingEmployee); // also adds it to existingEmployee.getPhoneNumbers()
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    // Updates the voter ID in place when the request keeps the same voterId, so an unchanged voter
+    // costs no write and a changed one a single UPDATE. Returns whether anything changed.
+    public static boolean mergeVoterID(Employee existingEmployee, VoterIDDTO voterIDDTO) {
+        VoterID voterID = existingEmployee.getVoterID();
+        if (voterIDDTO == null) {
+            if (voterID == null) {
+                return false;
+            }
+            existingEmployee.setVoterID(null); // orphanRemoval deletes the old row
+            return true;
+        }
+        if (voterID != null && Objects.equals(voterID.getVoterId(), voterIDDTO.getVoterId())) {
+            if (Objects.equals(voterID.getVoterNumber(), voterIDDTO.getVoterNumber())
+                    && Objects.equals(voterID.getCity(), voterIDDTO.getCity())) {
+                return false;
+            }
+            voterID.setVoterNumber(voterIDDTO.getVoterNumber());
+            voterID.setCity(voterIDDTO.getCity());
+            return true;
+        }
+        existingEmployee.setVoterID(convertVoterIDToEntity(voterIDDTO));
+        return true;
+    }
+
+    private static boolean copyPhoneNumber(PhoneNumberDTO phoneNumberDTO, PhoneNumber phoneNumber) {
+        if (Objects.equals(phoneNumber.getPhoneNumber(), phoneNumberDTO.getPhoneNumber())
+                && Objects.equals(phoneNumber.getProvider(), phoneNumberDTO.getProvider())
+                && Objects.equals(phoneNumber.getType(), phoneNumberDTO.getType())) {
+            return false;
+        }
+        phoneNumber.setPhoneNumber(phoneNumberDTO.getPhoneNumber());
+        phoneNumber.setProvider(phoneNumberDTO.getProvider());
+        phoneNumber.setType(phoneNumberDTO.getType());
+        return true;
+    }
+
+    public static EmployeeDTO convertToDTO(Employee employee) {
+        EmployeeDTO employeeDTO = new EmployeeDTO();
+        employeeDTO.setEmployeeId(employee.getEmployeeId());
+        employeeDTO.setName(employee.getName());
+        employeeDTO.setDob(employee.getDob());
+        employeeDTO.setManagerId(employee.getManagerId());
+        employeeDTO.setSalary(employee.getSalary());
+        employeeDTO.setEmailId(employee.getEmailId());
+        employeeDTO.setCreatedDateTime(employee.getCreatedDateTime());
+        employeeDTO.setUpdatedDateTime(employee.getUpdatedDateTime());
+        employeeDTO.setVersion(employee.getVersion());
+
+        List<PhoneNumberDTO> phoneNumberDTOs = new ArrayList<>(employee.getPhoneNumbers().size());
+        for (PhoneNumber phoneNumber : employee.getPhoneNumbers()) {
+            phoneNumberDTOs.add(toPhoneNumberDTO(phoneNumber));
+        }
+        employeeDTO.setPhoneNumbers(phoneNumberDTOs);
+
+        if (employee.getVoterID() != null) {
+            employeeDTO.setVoterID(toVoterIDDTO(employee.getVoterID()));
+        }
+
+        return employeeDTO;
+    }
+
+    public static PhoneNumberDTO toPhoneNumberDTO(PhoneNumber phoneNumber) {
+        PhoneNumberDTO phoneNumberDTO = new PhoneNumberDTO();
+        phoneNumberDTO.setPhoneId(phoneNumber.getPhoneId());
+        phoneNumberDTO.setPhoneNumber(phoneNumber.getPhoneNumber());
+        phoneNumberDTO.setProvider(phoneNumber.getProvider());
+        phoneNumberDTO.setType(phoneNumber.getType());
+        return phoneNumberDTO;
+    }
+
+    public static VoterIDDTO toVoterIDDTO(VoterID voterID) {
+        return new VoterIDDTO(voterID.getVoterId(), voterID.getEmployeeId(), voterID.getVoterNumber(), voterID.getCity());
+    }
+}
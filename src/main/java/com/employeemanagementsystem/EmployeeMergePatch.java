@@ -0,0 +1,122 @@
+package com.employeemanagementsystem;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Applies RFC 7396 JSON merge patches to a managed {@link Employee}.
+ */
+public final class EmployeeMergePatch {
+
+    public static final String MEDIA_TYPE = "application/merge-patch+json";
+
+    private EmployeeMergePatch() {
+    }
+
+    // Members missing from the patch are left alone and null clears a value. phoneNumbers replaces
+    // the whole list (diffed by phoneId) while voterID is merged member by member. Only values that
+    // differ are set, so a no-op patch leaves nothing dirty. Returns whether anything changed.
+    public static boolean apply(Employee employee, JsonNode patch, ObjectMapper objectMapper) {
+        if (patch == null || !patch.isObject()) {
+            throw new RequestException("A merge patch must be a JSON object");
+        }
+        boolean changed = false;
+        Iterator<Map.Entry<String, JsonNode>> members = patch.fields();
+        while (members.hasNext()) {
+            Map.Entry<String, JsonNode> member = members.next();
+            JsonNode value = member.getValue();
+            switch (member.getKey()) {
+                case "name" -> changed |= set(employee.getName(),
+                        read(value, String.class, "name", objectMapper), employee::setName);
+                case "dob" -> changed |= set(employee.getDob(),
+                        read(value, LocalDate.class, "dob", objectMapper), employee::setDob);
+                case "managerId" -> changed |= set(employee.getManagerId(),
+                        read(value, Integer.class, "managerId", objectMapper), employee::setManagerId);
+                case "salary" -> changed |= setSalary(employee,
+                        read(value, BigDecimal.class, "salary", objectMapper));
+                case "emailId" -> changed |= set(employee.getEmailId(),
+                        read(value, String.class, "emailId", objectMapper), employee::setEmailId);
+                case "phoneNumbers" -> changed |= applyPhoneNumbers(employee, value, objectMapper);
+                case "voterID" -> changed |= applyVoterID(employee, value, objectMapper);
+                default -> throw new RequestException("Field cannot be patched: " + member.getKey());
+            }
+        }
+        return changed;
+    }
+
+    private static boolean applyPhoneNumbers(Employee employee, JsonNode value, ObjectMapper objectMapper) {
+        PhoneNumberDTO[] phoneNumberDTOs = read(value, PhoneNumberDTO[].class, "phoneNumbers", objectMapper);
+        List<PhoneNumberDTO> requested = phoneNumberDTOs == null ? null : Arrays.asList(phoneNumberDTOs);
+        try {
+            return EmployeeMapper.mergePhoneNumbers(employee, requested);
+        } catch (IllegalArgumentException e) {
+            throw new RequestException(e.getMessage(), e);
+        }
+    }
+
+    private static boolean applyVoterID(Employee employee, JsonNode patch, ObjectMapper objectMapper) {
+        if (patch.isNull()) {
+            return EmployeeMapper.mergeVoterID(employee, null);
+        }
+        if (!patch.isObject()) {
+            throw new RequestException("voterID must be an object or null");
+        }
+        VoterID current = employee.getVoterID();
+        VoterIDDTO voterIDDTO = current == null ? new VoterIDDTO() : EmployeeMapper.toVoterIDDTO(current);
+        Iterator<Map.Entry<String, JsonNode>> members = patch.fields();
+        while (members.hasNext()) {
+            Map.Entry<String, JsonNode> member = members.next();
+            JsonNode value = member.getValue();
+            switch (member.getKey()) {
+                case "voterId" -> voterIDDTO.setVoterId(read(value, Integer.class, "voterID.voterId", objectMapper));
+                case "voterNumber" -> voterIDDTO.setVoterNumber(read(value, String.class, "voterID.voterNumber", objectMapper));
+                case "city" -> voterIDDTO.setCity(read(value, String.class, "voterID.city", objectMapper));
+                default -> throw new RequestException("Field cannot be patched: voterID." + member.getKey());
+            }
+        }
+        // VOTER_ID has no generator either
+        if (voterIDDTO.getVoterId() == null) {
+            throw new RequestException("voterID.voterId: must not be null");
+        }
+        return EmployeeMapper.mergeVoterID(employee, voterIDDTO);
+    }
+
+    // 50000 and 50000.00 are the same salary; Hibernate compares BigDecimal the same way
+    private static boolean setSalary(Employee employee, BigDecimal salary) {
+        BigDecimal current = employee.getSalary();
+        if (current == null ? salary == null : salary != null && current.compareTo(salary) == 0) {
+            return false;
+        }
+        employee.setSalary(salary);
+        return true;
+    }
+
+    private static <T> boolean set(T current, T patched, Consumer<T> setter) {
+        if (Objects.equals(current, patched)) {
+            return false;
+        }
+        setter.accept(patched);
+        return true;
+    }
+
+    private static <T> T read(JsonNode value, Class<T> type, String field, ObjectMapper objectMapper) {
+        if (value.isNull()) {
+            return null;
+        }
+        try {
+            return objectMapper.treeToValue(value, type);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            throw new RequestException("Invalid value for " + field + ": " + value, e);
+        }
+    }
+}
@@ -0,0 +1,484 @@
+package com.employeemanagementsystem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory manager/report hierarchy kept in primitive arrays. Every employee ID and every
+ * referenced manager ID is a node with a dense index; reports are stored as a CSR adjacency
+ * (childOffsets/children) and each node carries the size of its transitive team. Managers that
+ * are not employees themselves are roots. Loaded at startup by EmployeeOrgChartLoader and patched
+ * after each committed create, manager change or delete: parents and team sizes in place, the CSR
+ * arrays in batches. A moved node leaves a stale entry under its old manager, skipped because its
+ * parent no longer matches, and is listed under its new manager in addedChildren until enough
+ * changes have built up to rebuild the adjacency.
+ */
+@Component
+public class EmployeeOrgChart {
+    // Stands in for a null managerId in rebuild()
+    public static final int NO_MANAGER = Integer.MIN_VALUE;
+
+    private static final int NONE = -1;
+    private static final int INITIAL_CAPACITY = 16;
+    // Manager changes since the last adjacency build, at least, before the next one
+    private static final int MIN_PENDING_CHANGES = 1_024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final IntIndex denseIndex = new IntIndex();
+    private int nodeCount;
+    private int edgeCount;
+    private int[] nodeIds = new int[INITIAL_CAPACITY];
+    private int[] parents = new int[INITIAL_CAPACITY];
+    private int[] teamSizes = new int[INITIAL_CAPACITY];
+    // Reports of node n are children[childOffsets[n] .. childOffsets[n + 1])
+    private int[] childOffsets = new int[INITIAL_CAPACITY + 1];
+    private int[] children = new int[INITIAL_CAPACITY];
+    private final BitSet employees = new BitSet();
+    // Reports gained since the last adjacency build, by manager node
+    private final Map<Integer, List<Integer>> addedChildren = new HashMap<>();
+    private int pendingChanges;
+
+    // Replaces the whole chart; managerIds[i] is the manager of employeeIds[i], or NO_MANAGER
+    public void rebuild(int[] employeeIds, int[] managerIds, int count) {
+        lock.writeLock().lock();
+        try {
+            clear(count);
+            for (int i = 0; i < count; i++) {
+                employees.set(node(employeeIds[i]));
+            }
+            for (int i = 0; i < count; i++) {
+                if (managerIds[i] != NO_MANAGER) {
+                    parents[denseIndex.get(employeeIds[i])] = node(managerIds[i]);
+                }
+            }
+            buildAdjacency();
+            computeTeamSizes();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Adds the employee or moves it under a new manager
+    public void put(int employeeId, Integer managerId) {
+        lock.writeLock().lock();
+        try {
+            int node = node(employeeId);
+            employees.set(node);
+            int parent = managerId == null ? NONE : node(managerId);
+            if (parents[node] != parent) {
+                move(node, parent);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // The node stays while other employees still name it as their manager; it just becomes a root
+    public void remove(int employeeId) {
+        lock.writeLock().lock();
+        try {
+            int node = denseIndex.get(employeeId);
+            if (node == NONE) {
+                return;
+            }
+            employees.clear(node);
+            if (parents[node] != NONE) {
+                move(node, NONE);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void putAfterCommit(int employeeId, Integer managerId) {
+        TransactionHooks.afterCommit(() -> put(employeeId, managerId));
+    }
+
+    public void removeAfterCommit(int employeeId) {
+        TransactionHooks.afterCommit(() -> remove(employeeId));
+    }
+
+    // Breadth-first over the CSR arrays, down to maxDepth levels (1 = direct reports only).
+    // Returns null when no employee has or is this manager, including a deleted employee
+    // nobody reports to any more.
+    public EmployeeReportsDTO reports(int managerId, int maxDepth) {
+        lock.readLock().lock();
+        try {
+            int root = denseIndex.get(managerId);
+            if (root == NONE || (!employees.get(root) && teamSizes[root] == 0)) {
+                return null;
+            }
+            List<EmployeeReportDTO> reports = new ArrayList<>();
+            BitSet visited = new BitSet(nodeCount);
+            visited.set(root);
+            int[] level = { root };
+            for (int depth = 1; depth <= maxDepth && level.length > 0; depth++) {
+                int size = 0;
+                for (int manager : level) {
+                    List<Integer> added = addedChildren.get(manager);
+                    size += childOffsets[manager + 1] - childOffsets[manager] + (added == null ? 0 : added.size());
+                }
+                int[] next = new int[size];
+                size = 0;
+                for (int manager : level) {
+                    for (int i = childOffsets[manager]; i < childOffsets[manager + 1]; i++) {
+                        size = visit(children[i], manager, depth, visited, next, size, reports);
+                    }
+                    for (int report : addedChildren.getOrDefault(manager, List.of())) {
+                        size = visit(report, manager, depth, visited, next, size, reports);
+                    }
+                }
+                level = Arrays.copyOf(next, size);
+            }
+            return new EmployeeReportsDTO(managerId, teamSizes[root], reports);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Adds the report to the next level unless it has moved away or was seen already
+    private int visit(int report, int manager, int depth, BitSet visited, int[] next, int size,
+                      List<EmployeeReportDTO> reports) {
+        // Rows loaded from the database may contain a cycle; report each employee once
+        if (parents[report] != manager || visited.get(report)) {
+            return size;
+        }
+        visited.set(report);
+        next[size] = report;
+        reports.add(new EmployeeReportDTO(nodeIds[report], nodeIds[manager], depth));
+        return size + 1;
+    }
+
+    // Managers from the direct one up to the top; null when the employee is unknown
+    public List<Integer> chainOfCommand(int employeeId) {
+        lock.readLock().lock();
+        try {
+            int node = denseIndex.get(employeeId);
+            if (node == NONE || !employees.get(node)) {
+                return null;
+            }
+            List<Integer> chain = new ArrayList<>();
+            for (int manager = parents[node]; manager != NONE && manager != node && chain.size() < nodeCount;
+                 manager = parents[manager]) {
+                chain.add(nodeIds[manager]);
+            }
+            return chain;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Whether employeeId is managerId or one of its transitive reports; such a manager change
+    // would close a cycle
+    public boolean isInTeamOf(int employeeId, int managerId) {
+        lock.readLock().lock();
+        try {
+            if (employeeId == managerId) {
+                return true;
+            }
+            int target = denseIndex.get(managerId);
+            int node = denseIndex.get(employeeId);
+            for (int steps = 0; node != NONE && target != NONE && steps < nodeCount; steps++) {
+                node = parents[node];
+                if (node == target) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // For rows created together, whose managers may be rows of the same request
+    public Overlay overlay() {
+        return new Overlay();
+    }
+
+    public EmployeeOrgChartStatsDTO stats() {
+        lock.readLock().lock();
+        try {
+            int employeeCount = employees.cardinality();
+            long bytes = 4L * (nodeIds.length + parents.length + teamSizes.length + childOffsets.length
+                    + children.length) + denseIndex.memoryBytes() + employees.size() / 8;
+            return new EmployeeOrgChartStatsDTO(employeeCount, nodeCount, edgeCount, bytes,
+                    employeeCount == 0 ? 0 : (double) bytes / employeeCount);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void clear(int expectedNodes) {
+        int capacity = Math.max(INITIAL_CAPACITY, expectedNodes + (expectedNodes >> 4));
+        denseIndex.clear(expectedNodes);
+        nodeCount = 0;
+        edgeCount = 0;
+        nodeIds = new int[capacity];
+        parents = new int[capacity];
+        teamSizes = new int[capacity];
+        childOffsets = new int[capacity + 1];
+        children = new int[capacity];
+        employees.clear();
+        addedChildren.clear();
+        pendingChanges = 0;
+    }
+
+    // Counting sort of the parent links into CSR form
+    private void buildAdjacency() {
+        addedChildren.clear();
+        pendingChanges = 0;
+        Arrays.fill(childOffsets, 0);
+        edgeCount = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            if (parents[node] != NONE) {
+                childOffsets[parents[node] + 1]++;
+                edgeCount++;
+            }
+        }
+        for (int node = 0; node < nodeCount; node++) {
+            childOffsets[node + 1] += childOffsets[node];
+        }
+        if (children.length < edgeCount) {
+            children = new int[edgeCount + (edgeCount >> 4)];
+        }
+        int[] fill = Arrays.copyOf(childOffsets, nodeCount);
+        for (int node = 0; node < nodeCount; node++) {
+            if (parents[node] != NONE) {
+                children[fill[parents[node]]++] = node;
+            }
+        }
+    }
+
+    // Bottom-up over the breadth-first order from the roots; nodes that sit on a cycle are never
+    // reached that way and are counted one by one instead
+    private void computeTeamSizes() {
+        int[] order = new int[nodeCount];
+        int size = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            if (parents[node] == NONE) {
+                order[size++] = node;
+            }
+        }
+        for (int head = 0; head < size; head++) {
+            for (int i = childOffsets[order[head]]; i < childOffsets[order[head] + 1]; i++) {
+                order[size++] = children[i];
+            }
+        }
+        Arrays.fill(teamSizes, 0, nodeCount, 0);
+        for (int i = size - 1; i >= 0; i--) {
+            int parent = parents[order[i]];
+            if (parent != NONE) {
+                teamSizes[parent] += teamSizes[order[i]] + 1;
+            }
+        }
+        if (size < nodeCount) {
+            BitSet reached = new BitSet(nodeCount);
+            for (int i = 0; i < size; i++) {
+                reached.set(order[i]);
+            }
+            for (int node = reached.nextClearBit(0); node < nodeCount; node = reached.nextClearBit(node + 1)) {
+                teamSizes[node] = countTeam(node);
+            }
+        }
+    }
+
+    private int countTeam(int root) {
+        BitSet visited = new BitSet(nodeCount);
+        visited.set(root);
+        int[] queue = new int[nodeCount];
+        int size = 0;
+        queue[size++] = root;
+        for (int head = 0; head < size; head++) {
+            for (int i = childOffsets[queue[head]]; i < childOffsets[queue[head] + 1]; i++) {
+                if (!visited.get(children[i])) {
+                    visited.set(children[i]);
+                    queue[size++] = children[i];
+                }
+            }
+        }
+        return size - 1;
+    }
+
+    // Re-links one node; its whole team moves with it, so only the two ancestor chains change size.
+    // The node's entry stays in the old manager's slice, where its parent no longer points back, and
+    // it is added to addedChildren of the new one; moving away and back may list it twice there, but
+    // reports() visits each node once
+    private void move(int node, int newParent) {
+        int moved = teamSizes[node] + 1;
+        int oldParent = parents[node];
+        if (oldParent != NONE) {
+            addToAncestors(oldParent, -moved);
+            edgeCount--;
+        }
+        parents[node] = newParent;
+        if (newParent != NONE) {
+            addedChildren.computeIfAbsent(newParent, key -> new ArrayList<>()).add(node);
+            edgeCount++;
+            addToAncestors(newParent, moved);
+        }
+        // Rebuilding the CSR arrays costs a pass over every node, so it waits for a batch of changes
+        // proportional to the chart
+        if (++pendingChanges > Math.max(MIN_PENDING_CHANGES, nodeCount >> 4)) {
+            buildAdjacency();
+        }
+    }
+
+    private void addToAncestors(int node, int delta) {
+        for (int steps = 0; node != NONE && steps < nodeCount; steps++) {
+            teamSizes[node] += delta;
+            node = parents[node];
+        }
+    }
+
+    // Dense index of the ID, appending a root without reports when it is new
+    private int node(int id) {
+        int node = denseIndex.get(id);
+        if (node != NONE) {
+            return node;
+        }
+        if (nodeCount == nodeIds.length) {
+            int capacity = nodeIds.length + (nodeIds.length >> 1) + 1;
+            nodeIds = Arrays.copyOf(nodeIds, capacity);
+            parents = Arrays.copyOf(parents, capacity);
+            teamSizes = Arrays.copyOf(teamSizes, capacity);
+            childOffsets = Arrays.copyOf(childOffsets, capacity + 1);
+        }
+        node = nodeCount++;
+        nodeIds[node] = id;
+        parents[node] = NONE;
+        teamSizes[node] = 0;
+        childOffsets[node + 1] = childOffsets[node];
+        denseIndex.put(id, node);
+        return node;
+    }
+
+    // Manager of the node with this ID, or the ID itself when it is unknown or a root
+    private int managerOf(int id) {
+        lock.readLock().lock();
+        try {
+            int node = denseIndex.get(id);
+            return node == NONE || parents[node] == NONE ? id : nodeIds[parents[node]];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Manager links not committed yet, over the chart as it stands. Every ID maps to the top of
+     * its management chain, looked up in the chart on first use and compressed as chains are
+     * followed, so checking a whole request stays close to linear however long its chains are.
+     * Only links that keep the graph acyclic are added, which keeps those tops valid.
+     */
+    public final class Overlay {
+        private final Map<Integer, Integer> ups = new HashMap<>();
+
+        private Overlay() {
+        }
+
+        // Whether employeeId is managerId or one of its transitive reports, counting the links added
+        public boolean isInTeamOf(int employeeId, int managerId) {
+            return top(employeeId) == managerId || EmployeeOrgChart.this.isInTeamOf(employeeId, managerId);
+        }
+
+        // Links a new employee, a root until now, under its manager
+        public void put(int employeeId, Integer managerId) {
+            if (managerId != null && top(employeeId) == employeeId) {
+                ups.put(employeeId, managerId);
+            }
+        }
+
+        private int top(int id) {
+            List<Integer> path = new ArrayList<>();
+            int current = id;
+            // A cycle loaded from the database stops the walk once it has come round
+            while (path.size() <= ups.size()) {
+                int up = ups.computeIfAbsent(current, EmployeeOrgChart.this::managerOf);
+                if (up == current) {
+                    break;
+                }
+                path.add(current);
+                current = up;
+            }
+            for (int node : path) {
+                ups.put(node, current);
+            }
+            return current;
+        }
+    }
+
+    // Open addressing int -> int map from ID to dense index; entries are never removed
+    private static final class IntIndex {
+        private int[] keys = new int[INITIAL_CAPACITY * 2];
+        private int[] values = new int[INITIAL_CAPACITY * 2];
+        private int size;
+
+        IntIndex() {
+            Arrays.fill(values, NONE);
+        }
+
+        int get(int key) {
+            int mask = keys.length - 1;
+            for (int slot = hash(key) & mask; values[slot] != NONE; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+            }
+            return NONE;
+        }
+
+        void put(int key, int value) {
+            if ((size + 1) * 2 > keys.length) {
+                resize(keys.length * 2);
+            }
+            int mask = keys.length - 1;
+            int slot = hash(key) & mask;
+            while (values[slot] != NONE && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (values[slot] == NONE) {
+                size++;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+        }
+
+        void clear(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(expected, INITIAL_CAPACITY) * 2 - 1) << 1;
+            keys = new int[capacity];
+            values = new int[capacity];
+            Arrays.fill(values, NONE);
+            size = 0;
+        }
+
+        long memoryBytes() {
+            return 4L * (keys.length + values.length);
+        }
+
+        private void resize(int capacity) {
+            int[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new int[capacity];
+            values = new int[capacity];
+            Arrays.fill(values, NONE);
+            size = 0;
+            for (int slot = 0; slot < oldKeys.length; slot++) {
+                if (oldValues[slot] != NONE) {
+                    put(oldKeys[slot], oldValues[slot]);
+                }
+            }
+        }
+
+        private static int hash(int key) {
+            int h = key * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
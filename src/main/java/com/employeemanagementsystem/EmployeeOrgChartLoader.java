@@ -0,0 +1,69 @@
+package com.employeemanagementsystem;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Builds the EmployeeOrgChart from the employee table before the web server accepts requests.
+ */
+@Component
+public class EmployeeOrgChartLoader implements SmartInitializingSingleton {
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeOrgChartLoader.class);
+
+    private final EmployeeOrgChart employeeOrgChart;
+    private final EmployeeRepository employeeRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${employee.org-chart.load-on-startup:true}")
+    private boolean loadOnStartup;
+
+    public EmployeeOrgChartLoader(EmployeeOrgChart employeeOrgChart, EmployeeRepository employeeRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.employeeOrgChart = employeeOrgChart;
+        this.employeeRepository = employeeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!loadOnStartup) {
+            return;
+        }
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> load());
+        EmployeeOrgChartStatsDTO stats = employeeOrgChart.stats();
+        logger.info("Built org chart of {} employees in {} ms, {} bytes per employee", stats.getEmployees(),
+                (System.nanoTime() - start) / 1_000_000, String.format("%.1f", stats.getBytesPerEmployee()));
+    }
+
+    // Two columns per row, scrolled; the pairs are collected into arrays and the chart built once
+    private void load() {
+        int[] employeeIds = new int[1024];
+        int[] managerIds = new int[1024];
+        int count = 0;
+        try (Stream<Object[]> rows = employeeRepository.streamManagerIds()) {
+            Iterator<Object[]> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                Object[] row = iterator.next();
+                if (count == employeeIds.length) {
+                    employeeIds = Arrays.copyOf(employeeIds, count * 2);
+                    managerIds = Arrays.copyOf(managerIds, count * 2);
+                }
+                employeeIds[count] = (Integer) row[0];
+                managerIds[count] = row[1] == null ? EmployeeOrgChart.NO_MANAGER : (Integer) row[1];
+                count++;
+            }
+        }
+        employeeOrgChart.rebuild(employeeIds, managerIds, count);
+    }
+}
@@ -0,0 +1,65 @@
+package com.employeemanagementsystem;
+
+public class EmployeeOrgChartStatsDTO {
+
+    private int employees;
+    // Employees plus manager IDs that are not employees themselves
+    private int nodes;
+    private int edges;
+    // Array capacities of the org chart, not counting object headers
+    private long memoryBytes;
+    private double bytesPerEmployee;
+
+    public EmployeeOrgChartStatsDTO() {
+        super();
+    }
+
+    public EmployeeOrgChartStatsDTO(int employees, int nodes, int edges, long memoryBytes, double bytesPerEmployee) {
+        super();
+        this.employees = employees;
+        this.nodes = nodes;
+        this.edges = edges;
+        this.memoryBytes = memoryBytes;
+        this.bytesPerEmployee = bytesPerEmployee;
+    }
+
+    public int getEmployees() {
+        return employees;
+    }
+
+    public void setEmployees(int employees) {
+        this.employees = employees;
+    }
+
+    public int getNodes() {
+        return nodes;
+    }
+
+    public void setNodes(int nodes) {
+        this.nodes = nodes;
+    }
+
+    public int getEdges() {
+        return edges;
+    }
+
+    public void setEdges(int edges) {
+        this.edges = edges;
+    }
+
+    public long getMemoryBytes() {
+        return memoryBytes;
+    }
+
+    public void setMemoryBytes(long memoryBytes) {
+        this.memoryBytes = memoryBytes;
+    }
+
+    public double getBytesPerEmployee() {
+        return bytesPerEmployee;
+    }
+
+    public void setBytesPerEmployee(double bytesPerEmployee) {
+        this.bytesPerEmployee = bytesPerEmployee;
+    }
+}
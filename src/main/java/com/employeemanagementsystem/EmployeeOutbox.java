@@ -0,0 +1,92 @@
+package com.employeemanagementsystem;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Writes a change event into employee_outbox inside the caller's transaction, so an event exists
+ * exactly when the employee write it describes commits. EmployeeOutboxRelay moves them on.
+ *
+ * Every event carries the employee's generation and version, which order one employee's changes
+ * in commit order. Employee IDs are assigned by clients, so an ID can be deleted and created again,
+ * starting over at version 0: the generation is then one past the one on the ID's tombstone. It is
+ * read once the employee row is written, as by then the delete of the previous employee under the
+ * ID (and its tombstone) has committed.
+ */
+@Component
+public class EmployeeOutbox {
+    private final EmployeeOutboxRepository employeeOutboxRepository;
+    private final EmployeeTombstoneRepository employeeTombstoneRepository;
+    private final ObjectMapper objectMapper;
+
+    public EmployeeOutbox(EmployeeOutboxRepository employeeOutboxRepository,
+                          EmployeeTombstoneRepository employeeTombstoneRepository, ObjectMapper objectMapper) {
+        this.employeeOutboxRepository = employeeOutboxRepository;
+        this.employeeTombstoneRepository = employeeTombstoneRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    // Expects the inserts to be flushed already; the generations are read in one query
+    public void recordCreated(List<Employee> employees) {
+        Map<Integer, Integer> generations = new HashMap<>();
+        for (EmployeeTombstone tombstone : employeeTombstoneRepository.findAllById(
+                employees.stream().map(Employee::getEmployeeId).toList())) {
+            generations.put(tombstone.getEmployeeId(), tombstone.getGeneration() + 1);
+        }
+        for (Employee employee : employees) {
+            record(EmployeeChangeDTO.CREATED, employee, null, true,
+                    generations.getOrDefault(employee.getEmployeeId(), 0), employee.getVersion());
+        }
+    }
+
+    // Expects the update to be flushed already, so the event carries the version being committed
+    public void recordUpdated(Employee employee, Integer previousManagerId) {
+        Integer movedFrom = previousManagerId == null || previousManagerId.equals(employee.getManagerId())
+                ? null : previousManagerId;
+        record(EmployeeChangeDTO.UPDATED, employee, movedFrom, true, generationOf(employee.getEmployeeId()),
+                employee.getVersion());
+    }
+
+    // The generation is the caller's, read with generationOf before the tombstone is written
+    public void recordDeleted(Employee employee, int generation) {
+        record(EmployeeChangeDTO.DELETED, employee, null, false, generation, employee.getVersion() + 1);
+    }
+
+    // Generation of the employee that exists under the ID
+    public int generationOf(Integer employeeId) {
+        return employeeTombstoneRepository.findById(employeeId).map(tombstone -> tombstone.getGeneration() + 1)
+                .orElse(0);
+    }
+
+    private void record(String changeType, Employee employee, Integer previousManagerId, boolean withState,
+                        int generation, long version) {
+        LocalDateTime now = LocalDateTime.now();
+        EmployeeChangeDTO change = new EmployeeChangeDTO();
+        change.setChangeType(changeType);
+        change.setEmployeeId(employee.getEmployeeId());
+        change.setManagerId(employee.getManagerId());
+        change.setPreviousManagerId(previousManagerId);
+        change.setGeneration(generation);
+        change.setVersion(employee.getVersion());
+        change.setChangedDateTime(now);
+        if (withState) {
+            change.setName(employee.getName());
+            change.setDob(employee.getDob());
+            change.setSalary(employee.getSalary());
+            change.setEmailId(employee.getEmailId());
+        }
+        try {
+            employeeOutboxRepository.save(new EmployeeOutboxEvent(employee.getEmployeeId(), generation, version,
+                    changeType, now, objectMapper.writeValueAsString(change)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize change of employee " + employee.getEmployeeId(), e);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.employeemanagementsystem;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+/**
+ * One employee change waiting in the outbox for the relay. The payload is the EmployeeChangeDTO
+ * as JSON; the employee ID, generation and version are kept as columns too since the change log
+ * is keyed by the ID and compacted in (generation, version) order.
+ */
+@Entity(name = "EmployeeOutboxEvent")
+@Table(name = "employee_outbox")
+@Immutable
+public class EmployeeOutboxEvent {
+
+    // Pooled: a bulk create inserts its events in JDBC batches without a sequence round trip each.
+    // IDs from blocks of different instances are not in commit order, so nothing orders changes by them
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_outbox_seq")
+    @SequenceGenerator(name = "employee_outbox_seq", sequenceName = "employee_outbox_seq", allocationSize = 50)
+    @Column(name = "EVENT_ID")
+    private Long eventId;
+
+    @Column(name = "EMPLOYEE_ID")
+    private Integer employeeId;
+
+    // How often the employee ID had been deleted before this employee was created
+    @Column(name = "GENERATION")
+    private Integer generation;
+
+    // The employee version the change committed; for a delete the version after the one it removed.
+    // The optimistic lock makes it grow with commit order within a generation
+    @Column(name = "VERSION")
+    private Long version;
+
+    @Column(name = "CHANGE_TYPE")
+    private String changeType;
+
+    @Column(name = "CREATED_DATETIME")
+    private LocalDateTime createdDateTime;
+
+    @Column(name = "PAYLOAD")
+    private String payload;
+
+    protected EmployeeOutboxEvent() {
+        super();
+    }
+
+    public EmployeeOutboxEvent(Integer employeeId, Integer generation, Long version, String changeType,
+                               LocalDateTime createdDateTime, String payload) {
+        super();
+        this.employeeId = employeeId;
+        this.generation = generation;
+        this.version = version;
+        this.changeType = changeType;
+        this.createdDateTime = createdDateTime;
+        this.payload = payload;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public Integer getEmployeeId() {
+        return employeeId;
+    }
+
+    public Integer getGeneration() {
+        return generation;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public String getChangeType() {
+        return changeType;
+    }
+
+    public LocalDateTime getCreatedDateTime() {
+        return createdDateTime;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+}
@@ -0,0 +1,143 @@
+package com.employeemanagementsystem;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Moves committed events from employee_outbox into the EmployeeChangeLog. Each batch is read,
+ * appended and deleted in one transaction, so an event leaves the outbox only once it is in the
+ * log; a failure between the append and the commit appends the batch again (at-least-once, with
+ * the outbox event ID in every record for consumers that need to tell). Events are relayed in ID
+ * order, but the log order is relay order: a transaction that commits late is appended late. For
+ * one employee, though, the generation and version in every record follow commit order (see
+ * EmployeeOutbox), which compaction uses.
+ *
+ * The log is local to the instance, so only one instance should relay (employee.outbox.relay-enabled).
+ */
+@Component
+public class EmployeeOutboxRelay {
+    private final EmployeeOutboxRepository employeeOutboxRepository;
+    private final EmployeeChangeLog changeLog;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final boolean enabled;
+    private final Timer batchTimer;
+
+    private final LongAdder relayed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    // Age of the oldest waiting event when the last run started
+    private volatile long lagMillis;
+    private volatile long lastRunEvents;
+    private volatile long lastRunNanos;
+
+    public EmployeeOutboxRelay(EmployeeOutboxRepository employeeOutboxRepository, EmployeeChangeLog changeLog,
+                               PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                               @Value("${employee.outbox.batch-size:500}") int batchSize,
+                               @Value("${employee.outbox.relay-enabled:true}") boolean enabled) {
+        this.employeeOutboxRepository = employeeOutboxRepository;
+        this.changeLog = changeLog;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.enabled = enabled;
+        this.batchTimer = Timer.builder("employee.outbox.relay.batch").publishPercentileHistogram()
+                .register(meterRegistry);
+        FunctionCounter.builder("employee.outbox.relayed", relayed, LongAdder::sum).register(meterRegistry);
+        TimeGauge.builder("employee.outbox.lag", this, TimeUnit.MILLISECONDS, relay -> relay.lagMillis)
+                .register(meterRegistry);
+        Gauge.builder("employee.change-log.end-offset", changeLog, EmployeeChangeLog::endOffset)
+                .register(meterRegistry);
+    }
+
+    // Run every relay-interval-ms by EmployeeChangeFeedScheduler
+    @Timed(value = "employee.scheduled.jobs", histogram = true)
+    public void scheduledRelay() {
+        if (enabled) {
+            relay();
+        }
+    }
+
+    // Drains the outbox batch by batch until it is empty; returns the number of events relayed
+    public synchronized int relay() {
+        long start = System.nanoTime();
+        LocalDateTime oldest = employeeOutboxRepository.findOldestCreatedDateTime();
+        lagMillis = oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis());
+        int total = 0;
+        int relayedInBatch;
+        do {
+            relayedInBatch = batchTimer.record(this::relayBatch);
+            total += relayedInBatch;
+        } while (relayedInBatch == batchSize);
+        lastRunEvents = total;
+        lastRunNanos = System.nanoTime() - start;
+        return total;
+    }
+
+    public EmployeeOutboxStatsDTO stats() {
+        EmployeeOutboxStatsDTO stats = new EmployeeOutboxStatsDTO();
+        stats.setPendingEvents(employeeOutboxRepository.count());
+        stats.setLagMillis(lagMillis);
+        stats.setRelayedEvents(relayed.sum());
+        stats.setRelayBatches(batches.sum());
+        long runNanos = lastRunNanos;
+        long runEvents = lastRunEvents;
+        stats.setLastRunEvents(runEvents);
+        stats.setLastRunMillis(runNanos / 1_000_000);
+        stats.setEventsPerSecond(runNanos == 0 ? 0 : runEvents * 1_000_000_000.0 / runNanos);
+        stats.setLogStartOffset(changeLog.startOffset());
+        stats.setLogEndOffset(changeLog.endOffset());
+        stats.setLogSegments(changeLog.segmentCount());
+        stats.setLogBytes(changeLog.sizeBytes());
+        return stats;
+    }
+
+    private int relayBatch() {
+        Integer count = transactionTemplate.execute(status -> {
+            List<EmployeeOutboxEvent> events = employeeOutboxRepository.findOldest(PageRequest.of(0, batchSize));
+            if (events.isEmpty()) {
+                return 0;
+            }
+            List<EmployeeChangeLog.ChangeRecord> records = new ArrayList<>(events.size());
+            List<Long> eventIds = new ArrayList<>(events.size());
+            for (EmployeeOutboxEvent event : events) {
+                records.add(new EmployeeChangeLog.ChangeRecord(event.getEventId(), event.getEmployeeId(),
+                        event.getGeneration(), event.getVersion(),
+                        event.getCreatedDateTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(),
+                        event.getPayload().getBytes(StandardCharsets.UTF_8)));
+                eventIds.add(event.getEventId());
+            }
+            try {
+                changeLog.append(records);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to append to the change log", e);
+            }
+            employeeOutboxRepository.deleteAllByIdInBatch(eventIds);
+            return events.size();
+        });
+        if (count > 0) {
+            relayed.add(count);
+            batches.increment();
+        }
+        return count;
+    }
+}
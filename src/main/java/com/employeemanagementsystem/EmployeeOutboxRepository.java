@@ -0,0 +1,18 @@
+package com.employeemanagementsystem;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+public interface EmployeeOutboxRepository extends JpaRepository<EmployeeOutboxEvent, Long> {
+
+    @Query("SELECT e FROM EmployeeOutboxEvent e ORDER BY e.eventId")
+    List<EmployeeOutboxEvent> findOldest(Pageable pageable);
+
+    // Null when the outbox is empty
+    @Query("SELECT MIN(e.createdDateTime) FROM EmployeeOutboxEvent e")
+    LocalDateTime findOldestCreatedDateTime();
+}
@@ -0,0 +1,110 @@
+package com.employeemanagementsystem;
+
+public class EmployeeOutboxStatsDTO {
+
+    // Events committed but not yet in the change log
+    private long pendingEvents;
+    // Age of the oldest pending event when the last relay run started
+    private long lagMillis;
+    private long relayedEvents;
+    private long relayBatches;
+    private long lastRunEvents;
+    private long lastRunMillis;
+    private double eventsPerSecond;
+    private long logStartOffset;
+    private long logEndOffset;
+    private int logSegments;
+    private long logBytes;
+
+    public EmployeeOutboxStatsDTO() {
+        super();
+    }
+
+    public long getPendingEvents() {
+        return pendingEvents;
+    }
+
+    public void setPendingEvents(long pendingEvents) {
+        this.pendingEvents = pendingEvents;
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    public void setLagMillis(long lagMillis) {
+        this.lagMillis = lagMillis;
+    }
+
+    public long getRelayedEvents() {
+        return relayedEvents;
+    }
+
+    public void setRelayedEvents(long relayedEvents) {
+        this.relayedEvents = relayedEvents;
+    }
+
+    public long getRelayBatches() {
+        return relayBatches;
+    }
+
+    public void setRelayBatches(long relayBatches) {
+        this.relayBatches = relayBatches;
+    }
+
+    public long getLastRunEvents() {
+        return lastRunEvents;
+    }
+
+    public void setLastRunEvents(long lastRunEvents) {
+        this.lastRunEvents = lastRunEvents;
+    }
+
+    public long getLastRunMillis() {
+        return lastRunMillis;
+    }
+
+    public void setLastRunMillis(long lastRunMillis) {
+        this.lastRunMillis = lastRunMillis;
+    }
+
+    public double getEventsPerSecond() {
+        return eventsPerSecond;
+    }
+
+    public void setEventsPerSecond(double eventsPerSecond) {
+        this.eventsPerSecond = eventsPerSecond;
+    }
+
+    public long getLogStartOffset() {
+        return logStartOffset;
+    }
+
+    public void setLogStartOffset(long logStartOffset) {
+        this.logStartOffset = logStartOffset;
+    }
+
+    public long getLogEndOffset() {
+        return logEndOffset;
+    }
+
+    public void setLogEndOffset(long logEndOffset) {
+        this.logEndOffset = logEndOffset;
+    }
+
+    public int getLogSegments() {
+        return logSegments;
+    }
+
+    public void setLogSegments(int logSegments) {
+        this.logSegments = logSegments;
+    }
+
+    public long getLogBytes() {
+        return logBytes;
+    }
+
+    public void setLogBytes(long logBytes) {
+        this.logBytes = logBytes;
+    }
+}
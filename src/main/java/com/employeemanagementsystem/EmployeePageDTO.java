@@ -0,0 +1,36 @@
+package com.employeemanagementsystem;
+
+import java.util.List;
+
+public class EmployeePageDTO {
+
+    private List<EmployeeDTO> employees;
+    // Opaque token for the next page, null once the last page has been returned
+    private String nextCursor;
+
+    public EmployeePageDTO() {
+        super();
+    }
+
+    public EmployeePageDTO(List<EmployeeDTO> employees, String nextCursor) {
+        super();
+        this.employees = employees;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<EmployeeDTO> getEmployees() {
+        return employees;
+    }
+
+    public void setEmployees(List<EmployeeDTO> employees) {
+        this.employees = employees;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,44 @@
+package com.employeemanagementsystem;
+
+public class EmployeeReportDTO {
+
+    private int employeeId;
+    private int managerId;
+    // 1 for direct reports, 2 for their reports and so on
+    private int level;
+
+    public EmployeeReportDTO() {
+        super();
+    }
+
+    public EmployeeReportDTO(int employeeId, int managerId, int level) {
+        super();
+        this.employeeId = employeeId;
+        this.managerId = managerId;
+        this.level = level;
+    }
+
+    public int getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(int employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public int getManagerId() {
+        return managerId;
+    }
+
+    public void setManagerId(int managerId) {
+        this.managerId = managerId;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public void setLevel(int level) {
+        this.level = level;
+    }
+}
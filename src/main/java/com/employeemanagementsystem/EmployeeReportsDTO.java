@@ -0,0 +1,46 @@
+package com.employeemanagementsystem;
+
+import java.util.List;
+
+public class EmployeeReportsDTO {
+
+    private int managerId;
+    // All transitive reports, whatever depth was asked for
+    private int teamSize;
+    private List<EmployeeReportDTO> reports;
+
+    public EmployeeReportsDTO() {
+        super();
+    }
+
+    public EmployeeReportsDTO(int managerId, int teamSize, List<EmployeeReportDTO> reports) {
+        super();
+        this.managerId = managerId;
+        this.teamSize = teamSize;
+        this.reports = reports;
+    }
+
+    public int getManagerId() {
+        return managerId;
+    }
+
+    public void setManagerId(int managerId) {
+        this.managerId = managerId;
+    }
+
+    public int getTeamSize() {
+        return teamSize;
+    }
+
+    public void setTeamSize(int teamSize) {
+        this.teamSize = teamSize;
+    }
+
+    public List<EmployeeReportDTO> getReports() {
+        return reports;
+    }
+
+    public void setReports(List<EmployeeReportDTO> reports) {
+        this.reports = reports;
+    }
+}
@@ -1,22 +1,118 @@
 package com.employeemanagementsystem;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
-public interface EmployeeRepository extends JpaRepository<Employee, Integer> {
-    @Query("SELECT e FROM Employee e LEFT JOIN FETCH e.phoneNumbers WHERE e.employeeId = :employeeId")
+import jakarta.persistence.QueryHint;
+
+public interface EmployeeRepository extends JpaRepository<Employee, Integer>, JpaSpecificationExecutor<Employee>,
+        EmployeeSearchRepository {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT e FROM Employee e LEFT JOIN FETCH e.phoneNumbers LEFT JOIN FETCH e.voterID WHERE e.employeeId = :employeeId")
     Optional<Employee> findByIdWithDetails(@Param("employeeId") Integer employeeId);
 
+    // Team, phones and voter IDs in one fetch-joined statement instead of 1 + 2N lazy loads.
+    // Only five manager IDs exist, so the result sets are kept in the query cache when it is enabled
+    @EntityGraph(attributePaths = {"phoneNumbers", "voterID"})
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     public List<Employee> findByManagerId(Integer managerId);
 
     @Query("SELECT e FROM Employee e WHERE e.salary > :salary")
     public List<Employee> findBySalaryGreaterThan(@Param("salary")BigDecimal salary);
 
-    @Query("SELECT e FROM Employee e LEFT JOIN FETCH e.voterID WHERE e.voterID IS NULL")
-    public List<Employee> findByVoterIdIsNull();
-}
\ No newline at end of file
+    // Employees above the salary threshold that were created or updated in (since, until], one keyset chunk at a time
+    @Query("SELECT new com.employeemanagementsystem.EmployeeDTO(e.employeeId, e.name, e.dob, e.managerId, e.salary, "
+            + "e.emailId, e.createdDateTime, e.updatedDateTime, e.version) "
+            + "FROM Employee e WHERE e.salary > :salary AND e.employeeId > :afterId "
+            + "AND ((e.updatedDateTime > :since AND e.updatedDateTime <= :until) "
+            + "OR (e.updatedDateTime IS NULL AND e.createdDateTime > :since AND e.createdDateTime <= :until)) "
+            + "ORDER BY e.employeeId")
+    public List<EmployeeDTO> findSalaryAboveChangedBetween(@Param("salary") BigDecimal salary,
+                                                           @Param("since") LocalDateTime since,
+                                                           @Param("until") LocalDateTime until,
+                                                           @Param("afterId") Integer afterId,
+                                                           Pageable pageable);
+
+    // Anti-join through idx_voterid_employee_id; projected so the inverse voterID is not resolved per row
+    @Query("SELECT new com.employeemanagementsystem.EmployeeDTO(e.employeeId, e.name, e.dob, e.managerId, e.salary, "
+            + "e.emailId, e.createdDateTime, e.updatedDateTime, e.version) "
+            + "FROM Employee e WHERE NOT EXISTS (SELECT v.voterId FROM VoterID v WHERE v.employeeId = e.employeeId)")
+    public List<EmployeeDTO> findByVoterIdIsNull();
+
+    // Keyset page on EMPLOYEE_ID, projected straight into DTOs so no entities end up in the persistence context
+    @Query("SELECT new com.employeemanagementsystem.EmployeeDTO(e.employeeId, e.name, e.dob, e.managerId, e.salary, "
+            + "e.emailId, e.createdDateTime, e.updatedDateTime, e.version) "
+            + "FROM Employee e WHERE e.employeeId > :afterId ORDER BY e.employeeId")
+    public List<EmployeeDTO> findPageAfter(@Param("afterId") Integer afterId, Pageable pageable);
+
+    // Delta sync keyset pages on (change time, EMPLOYEE_ID) in (since, until]: updated rows through
+    // idx_employee_updated, rows never updated through idx_employee_created
+    @Query("SELECT new com.employeemanagementsystem.EmployeeDTO(e.employeeId, e.name, e.dob, e.managerId, e.salary, "
+            + "e.emailId, e.createdDateTime, e.updatedDateTime, e.version) "
+            + "FROM Employee e WHERE e.updatedDateTime <= :until "
+            + "AND (e.updatedDateTime > :since OR (e.updatedDateTime = :since AND e.employeeId > :afterId)) "
+            + "ORDER BY e.updatedDateTime, e.employeeId")
+    public List<EmployeeDTO> findUpdatedAfter(@Param("since") LocalDateTime since, @Param("afterId") Integer afterId,
+                                              @Param("until") LocalDateTime until, Pageable pageable);
+
+    @Query("SELECT new com.employeemanagementsystem.EmployeeDTO(e.employeeId, e.name, e.dob, e.managerId, e.salary, "
+            + "e.emailId, e.createdDateTime, e.updatedDateTime, e.version) "
+            + "FROM Employee e WHERE e.updatedDateTime IS NULL AND e.createdDateTime <= :until "
+            + "AND (e.createdDateTime > :since OR (e.createdDateTime = :since AND e.employeeId > :afterId)) "
+            + "ORDER BY e.createdDateTime, e.employeeId")
+    public List<EmployeeDTO> findCreatedAfter(@Param("since") LocalDateTime since, @Param("afterId") Integer afterId,
+                                              @Param("until") LocalDateTime until, Pageable pageable);
+
+    // Scrolled over a server-side cursor; the caller must consume it inside a transaction and close it
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.employeemanagementsystem.EmployeeDTO(e.employeeId, e.name, e.dob, e.managerId, e.salary, "
+            + "e.emailId, e.createdDateTime, e.updatedDateTime, e.version) "
+            + "FROM Employee e ORDER BY e.employeeId")
+    public Stream<EmployeeDTO> streamAll();
+
+    // Scalar rows for the columnar export: the employee columns, then voter number and city (null
+    // without a voter ID). Manager order gives the manager column long runs
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT e.employeeId, e.name, e.dob, e.managerId, e.salary, e.emailId, e.createdDateTime, "
+            + "e.updatedDateTime, v.voterNumber, v.city "
+            + "FROM Employee e LEFT JOIN e.voterID v ORDER BY e.managerId, e.employeeId")
+    public Stream<Object[]> streamColumnarRows();
+
+    // employeeId, managerId pairs for the org chart load
+    @Query("SELECT e.employeeId, e.managerId FROM Employee e")
+    public Stream<Object[]> streamManagerIds();
+
+    // managerId, salary pairs for the salary stats load
+    @Query("SELECT e.managerId, e.salary FROM Employee e")
+    public Stream<Object[]> streamManagerSalaries();
+
+    // managerId, count, total, min and max salary per manager, checked against the in-memory stats
+    @Query("SELECT e.managerId, COUNT(e), SUM(e.salary), MIN(e.salary), MAX(e.salary) FROM Employee e GROUP BY e.managerId")
+    public List<Object[]> summarizeSalariesByManager();
+
+    // Lowest and highest employee ID (one row); the highest closes the last ID-range partition
+    @Query("SELECT MIN(e.employeeId), MAX(e.employeeId) FROM Employee e")
+    public List<Object[]> findEmployeeIdRange();
+
+    // The first, the (step + 1)th, the (2 * step + 1)th... employee ID in ID order: where partitions
+    // of step employees each start, however sparse the client-assigned IDs are. One pass over the key
+    @Query("SELECT r.id FROM (SELECT e.employeeId AS id, ROW_NUMBER() OVER (ORDER BY e.employeeId) AS position "
+            + "FROM Employee e) r WHERE MOD(r.position - 1, :step) = 0 ORDER BY r.id")
+    public List<Integer> findEveryNthEmployeeId(@Param("step") int step);
+
+    @Query("SELECT e.salary FROM Employee e WHERE e.employeeId BETWEEN :fromId AND :toId")
+    public List<BigDecimal> findSalariesByEmployeeIdBetween(@Param("fromId") Integer fromId, @Param("toId") Integer toId);
+}
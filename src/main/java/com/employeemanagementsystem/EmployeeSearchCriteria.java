@@ -0,0 +1,94 @@
+package com.employeemanagementsystem;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+/**
+ * Query parameters of GET /employees/search. Every filter is optional and they combine with AND.
+ */
+public class EmployeeSearchCriteria {
+
+    // Case-sensitive prefix, so the LIKE can use idx_employee_name
+    private String name;
+    private Integer managerId;
+    private BigDecimal minSalary;
+    private BigDecimal maxSalary;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dobFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dobTo;
+    // VoterID.city
+    private String city;
+    // Any of the employee's phones
+    private String provider;
+
+    public EmployeeSearchCriteria() {
+        super();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Integer getManagerId() {
+        return managerId;
+    }
+
+    public void setManagerId(Integer managerId) {
+        this.managerId = managerId;
+    }
+
+    public BigDecimal getMinSalary() {
+        return minSalary;
+    }
+
+    public void setMinSalary(BigDecimal minSalary) {
+        this.minSalary = minSalary;
+    }
+
+    public BigDecimal getMaxSalary() {
+        return maxSalary;
+    }
+
+    public void setMaxSalary(BigDecimal maxSalary) {
+        this.maxSalary = maxSalary;
+    }
+
+    public LocalDate getDobFrom() {
+        return dobFrom;
+    }
+
+    public void setDobFrom(LocalDate dobFrom) {
+        this.dobFrom = dobFrom;
+    }
+
+    public LocalDate getDobTo() {
+        return dobTo;
+    }
+
+    public void setDobTo(LocalDate dobTo) {
+        this.dobTo = dobTo;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    public String getProvider() {
+        return provider;
+    }
+
+    public void setProvider(String provider) {
+        this.provider = provider;
+    }
+}
@@ -0,0 +1,15 @@
+package com.employeemanagementsystem;
+
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Custom {@link EmployeeRepository} fragment: specification-filtered searches that project
+ * straight into {@link EmployeeDTO} instead of loading entities.
+ */
+public interface EmployeeSearchRepository {
+
+    List<EmployeeDTO> searchDTOs(Specification<Employee> specification, Sort sort, int offset, int limit);
+}
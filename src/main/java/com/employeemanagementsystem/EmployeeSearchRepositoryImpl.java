@@ -0,0 +1,44 @@
+package com.employeemanagementsystem;
+
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+class EmployeeSearchRepositoryImpl implements EmployeeSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Same columns as the JPQL constructor projections in EmployeeRepository; filtering, ordering
+    // and the offset/limit all happen in the database
+    @Override
+    public List<EmployeeDTO> searchDTOs(Specification<Employee> specification, Sort sort, int offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EmployeeDTO> query = cb.createQuery(EmployeeDTO.class);
+        Root<Employee> employee = query.from(Employee.class);
+        query.select(cb.construct(EmployeeDTO.class,
+                employee.get("employeeId"), employee.get("name"), employee.get("dob"), employee.get("managerId"),
+                employee.get("salary"), employee.get("emailId"), employee.get("createdDateTime"),
+                employee.get("updatedDateTime"), employee.get("version")));
+
+        Predicate predicate = specification.toPredicate(employee, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, employee, cb));
+
+        return entityManager.createQuery(query)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
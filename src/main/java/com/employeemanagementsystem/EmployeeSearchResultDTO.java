@@ -0,0 +1,66 @@
+package com.employeemanagementsystem;
+
+import java.util.List;
+
+public class EmployeeSearchResultDTO {
+
+    private List<EmployeeDTO> employees;
+    private int page;
+    private int limit;
+    private boolean hasNext;
+    // Number of matching employees, null when the caller skipped the count query
+    private Long total;
+
+    public EmployeeSearchResultDTO() {
+        super();
+    }
+
+    public EmployeeSearchResultDTO(List<EmployeeDTO> employees, int page, int limit, boolean hasNext, Long total) {
+        super();
+        this.employees = employees;
+        this.page = page;
+        this.limit = limit;
+        this.hasNext = hasNext;
+        this.total = total;
+    }
+
+    public List<EmployeeDTO> getEmployees() {
+        return employees;
+    }
+
+    public void setEmployees(List<EmployeeDTO> employees) {
+        this.employees = employees;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+    public Long getTotal() {
+        return total;
+    }
+
+    public void setTotal(Long total) {
+        this.total = total;
+    }
+}
@@ -1,33 +1,54 @@
 package com.employeemanagementsystem;
 
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.transaction.support.TransactionTemplate;
 
 import jakarta.persistence.PrePersist;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class EmployeeService {
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeService.class);
+    static final String TAXABLE_SALARY_JOB = "taxable-salary-notifier";
+    // Lower bound for the first incremental run and for every run in full-scan mode
+    private static final LocalDateTime TAXABLE_FULL_SCAN_SINCE = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private static final Set<String> SEARCH_SORT_FIELDS = Set.of("employeeId", "name", "dob", "managerId", "salary",
+            "createdDateTime", "updatedDateTime");
+
     private final EmployeeRepository employeeRepository;
-    private final PlatformTransactionManager transactionManager;
-    private final TransactionTemplate transactionTemplate;
 
-    public EmployeeService(EmployeeRepository employeeRepository, PlatformTransactionManager transactionManager) {
+    public EmployeeService(EmployeeRepository employeeRepository) {
         this.employeeRepository = employeeRepository;
-        this.transactionManager = transactionManager;
-        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
 
@@ -38,6 +59,64 @@ public class EmployeeService {
     @Autowired
     private PhoneNumberRepository phoneNumberRepository;
 
+    @Value("${employee.page.default-size:100}")
+    private int defaultPageSize;
+
+    @Value("${employee.page.max-size:1000}")
+    private int maxPageSize;
+
+    @Autowired
+    private EmployeeCache employeeCache;
+
+    @Autowired
+    private EmployeeLookupIndex employeeLookupIndex;
+
+    @Autowired
+    private EmployeeOrgChart employeeOrgChart;
+
+    @Autowired
+    private SalaryStatsService salaryStatsService;
+
+    @Value("${employee.lookup.max-results:20}")
+    private int maxLookupResults;
+
+    @Autowired
+    private JobCheckpointRepository jobCheckpointRepository;
+
+    @Autowired
+    private EmployeeOutbox employeeOutbox;
+
+    @Autowired
+    private EmployeeChangeLog employeeChangeLog;
+
+    @Value("${employee.change-log.max-read:1000}")
+    private int maxChangeRead;
+
+    @Autowired
+    private EmployeeTombstoneRepository employeeTombstoneRepository;
+
+    @Autowired
+    private NotificationPipeline notificationPipeline;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${employee.notifier.taxable-threshold:100000}")
+    private BigDecimal taxableThreshold;
+
+    @Value("${employee.notifier.incremental:true}")
+    private boolean taxableIncremental;
+
+    @Value("${employee.notifier.chunk-size:500}")
+    private int notifierChunkSize;
+
+    // Changes stamped this close to now may belong to transactions that have not committed yet
+    @Value("${employee.notifier.commit-window:5s}")
+    private Duration notifierCommitWindow;
+
 
     public Optional<VoterID> getVoterIDByEmployeeId(Integer employeeId) {
         return voterIDRepository.findById(employeeId);
@@ -47,16 +126,96 @@ public class EmployeeService {
     @Transactional
     public void createEmployee(Employee employee) {
         try {
+            checkManager(employee);
             employeeRepository.save(employee);
+            employeeRepository.flush();
+            afterCreate(List.of(employee));
         } catch (Throwable t) {
             throw new IllegalArgumentException("Failed to create employee: " + t.toString());
         }
     }
 
+    // Everything flushed inserts bring along, inside the inserting transaction: the outbox events now,
+    // the caches and in-memory indexes once it commits. Also used by EmployeeBulkService
+    void afterCreate(List<Employee> employees) {
+        employeeOutbox.recordCreated(employees);
+        for (Employee employee : employees) {
+            employeeCache.invalidate(employee.getEmployeeId());
+            employeeCache.invalidateTeam(employee.getManagerId());
+            employeeLookupIndex.indexAfterCommit(employee);
+            employeeOrgChart.putAfterCommit(employee.getEmployeeId(), employee.getManagerId());
+            salaryStatsService.addAfterCommit(employee);
+        }
+    }
+
 
     public Optional<Employee> findByIdWithDetails(int employeeId) {
         return employeeRepository.findByIdWithDetails(employeeId);
     }
+
+    // Read-through lookup of the assembled DTO; see EmployeeCache for eviction settings
+    public Optional<EmployeeDTO> getEmployeeDTO(Integer employeeId) {
+        return Optional.ofNullable(employeeCache.get(employeeId, id -> employeeRepository.findByIdWithDetails(id)
+                .map(EmployeeMapper::convertToDTO)
+                .orElse(null)));
+    }
+
+    public EmployeeCacheStatsDTO getCacheStats() {
+        return employeeCache.stats();
+    }
+
+    // Type-ahead over the in-memory index; nothing here touches the database
+    public List<EmployeeLookupResultDTO> lookupEmployees(String query, Integer limit) {
+        int maxResults = limit == null ? maxLookupResults : limit;
+        if (maxResults < 1 || maxResults > maxLookupResults) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxLookupResults);
+        }
+        return employeeLookupIndex.lookup(query, maxResults);
+    }
+
+    // depth null: every transitive report
+    public Optional<EmployeeReportsDTO> getReports(Integer managerId, Integer depth) {
+        int maxDepth = depth == null ? Integer.MAX_VALUE : depth;
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("Depth must be at least 1");
+        }
+        return Optional.ofNullable(employeeOrgChart.reports(managerId, maxDepth));
+    }
+
+    public Optional<List<Integer>> getChainOfCommand(Integer employeeId) {
+        return Optional.ofNullable(employeeOrgChart.chainOfCommand(employeeId));
+    }
+
+    public EmployeeOrgChartStatsDTO getOrgChartStats() {
+        return employeeOrgChart.stats();
+    }
+
+    // Reads the change log from an offset; consumers pass nextOffset back to continue
+    public EmployeeChangePageDTO getChanges(long offset, Integer limit) throws IOException {
+        int maxRecords = limit == null ? maxChangeRead : limit;
+        if (maxRecords < 1 || maxRecords > maxChangeRead) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxChangeRead);
+        }
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative");
+        }
+        long startOffset = employeeChangeLog.startOffset();
+        List<EmployeeChangeLog.ChangeRecord> records = employeeChangeLog.read(offset, maxRecords);
+        List<EmployeeChangeDTO> changes = new ArrayList<>(records.size());
+        for (EmployeeChangeLog.ChangeRecord record : records) {
+            EmployeeChangeDTO change = objectMapper.readValue(record.getPayload(), EmployeeChangeDTO.class);
+            change.setOffset(record.getOffset());
+            change.setEventId(record.getEventId());
+            changes.add(change);
+        }
+        long nextOffset = records.isEmpty() ? Math.max(offset, startOffset)
+                : records.get(records.size() - 1).getOffset() + 1;
+        return new EmployeeChangePageDTO(changes, nextOffset, startOffset, employeeChangeLog.endOffset());
+    }
+
+    public NotificationStatsDTO getNotificationStats() {
+        return notificationPipeline.stats();
+    }
   
 
 //    public List<Employee> getEmployeesByManagerId(Integer managerId) {
@@ -64,12 +223,23 @@ public class EmployeeService {
 //    }
 
     public List<Employee> getEmployeesByManagerId(Integer managerId) {
-        List<Employee> employees = employeeRepository.findByManagerId(managerId);
-        employees.forEach(employee -> {
-            employee.getCreatedDateTime(); // Fetch the createdDateTime
-            employee.getUpdatedDateTime(); // Fetch the updatedDateTime
+        return employeeRepository.findByManagerId(managerId);
+    }
+
+    // Read-through like getEmployeeDTO; an empty team is not cached
+    public List<EmployeeDTO> getTeamDTOs(Integer managerId) {
+        List<EmployeeDTO> team = employeeCache.getTeam(managerId, id -> {
+            List<Employee> employees = employeeRepository.findByManagerId(id);
+            if (employees.isEmpty()) {
+                return null;
+            }
+            List<EmployeeDTO> employeeDTOs = new ArrayList<>(employees.size());
+            for (Employee employee : employees) {
+                employeeDTOs.add(EmployeeMapper.convertToDTO(employee));
+            }
+            return employeeDTOs;
         });
-        return employees;
+        return team == null ? List.of() : team;
     }
 
     
@@ -125,122 +295,305 @@ public class EmployeeService {
 //        });
 //    }
     
+    // expectedVersion comes from If-Match (null: unconditional). The employee row is versioned, so an
+    // update that commits between this read and our flush fails with an optimistic locking exception
     @Transactional
-    public void updateEmployeeDetails(Integer employeeId, EmployeeUpdateRequestDTO employeeUpdateRequest) {
-        transactionTemplate.execute(transactionStatus -> {
-            Employee existingEmployee = employeeRepository.findById(employeeId)
-                    .orElseThrow(() -> new IllegalArgumentException("Employee not found with id: " + employeeId));
-
-            // Update the employee details
-            existingEmployee.setName(employeeUpdateRequest.getName());
-            existingEmployee.setDob(employeeUpdateRequest.getDob());
-            existingEmployee.setManagerId(employeeUpdateRequest.getManagerId());
-            existingEmployee.setSalary(employeeUpdateRequest.getSalary());
-            existingEmployee.setEmailId(employeeUpdateRequest.getEmailId());
-
-            // Update or create the phone numbers
-            List<PhoneNumber> updatedPhoneNumbers = new ArrayList<>();
-            if (employeeUpdateRequest.getPhoneNumbers() != null) {
-                for (PhoneNumberDTO phoneNumberDTO : employeeUpdateRequest.getPhoneNumbers()) {
-                    PhoneNumber phoneNumber;
-                    if (phoneNumberDTO.getPhoneId() != null) {
-                        // Update existing phone number
-                        phoneNumber = existingEmployee.getPhoneNumbers().stream()
-                                .filter(pn -> pn.getPhoneId().equals(phoneNumberDTO.getPhoneId()))
-                                .findFirst()
-                                .orElse(null);
-                        if (phoneNumber != null) {
-                            phoneNumber.setPhoneNumber(phoneNumberDTO.getPhoneNumber());
-                            phoneNumber.setProvider(phoneNumberDTO.getProvider());
-                            phoneNumber.setType(phoneNumberDTO.getType());
-                        }
-                    } else {
-                        // Create new phone number
-                        if (phoneNumberDTO.getPhoneNumber() != null) {  // Check if phoneNumber is not null
-                            phoneNumber = new PhoneNumber();
-                            phoneNumber.setPhoneNumber(phoneNumberDTO.getPhoneNumber());
-                            phoneNumber.setProvider(phoneNumberDTO.getProvider());
-                            phoneNumber.setType(phoneNumberDTO.getType());
-                            phoneNumber.setEmployee(existingEmployee);
-                            updatedPhoneNumbers.add(phoneNumber);
-                        }
-                    }
-                }
-            }
-            existingEmployee.getPhoneNumbers().clear();
-            existingEmployee.getPhoneNumbers().addAll(updatedPhoneNumbers);
+    public void updateEmployeeDetails(Integer employeeId, EmployeeUpdateRequestDTO employeeUpdateRequest,
+                                      Long expectedVersion) {
+        Employee existingEmployee = findForUpdate(employeeId, expectedVersion);
+        Integer previousManagerId = existingEmployee.getManagerId();
+        BigDecimal previousSalary = existingEmployee.getSalary();
+        Long previousVersion = existingEmployee.getVersion();
+
+        // Update the employee details; unchanged values are not dirty and cost no write
+        existingEmployee.setName(employeeUpdateRequest.getName());
+        existingEmployee.setDob(employeeUpdateRequest.getDob());
+        existingEmployee.setManagerId(employeeUpdateRequest.getManagerId());
+        existingEmployee.setSalary(employeeUpdateRequest.getSalary());
+        existingEmployee.setEmailId(employeeUpdateRequest.getEmailId());
+
+        // Only the phone and voter rows that differ are inserted, updated or deleted
+        boolean detailsChanged = EmployeeMapper.mergePhoneNumbers(existingEmployee, employeeUpdateRequest.getPhoneNumbers());
+        detailsChanged |= EmployeeMapper.mergeVoterID(existingEmployee, employeeUpdateRequest.getVoterID());
+
+        // @PreUpdate stamps changes to the employee row itself; phone and voter changes are recorded
+        // on the employee here since those rows have no timestamp (or version) of their own
+        if (detailsChanged) {
+            existingEmployee.setUpdatedDateTime(LocalDateTime.now());
+        }
+        // Flushed now rather than at commit so the change event carries the new version; a request
+        // that changed nothing leaves the version alone and publishes no event
+        employeeRepository.flush();
+        if (!Objects.equals(previousVersion, existingEmployee.getVersion())) {
+            employeeOutbox.recordUpdated(existingEmployee, previousManagerId);
+        }
+        employeeCache.invalidate(employeeId);
+        employeeCache.invalidateTeam(previousManagerId);
+        employeeCache.invalidateTeam(existingEmployee.getManagerId());
+        employeeLookupIndex.indexAfterCommit(existingEmployee);
+        updateOrgChart(existingEmployee, previousManagerId);
+        salaryStatsService.changeAfterCommit(previousManagerId, previousSalary, existingEmployee);
+    }
 
-            // Update the voter ID
-            VoterID voterID = convertVoterIDToEntity(employeeUpdateRequest.getVoterID());
-            existingEmployee.setVoterID(voterID);
+    // Applies an RFC 7396 merge patch. Returns false, having written nothing, when no value changes;
+    // otherwise @DynamicUpdate limits the employee UPDATE to the changed columns
+    @Transactional
+    public boolean patchEmployee(Integer employeeId, JsonNode patch, Long expectedVersion) {
+        Employee existingEmployee = findForUpdate(employeeId, expectedVersion);
+        Integer previousManagerId = existingEmployee.getManagerId();
+        BigDecimal previousSalary = existingEmployee.getSalary();
+        if (!EmployeeMergePatch.apply(existingEmployee, patch, objectMapper)) {
+            return false;
+        }
 
-            existingEmployee.setCreatedDateTime(existingEmployee.getCreatedDateTime()); // Preserve the existing createdDateTime
-            existingEmployee.setUpdatedDateTime(LocalDateTime.now()); // Set the updatedDateTime to the current timestamp
-            employeeRepository.save(existingEmployee);
+        List<String> errors = new ArrayList<>();
+        for (ConstraintViolation<Employee> violation : validator.validate(existingEmployee)) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        for (PhoneNumber phoneNumber : existingEmployee.getPhoneNumbers()) {
+            for (ConstraintViolation<PhoneNumber> violation : validator.validate(phoneNumber)) {
+                errors.add("phoneNumbers." + violation.getPropertyPath() + ": " + violation.getMessage());
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new RequestException(errors.toString()); // rolls back, nothing is flushed
+        }
 
-            transactionStatus.flush();
-            return null;
-        });
+        existingEmployee.setUpdatedDateTime(LocalDateTime.now());
+        employeeRepository.flush();
+        employeeOutbox.recordUpdated(existingEmployee, previousManagerId);
+        employeeCache.invalidate(employeeId);
+        employeeCache.invalidateTeam(previousManagerId);
+        employeeCache.invalidateTeam(existingEmployee.getManagerId());
+        employeeLookupIndex.indexAfterCommit(existingEmployee);
+        updateOrgChart(existingEmployee, previousManagerId);
+        salaryStatsService.changeAfterCommit(previousManagerId, previousSalary, existingEmployee);
+        return true;
     }
 
+    // With If-Match the DELETE carries the version in its WHERE clause; without it the delete is unconditional.
+    // The row is loaded either way (deleteById did the same) so its salary can leave the stats.
+    @Transactional
+    public void deleteEmployee(Integer id, Long expectedVersion) {
+        Optional<Employee> employee = employeeRepository.findById(id);
+        if (expectedVersion != null) {
+            checkVersion(employee.orElseThrow(() -> new ObjectOptimisticLockingFailureException(Employee.class, id)),
+                    expectedVersion);
+        }
+        if (employee.isPresent()) {
+            // Read before the tombstone it comes from is overwritten with this employee's
+            int generation = employeeOutbox.generationOf(id);
+            employeeRepository.delete(employee.get());
+            employeeTombstoneRepository.save(new EmployeeTombstone(id, employee.get().getManagerId(), LocalDateTime.now(),
+                    generation));
+            employeeOutbox.recordDeleted(employee.get(), generation);
+            salaryStatsService.removeAfterCommit(employee.get());
+            employeeCache.invalidateTeam(employee.get().getManagerId());
+        }
+        employeeCache.invalidate(id);
+        employeeLookupIndex.removeAfterCommit(id);
+        employeeOrgChart.removeAfterCommit(id);
+    }
 
+    // Only a changed managerId touches the org chart
+    private void updateOrgChart(Employee employee, Integer previousManagerId) {
+        if (!Objects.equals(previousManagerId, employee.getManagerId())) {
+            checkManager(employee);
+            employeeOrgChart.putAfterCommit(employee.getEmployeeId(), employee.getManagerId());
+        }
+    }
 
+    // An employee cannot (transitively) report to itself
+    void checkManager(Employee employee) {
+        Integer managerId = employee.getManagerId();
+        if (managerId != null && employeeOrgChart.isInTeamOf(managerId, employee.getEmployeeId())) {
+            throw managerCycle(employee);
+        }
+    }
 
-    private VoterID convertVoterIDToEntity(VoterIDDTO voterIDDTO) {
-        VoterID voterID = new VoterID();
-        voterID.setVoterId(voterIDDTO.getVoterId());
-        voterID.setEmployeeId(voterIDDTO.getEmployeeId());
-        voterID.setVoterNumber(voterIDDTO.getVoterNumber());
-        voterID.setCity(voterIDDTO.getCity());
-        return voterID;
+    // The same check for rows created together: chains run over the committed chart plus the rows
+    // of the request that passed before this one, which are then joined by this row
+    void checkManager(Employee employee, EmployeeOrgChart.Overlay pending) {
+        Integer managerId = employee.getManagerId();
+        if (managerId != null && pending.isInTeamOf(managerId, employee.getEmployeeId())) {
+            throw managerCycle(employee);
+        }
+        pending.put(employee.getEmployeeId(), managerId);
     }
 
+    EmployeeOrgChart.Overlay orgChartOverlay() {
+        return employeeOrgChart.overlay();
+    }
 
+    private static RequestException managerCycle(Employee employee) {
+        return new RequestException("managerId: employee " + employee.getManagerId() + " reports to employee "
+                + employee.getEmployeeId());
+    }
 
-    public void deleteEmployee(Integer id) {
-        employeeRepository.deleteById(id);
+    // With If-Match a row that is gone fails the precondition like a stale version does (412, as for
+    // DELETE); without it a missing row is reported as not found
+    private Employee findForUpdate(Integer employeeId, Long expectedVersion) {
+        Employee employee = employeeRepository.findByIdWithDetails(employeeId).orElseThrow(() -> expectedVersion != null
+                ? new ObjectOptimisticLockingFailureException(Employee.class, employeeId)
+                : new IllegalArgumentException("Employee not found with id: " + employeeId));
+        checkVersion(employee, expectedVersion);
+        return employee;
     }
 
-    public List<Employee> getAllEmployees() {
-        return employeeRepository.findAll();
+    private static void checkVersion(Employee employee, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(employee.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Employee.class, employee.getEmployeeId());
+        }
+    }
+
+    // Keyset pagination on EMPLOYEE_ID: every page costs three bounded queries regardless of table size
+    @Transactional(readOnly = true)
+    public EmployeePageDTO getEmployeePage(String cursor, Integer size) {
+        int pageSize = size == null ? defaultPageSize : size;
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + maxPageSize);
+        }
+        Integer afterId = cursor == null ? Integer.MIN_VALUE : EmployeeCursor.decode(cursor);
+
+        List<EmployeeDTO> employees = employeeRepository.findPageAfter(afterId, PageRequest.of(0, pageSize));
+        if (employees.isEmpty()) {
+            return new EmployeePageDTO(employees, null);
+        }
+        attachPhoneNumbersAndVoterIDs(employees);
+
+        String nextCursor = employees.size() < pageSize ? null
+                : EmployeeCursor.encode(employees.get(employees.size() - 1).getEmployeeId());
+        return new EmployeePageDTO(employees, nextCursor);
     }
-    
-    @Scheduled(cron = "1 * * * * *")
-//    (cron = "0 0 0 5 * *")
-    public void sendTaxableSalaryMessage() {
-        // Get all employees with a salary>1 lac
-        List<Employee> taxableEmployees = employeeRepository.findBySalaryGreaterThan(new BigDecimal(100000));
 
-        // Send a message to each employee
-        for (Employee employee : taxableEmployees) {
-            // Print the employee ID and employee name
-//            System.out.println("Employee ID: " + employee.getEmployeeId()+"Employee Name: " + employee.getName());
+    // Offset paging over a specification-built query. One extra row is fetched to tell whether there
+    // is a next page, so the COUNT query is only run when asked for and when that row exists.
+    @Transactional(readOnly = true)
+    public EmployeeSearchResultDTO searchEmployees(EmployeeSearchCriteria criteria, String sort, int page,
+                                                   Integer limit, boolean count) {
+        int pageSize = limit == null ? defaultPageSize : limit;
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxPageSize);
+        }
+        long offset = (long) page * pageSize;
+        if (page < 0 || offset > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid page: " + page);
+        }
 
-            // Print the output in the desired format
-            System.out.println(String.format("Employee %d - %s : Your salary is now in taxable range", employee.getEmployeeId(), employee.getName()));
+        Specification<Employee> specification = EmployeeSpecifications.matching(criteria);
+        List<EmployeeDTO> employees = employeeRepository.searchDTOs(specification, toSearchSort(sort),
+                (int) offset, pageSize + 1);
+        boolean hasNext = employees.size() > pageSize;
+        if (hasNext) {
+            employees.remove(pageSize);
+        }
+        if (!employees.isEmpty()) {
+            attachPhoneNumbersAndVoterIDs(employees);
         }
 
-        scheduleMethodNow1();
+        Long total = null;
+        if (count) {
+            total = hasNext || (employees.isEmpty() && page > 0)
+                    ? employeeRepository.count(specification)
+                    : offset + employees.size();
+        }
+        return new EmployeeSearchResultDTO(employees, page, pageSize, hasNext, total);
     }
 
-    public void scheduleMethodNow1() {
-        displayEmployeesWithoutVoterId();
+    // "field" or "field,asc|desc" on a whitelisted field; employeeId breaks ties so pages are stable
+    static Sort toSearchSort(String sort) {
+        Sort idOrder = Sort.by("employeeId");
+        if (sort == null || sort.isBlank()) {
+            return idOrder;
+        }
+        String[] parts = sort.split(",");
+        String field = parts[0].trim();
+        if (!SEARCH_SORT_FIELDS.contains(field) || parts.length > 2) {
+            throw new IllegalArgumentException("Cannot sort by: " + sort + "; sortable fields are " + SEARCH_SORT_FIELDS);
+        }
+        Sort.Direction direction = parts.length == 2
+                ? Sort.Direction.fromOptionalString(parts[1].trim())
+                        .orElseThrow(() -> new IllegalArgumentException("Invalid sort direction: " + parts[1]))
+                : Sort.Direction.ASC;
+        return field.equals("employeeId") ? Sort.by(direction, field) : Sort.by(direction, field).and(idOrder);
+    }
+
+    // Fills in phones and voter IDs for a batch of projected employees with one IN query each
+    public void attachPhoneNumbersAndVoterIDs(List<EmployeeDTO> employees) {
+        Map<Integer, EmployeeDTO> byId = new HashMap<>(employees.size() * 2);
+        for (EmployeeDTO employee : employees) {
+            employee.setPhoneNumbers(new ArrayList<>());
+            byId.put(employee.getEmployeeId(), employee);
+        }
+        for (PhoneNumber phoneNumber : phoneNumberRepository.findByEmployeeIdIn(byId.keySet())) {
+            byId.get(phoneNumber.getEmployee().getEmployeeId()).getPhoneNumbers()
+                    .add(EmployeeMapper.toPhoneNumberDTO(phoneNumber));
+        }
+        for (VoterIDDTO voterID : voterIDRepository.findDTOsByEmployeeIdIn(byId.keySet())) {
+            byId.get(voterID.getEmployeeId()).setVoterID(voterID);
+        }
+    }
+    
+    // Incremental mode only looks at rows created/updated since the last run's high-water mark.
+    // Without salary history this reports employees that are above the threshold and changed since
+    // the last run, which covers everyone who crossed it in that window. Each run reads up to now
+    // minus the commit window and stores that as the mark, so a row stamped before the run but
+    // committed after it is still within the next run's window (as in EmployeeSyncService). If the
+    // pipeline refuses an event the run stops there and keeps the old mark, so the next run reports
+    // the whole window again (at-least-once) instead of losing the rest
+    @Timed(value = "employee.scheduled.jobs", histogram = true)
+    @Scheduled(cron = "${employee.notifier.taxable-cron:1 * * * * *}")
+    public void sendTaxableSalaryMessage() {
+        LocalDateTime until = LocalDateTime.now().minus(notifierCommitWindow).truncatedTo(ChronoUnit.MICROS);
+        LocalDateTime since = TAXABLE_FULL_SCAN_SINCE;
+        if (taxableIncremental) {
+            since = jobCheckpointRepository.findById(TAXABLE_SALARY_JOB)
+                    .map(JobCheckpoint::getHighWaterMark)
+                    .orElse(TAXABLE_FULL_SCAN_SINCE);
+            if (!until.isAfter(since)) {
+                return;
+            }
+        }
+
+        Integer afterId = Integer.MIN_VALUE;
+        List<EmployeeDTO> chunk;
+        do {
+            chunk = employeeRepository.findSalaryAboveChangedBetween(taxableThreshold, since, until, afterId,
+                    PageRequest.of(0, notifierChunkSize));
+            for (EmployeeDTO employee : chunk) {
+                if (!notificationPipeline.publish(new NotificationEvent(NotificationEvent.TAXABLE_SALARY, employee.getEmployeeId(),
+                        String.format("Employee %d - %s : Your salary is now in taxable range", employee.getEmployeeId(), employee.getName())))) {
+                    logger.warn("Notification queue full; taxable salary run stopped at employee {}, checkpoint kept at {}",
+                            employee.getEmployeeId(), since);
+                    return;
+                }
+            }
+            if (!chunk.isEmpty()) {
+                afterId = chunk.get(chunk.size() - 1).getEmployeeId();
+            }
+        } while (chunk.size() == notifierChunkSize);
+
+        if (taxableIncremental) {
+            jobCheckpointRepository.save(new JobCheckpoint(TAXABLE_SALARY_JOB, until));
+        }
     }
 
-    @Scheduled(cron = "0 1 * * * *")
+    @Timed(value = "employee.scheduled.jobs", histogram = true)
+    @Scheduled(cron = "${employee.notifier.missing-voter-id-cron:0 1 * * * *}")
     public void displayEmployeesWithoutVoterId() {
         LocalDateTime now = LocalDateTime.now();
         // Get all employees without voterId
-        List<Employee> employeesWithoutVoterId = employeeRepository.findByVoterIdIsNull();
-
-        // Print the employee ID and employee name
-        for (Employee employee : employeesWithoutVoterId) {
-            System.out.println("Employee ID: " + employee.getEmployeeId() + ", Employee Name: " + employee.getName());
+        List<EmployeeDTO> employeesWithoutVoterId = employeeRepository.findByVoterIdIsNull();
+
+        // Hand the employee ID and employee name to the notification workers; once the queue refuses
+        // one, stop rather than wait out the offer timeout for every remaining employee. The next run
+        // reports them all again
+        for (EmployeeDTO employee : employeesWithoutVoterId) {
+            if (!notificationPipeline.publish(new NotificationEvent(NotificationEvent.MISSING_VOTER_ID, employee.getEmployeeId(),
+                    "Employee ID: " + employee.getEmployeeId() + ", Employee Name: " + employee.getName()))) {
+                logger.warn("Notification queue full; missing voter ID run stopped at employee {}", employee.getEmployeeId());
+                return;
+            }
         }
     }
-
 }
-
-    
-    
-    
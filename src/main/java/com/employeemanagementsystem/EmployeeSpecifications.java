@@ -0,0 +1,102 @@
+package com.employeemanagementsystem;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+/**
+ * Predicates behind GET /employees/search. Each filter ends up in the WHERE clause; city and
+ * provider are correlated EXISTS subqueries, so an employee with several matching phones is
+ * still returned once and no DISTINCT is needed.
+ */
+public final class EmployeeSpecifications {
+
+    private EmployeeSpecifications() {
+    }
+
+    public static Specification<Employee> matching(EmployeeSearchCriteria criteria) {
+        if (criteria.getMinSalary() != null && criteria.getMaxSalary() != null
+                && criteria.getMinSalary().compareTo(criteria.getMaxSalary()) > 0) {
+            throw new IllegalArgumentException("minSalary must not be greater than maxSalary");
+        }
+        if (criteria.getDobFrom() != null && criteria.getDobTo() != null
+                && criteria.getDobFrom().isAfter(criteria.getDobTo())) {
+            throw new IllegalArgumentException("dobFrom must not be after dobTo");
+        }
+
+        Specification<Employee> specification = Specification.where(null);
+        if (criteria.getName() != null && !criteria.getName().isEmpty()) {
+            specification = specification.and(nameStartsWith(criteria.getName()));
+        }
+        if (criteria.getManagerId() != null) {
+            specification = specification.and(managedBy(criteria.getManagerId()));
+        }
+        if (criteria.getMinSalary() != null || criteria.getMaxSalary() != null) {
+            specification = specification.and(salaryBetween(criteria.getMinSalary(), criteria.getMaxSalary()));
+        }
+        if (criteria.getDobFrom() != null || criteria.getDobTo() != null) {
+            specification = specification.and(bornBetween(criteria.getDobFrom(), criteria.getDobTo()));
+        }
+        if (criteria.getCity() != null) {
+            specification = specification.and(livesIn(criteria.getCity()));
+        }
+        if (criteria.getProvider() != null) {
+            specification = specification.and(hasPhoneWithProvider(criteria.getProvider()));
+        }
+        return specification;
+    }
+
+    public static Specification<Employee> nameStartsWith(String prefix) {
+        String escaped = prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return (root, query, cb) -> cb.like(root.get("name"), escaped + "%", '\\');
+    }
+
+    public static Specification<Employee> managedBy(Integer managerId) {
+        return (root, query, cb) -> cb.equal(root.get("managerId"), managerId);
+    }
+
+    // Either bound may be null (open range); both are inclusive
+    public static Specification<Employee> salaryBetween(BigDecimal min, BigDecimal max) {
+        return (root, query, cb) -> {
+            if (min == null) {
+                return cb.le(root.get("salary"), max);
+            }
+            return max == null ? cb.ge(root.get("salary"), min) : cb.between(root.get("salary"), min, max);
+        };
+    }
+
+    public static Specification<Employee> bornBetween(LocalDate from, LocalDate to) {
+        return (root, query, cb) -> {
+            if (from == null) {
+                return cb.lessThanOrEqualTo(root.get("dob"), to);
+            }
+            return to == null ? cb.greaterThanOrEqualTo(root.get("dob"), from) : cb.between(root.get("dob"), from, to);
+        };
+    }
+
+    public static Specification<Employee> livesIn(String city) {
+        return (root, query, cb) -> {
+            Subquery<Integer> voterIDs = query.subquery(Integer.class);
+            Root<VoterID> voterID = voterIDs.from(VoterID.class);
+            voterIDs.select(voterID.get("voterId"))
+                    .where(cb.equal(voterID.get("employeeId"), root.get("employeeId")),
+                            cb.equal(voterID.get("city"), city));
+            return cb.exists(voterIDs);
+        };
+    }
+
+    public static Specification<Employee> hasPhoneWithProvider(String provider) {
+        return (root, query, cb) -> {
+            Subquery<Integer> phones = query.subquery(Integer.class);
+            Root<PhoneNumber> phoneNumber = phones.from(PhoneNumber.class);
+            phones.select(phoneNumber.get("phoneId"))
+                    .where(cb.equal(phoneNumber.get("employee"), root),
+                            cb.equal(phoneNumber.get("provider"), provider));
+            return cb.exists(phones);
+        };
+    }
+}
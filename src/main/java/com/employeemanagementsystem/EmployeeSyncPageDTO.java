@@ -0,0 +1,60 @@
+package com.employeemanagementsystem;
+
+import java.util.List;
+
+public class EmployeeSyncPageDTO {
+
+    // Created or updated employees, in the state they are in now. The first page of a sync may repeat
+    // employees the previous sync ended with (employee.sync.overlap): one whose version the client
+    // already holds can be skipped
+    private List<EmployeeDTO> changed;
+    // IDs of employees deleted since the token; likewise possibly again
+    private List<Integer> deleted;
+    // Pass back as since: the next page while hasMore, otherwise the start of the next sync
+    private String nextToken;
+    private boolean hasMore;
+
+    public EmployeeSyncPageDTO() {
+        super();
+    }
+
+    public EmployeeSyncPageDTO(List<EmployeeDTO> changed, List<Integer> deleted, String nextToken, boolean hasMore) {
+        super();
+        this.changed = changed;
+        this.deleted = deleted;
+        this.nextToken = nextToken;
+        this.hasMore = hasMore;
+    }
+
+    public List<EmployeeDTO> getChanged() {
+        return changed;
+    }
+
+    public void setChanged(List<EmployeeDTO> changed) {
+        this.changed = changed;
+    }
+
+    public List<Integer> getDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(List<Integer> deleted) {
+        this.deleted = deleted;
+    }
+
+    public String getNextToken() {
+        return nextToken;
+    }
+
+    public void setNextToken(String nextToken) {
+        this.nextToken = nextToken;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
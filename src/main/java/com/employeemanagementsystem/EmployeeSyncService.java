@@ -0,0 +1,152 @@
+package com.employeemanagementsystem;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.micrometer.core.annotation.Timed;
+
+/**
+ * Delta sync for clients that keep a copy of the employee list: the employees created, updated or
+ * deleted since a token, in (change time, EMPLOYEE_ID) order, where the change time is
+ * UPDATED_DATETIME (CREATED_DATETIME for rows never updated) and deletes come from tombstones.
+ *
+ * Change times are stamped by the writing instance's clock before its transaction commits, so a
+ * row can become visible after a sync has read past its stamp, and instances' clocks can disagree.
+ * Each sync therefore starts employee.sync.overlap before where the previous one ended and serves
+ * the changes in that window again; clients skip an employee whose version they already hold, and
+ * a repeated delete is a no-op.
+ */
+@Service
+public class EmployeeSyncService {
+    private static final LocalDateTime FULL_SYNC_SINCE = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final Comparator<SyncChange> SYNC_ORDER = Comparator
+            .<SyncChange, LocalDateTime>comparing(change -> change.changedAt).thenComparing(change -> change.employeeId);
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeTombstoneRepository employeeTombstoneRepository;
+    private final EmployeeService employeeService;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    // How far back each sync re-reads: longer than a write takes to commit plus the clock skew between instances
+    private final Duration overlap;
+    private final Duration tombstoneRetention;
+
+    public EmployeeSyncService(EmployeeRepository employeeRepository, EmployeeTombstoneRepository employeeTombstoneRepository,
+                               EmployeeService employeeService,
+                               @Value("${employee.page.default-size:100}") int defaultPageSize,
+                               @Value("${employee.page.max-size:1000}") int maxPageSize,
+                               @Value("${employee.sync.overlap:1m}") Duration overlap,
+                               @Value("${employee.sync.tombstone-retention:30d}") Duration tombstoneRetention) {
+        this.employeeRepository = employeeRepository;
+        this.employeeTombstoneRepository = employeeTombstoneRepository;
+        this.employeeService = employeeService;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.overlap = overlap;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    // A sync reads from the overlap before the previous sync's end up to a bound fixed on its first
+    // page, and each page merges three keyset queries of at most one page each: updated rows,
+    // never-updated rows and tombstones. Without a token the first sync is a full one: every
+    // employee and no deletes.
+    @Transactional(readOnly = true)
+    public EmployeeSyncPageDTO getChangesSince(String since, Integer size) {
+        int pageSize = size == null ? defaultPageSize : size;
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + maxPageSize);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        EmployeeSyncToken token = since == null ? new EmployeeSyncToken(FULL_SYNC_SINCE, Integer.MIN_VALUE, null, true)
+                : EmployeeSyncToken.decode(since);
+        if (!token.isFull() && token.getChangedAt().isBefore(now.minus(tombstoneRetention))) {
+            throw new SyncTokenExpiredException("Sync token is older than " + tombstoneRetention.toDays()
+                    + " days; start over without since");
+        }
+        LocalDateTime from = token.getChangedAt();
+        Integer afterId = token.getAfterId();
+        LocalDateTime until = token.getUntil();
+        if (until == null) {
+            // First page of a sync: an incremental one goes back over the end of the previous one
+            if (!token.isFull()) {
+                from = from.minus(overlap);
+                afterId = Integer.MIN_VALUE;
+            }
+            until = now.truncatedTo(ChronoUnit.MICROS);
+            if (until.isBefore(from)) {
+                until = from;
+            }
+        }
+
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+        List<SyncChange> candidates = new ArrayList<>();
+        for (EmployeeDTO employee : employeeRepository.findUpdatedAfter(from, afterId, until, page)) {
+            candidates.add(new SyncChange(employee.getUpdatedDateTime(), employee.getEmployeeId(), employee));
+        }
+        for (EmployeeDTO employee : employeeRepository.findCreatedAfter(from, afterId, until, page)) {
+            candidates.add(new SyncChange(employee.getCreatedDateTime(), employee.getEmployeeId(), employee));
+        }
+        if (!token.isFull()) {
+            for (EmployeeTombstone tombstone : employeeTombstoneRepository.findDeletedAfter(from, afterId, until,
+                    page)) {
+                candidates.add(new SyncChange(tombstone.getDeletedDateTime(), tombstone.getEmployeeId(), null));
+            }
+        }
+        candidates.sort(SYNC_ORDER);
+        boolean hasMore = candidates.size() > pageSize;
+        List<SyncChange> served = hasMore ? candidates.subList(0, pageSize) : candidates;
+
+        List<EmployeeDTO> changed = new ArrayList<>(served.size());
+        List<Integer> deleted = new ArrayList<>();
+        for (SyncChange change : served) {
+            if (change.employee == null) {
+                deleted.add(change.employeeId);
+            } else {
+                changed.add(change.employee);
+            }
+        }
+        if (!changed.isEmpty()) {
+            employeeService.attachPhoneNumbersAndVoterIDs(changed);
+        }
+
+        EmployeeSyncToken next;
+        if (hasMore) {
+            SyncChange last = served.get(served.size() - 1);
+            next = new EmployeeSyncToken(last.changedAt, last.employeeId, until, token.isFull());
+        } else {
+            next = new EmployeeSyncToken(until, Integer.MAX_VALUE, null, false);
+        }
+        return new EmployeeSyncPageDTO(changed, deleted, next.encode(), hasMore);
+    }
+
+    // Tokens older than the retention are refused by getChangesSince, so their tombstones can go
+    @Timed(value = "employee.scheduled.jobs", histogram = true)
+    @Scheduled(cron = "${employee.sync.tombstone-purge-cron:0 0 4 * * *}")
+    @Transactional
+    public int purgeTombstones() {
+        return employeeTombstoneRepository.deleteDeletedBefore(LocalDateTime.now().minus(tombstoneRetention));
+    }
+
+    // One row of a sync page: a created or updated employee, or a delete when employee is null
+    private static final class SyncChange {
+        private final LocalDateTime changedAt;
+        private final Integer employeeId;
+        private final EmployeeDTO employee;
+
+        private SyncChange(LocalDateTime changedAt, Integer employeeId, EmployeeDTO employee) {
+            this.changedAt = changedAt;
+            this.employeeId = employeeId;
+            this.employee = employee;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.employeemanagementsystem;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque URL-safe delta sync position: the (change time, EMPLOYEE_ID) of the last change served and,
+ * between the pages of one sync, the upper bound that sync reads up to and whether it is a full sync.
+ */
+public final class EmployeeSyncToken {
+
+    private static final String PREFIX = "sync:";
+
+    private final LocalDateTime changedAt;
+    private final Integer afterId;
+    // Null once a sync is complete: the next one picks a new bound
+    private final LocalDateTime until;
+    // A full sync starts from nothing, so it needs no deletes and its position may be older than the tombstones
+    private final boolean full;
+
+    public EmployeeSyncToken(LocalDateTime changedAt, Integer afterId, LocalDateTime until, boolean full) {
+        this.changedAt = changedAt;
+        this.afterId = afterId;
+        this.until = until;
+        this.full = full;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public Integer getAfterId() {
+        return afterId;
+    }
+
+    public LocalDateTime getUntil() {
+        return until;
+    }
+
+    public boolean isFull() {
+        return full;
+    }
+
+    public String encode() {
+        String raw = PREFIX + changedAt + "|" + afterId + "|" + (until == null ? "" : until.toString()) + "|"
+                + (full ? "F" : "I");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static EmployeeSyncToken decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.startsWith(PREFIX) ? raw.substring(PREFIX.length()).split("\\|", -1) : new String[0];
+            if (parts.length != 4 || !(parts[3].equals("F") || parts[3].equals("I"))) {
+                throw new IllegalArgumentException("Invalid sync token: " + token);
+            }
+            return new EmployeeSyncToken(LocalDateTime.parse(parts[0]), Integer.valueOf(parts[1]),
+                    parts[2].isEmpty() ? null : LocalDateTime.parse(parts[2]), parts[3].equals("F"));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // Base64, number and date format errors all end up here
+            throw new IllegalArgumentException("Invalid sync token: " + token);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.employeemanagementsystem;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Marks a deleted employee for delta sync. Deleting an employee ID again (after it was re-created)
+ * overwrites the previous tombstone. The generation is that of the deleted employee; one created
+ * under the ID afterwards belongs to the next (see EmployeeOutbox).
+ */
+@Entity(name = "EmployeeTombstone")
+@Table(name = "employee_tombstone")
+public class EmployeeTombstone {
+
+    @Id
+    @Column(name = "EMPLOYEE_ID")
+    private Integer employeeId;
+
+    @Column(name = "MANAGER_ID")
+    private Integer managerId;
+
+    @Column(name = "DELETED_DATETIME")
+    private LocalDateTime deletedDateTime;
+
+    @Column(name = "GENERATION")
+    private Integer generation;
+
+    protected EmployeeTombstone() {
+    }
+
+    public EmployeeTombstone(Integer employeeId, Integer managerId, LocalDateTime deletedDateTime, Integer generation) {
+        this.employeeId = employeeId;
+        this.managerId = managerId;
+        this.deletedDateTime = deletedDateTime;
+        this.generation = generation;
+    }
+
+    public Integer getEmployeeId() {
+        return employeeId;
+    }
+
+    public Integer getManagerId() {
+        return managerId;
+    }
+
+    public LocalDateTime getDeletedDateTime() {
+        return deletedDateTime;
+    }
+
+    public Integer getGeneration() {
+        return generation;
+    }
+}
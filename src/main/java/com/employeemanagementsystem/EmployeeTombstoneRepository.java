@@ -0,0 +1,31 @@
+package com.employeemanagementsystem;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface EmployeeTombstoneRepository extends JpaRepository<EmployeeTombstone, Integer> {
+
+    // Keyset page on (DELETED_DATETIME, EMPLOYEE_ID) in (since, until]; IDs that have been re-created are
+    // left out, the employee itself is synced instead
+    @Query("SELECT t FROM EmployeeTombstone t WHERE t.deletedDateTime <= :until "
+            + "AND (t.deletedDateTime > :since OR (t.deletedDateTime = :since AND t.employeeId > :afterId)) "
+            + "AND NOT EXISTS (SELECT e.employeeId FROM Employee e WHERE e.employeeId = t.employeeId) "
+            + "ORDER BY t.deletedDateTime, t.employeeId")
+    public List<EmployeeTombstone> findDeletedAfter(@Param("since") LocalDateTime since,
+                                                    @Param("afterId") Integer afterId,
+                                                    @Param("until") LocalDateTime until,
+                                                    Pageable pageable);
+
+    // The tombstone of an ID that has been re-created stays: it holds the generation the employee
+    // now using the ID follows (see EmployeeOutbox)
+    @Modifying
+    @Query("DELETE FROM EmployeeTombstone t WHERE t.deletedDateTime < :cutoff "
+            + "AND NOT EXISTS (SELECT e.employeeId FROM Employee e WHERE e.employeeId = t.employeeId)")
+    public int deleteDeletedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
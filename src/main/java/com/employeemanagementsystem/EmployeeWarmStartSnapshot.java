@@ -0,0 +1,488 @@
+package com.employeemanagementsystem;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Binary copy of the employee directory (employees with their phones and voter IDs) on local disk,
+ * written on a schedule and read back once all beans exist, before the web server accepts requests,
+ * to prefill EmployeeCache so the first requests after a deploy do not all miss and go to the
+ * database. The snapshot is memory-mapped and its chunks decoded in parallel; whatever changed
+ * since it was written is then read through the delta sync queries (UPDATED_DATETIME, then
+ * CREATED_DATETIME and tombstones) before the caches are filled. A snapshot older than the
+ * tombstone retention, or one that fails its checksums, is not used.
+ *
+ * Layout: header (magic int, version int, as-of seconds long, as-of nanos int, employee count int,
+ * chunk count int, chunk table position long), chunks of encoded employees, then the chunk table:
+ * position (long), length (int), employee count (int) and CRC32 (int) of each chunk.
+ */
+@Component
+public class EmployeeWarmStartSnapshot implements SmartInitializingSingleton {
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeWarmStartSnapshot.class);
+    private static final int MAGIC = 0x454D5053; // "EMPS"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 36;
+    private static final int CHUNK_ENTRY_BYTES = 20;
+    private static final int NULL_INT = Integer.MIN_VALUE;
+    private static final long NULL_LONG = Long.MIN_VALUE;
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeService employeeService;
+    private final EmployeeSyncService employeeSyncService;
+    private final EmployeeCache employeeCache;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Path file;
+    private final boolean loadOnStartup;
+    private final int batchSize;
+    private final int parallelism;
+    private final int syncPageSize;
+    private final Duration overlap;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public EmployeeWarmStartSnapshot(EmployeeRepository employeeRepository, EmployeeService employeeService,
+                                     EmployeeSyncService employeeSyncService, EmployeeCache employeeCache,
+                                     PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                     @Value("${employee.warm-start.file:warm-start/employees.snapshot}") String file,
+                                     @Value("${employee.warm-start.load-on-startup:true}") boolean loadOnStartup,
+                                     @Value("${employee.warm-start.batch-size:1000}") int batchSize,
+                                     @Value("${employee.warm-start.parallelism:0}") int parallelism,
+                                     @Value("${employee.page.max-size:1000}") int syncPageSize,
+                                     @Value("${employee.sync.overlap:1m}") Duration overlap) {
+        this.employeeRepository = employeeRepository;
+        this.employeeService = employeeService;
+        this.employeeSyncService = employeeSyncService;
+        this.employeeCache = employeeCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.meterRegistry = meterRegistry;
+        this.file = Paths.get(file);
+        this.loadOnStartup = loadOnStartup;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism == 0 ? Runtime.getRuntime().availableProcessors() : parallelism;
+        this.syncPageSize = syncPageSize;
+        this.overlap = overlap;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (loadOnStartup) {
+            load();
+        }
+    }
+
+    // Every instance keeps its own copy for its next start
+    @Timed(value = "employee.scheduled.jobs", histogram = true)
+    @Scheduled(fixedDelayString = "${employee.warm-start.snapshot-interval-ms:1800000}",
+            initialDelayString = "${employee.warm-start.snapshot-initial-delay-ms:300000}")
+    public void scheduledWrite() {
+        try {
+            write();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to write the warm-start snapshot to {}", file, e);
+        }
+    }
+
+    // Scrolls the table in batches, one IN query each for phones and voter IDs, into a temporary
+    // file that replaces the previous snapshot only once complete. Returns the employees written.
+    public int write() throws IOException {
+        long start = System.nanoTime();
+        // The scan does not see transactions that commit after it starts, whose rows may be stamped
+        // earlier (by this or another instance's clock); the load catches up from the sync overlap
+        // before, as an incremental sync does, so they are read then
+        LocalDateTime asOf = LocalDateTime.now().minus(overlap);
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        int employees;
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            SnapshotWriter writer = new SnapshotWriter(channel);
+            transactionTemplate.executeWithoutResult(status -> writer.writeAll());
+            employees = writer.finish(asOf);
+            channel.force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        logger.info("Wrote warm-start snapshot of {} employees ({} bytes) in {} ms", employees, Files.size(file),
+                (System.nanoTime() - start) / 1_000_000);
+        return employees;
+    }
+
+    // Prefills the caches from the snapshot; false (and the caches left cold) when there is no
+    // usable snapshot. The time taken is recorded as employee.warm-start.load, tagged by outcome.
+    public boolean load() {
+        long start = System.nanoTime();
+        String outcome = "missing";
+        try {
+            if (Files.exists(file)) {
+                Map<Integer, EmployeeDTO> employees = new HashMap<>();
+                LocalDateTime asOf = read(employees);
+                int changes = catchUp(asOf, employees);
+                fill(employees);
+                outcome = "loaded";
+                logger.info("Prefilled caches from warm-start snapshot of {} in {} ms: {} employees, {} changes since",
+                        asOf, (System.nanoTime() - start) / 1_000_000, employees.size(), changes);
+            }
+        } catch (SyncTokenExpiredException e) {
+            outcome = "expired";
+            logger.info("Ignoring warm-start snapshot {}: {}", file, e.getMessage());
+        } catch (IOException | RuntimeException e) {
+            outcome = "failed";
+            logger.warn("Ignoring unreadable warm-start snapshot {}", file, e);
+        }
+        Timer.builder("employee.warm-start.load").tag("outcome", outcome).register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return outcome.equals("loaded");
+    }
+
+    // Decodes the chunks of the mapped file in parallel into employees; returns the as-of time of
+    // the snapshot. Nothing reaches the caches until the whole snapshot has been read and caught up
+    private LocalDateTime read(Map<Integer, EmployeeDTO> employees) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot of " + channel.size() + " bytes is too large to map");
+            }
+            // The mapping stays valid after the channel is closed
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (mapped.limit() < HEADER_BYTES || mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION) {
+            throw new IOException("Not a warm-start snapshot (version " + VERSION + ")");
+        }
+        LocalDateTime asOf = LocalDateTime.ofEpochSecond(mapped.getLong(8), mapped.getInt(16), ZoneOffset.UTC);
+        int chunkCount = mapped.getInt(24);
+        int tablePosition = Math.toIntExact(mapped.getLong(28));
+        if (tablePosition < HEADER_BYTES || tablePosition + (long) chunkCount * CHUNK_ENTRY_BYTES != mapped.limit()) {
+            throw new IOException("Truncated warm-start snapshot");
+        }
+
+        List<Callable<List<EmployeeDTO>>> tasks = new ArrayList<>(chunkCount);
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            int entry = tablePosition + chunk * CHUNK_ENTRY_BYTES;
+            int position = Math.toIntExact(mapped.getLong(entry));
+            int length = mapped.getInt(entry + 8);
+            int count = mapped.getInt(entry + 12);
+            int crc = mapped.getInt(entry + 16);
+            tasks.add(() -> decodeChunk(mapped.slice(position, length), count, crc));
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism, new CustomizableThreadFactory("warm-start-"));
+        try {
+            for (Future<List<EmployeeDTO>> chunk : pool.invokeAll(tasks)) {
+                for (EmployeeDTO employee : chunk.get()) {
+                    employees.put(employee.getEmployeeId(), employee);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reading the warm-start snapshot", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        if (employees.size() != mapped.getInt(20)) {
+            throw new IOException("Warm-start snapshot holds " + employees.size() + " employees, expected "
+                    + mapped.getInt(20));
+        }
+        return asOf;
+    }
+
+    private List<EmployeeDTO> decodeChunk(ByteBuffer chunk, int count, int expectedCrc) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(chunk.duplicate());
+        if ((int) crc.getValue() != expectedCrc) {
+            throw new IOException("Checksum mismatch in warm-start snapshot");
+        }
+        List<EmployeeDTO> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(decode(chunk));
+        }
+        return employees;
+    }
+
+    // Same pages a sync client reads. Employees the snapshot already holds at the same version were
+    // read again only for the overlap and do not count as changes
+    private int catchUp(LocalDateTime asOf, Map<Integer, EmployeeDTO> employees) {
+        String token = new EmployeeSyncToken(asOf, NULL_INT, LocalDateTime.now(), false).encode();
+        int changes = 0;
+        EmployeeSyncPageDTO page;
+        do {
+            page = employeeSyncService.getChangesSince(token, syncPageSize);
+            for (EmployeeDTO employee : page.getChanged()) {
+                EmployeeDTO held = employees.put(employee.getEmployeeId(), employee);
+                if (held == null || !Objects.equals(held.getVersion(), employee.getVersion())) {
+                    changes++;
+                }
+            }
+            for (Integer employeeId : page.getDeleted()) {
+                if (employees.remove(employeeId) != null) {
+                    changes++;
+                }
+            }
+            token = page.getNextToken();
+        } while (page.isHasMore());
+        return changes;
+    }
+
+    // The DTO cache takes as many employees as it holds; the teams take everyone
+    private void fill(Map<Integer, EmployeeDTO> employees) {
+        Map<Integer, List<EmployeeDTO>> teams = new HashMap<>();
+        long cached = 0;
+        for (EmployeeDTO employee : employees.values()) {
+            if (cached++ < employeeCache.maxSize()) {
+                employeeCache.put(employee.getEmployeeId(), employee);
+            }
+            if (employee.getManagerId() != null) {
+                teams.computeIfAbsent(employee.getManagerId(), id -> new ArrayList<>()).add(employee);
+            }
+        }
+        for (Map.Entry<Integer, List<EmployeeDTO>> team : teams.entrySet()) {
+            // findByManagerId returns no particular order; ID order keeps the response stable
+            team.getValue().sort((a, b) -> Integer.compare(a.getEmployeeId(), b.getEmployeeId()));
+            employeeCache.putTeam(team.getKey(), team.getValue());
+        }
+    }
+
+    private final class SnapshotWriter {
+        private final FileChannel channel;
+        private final ByteBuffer table = ByteBuffer.allocate(64 * 1024);
+        private ByteBuffer chunk = ByteBuffer.allocate(256 * 1024);
+        private final List<ByteBuffer> tables = new ArrayList<>();
+        private long position = HEADER_BYTES;
+        private int employees;
+        private int chunks;
+
+        private SnapshotWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        private void writeAll() {
+            try (Stream<EmployeeDTO> rows = employeeRepository.streamAll()) {
+                Iterator<EmployeeDTO> iterator = rows.iterator();
+                List<EmployeeDTO> batch = new ArrayList<>(batchSize);
+                while (iterator.hasNext()) {
+                    batch.add(iterator.next());
+                    if (batch.size() == batchSize || !iterator.hasNext()) {
+                        employeeService.attachPhoneNumbersAndVoterIDs(batch);
+                        writeChunk(batch);
+                        batch.clear();
+                        entityManager.clear();
+                    }
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to write the warm-start snapshot", e);
+            }
+        }
+
+        private void writeChunk(List<EmployeeDTO> batch) throws IOException {
+            chunk.clear();
+            for (EmployeeDTO employee : batch) {
+                while (true) {
+                    int mark = chunk.position();
+                    try {
+                        encode(chunk, employee);
+                        break;
+                    } catch (BufferOverflowException e) {
+                        chunk.position(mark);
+                        ByteBuffer larger = ByteBuffer.allocate(chunk.capacity() * 2);
+                        chunk.flip();
+                        larger.put(chunk);
+                        chunk = larger;
+                    }
+                }
+            }
+            chunk.flip();
+            CRC32 crc = new CRC32();
+            crc.update(chunk.duplicate());
+            int length = chunk.remaining();
+            while (chunk.hasRemaining()) {
+                position += channel.write(chunk, position);
+            }
+            if (table.remaining() < CHUNK_ENTRY_BYTES) {
+                tables.add(copy(table));
+                table.clear();
+            }
+            table.putLong(position - length).putInt(length).putInt(batch.size()).putInt((int) crc.getValue());
+            employees += batch.size();
+            chunks++;
+        }
+
+        private int finish(LocalDateTime asOf) throws IOException {
+            tables.add(copy(table));
+            long tablePosition = position;
+            for (ByteBuffer entries : tables) {
+                while (entries.hasRemaining()) {
+                    position += channel.write(entries, position);
+                }
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).putInt(VERSION).putLong(asOf.toEpochSecond(ZoneOffset.UTC)).putInt(asOf.getNano())
+                    .putInt(employees).putInt(chunks).putLong(tablePosition).flip();
+            channel.write(header, 0);
+            return employees;
+        }
+
+        private ByteBuffer copy(ByteBuffer buffer) {
+            ByteBuffer copy = ByteBuffer.allocate(buffer.position());
+            copy.put(buffer.duplicate().flip()).flip();
+            return copy;
+        }
+    }
+
+    // Nullable numbers are stored with a sentinel, strings as a byte length (-1 for null) and UTF-8
+    private static void encode(ByteBuffer buffer, EmployeeDTO employee) {
+        buffer.putInt(employee.getEmployeeId());
+        putString(buffer, employee.getName());
+        buffer.putLong(employee.getDob() == null ? NULL_LONG : employee.getDob().toEpochDay());
+        buffer.putInt(employee.getManagerId() == null ? NULL_INT : employee.getManagerId());
+        if (employee.getSalary() == null) {
+            buffer.putInt(NULL_INT);
+        } else {
+            // At most 14 digits (see Employee), so the unscaled value fits a long
+            buffer.putInt(employee.getSalary().scale()).putLong(employee.getSalary().unscaledValue().longValueExact());
+        }
+        putString(buffer, employee.getEmailId());
+        putDateTime(buffer, employee.getCreatedDateTime());
+        putDateTime(buffer, employee.getUpdatedDateTime());
+        buffer.putLong(employee.getVersion() == null ? NULL_LONG : employee.getVersion());
+
+        List<PhoneNumberDTO> phoneNumbers = employee.getPhoneNumbers();
+        buffer.putInt(phoneNumbers == null ? -1 : phoneNumbers.size());
+        if (phoneNumbers != null) {
+            for (PhoneNumberDTO phoneNumber : phoneNumbers) {
+                buffer.putInt(phoneNumber.getPhoneId() == null ? NULL_INT : phoneNumber.getPhoneId());
+                putString(buffer, phoneNumber.getPhoneNumber());
+                putString(buffer, phoneNumber.getProvider());
+                putString(buffer, phoneNumber.getType());
+            }
+        }
+        VoterIDDTO voterID = employee.getVoterID();
+        buffer.put((byte) (voterID == null ? 0 : 1));
+        if (voterID != null) {
+            buffer.putInt(voterID.getVoterId() == null ? NULL_INT : voterID.getVoterId());
+            buffer.putInt(voterID.getEmployeeId() == null ? NULL_INT : voterID.getEmployeeId());
+            putString(buffer, voterID.getVoterNumber());
+            putString(buffer, voterID.getCity());
+        }
+    }
+
+    private static EmployeeDTO decode(ByteBuffer buffer) {
+        EmployeeDTO employee = new EmployeeDTO();
+        employee.setEmployeeId(buffer.getInt());
+        employee.setName(getString(buffer));
+        long dob = buffer.getLong();
+        employee.setDob(dob == NULL_LONG ? null : LocalDate.ofEpochDay(dob));
+        employee.setManagerId(nullable(buffer.getInt()));
+        int scale = buffer.getInt();
+        employee.setSalary(scale == NULL_INT ? null : new BigDecimal(BigInteger.valueOf(buffer.getLong()), scale));
+        employee.setEmailId(getString(buffer));
+        employee.setCreatedDateTime(getDateTime(buffer));
+        employee.setUpdatedDateTime(getDateTime(buffer));
+        long version = buffer.getLong();
+        employee.setVersion(version == NULL_LONG ? null : version);
+
+        int phones = buffer.getInt();
+        if (phones >= 0) {
+            List<PhoneNumberDTO> phoneNumbers = new ArrayList<>(phones);
+            for (int i = 0; i < phones; i++) {
+                PhoneNumberDTO phoneNumber = new PhoneNumberDTO();
+                phoneNumber.setPhoneId(nullable(buffer.getInt()));
+                phoneNumber.setPhoneNumber(getString(buffer));
+                phoneNumber.setProvider(getString(buffer));
+                phoneNumber.setType(getString(buffer));
+                phoneNumbers.add(phoneNumber);
+            }
+            employee.setPhoneNumbers(phoneNumbers);
+        }
+        if (buffer.get() == 1) {
+            employee.setVoterID(new VoterIDDTO(nullable(buffer.getInt()), nullable(buffer.getInt()), getString(buffer),
+                    getString(buffer)));
+        }
+        return employee;
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(bytes.length).put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void putDateTime(ByteBuffer buffer, LocalDateTime value) {
+        if (value == null) {
+            buffer.putLong(NULL_LONG);
+            return;
+        }
+        buffer.putLong(value.toEpochSecond(ZoneOffset.UTC)).putInt(value.getNano());
+    }
+
+    private static LocalDateTime getDateTime(ByteBuffer buffer) {
+        long seconds = buffer.getLong();
+        return seconds == NULL_LONG ? null : LocalDateTime.ofEpochSecond(seconds, buffer.getInt(), ZoneOffset.UTC);
+    }
+
+    private static Integer nullable(int value) {
+        return value == NULL_INT ? null : value;
+    }
+}
@@ -0,0 +1,39 @@
+package com.employeemanagementsystem;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// Appends one line per notification; selected with employee.notification.sink=file (the default)
+@Component
+@ConditionalOnProperty(name = "employee.notification.sink", havingValue = "file", matchIfMissing = true)
+public class FileNotificationSink implements NotificationSink {
+    private final Path file;
+
+    public FileNotificationSink(@Value("${employee.notification.file:notifications.log}") String file) {
+        this.file = Paths.get(file);
+    }
+
+    @Override
+    public synchronized void deliver(List<NotificationEvent> batch) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (NotificationEvent event : batch) {
+                writer.write(event.getCreatedAt() + " " + event.getType() + " " + event.getMessage());
+                writer.newLine();
+            }
+        }
+    }
+}
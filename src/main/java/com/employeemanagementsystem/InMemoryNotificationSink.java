@@ -0,0 +1,27 @@
+package com.employeemanagementsystem;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// Keeps delivered notifications in memory for tests; selected with employee.notification.sink=memory
+@Component
+@ConditionalOnProperty(name = "employee.notification.sink", havingValue = "memory")
+public class InMemoryNotificationSink implements NotificationSink {
+    private final List<NotificationEvent> delivered = new ArrayList<>();
+
+    @Override
+    public synchronized void deliver(List<NotificationEvent> batch) {
+        delivered.addAll(batch);
+    }
+
+    public synchronized List<NotificationEvent> getDelivered() {
+        return new ArrayList<>(delivered);
+    }
+
+    public synchronized void clear() {
+        delivered.clear();
+    }
+}
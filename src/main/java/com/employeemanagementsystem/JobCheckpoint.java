@@ -0,0 +1,49 @@
+package com.employeemanagementsystem;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * High-water mark of an incremental scheduled job, one row per job name.
+ */
+@Entity(name = "JobCheckpoint")
+@Table(name = "job_checkpoint")
+public class JobCheckpoint {
+
+    @Id
+    @Column(name = "JOB_NAME")
+    private String jobName;
+
+    @Column(name = "HIGH_WATER_MARK")
+    private LocalDateTime highWaterMark;
+
+    public JobCheckpoint() {
+        super();
+    }
+
+    public JobCheckpoint(String jobName, LocalDateTime highWaterMark) {
+        super();
+        this.jobName = jobName;
+        this.highWaterMark = highWaterMark;
+    }
+
+    public String getJobName() {
+        return jobName;
+    }
+
+    public void setJobName(String jobName) {
+        this.jobName = jobName;
+    }
+
+    public LocalDateTime getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    public void setHighWaterMark(LocalDateTime highWaterMark) {
+        this.highWaterMark = highWaterMark;
+    }
+}
@@ -0,0 +1,7 @@
+package com.employeemanagementsystem;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, String> {
+
+}
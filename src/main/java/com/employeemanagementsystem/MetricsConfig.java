@@ -0,0 +1,22 @@
+package com.employeemanagementsystem;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Metrics beyond what Actuator records on its own. Endpoints (http.server.requests), repository
+ * methods (spring.data.repository.invocations) and the Hikari pool (hikaricp.connections.*) are
+ * instrumented by auto-configuration; the aspect adds employee.scheduled.jobs for the @Timed
+ * scheduled jobs, tagged with class, method and exception.
+ */
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,37 @@
+package com.employeemanagementsystem;
+
+import java.time.LocalDateTime;
+
+public class NotificationEvent {
+
+    public static final String TAXABLE_SALARY = "TAXABLE_SALARY";
+    public static final String MISSING_VOTER_ID = "MISSING_VOTER_ID";
+
+    private final String type;
+    private final Integer employeeId;
+    private final String message;
+    private final LocalDateTime createdAt;
+
+    public NotificationEvent(String type, Integer employeeId, String message) {
+        this.type = type;
+        this.employeeId = employeeId;
+        this.message = message;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Integer getEmployeeId() {
+        return employeeId;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,185 @@
+package com.employeemanagementsystem;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Bounded hand-off between the scheduled jobs and the NotificationSink. Producers never wait longer
+ * than the offer timeout, so a slow or failing sink cannot stall the scheduler thread; a producer
+ * that is refused should stop and try again on its next run. Worker threads drain the queue in
+ * batches and retry failed deliveries with exponential backoff.
+ *
+ * Meters: employee.notification.queue.depth and .capacity, employee.notification.events by outcome
+ * (enqueued, dropped, delivered, failed), employee.notification.retries and .batches.
+ */
+@Component
+public class NotificationPipeline {
+    private static final Logger logger = LoggerFactory.getLogger(NotificationPipeline.class);
+
+    private final NotificationSink sink;
+    private final BlockingQueue<NotificationEvent> queue;
+    private final int capacity;
+    private final int workers;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration offerTimeout;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    private ExecutorService executor;
+    private volatile boolean running;
+    private long startedAtNanos;
+
+    public NotificationPipeline(NotificationSink sink, MeterRegistry meterRegistry,
+                                @Value("${employee.notification.queue-capacity:10000}") int capacity,
+                                @Value("${employee.notification.workers:2}") int workers,
+                                @Value("${employee.notification.batch-size:100}") int batchSize,
+                                @Value("${employee.notification.max-attempts:5}") int maxAttempts,
+                                @Value("${employee.notification.initial-backoff:200ms}") Duration initialBackoff,
+                                @Value("${employee.notification.offer-timeout:20ms}") Duration offerTimeout) {
+        this.sink = sink;
+        this.capacity = capacity;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.offerTimeout = offerTimeout;
+
+        Gauge.builder("employee.notification.queue.depth", queue, BlockingQueue::size).register(meterRegistry);
+        Gauge.builder("employee.notification.queue.capacity", this, pipeline -> pipeline.capacity).register(meterRegistry);
+        registerCounter(meterRegistry, "employee.notification.events", "enqueued", enqueued);
+        registerCounter(meterRegistry, "employee.notification.events", "dropped", dropped);
+        registerCounter(meterRegistry, "employee.notification.events", "delivered", delivered);
+        registerCounter(meterRegistry, "employee.notification.events", "failed", failed);
+        registerCounter(meterRegistry, "employee.notification.retries", null, retries);
+        registerCounter(meterRegistry, "employee.notification.batches", null, batches);
+    }
+
+    private static void registerCounter(MeterRegistry meterRegistry, String name, String outcome, LongAdder count) {
+        FunctionCounter.Builder<LongAdder> builder = FunctionCounter.builder(name, count, LongAdder::sum);
+        if (outcome != null) {
+            builder.tag("outcome", outcome);
+        }
+        builder.register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        startedAtNanos = System.nanoTime();
+        executor = Executors.newFixedThreadPool(workers, new CustomizableThreadFactory("notification-worker-"));
+        for (int i = 0; i < workers; i++) {
+            executor.execute(this::drain);
+        }
+    }
+
+    // Workers finish what is already queued before the context goes away
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    // Returns false when the queue stayed full for the whole offer timeout; the event is dropped
+    public boolean publish(NotificationEvent event) {
+        try {
+            if (queue.offer(event, offerTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                enqueued.increment();
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        dropped.increment();
+        return false;
+    }
+
+    private void drain() {
+        List<NotificationEvent> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                NotificationEvent first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                deliverWithRetry(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void deliverWithRetry(List<NotificationEvent> batch) throws InterruptedException {
+        long backoffMillis = initialBackoff.toMillis();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                sink.deliver(batch);
+                delivered.add(batch.size());
+                batches.increment();
+                return;
+            } catch (java.lang.Exception e) {
+                if (attempt >= maxAttempts) {
+                    failed.add(batch.size());
+                    logger.warn("Dropping {} notifications after {} attempts", batch.size(), attempt, e);
+                    return;
+                }
+                retries.increment();
+                Thread.sleep(backoffMillis);
+                backoffMillis *= 2;
+            }
+        }
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public NotificationStatsDTO stats() {
+        NotificationStatsDTO stats = new NotificationStatsDTO();
+        stats.setQueueDepth(queue.size());
+        stats.setQueueCapacity(capacity);
+        stats.setEnqueued(enqueued.sum());
+        stats.setDropped(dropped.sum());
+        stats.setDelivered(delivered.sum());
+        stats.setFailed(failed.sum());
+        stats.setRetries(retries.sum());
+        stats.setBatches(batches.sum());
+        double uptimeSeconds = (System.nanoTime() - startedAtNanos) / 1_000_000_000.0;
+        stats.setDeliveredPerSecond(uptimeSeconds > 0 ? delivered.sum() / uptimeSeconds : 0);
+        return stats;
+    }
+}
@@ -0,0 +1,13 @@
+package com.employeemanagementsystem;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination of notification batches drained by NotificationPipeline. Implementations may be called
+ * from several worker threads at once; a thrown exception makes the pipeline retry the whole batch.
+ */
+public interface NotificationSink {
+
+    void deliver(List<NotificationEvent> batch) throws IOException;
+}
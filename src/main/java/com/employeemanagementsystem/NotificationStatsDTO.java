@@ -0,0 +1,92 @@
+package com.employeemanagementsystem;
+
+public class NotificationStatsDTO {
+
+    private int queueDepth;
+    private int queueCapacity;
+    private long enqueued;
+    // Rejected because the queue stayed full for longer than the offer timeout
+    private long dropped;
+    private long delivered;
+    // Given up on after the last retry
+    private long failed;
+    private long retries;
+    private long batches;
+    private double deliveredPerSecond;
+
+    public NotificationStatsDTO() {
+        super();
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public void setQueueDepth(int queueDepth) {
+        this.queueDepth = queueDepth;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public long getEnqueued() {
+        return enqueued;
+    }
+
+    public void setEnqueued(long enqueued) {
+        this.enqueued = enqueued;
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+
+    public void setDropped(long dropped) {
+        this.dropped = dropped;
+    }
+
+    public long getDelivered() {
+        return delivered;
+    }
+
+    public void setDelivered(long delivered) {
+        this.delivered = delivered;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public long getRetries() {
+        return retries;
+    }
+
+    public void setRetries(long retries) {
+        this.retries = retries;
+    }
+
+    public long getBatches() {
+        return batches;
+    }
+
+    public void setBatches(long batches) {
+        this.batches = batches;
+    }
+
+    public double getDeliveredPerSecond() {
+        return deliveredPerSecond;
+    }
+
+    public void setDeliveredPerSecond(double deliveredPerSecond) {
+        this.deliveredPerSecond = deliveredPerSecond;
+    }
+}
@@ -0,0 +1,75 @@
+package com.employeemanagementsystem;
+
+public class PayrollPartitionDTO {
+
+    // Inclusive employee ID range
+    private int fromId;
+    private int toId;
+    private int employees;
+    private long readMillis;
+    private long computeMillis;
+    private String thread;
+
+    public PayrollPartitionDTO() {
+        super();
+    }
+
+    public PayrollPartitionDTO(int fromId, int toId, int employees, long readMillis, long computeMillis,
+                               String thread) {
+        super();
+        this.fromId = fromId;
+        this.toId = toId;
+        this.employees = employees;
+        this.readMillis = readMillis;
+        this.computeMillis = computeMillis;
+        this.thread = thread;
+    }
+
+    public int getFromId() {
+        return fromId;
+    }
+
+    public void setFromId(int fromId) {
+        this.fromId = fromId;
+    }
+
+    public int getToId() {
+        return toId;
+    }
+
+    public void setToId(int toId) {
+        this.toId = toId;
+    }
+
+    public int getEmployees() {
+        return employees;
+    }
+
+    public void setEmployees(int employees) {
+        this.employees = employees;
+    }
+
+    public long getReadMillis() {
+        return readMillis;
+    }
+
+    public void setReadMillis(long readMillis) {
+        this.readMillis = readMillis;
+    }
+
+    public long getComputeMillis() {
+        return computeMillis;
+    }
+
+    public void setComputeMillis(long computeMillis) {
+        this.computeMillis = computeMillis;
+    }
+
+    public String getThread() {
+        return thread;
+    }
+
+    public void setThread(String thread) {
+        this.thread = thread;
+    }
+}
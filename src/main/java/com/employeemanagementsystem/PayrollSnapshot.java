@@ -0,0 +1,131 @@
+package com.employeemanagementsystem;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.OrderBy;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+/**
+ * Company-wide payroll figures as computed by one run of the snapshot job. Snapshots are
+ * inserted once and never changed, hence no setters and @Immutable.
+ */
+@Entity(name = "PayrollSnapshot")
+@Table(name = "payroll_snapshot")
+@Immutable
+public class PayrollSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payroll_snapshot_seq")
+    @SequenceGenerator(name = "payroll_snapshot_seq", sequenceName = "payroll_snapshot_seq", allocationSize = 1)
+    @Column(name = "SNAPSHOT_ID")
+    private Long snapshotId;
+
+    @Column(name = "CREATED_DATETIME")
+    private LocalDateTime createdDateTime;
+
+    @Column(name = "TAXABLE_THRESHOLD")
+    private BigDecimal taxableThreshold;
+
+    @Column(name = "HEADCOUNT")
+    private int headcount;
+
+    @Column(name = "TAXABLE_HEADCOUNT")
+    private int taxableHeadcount;
+
+    @Column(name = "TOTAL_SALARY")
+    private BigDecimal totalSalary;
+
+    @Column(name = "TOTAL_TAXABLE")
+    private BigDecimal totalTaxable;
+
+    @Column(name = "PARALLELISM")
+    private int parallelism;
+
+    @Column(name = "PARTITIONS")
+    private int partitions;
+
+    @Column(name = "ELAPSED_MILLIS")
+    private long elapsedMillis;
+
+    @ElementCollection
+    @CollectionTable(name = "payroll_snapshot_band", joinColumns = @JoinColumn(name = "SNAPSHOT_ID"))
+    @OrderBy("lowerBound")
+    private List<PayrollSnapshotBand> bands;
+
+    protected PayrollSnapshot() {
+        super();
+    }
+
+    public PayrollSnapshot(LocalDateTime createdDateTime, BigDecimal taxableThreshold, int headcount,
+                           int taxableHeadcount, BigDecimal totalSalary, BigDecimal totalTaxable, int parallelism,
+                           int partitions, long elapsedMillis, List<PayrollSnapshotBand> bands) {
+        super();
+        this.createdDateTime = createdDateTime;
+        this.taxableThreshold = taxableThreshold;
+        this.headcount = headcount;
+        this.taxableHeadcount = taxableHeadcount;
+        this.totalSalary = totalSalary;
+        this.totalTaxable = totalTaxable;
+        this.parallelism = parallelism;
+        this.partitions = partitions;
+        this.elapsedMillis = elapsedMillis;
+        this.bands = bands;
+    }
+
+    public Long getSnapshotId() {
+        return snapshotId;
+    }
+
+    public LocalDateTime getCreatedDateTime() {
+        return createdDateTime;
+    }
+
+    public BigDecimal getTaxableThreshold() {
+        return taxableThreshold;
+    }
+
+    public int getHeadcount() {
+        return headcount;
+    }
+
+    public int getTaxableHeadcount() {
+        return taxableHeadcount;
+    }
+
+    public BigDecimal getTotalSalary() {
+        return totalSalary;
+    }
+
+    public BigDecimal getTotalTaxable() {
+        return totalTaxable;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public int getPartitions() {
+        return partitions;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public List<PayrollSnapshotBand> getBands() {
+        return bands;
+    }
+}
@@ -0,0 +1,53 @@
+package com.employeemanagementsystem;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+/**
+ * Headcount and totals of one salary band within a PayrollSnapshot.
+ */
+@Embeddable
+public class PayrollSnapshotBand {
+
+    @Column(name = "LOWER_BOUND")
+    private BigDecimal lowerBound;
+
+    @Column(name = "HEADCOUNT")
+    private int headcount;
+
+    @Column(name = "TOTAL_SALARY")
+    private BigDecimal totalSalary;
+
+    @Column(name = "TOTAL_TAXABLE")
+    private BigDecimal totalTaxable;
+
+    protected PayrollSnapshotBand() {
+        super();
+    }
+
+    public PayrollSnapshotBand(BigDecimal lowerBound, int headcount, BigDecimal totalSalary, BigDecimal totalTaxable) {
+        super();
+        this.lowerBound = lowerBound;
+        this.headcount = headcount;
+        this.totalSalary = totalSalary;
+        this.totalTaxable = totalTaxable;
+    }
+
+    public BigDecimal getLowerBound() {
+        return lowerBound;
+    }
+
+    public int getHeadcount() {
+        return headcount;
+    }
+
+    public BigDecimal getTotalSalary() {
+        return totalSalary;
+    }
+
+    public BigDecimal getTotalTaxable() {
+        return totalTaxable;
+    }
+}
@@ -0,0 +1,132 @@
+package com.employeemanagementsystem;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class PayrollSnapshotDTO {
+
+    private Long snapshotId;
+    private LocalDateTime createdDateTime;
+    private BigDecimal taxableThreshold;
+    private int headcount;
+    private int taxableHeadcount;
+    private BigDecimal totalSalary;
+    // Sum of the salary above the taxable threshold
+    private BigDecimal totalTaxable;
+    private int parallelism;
+    private long elapsedMillis;
+    private List<PayrollSnapshotBand> bands;
+    // Per-partition timings of the run that produced the snapshot; null when read back later
+    private List<PayrollPartitionDTO> partitions;
+
+    public PayrollSnapshotDTO() {
+        super();
+    }
+
+    public PayrollSnapshotDTO(Long snapshotId, LocalDateTime createdDateTime, BigDecimal taxableThreshold,
+                              int headcount, int taxableHeadcount, BigDecimal totalSalary, BigDecimal totalTaxable,
+                              int parallelism, long elapsedMillis, List<PayrollSnapshotBand> bands,
+                              List<PayrollPartitionDTO> partitions) {
+        super();
+        this.snapshotId = snapshotId;
+        this.createdDateTime = createdDateTime;
+        this.taxableThreshold = taxableThreshold;
+        this.headcount = headcount;
+        this.taxableHeadcount = taxableHeadcount;
+        this.totalSalary = totalSalary;
+        this.totalTaxable = totalTaxable;
+        this.parallelism = parallelism;
+        this.elapsedMillis = elapsedMillis;
+        this.bands = bands;
+        this.partitions = partitions;
+    }
+
+    public Long getSnapshotId() {
+        return snapshotId;
+    }
+
+    public void setSnapshotId(Long snapshotId) {
+        this.snapshotId = snapshotId;
+    }
+
+    public LocalDateTime getCreatedDateTime() {
+        return createdDateTime;
+    }
+
+    public void setCreatedDateTime(LocalDateTime createdDateTime) {
+        this.createdDateTime = createdDateTime;
+    }
+
+    public BigDecimal getTaxableThreshold() {
+        return taxableThreshold;
+    }
+
+    public void setTaxableThreshold(BigDecimal taxableThreshold) {
+        this.taxableThreshold = taxableThreshold;
+    }
+
+    public int getHeadcount() {
+        return headcount;
+    }
+
+    public void setHeadcount(int headcount) {
+        this.headcount = headcount;
+    }
+
+    public int getTaxableHeadcount() {
+        return taxableHeadcount;
+    }
+
+    public void setTaxableHeadcount(int taxableHeadcount) {
+        this.taxableHeadcount = taxableHeadcount;
+    }
+
+    public BigDecimal getTotalSalary() {
+        return totalSalary;
+    }
+
+    public void setTotalSalary(BigDecimal totalSalary) {
+        this.totalSalary = totalSalary;
+    }
+
+    public BigDecimal getTotalTaxable() {
+        return totalTaxable;
+    }
+
+    public void setTotalTaxable(BigDecimal totalTaxable) {
+        this.totalTaxable = totalTaxable;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public List<PayrollSnapshotBand> getBands() {
+        return bands;
+    }
+
+    public void setBands(List<PayrollSnapshotBand> bands) {
+        this.bands = bands;
+    }
+
+    public List<PayrollPartitionDTO> getPartitions() {
+        return partitions;
+    }
+
+    public void setPartitions(List<PayrollPartitionDTO> partitions) {
+        this.partitions = partitions;
+    }
+}
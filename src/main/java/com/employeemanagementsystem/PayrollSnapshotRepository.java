@@ -0,0 +1,12 @@
+package com.employeemanagementsystem;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PayrollSnapshotRepository extends JpaRepository<PayrollSnapshot, Long> {
+
+    @EntityGraph(attributePaths = "bands")
+    Optional<PayrollSnapshot> findWithBandsBySnapshotId(Long snapshotId);
+}
@@ -0,0 +1,265 @@
+package com.employeemanagementsystem;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.Semaphore;
+
+import io.micrometer.core.annotation.Timed;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Month-end payroll snapshot: headcount, salary and taxable totals per salary band. The table is
+ * cut at real employee IDs into partitions of employee.payroll.partition-size employees each (IDs
+ * are client-assigned and may be sparse, so fixed-width ID slices could be mostly empty), which
+ * are read and summed on a fork/join pool (in hundredths held in longs, not BigDecimal), and the
+ * merged result is written as a new snapshot.
+ * Every partition reads on a connection of its own, drawn from a budget of
+ * employee.payroll.max-connections shared by all runs, scheduled or requested. A run may ask for
+ * at most that many threads, as more would only wait for a connection; the default is one thread
+ * per connection of the budget.
+ */
+@Service
+public class PayrollSnapshotService {
+    private static final Logger logger = LoggerFactory.getLogger(PayrollSnapshotService.class);
+
+    private final EmployeeRepository employeeRepository;
+    private final PayrollSnapshotRepository payrollSnapshotRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BigDecimal taxableThreshold;
+    private final long taxableThresholdCents;
+    private final BigDecimal[] bandLowerBounds;
+    private final long[] bandLowerBoundCents;
+    private final int partitionSize;
+    private final int defaultParallelism;
+    private final int maxConnections;
+    private final Semaphore connections;
+
+    public PayrollSnapshotService(EmployeeRepository employeeRepository,
+                                  PayrollSnapshotRepository payrollSnapshotRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${employee.notifier.taxable-threshold:100000}") BigDecimal taxableThreshold,
+                                  @Value("${employee.payroll.band-lower-bounds:0,50000,100000,200000,500000}") BigDecimal[] bandLowerBounds,
+                                  @Value("${employee.payroll.partition-size:50000}") int partitionSize,
+                                  @Value("${employee.payroll.parallelism:0}") int defaultParallelism,
+                                  @Value("${employee.payroll.max-connections:4}") int maxConnections) {
+        this.employeeRepository = employeeRepository;
+        this.payrollSnapshotRepository = payrollSnapshotRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taxableThreshold = taxableThreshold;
+        this.taxableThresholdCents = toCents(taxableThreshold);
+        this.bandLowerBounds = bandLowerBounds.clone();
+        Arrays.sort(this.bandLowerBounds);
+        this.bandLowerBoundCents = Arrays.stream(this.bandLowerBounds).mapToLong(PayrollSnapshotService::toCents).toArray();
+        if (partitionSize < 1) {
+            throw new IllegalArgumentException("employee.payroll.partition-size must be at least 1");
+        }
+        this.partitionSize = partitionSize;
+        this.defaultParallelism = defaultParallelism;
+        if (maxConnections < 1) {
+            throw new IllegalArgumentException("employee.payroll.max-connections must be at least 1");
+        }
+        if (defaultParallelism < 0 || defaultParallelism > maxConnections) {
+            throw new IllegalArgumentException("employee.payroll.parallelism must be between 0 and "
+                    + "employee.payroll.max-connections (" + maxConnections + ")");
+        }
+        this.maxConnections = maxConnections;
+        this.connections = new Semaphore(maxConnections, true);
+    }
+
+    @Timed(value = "employee.scheduled.jobs", histogram = true)
+    @Scheduled(cron = "${employee.payroll.snapshot-cron:0 0 2 1 * *}")
+    public void scheduledSnapshot() {
+        createSnapshot(null);
+    }
+
+    // parallelism null or 0: employee.payroll.parallelism, and when that is 0 too, max-connections.
+    // The run uses exactly the threads it reports; to measure more, raise max-connections (and the pool)
+    public PayrollSnapshotDTO createSnapshot(Integer parallelism) {
+        int threads = parallelism == null || parallelism == 0 ? defaultParallelism : parallelism;
+        if (threads == 0) {
+            threads = maxConnections;
+        }
+        if (threads < 1 || threads > maxConnections) {
+            throw new IllegalArgumentException("Parallelism must be between 1 and employee.payroll.max-connections ("
+                    + maxConnections + ")");
+        }
+
+        long start = System.nanoTime();
+        LocalDateTime createdDateTime = LocalDateTime.now();
+        Queue<PayrollPartitionDTO> partitions = new ConcurrentLinkedQueue<>();
+        PayrollTotals totals = new PayrollTotals(bandLowerBoundCents.length);
+        Object[] range = employeeRepository.findEmployeeIdRange().get(0);
+        int[] firstIds = range[0] == null ? new int[0] : employeeRepository.findEveryNthEmployeeId(partitionSize)
+                .stream().mapToInt(Integer::intValue).toArray();
+        if (firstIds.length > 0) {
+            int maxId = (Integer) range[1];
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                totals = pool.invoke(new PartitionTask(firstIds, maxId, 0, firstIds.length, partitions));
+            } finally {
+                pool.shutdown();
+            }
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        List<PayrollSnapshotBand> bands = new ArrayList<>(bandLowerBounds.length);
+        for (int band = 0; band < bandLowerBounds.length; band++) {
+            bands.add(new PayrollSnapshotBand(bandLowerBounds[band], Math.toIntExact(totals.headcount[band]),
+                    fromCents(totals.salaryCents[band]), fromCents(totals.taxableCents[band])));
+        }
+        PayrollSnapshot snapshot = new PayrollSnapshot(createdDateTime, taxableThreshold,
+                Math.toIntExact(totals.headcount()), Math.toIntExact(totals.taxableHeadcount),
+                fromCents(totals.salaryCents()), fromCents(totals.taxableCents()), threads, partitions.size(),
+                elapsedMillis, bands);
+        PayrollSnapshot saved = transactionTemplate.execute(status -> payrollSnapshotRepository.save(snapshot));
+
+        List<PayrollPartitionDTO> timings = new ArrayList<>(partitions);
+        timings.sort(Comparator.comparingInt(PayrollPartitionDTO::getFromId));
+        logger.info("Payroll snapshot {}: {} employees in {} partitions on {} threads in {} ms", saved.getSnapshotId(),
+                saved.getHeadcount(), timings.size(), threads, elapsedMillis);
+        return toDTO(saved, timings);
+    }
+
+    public Optional<PayrollSnapshotDTO> getSnapshot(Long snapshotId) {
+        return payrollSnapshotRepository.findWithBandsBySnapshotId(snapshotId).map(snapshot -> toDTO(snapshot, null));
+    }
+
+    private static PayrollSnapshotDTO toDTO(PayrollSnapshot snapshot, List<PayrollPartitionDTO> partitions) {
+        return new PayrollSnapshotDTO(snapshot.getSnapshotId(), snapshot.getCreatedDateTime(),
+                snapshot.getTaxableThreshold(), snapshot.getHeadcount(), snapshot.getTaxableHeadcount(),
+                snapshot.getTotalSalary(), snapshot.getTotalTaxable(), snapshot.getParallelism(),
+                snapshot.getElapsedMillis(), new ArrayList<>(snapshot.getBands()), partitions);
+    }
+
+    // Partitions [from, to), split in halves until a single partition is left. Partition p runs from
+    // firstIds[p] up to the next partition's first ID, the last one up to maxId
+    private final class PartitionTask extends RecursiveTask<PayrollTotals> {
+        private final int[] firstIds;
+        private final int maxId;
+        private final int from;
+        private final int to;
+        private final Queue<PayrollPartitionDTO> timings;
+
+        private PartitionTask(int[] firstIds, int maxId, int from, int to, Queue<PayrollPartitionDTO> timings) {
+            this.firstIds = firstIds;
+            this.maxId = maxId;
+            this.from = from;
+            this.to = to;
+            this.timings = timings;
+        }
+
+        @Override
+        protected PayrollTotals compute() {
+            if (to - from == 1) {
+                return processPartition(from);
+            }
+            int middle = (from + to) >>> 1;
+            PartitionTask left = new PartitionTask(firstIds, maxId, from, middle, timings);
+            left.fork();
+            PayrollTotals right = new PartitionTask(firstIds, maxId, middle, to, timings).compute();
+            return left.join().add(right);
+        }
+
+        private PayrollTotals processPartition(int partition) {
+            int fromId = firstIds[partition];
+            // An employee added past maxId since the IDs were read waits for the next snapshot
+            int toId = partition + 1 < firstIds.length ? firstIds[partition + 1] - 1 : maxId;
+
+            // Concurrent runs share the budget, so a partition may wait here for another run's
+            List<BigDecimal> salaries;
+            connections.acquireUninterruptibly();
+            long start = System.nanoTime();
+            try {
+                salaries = employeeRepository.findSalariesByEmployeeIdBetween(fromId, toId);
+            } finally {
+                connections.release();
+            }
+            long read = System.nanoTime();
+            PayrollTotals totals = new PayrollTotals(bandLowerBoundCents.length);
+            for (BigDecimal salary : salaries) {
+                long cents = toCents(salary);
+                totals.add(cents, band(cents), taxableThresholdCents);
+            }
+            long computed = System.nanoTime();
+
+            timings.add(new PayrollPartitionDTO(fromId, toId, salaries.size(), (read - start) / 1_000_000,
+                    (computed - read) / 1_000_000, Thread.currentThread().getName()));
+            return totals;
+        }
+    }
+
+    // Highest band whose lower bound is at or below the salary; salaries below every bound go in the first
+    private int band(long salaryCents) {
+        int index = Arrays.binarySearch(bandLowerBoundCents, salaryCents);
+        return index >= 0 ? index : Math.max(0, -index - 2);
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).longValueExact();
+    }
+
+    private static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    // Per-band sums of one or more partitions; the tasks only ever add them up
+    private static final class PayrollTotals {
+        private final long[] headcount;
+        private final long[] salaryCents;
+        private final long[] taxableCents;
+        private long taxableHeadcount;
+
+        private PayrollTotals(int bands) {
+            headcount = new long[bands];
+            salaryCents = new long[bands];
+            taxableCents = new long[bands];
+        }
+
+        private void add(long salary, int band, long threshold) {
+            headcount[band]++;
+            salaryCents[band] = Math.addExact(salaryCents[band], salary);
+            if (salary > threshold) {
+                taxableCents[band] = Math.addExact(taxableCents[band], salary - threshold);
+                taxableHeadcount++;
+            }
+        }
+
+        private PayrollTotals add(PayrollTotals other) {
+            for (int band = 0; band < headcount.length; band++) {
+                headcount[band] += other.headcount[band];
+                salaryCents[band] = Math.addExact(salaryCents[band], other.salaryCents[band]);
+                taxableCents[band] = Math.addExact(taxableCents[band], other.taxableCents[band]);
+            }
+            taxableHeadcount += other.taxableHeadcount;
+            return this;
+        }
+
+        private long headcount() {
+            return Arrays.stream(headcount).sum();
+        }
+
+        private long salaryCents() {
+            return Arrays.stream(salaryCents).reduce(0, Math::addExact);
+        }
+
+        private long taxableCents() {
+            return Arrays.stream(taxableCents).reduce(0, Math::addExact);
+        }
+    }
+}
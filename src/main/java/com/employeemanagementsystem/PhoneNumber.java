@@ -2,8 +2,12 @@ package com.employeemanagementsystem;
 
 
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -15,6 +19,8 @@ import jakarta.validation.constraints.NotBlank;
 
 @Entity(name="PhoneNumber")
 @Table(name = "phone_number")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class PhoneNumber {
     @Id
     @Column(name = "PHONE_ID")
@@ -1,5 +1,6 @@
 package com.employeemanagementsystem;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,4 +10,7 @@ import org.springframework.data.repository.query.Param;
 public interface PhoneNumberRepository extends JpaRepository<PhoneNumber, Integer> {
     @Query("SELECT p FROM PhoneNumber p WHERE p.employee.employeeId = :employeeId")
     List<PhoneNumber> findByEmployeeId(@Param("employeeId") Integer employeeId);
-}
\ No newline at end of file
+
+    @Query("SELECT p FROM PhoneNumber p WHERE p.employee.employeeId IN :employeeIds ORDER BY p.phoneId")
+    List<PhoneNumber> findByEmployeeIdIn(@Param("employeeIds") Collection<Integer> employeeIds);
+}
@@ -0,0 +1,177 @@
+package com.employeemanagementsystem;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Running salary statistics for one group of employees. Count and total are exact, percentiles
+ * come from a SalarySketch, and so do min and max once they are no longer known exactly: the
+ * extremes are kept along with how many employees are known to earn them, and when the last of
+ * those leaves, the extreme is read off the sketch's outermost bucket (within its relative
+ * accuracy) until a new extreme is added or reconciliation sets it from the table. Not thread safe.
+ */
+class SalaryAggregate {
+    private final Integer managerId;
+    private long count;
+    private BigDecimal total = BigDecimal.ZERO;
+    // Zero employees known to earn the extreme means it is read off the sketch
+    private BigDecimal min;
+    private long atMin;
+    private BigDecimal max;
+    private long atMax;
+    private final SalarySketch sketch = new SalarySketch();
+    private SalaryStatsDTO stats;
+
+    SalaryAggregate(Integer managerId) {
+        this.managerId = managerId;
+    }
+
+    void add(BigDecimal salary) {
+        // Compared with the sketch before the salary is in it
+        boolean belowAll = count <= 0 || sketch.isBelowAll(salary.doubleValue());
+        boolean aboveAll = count <= 0 || sketch.isAboveAll(salary.doubleValue());
+        if (atMin > 0 && salary.compareTo(min) == 0) {
+            atMin++;
+        } else if (atMin > 0 ? salary.compareTo(min) < 0 : belowAll) {
+            min = salary;
+            atMin = 1;
+        }
+        if (atMax > 0 && salary.compareTo(max) == 0) {
+            atMax++;
+        } else if (atMax > 0 ? salary.compareTo(max) > 0 : aboveAll) {
+            max = salary;
+            atMax = 1;
+        }
+        apply(salary, 1);
+    }
+
+    // After-commit deltas of two transactions may arrive out of order, so a salary can briefly be
+    // removed before it was added; the extremes are then off until reconciliation
+    void remove(BigDecimal salary) {
+        if (atMin > 0 && salary.compareTo(min) == 0) {
+            atMin--;
+        }
+        if (atMax > 0 && salary.compareTo(max) == 0) {
+            atMax--;
+        }
+        apply(salary, -1);
+    }
+
+    // Folds another group in, e.g. every manager's group into the company-wide one
+    void merge(SalaryAggregate other) {
+        if (other.count > 0) {
+            if (count <= 0) {
+                min = other.min;
+                atMin = other.atMin;
+                max = other.max;
+                atMax = other.atMax;
+            } else {
+                mergeMin(other);
+                mergeMax(other);
+            }
+        }
+        count += other.count;
+        total = total.add(other.total);
+        sketch.merge(other.sketch);
+        stats = null;
+    }
+
+    // Exact extremes from the table, taken while the group's count and total match it. At least one
+    // employee earns each; more may, which only means the extreme is read off the sketch sooner.
+    // Returns whether anything changed
+    boolean resetExtremes(BigDecimal tableMin, BigDecimal tableMax) {
+        if (atMin > 0 && min.compareTo(tableMin) == 0 && atMax > 0 && max.compareTo(tableMax) == 0) {
+            return false;
+        }
+        if (atMin == 0 || min.compareTo(tableMin) != 0) {
+            min = tableMin;
+            atMin = 1;
+        }
+        if (atMax == 0 || max.compareTo(tableMax) != 0) {
+            max = tableMax;
+            atMax = 1;
+        }
+        stats = null;
+        return true;
+    }
+
+    long count() {
+        return count;
+    }
+
+    BigDecimal total() {
+        return total;
+    }
+
+    BigDecimal min() {
+        return atMin > 0 ? min : estimate(sketch.min());
+    }
+
+    BigDecimal max() {
+        return atMax > 0 ? max : estimate(sketch.max());
+    }
+
+    // Computed on first read after a change and then served as is
+    SalaryStatsDTO stats() {
+        if (stats == null) {
+            stats = new SalaryStatsDTO(managerId, count, total,
+                    count > 0 ? total.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP) : null,
+                    min(), max(), percentile(0.5), percentile(0.9), percentile(0.99));
+        }
+        return stats;
+    }
+
+    private BigDecimal percentile(double q) {
+        return estimate(sketch.quantile(q));
+    }
+
+    private static BigDecimal estimate(double value) {
+        return Double.isNaN(value) ? null : BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    // An exact side stays exact only if it lies below everything the other side holds
+    private void mergeMin(SalaryAggregate other) {
+        if (atMin > 0 && other.atMin > 0) {
+            int comparison = other.min.compareTo(min);
+            if (comparison < 0) {
+                min = other.min;
+                atMin = other.atMin;
+            } else if (comparison == 0) {
+                atMin += other.atMin;
+            }
+        } else if (atMin > 0) {
+            atMin = other.sketch.isBelowAll(min.doubleValue()) ? atMin : 0;
+        } else if (other.atMin > 0 && sketch.isBelowAll(other.min.doubleValue())) {
+            min = other.min;
+            atMin = other.atMin;
+        }
+    }
+
+    private void mergeMax(SalaryAggregate other) {
+        if (atMax > 0 && other.atMax > 0) {
+            int comparison = other.max.compareTo(max);
+            if (comparison > 0) {
+                max = other.max;
+                atMax = other.atMax;
+            } else if (comparison == 0) {
+                atMax += other.atMax;
+            }
+        } else if (atMax > 0) {
+            atMax = other.sketch.isAboveAll(max.doubleValue()) ? atMax : 0;
+        } else if (other.atMax > 0 && sketch.isAboveAll(other.max.doubleValue())) {
+            max = other.max;
+            atMax = other.atMax;
+        }
+    }
+
+    private void apply(BigDecimal salary, int delta) {
+        count += delta;
+        total = delta > 0 ? total.add(salary) : total.subtract(salary);
+        if (delta > 0) {
+            sketch.add(salary.doubleValue());
+        } else {
+            sketch.remove(salary.doubleValue());
+        }
+        stats = null;
+    }
+}
@@ -0,0 +1,130 @@
+package com.employeemanagementsystem;
+
+import java.util.Arrays;
+
+/**
+ * Log-bucketed quantile sketch with a fixed relative error: every positive value lands in bucket
+ * ceil(log_gamma(value)), so a quantile is accurate to within RELATIVE_ACCURACY of the true value.
+ * Buckets are plain counts, which makes sketches mergeable and lets a value be removed again.
+ */
+public class SalarySketch {
+    static final double RELATIVE_ACCURACY = 0.01;
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+
+    // counts[i] holds bucket offset + i
+    private long[] counts = new long[0];
+    private int offset;
+    private long count;
+
+    public void add(double value) {
+        add(value, 1);
+    }
+
+    public void remove(double value) {
+        add(value, -1);
+    }
+
+    public void merge(SalarySketch other) {
+        for (int i = 0; i < other.counts.length; i++) {
+            if (other.counts[i] != 0) {
+                addToBucket(other.offset + i, other.counts[i]);
+            }
+        }
+        count += other.count;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    // Lower quantile for q in [0, 1]; NaN when the sketch is empty
+    public double quantile(double q) {
+        if (count <= 0) {
+            return Double.NaN;
+        }
+        long rank = (long) Math.floor(q * (count - 1));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen > rank) {
+                return value(offset + i);
+            }
+        }
+        return value(offset + counts.length - 1);
+    }
+
+    // Value of the lowest non-empty bucket, within RELATIVE_ACCURACY of the smallest value; NaN when empty
+    public double min() {
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                return value(offset + i);
+            }
+        }
+        return Double.NaN;
+    }
+
+    public double max() {
+        for (int i = counts.length - 1; i >= 0; i--) {
+            if (counts[i] > 0) {
+                return value(offset + i);
+            }
+        }
+        return Double.NaN;
+    }
+
+    // Whether the value falls in a lower bucket than every value sketched so far
+    public boolean isBelowAll(double value) {
+        int bucket = bucket(value);
+        for (int i = 0; i < counts.length && offset + i <= bucket; i++) {
+            if (counts[i] > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isAboveAll(double value) {
+        int bucket = bucket(value);
+        for (int i = counts.length - 1; i >= 0 && offset + i >= bucket; i--) {
+            if (counts[i] > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void add(double value, long delta) {
+        if (!(value > 0)) {
+            throw new IllegalArgumentException("Only positive values can be sketched: " + value);
+        }
+        addToBucket(bucket(value), delta);
+        count += delta;
+    }
+
+    private static int bucket(double value) {
+        return (int) Math.ceil(Math.log(value) / LOG_GAMMA);
+    }
+
+    private void addToBucket(int bucket, long delta) {
+        if (counts.length == 0) {
+            counts = new long[16];
+            offset = bucket - 8;
+        }
+        if (bucket < offset) {
+            int grow = Math.max(offset - bucket, counts.length / 2);
+            long[] grown = new long[counts.length + grow];
+            System.arraycopy(counts, 0, grown, grow, counts.length);
+            counts = grown;
+            offset -= grow;
+        } else if (bucket >= offset + counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(bucket - offset + 1, counts.length + counts.length / 2));
+        }
+        counts[bucket - offset] += delta;
+    }
+
+    // Midpoint of the bucket in relative terms, so the error is at most RELATIVE_ACCURACY either way
+    private static double value(int bucket) {
+        return 2 * Math.pow(GAMMA, bucket) / (GAMMA + 1);
+    }
+}
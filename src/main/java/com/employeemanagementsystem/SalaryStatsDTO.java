@@ -0,0 +1,108 @@
+package com.employeemanagementsystem;
+
+import java.math.BigDecimal;
+
+public class SalaryStatsDTO {
+
+    // null for the company-wide figures
+    private Integer managerId;
+    private long count;
+    private BigDecimal total;
+    private BigDecimal average;
+    private BigDecimal min;
+    private BigDecimal max;
+    // Percentiles are estimates within 1% of the true salary
+    private BigDecimal p50;
+    private BigDecimal p90;
+    private BigDecimal p99;
+
+    public SalaryStatsDTO() {
+        super();
+    }
+
+    public SalaryStatsDTO(Integer managerId, long count, BigDecimal total, BigDecimal average, BigDecimal min,
+                          BigDecimal max, BigDecimal p50, BigDecimal p90, BigDecimal p99) {
+        super();
+        this.managerId = managerId;
+        this.count = count;
+        this.total = total;
+        this.average = average;
+        this.min = min;
+        this.max = max;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+    }
+
+    public Integer getManagerId() {
+        return managerId;
+    }
+
+    public void setManagerId(Integer managerId) {
+        this.managerId = managerId;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    public BigDecimal getAverage() {
+        return average;
+    }
+
+    public void setAverage(BigDecimal average) {
+        this.average = average;
+    }
+
+    public BigDecimal getMin() {
+        return min;
+    }
+
+    public void setMin(BigDecimal min) {
+        this.min = min;
+    }
+
+    public BigDecimal getMax() {
+        return max;
+    }
+
+    public void setMax(BigDecimal max) {
+        this.max = max;
+    }
+
+    public BigDecimal getP50() {
+        return p50;
+    }
+
+    public void setP50(BigDecimal p50) {
+        this.p50 = p50;
+    }
+
+    public BigDecimal getP90() {
+        return p90;
+    }
+
+    public void setP90(BigDecimal p90) {
+        this.p90 = p90;
+    }
+
+    public BigDecimal getP99() {
+        return p99;
+    }
+
+    public void setP99(BigDecimal p99) {
+        this.p99 = p99;
+    }
+}
@@ -0,0 +1,35 @@
+package com.employeemanagementsystem;
+
+import java.util.List;
+
+public class SalaryStatsResponseDTO {
+
+    private SalaryStatsDTO company;
+    private List<SalaryStatsDTO> managers;
+
+    public SalaryStatsResponseDTO() {
+        super();
+    }
+
+    public SalaryStatsResponseDTO(SalaryStatsDTO company, List<SalaryStatsDTO> managers) {
+        super();
+        this.company = company;
+        this.managers = managers;
+    }
+
+    public SalaryStatsDTO getCompany() {
+        return company;
+    }
+
+    public void setCompany(SalaryStatsDTO company) {
+        this.company = company;
+    }
+
+    public List<SalaryStatsDTO> getManagers() {
+        return managers;
+    }
+
+    public void setManagers(List<SalaryStatsDTO> managers) {
+        this.managers = managers;
+    }
+}
@@ -0,0 +1,260 @@
+package com.employeemanagementsystem;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import io.micrometer.core.annotation.Timed;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Salary statistics per manager and company-wide, computed once from the table at startup and
+ * then moved along by the deltas of committed writes. A scheduled reconciliation compares the
+ * counts and totals against a GROUP BY and rebuilds everything when they stay off across a grace
+ * period; groups that match take their min and max from it, as those may have been read off a
+ * sketch since. Deltas that arrive during a rebuild are replayed on the rebuilt groups.
+ */
+@Service
+public class SalaryStatsService implements SmartInitializingSingleton {
+    private static final Logger logger = LoggerFactory.getLogger(SalaryStatsService.class);
+
+    private final EmployeeRepository employeeRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private Map<Integer, SalaryAggregate> byManager = new HashMap<>();
+    private SalaryAggregate company = new SalaryAggregate(null);
+    private SalaryStatsResponseDTO allStats;
+    // Deltas applied during a rebuild, replayed on the rebuilt groups; null when none is running
+    private List<Runnable> replayAfterRebuild;
+    private final Object rebuildLock = new Object();
+
+    @Value("${employee.salary-stats.load-on-startup:true}")
+    private boolean loadOnStartup;
+
+    @Value("${employee.salary-stats.reconcile-grace:5s}")
+    private Duration reconcileGrace;
+
+    public SalaryStatsService(EmployeeRepository employeeRepository, PlatformTransactionManager transactionManager) {
+        this.employeeRepository = employeeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (loadOnStartup) {
+            long start = System.nanoTime();
+            rebuild();
+            logger.info("Computed salary stats of {} employees in {} ms", getCompanyStats().getCount(),
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    public synchronized SalaryStatsDTO getCompanyStats() {
+        return company.stats();
+    }
+
+    public synchronized SalaryStatsDTO getManagerStats(Integer managerId) {
+        SalaryAggregate aggregate = byManager.get(managerId);
+        return aggregate == null ? null : aggregate.stats();
+    }
+
+    // Reassembled only after a change; every read until the next write gets the same object
+    public synchronized SalaryStatsResponseDTO getAllStats() {
+        if (allStats == null) {
+            List<SalaryStatsDTO> managers = new ArrayList<>(byManager.size());
+            for (SalaryAggregate aggregate : byManager.values()) {
+                managers.add(aggregate.stats());
+            }
+            managers.sort((a, b) -> Integer.compare(a.getManagerId(), b.getManagerId()));
+            allStats = new SalaryStatsResponseDTO(company.stats(), managers);
+        }
+        return allStats;
+    }
+
+    public void addAfterCommit(Employee employee) {
+        Integer managerId = employee.getManagerId();
+        BigDecimal salary = employee.getSalary();
+        TransactionHooks.afterCommit(() -> apply(null, null, managerId, salary));
+    }
+
+    // No-op unless the manager or the salary changed
+    public void changeAfterCommit(Integer previousManagerId, BigDecimal previousSalary, Employee employee) {
+        Integer managerId = employee.getManagerId();
+        BigDecimal salary = employee.getSalary();
+        if (Objects.equals(previousManagerId, managerId) && previousSalary.compareTo(salary) == 0) {
+            return;
+        }
+        TransactionHooks.afterCommit(() -> apply(previousManagerId, previousSalary, managerId, salary));
+    }
+
+    public void removeAfterCommit(Employee employee) {
+        Integer managerId = employee.getManagerId();
+        BigDecimal salary = employee.getSalary();
+        TransactionHooks.afterCommit(() -> apply(managerId, salary, null, null));
+    }
+
+    private synchronized void apply(Integer previousManagerId, BigDecimal previousSalary,
+                                    Integer managerId, BigDecimal salary) {
+        applyDelta(previousManagerId, previousSalary, managerId, salary);
+        if (replayAfterRebuild != null) {
+            replayAfterRebuild.add(() -> applyDelta(previousManagerId, previousSalary, managerId, salary));
+        }
+    }
+
+    private void applyDelta(Integer previousManagerId, BigDecimal previousSalary, Integer managerId,
+                            BigDecimal salary) {
+        if (previousSalary != null) {
+            company.remove(previousSalary);
+            if (previousManagerId != null) {
+                SalaryAggregate aggregate = byManager.computeIfAbsent(previousManagerId, SalaryAggregate::new);
+                aggregate.remove(previousSalary);
+                if (aggregate.count() == 0) {
+                    byManager.remove(previousManagerId);
+                }
+            }
+        }
+        if (salary != null) {
+            company.add(salary);
+            if (managerId != null) {
+                byManager.computeIfAbsent(managerId, SalaryAggregate::new).add(salary);
+            }
+        }
+        allStats = null;
+    }
+
+    // Scrolls managerId/salary pairs into fresh groups; the company-wide group is the merge of them
+    // all. Deltas that arrive while the scan runs still go to the current groups, and are kept to be
+    // replayed on the new ones once they are swapped in: the scan's snapshot was taken before those
+    // deltas' transactions committed. Only a delta that committed just before the scan started but
+    // arrived after it began is counted twice; reconciliation repairs that.
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                replayAfterRebuild = new ArrayList<>();
+            }
+            try {
+                Map<Integer, SalaryAggregate> rebuilt = new HashMap<>();
+                SalaryAggregate unmanaged = new SalaryAggregate(null);
+                transactionTemplate.executeWithoutResult(status -> {
+                    try (Stream<Object[]> rows = employeeRepository.streamManagerSalaries()) {
+                        Iterator<Object[]> iterator = rows.iterator();
+                        while (iterator.hasNext()) {
+                            Object[] row = iterator.next();
+                            Integer managerId = (Integer) row[0];
+                            BigDecimal salary = (BigDecimal) row[1];
+                            if (managerId == null) {
+                                unmanaged.add(salary);
+                            } else {
+                                rebuilt.computeIfAbsent(managerId, SalaryAggregate::new).add(salary);
+                            }
+                        }
+                    }
+                });
+                SalaryAggregate merged = new SalaryAggregate(null);
+                merged.merge(unmanaged);
+                for (SalaryAggregate aggregate : rebuilt.values()) {
+                    merged.merge(aggregate);
+                }
+                synchronized (this) {
+                    byManager = rebuilt;
+                    company = merged;
+                    replayAfterRebuild.forEach(Runnable::run);
+                    allStats = null;
+                }
+            } finally {
+                synchronized (this) {
+                    replayAfterRebuild = null;
+                }
+            }
+        }
+    }
+
+    // Returns the number of groups (managers, plus the company as a whole) that had drifted. Deltas
+    // of transactions that committed around the GROUP BY may not have arrived yet, or arrived before
+    // the groups were compared, which looks like drift too. So a drifted group is checked again
+    // after the grace period, and only counts if it is off by the same amount both times.
+    @Timed(value = "employee.scheduled.jobs", histogram = true)
+    @Scheduled(cron = "${employee.salary-stats.reconcile-cron:0 */15 * * * *}")
+    public int reconcile() {
+        Map<String, String> drifted = findDrift();
+        if (drifted.isEmpty()) {
+            return 0;
+        }
+        try {
+            Thread.sleep(reconcileGrace.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+        Map<String, String> confirmed = findDrift();
+        confirmed.entrySet().retainAll(drifted.entrySet());
+        if (!confirmed.isEmpty()) {
+            logger.warn("Salary stats drifted in {}; rebuilding from the employee table", confirmed.keySet());
+            rebuild();
+        }
+        return confirmed.size();
+    }
+
+    // The difference between the table and the groups held, by group, for every group that is off.
+    // Groups that match take their extremes from the table, as those may have been read off the sketch
+    private Map<String, String> findDrift() {
+        List<Object[]> groups = transactionTemplate.execute(status -> employeeRepository.summarizeSalariesByManager());
+        Map<String, String> drifted = new HashMap<>();
+        long count = 0;
+        BigDecimal total = BigDecimal.ZERO;
+        BigDecimal min = null;
+        BigDecimal max = null;
+        synchronized (this) {
+            Set<Integer> managers = new HashSet<>();
+            for (Object[] group : groups) {
+                Integer managerId = (Integer) group[0];
+                count += (Long) group[1];
+                total = total.add((BigDecimal) group[2]);
+                min = min == null || min.compareTo((BigDecimal) group[3]) > 0 ? (BigDecimal) group[3] : min;
+                max = max == null || max.compareTo((BigDecimal) group[4]) < 0 ? (BigDecimal) group[4] : max;
+                if (managerId != null) {
+                    managers.add(managerId);
+                    compare("manager " + managerId, byManager.get(managerId), (Long) group[1], (BigDecimal) group[2],
+                            (BigDecimal) group[3], (BigDecimal) group[4], drifted);
+                }
+            }
+            // Groups we still hold that the database no longer has
+            for (Map.Entry<Integer, SalaryAggregate> held : byManager.entrySet()) {
+                if (!managers.contains(held.getKey())) {
+                    compare("manager " + held.getKey(), held.getValue(), 0, BigDecimal.ZERO, null, null, drifted);
+                }
+            }
+            compare("company", company, count, total, min, max, drifted);
+        }
+        return drifted;
+    }
+
+    private void compare(String group, SalaryAggregate aggregate, long count, BigDecimal total, BigDecimal min,
+                         BigDecimal max, Map<String, String> drifted) {
+        long heldCount = aggregate == null ? 0 : aggregate.count();
+        BigDecimal heldTotal = aggregate == null ? BigDecimal.ZERO : aggregate.total();
+        if (heldCount != count || heldTotal.compareTo(total) != 0) {
+            drifted.put(group, (count - heldCount) + " employees, "
+                    + total.subtract(heldTotal).stripTrailingZeros().toPlainString() + " in salary");
+        } else if (count > 0 && aggregate.resetExtremes(min, max)) {
+            allStats = null;
+        }
+    }
+}
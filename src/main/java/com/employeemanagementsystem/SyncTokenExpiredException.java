@@ -0,0 +1,13 @@
+package com.employeemanagementsystem;
+
+/**
+ * The sync token is older than the tombstone retention, so deletes since then may be gone; the
+ * client has to start over with a full sync.
+ */
+public class SyncTokenExpiredException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public SyncTokenExpiredException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,27 @@
+package com.employeemanagementsystem;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers work on in-memory indexes until the surrounding transaction commits.
+ */
+final class TransactionHooks {
+
+    private TransactionHooks() {
+    }
+
+    // A rolled back write never reaches the index; outside a transaction the action runs immediately
+    static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,98 @@
+package com.employeemanagementsystem;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Opt-in virtual-thread mode (employee.virtual-threads.enabled=true, Java 21 or later): Tomcat
+ * starts a virtual thread per request and @Scheduled jobs run on virtual threads too. With no
+ * thread pool left to cap concurrency, DatabasePermitFilter admits only as many requests as the
+ * Hikari pool can serve next to the connections reserved for background work: one per scheduler
+ * thread (the notifiers, reconcile, warm-start snapshot and purge jobs take one connection each and
+ * run on the scheduler pool), one for the outbox relay on EmployeeChangeFeedScheduler's thread, plus
+ * the payroll budget, which the partitions of both the scheduled and the requested payroll
+ * snapshots draw on. Startup loads finish before Tomcat
+ * accepts requests and need no reserve. The reserve is checked against both at startup.
+ *
+ * The code is compiled for Java 17, so the virtual thread builder is looked up reflectively.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "employee.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+    // The relay's thread in EmployeeChangeFeedScheduler; the heartbeat uses no connection
+    private static final int RELAY_CONNECTIONS = 1;
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        ThreadFactory threads = virtualThreadFactory("http-vt-");
+        return protocolHandler -> protocolHandler.setExecutor(task -> threads.newThread(task).start());
+    }
+
+    // Replaces Boot's scheduler; the pool size still bounds how many jobs run at the same time
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(@Value("${spring.task.scheduling.pool.size:1}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadFactory(virtualThreadFactory("scheduling-vt-"));
+        return scheduler;
+    }
+
+    @Bean
+    public FilterRegistrationBean<DatabasePermitFilter> databasePermitFilter(
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+            @Value("${employee.virtual-threads.reserved-connections:6}") int reservedConnections,
+            @Value("${employee.virtual-threads.permit-timeout:2s}") Duration permitTimeout,
+            @Value("${spring.task.scheduling.pool.size:1}") int schedulerPoolSize,
+            @Value("${employee.payroll.max-connections:4}") int payrollConnections,
+            MeterRegistry meterRegistry) {
+        if (reservedConnections < schedulerPoolSize + RELAY_CONNECTIONS + payrollConnections) {
+            throw new IllegalStateException("employee.virtual-threads.reserved-connections (" + reservedConnections
+                    + ") must cover spring.task.scheduling.pool.size (" + schedulerPoolSize
+                    + "), the outbox relay (" + RELAY_CONNECTIONS + ") and employee.payroll.max-connections ("
+                    + payrollConnections + ")");
+        }
+        int permits = poolSize - reservedConnections;
+        if (permits < 1) {
+            throw new IllegalStateException("spring.datasource.hikari.maximum-pool-size (" + poolSize
+                    + ") must exceed employee.virtual-threads.reserved-connections (" + reservedConnections + ")");
+        }
+        logger.info("Virtual threads enabled: {} concurrent requests admitted, {} of {} connections reserved",
+                permits, reservedConnections, poolSize);
+        DatabasePermitFilter filter = new DatabasePermitFilter(permits, permitTimeout);
+        Gauge.builder("employee.requests.permits.available", filter, DatabasePermitFilter::availablePermits)
+                .register(meterRegistry);
+        FunctionCounter.builder("employee.requests.rejected", filter, DatabasePermitFilter::rejectedRequests)
+                .register(meterRegistry);
+        FilterRegistrationBean<DatabasePermitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/employees/*");
+        return registration;
+    }
+
+    // Thread.ofVirtual().name(prefix, 0).factory()
+    static ThreadFactory virtualThreadFactory(String prefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("employee.virtual-threads.enabled needs Java 21 or later; running on "
+                    + Runtime.version(), e);
+        }
+    }
+}
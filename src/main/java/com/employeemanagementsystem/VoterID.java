@@ -1,6 +1,9 @@
 package com.employeemanagementsystem;
 
-import jakarta.persistence.CascadeType;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
@@ -10,6 +13,8 @@ import jakarta.persistence.Table;
 
 @Entity(name="VoterID")
 @Table(name="VoterID")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class VoterID {
     @Id
     @Column(name="VOTER_ID")
@@ -24,7 +29,8 @@ public class VoterID {
     @Column(name="CITY")
     private String city;
     
-    @OneToOne(targetEntity=Employee.class, cascade = CascadeType.ALL)
+    // No cascade back to the employee: removing a voter ID (orphanRemoval) must not delete its owner
+    @OneToOne(targetEntity=Employee.class)
     @JoinColumn(name="EMPLOYEE_ID", referencedColumnName="EMPLOYEE_ID")
     private Employee employee;
 
@@ -33,6 +33,14 @@ public class VoterIDDTO {
 		public VoterIDDTO() {
 			super();
 		}
+		// Used by the JPQL constructor projection in VoterIDRepository
+		public VoterIDDTO(Integer voterId, Integer employeeId, String voterNumber, String city) {
+			super();
+			this.voterId = voterId;
+			this.employeeId = employeeId;
+			this.voterNumber = voterNumber;
+			this.city = city;
+		}
 
 	    // Getters and setters
 
@@ -1,8 +1,17 @@
 package com.employeemanagementsystem;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface VoterIDRepository extends JpaRepository<VoterID, Integer> {
 
+    // DTO projection: loading VoterID entities would eagerly pull in each owning Employee
+    @Query("SELECT new com.employeemanagementsystem.VoterIDDTO(v.voterId, v.employeeId, v.voterNumber, v.city) "
+            + "FROM VoterID v WHERE v.employeeId IN :employeeIds")
+    List<VoterIDDTO> findDTOsByEmployeeIdIn(@Param("employeeIds") Collection<Integer> employeeIds);
 
-}
\ No newline at end of file
+}
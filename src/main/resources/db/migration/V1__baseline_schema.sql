@@ -0,0 +1,32 @@
+-- Schema as it existed before migrations were introduced. Existing databases are baselined at
+-- version 1 (spring.flyway.baseline-on-migrate), so this script only runs against empty schemas.
+CREATE TABLE employee (
+    EMPLOYEE_ID      NUMBER(10)     NOT NULL,
+    EMP_NAME         VARCHAR2(100)  NOT NULL,
+    DOB              DATE           NOT NULL,
+    MANAGER_ID       NUMBER(10)     NOT NULL,
+    SALARY           NUMBER(14, 2)  NOT NULL,
+    EMAIL_ID         VARCHAR2(255)  NOT NULL,
+    CREATED_DATETIME TIMESTAMP,
+    UPDATED_DATETIME TIMESTAMP,
+    CONSTRAINT pk_employee PRIMARY KEY (EMPLOYEE_ID)
+);
+
+CREATE TABLE phone_number (
+    PHONE_ID     NUMBER(10)    NOT NULL,
+    EMPLOYEE_ID  NUMBER(10),
+    PHONE_NUMBER VARCHAR2(20)  NOT NULL,
+    PROVIDER     VARCHAR2(50),
+    TYPE         VARCHAR2(20),
+    CONSTRAINT pk_phone_number PRIMARY KEY (PHONE_ID),
+    CONSTRAINT fk_phone_number_employee FOREIGN KEY (EMPLOYEE_ID) REFERENCES employee (EMPLOYEE_ID)
+);
+
+CREATE TABLE VoterID (
+    VOTER_ID     NUMBER(10)    NOT NULL,
+    EMPLOYEE_ID  NUMBER(10),
+    VOTER_NUMBER VARCHAR2(50),
+    CITY         VARCHAR2(100),
+    CONSTRAINT pk_voterid PRIMARY KEY (VOTER_ID),
+    CONSTRAINT fk_voterid_employee FOREIGN KEY (EMPLOYEE_ID) REFERENCES employee (EMPLOYEE_ID)
+);
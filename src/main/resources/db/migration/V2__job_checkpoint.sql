@@ -0,0 +1,6 @@
+-- High-water marks of the incremental scheduled jobs
+CREATE TABLE job_checkpoint (
+    JOB_NAME        VARCHAR2(100) NOT NULL,
+    HIGH_WATER_MARK TIMESTAMP,
+    CONSTRAINT pk_job_checkpoint PRIMARY KEY (JOB_NAME)
+);
@@ -0,0 +1,9 @@
+-- findByManagerId
+CREATE INDEX idx_employee_manager_id ON employee (MANAGER_ID);
+
+-- findBySalaryGreaterThan and the taxable-salary notifier
+CREATE INDEX idx_employee_salary ON employee (SALARY);
+
+-- Phone numbers and voter IDs are always looked up through their owning employee
+CREATE INDEX idx_phone_number_employee_id ON phone_number (EMPLOYEE_ID);
+CREATE INDEX idx_voterid_employee_id ON VoterID (EMPLOYEE_ID);
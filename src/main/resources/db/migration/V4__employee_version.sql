@@ -0,0 +1,2 @@
+-- Optimistic locking for Employee (@Version). Existing rows start at version 0.
+ALTER TABLE employee ADD VERSION NUMBER(19) DEFAULT 0 NOT NULL;
@@ -0,0 +1,7 @@
+-- GET /employees/search: name prefix (LIKE 'abc%')
+CREATE INDEX idx_employee_name ON employee (EMP_NAME);
+
+-- City and provider filters are EXISTS subqueries; leading with the filter column lets the
+-- optimizer drive a semi-join from the few matching rows, and EMPLOYEE_ID makes it index-only
+CREATE INDEX idx_voterid_city_employee ON VoterID (CITY, EMPLOYEE_ID);
+CREATE INDEX idx_phone_provider_employee ON phone_number (PROVIDER, EMPLOYEE_ID);
@@ -0,0 +1,27 @@
+-- Payroll snapshots written by the snapshot job; rows are inserted once and never updated
+CREATE SEQUENCE payroll_snapshot_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE payroll_snapshot (
+    SNAPSHOT_ID       NUMBER(19)    NOT NULL,
+    CREATED_DATETIME  TIMESTAMP     NOT NULL,
+    TAXABLE_THRESHOLD NUMBER(14, 2) NOT NULL,
+    HEADCOUNT         NUMBER(10)    NOT NULL,
+    TAXABLE_HEADCOUNT NUMBER(10)    NOT NULL,
+    TOTAL_SALARY      NUMBER(19, 2) NOT NULL,
+    TOTAL_TAXABLE     NUMBER(19, 2) NOT NULL,
+    PARALLELISM       NUMBER(5)     NOT NULL,
+    PARTITIONS        NUMBER(10)    NOT NULL,
+    ELAPSED_MILLIS    NUMBER(19)    NOT NULL,
+    CONSTRAINT pk_payroll_snapshot PRIMARY KEY (SNAPSHOT_ID)
+);
+
+-- One row per salary band: LOWER_BOUND <= SALARY < the next band's LOWER_BOUND
+CREATE TABLE payroll_snapshot_band (
+    SNAPSHOT_ID   NUMBER(19)    NOT NULL,
+    LOWER_BOUND   NUMBER(14, 2) NOT NULL,
+    HEADCOUNT     NUMBER(10)    NOT NULL,
+    TOTAL_SALARY  NUMBER(19, 2) NOT NULL,
+    TOTAL_TAXABLE NUMBER(19, 2) NOT NULL,
+    CONSTRAINT pk_payroll_snapshot_band PRIMARY KEY (SNAPSHOT_ID, LOWER_BOUND),
+    CONSTRAINT fk_payroll_snapshot_band_snapshot FOREIGN KEY (SNAPSHOT_ID) REFERENCES payroll_snapshot (SNAPSHOT_ID)
+);
@@ -0,0 +1,12 @@
+-- Change events written in the same transaction as the employee write. The relay appends them to
+-- the local change log and deletes them, so the table only holds events not yet relayed
+CREATE SEQUENCE employee_outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE employee_outbox (
+    EVENT_ID         NUMBER(19)     NOT NULL,
+    EMPLOYEE_ID      NUMBER(10)     NOT NULL,
+    CHANGE_TYPE      VARCHAR2(10)   NOT NULL,
+    CREATED_DATETIME TIMESTAMP      NOT NULL,
+    PAYLOAD          VARCHAR2(4000) NOT NULL,
+    CONSTRAINT pk_employee_outbox PRIMARY KEY (EVENT_ID)
+);
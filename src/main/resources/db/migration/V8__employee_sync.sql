@@ -0,0 +1,15 @@
+-- Delta sync (GET /employees/sync): employees are read in (change time, EMPLOYEE_ID) order, where
+-- the change time is UPDATED_DATETIME, or CREATED_DATETIME for rows never updated
+CREATE INDEX idx_employee_updated ON employee (UPDATED_DATETIME, EMPLOYEE_ID);
+CREATE INDEX idx_employee_created ON employee (CREATED_DATETIME, EMPLOYEE_ID);
+
+-- One row per deleted employee so sync clients learn about deletes; purged after the retention
+-- period, after which older sync tokens are refused
+CREATE TABLE employee_tombstone (
+    EMPLOYEE_ID      NUMBER(10)  NOT NULL,
+    MANAGER_ID       NUMBER(10),
+    DELETED_DATETIME TIMESTAMP   NOT NULL,
+    CONSTRAINT pk_employee_tombstone PRIMARY KEY (EMPLOYEE_ID)
+);
+
+CREATE INDEX idx_employee_tombstone_deleted ON employee_tombstone (DELETED_DATETIME, EMPLOYEE_ID);
@@ -0,0 +1,4 @@
+-- Event IDs one at a time and uncached, so that for any one employee they follow commit order even
+-- with several application instances (or RAC nodes); compaction of the change log relies on it.
+-- The pooled generator used a block's highest value as its upper bound, so no ID is handed out twice
+ALTER SEQUENCE employee_outbox_seq INCREMENT BY 1 NOCACHE;
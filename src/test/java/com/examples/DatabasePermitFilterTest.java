@@ -0,0 +1,123 @@
+package com.examples;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.employeemanagementsystem.DatabasePermitFilter;
+
+/**
+ * The permit filter caps concurrent requests at its permit count under a burst, turns away the
+ * overflow with 503 once the timeout passes, and holds a permit across an async response (except
+ * for the SSE change stream, which never touches a connection).
+ */
+class DatabasePermitFilterTest {
+
+	@Test
+	void burstNeverExceedsThePermits() throws Exception {
+		int permits = 4;
+		DatabasePermitFilter filter = new DatabasePermitFilter(permits, Duration.ofSeconds(10));
+		AtomicInteger inFlight = new AtomicInteger();
+		AtomicInteger maxInFlight = new AtomicInteger();
+		ExecutorService clients = Executors.newFixedThreadPool(32);
+		try {
+			Future<?>[] requests = new Future<?>[200];
+			for (int i = 0; i < requests.length; i++) {
+				requests[i] = clients.submit(() -> {
+					filter.doFilter(new MockHttpServletRequest("GET", "/employees/1"), new MockHttpServletResponse(),
+							(request, response) -> {
+								maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+								LockSupport.parkNanos(1_000_000);
+								inFlight.decrementAndGet();
+							});
+					return null;
+				});
+			}
+			for (Future<?> request : requests) {
+				request.get();
+			}
+		} finally {
+			clients.shutdownNow();
+		}
+
+		assertThat(maxInFlight.get()).isLessThanOrEqualTo(permits);
+		assertThat(filter.availablePermits()).isEqualTo(permits);
+		assertThat(filter.rejectedRequests()).isZero();
+	}
+
+	@Test
+	void overflowIsRejectedAfterTheTimeout() throws Exception {
+		DatabasePermitFilter filter = new DatabasePermitFilter(1, Duration.ofMillis(50));
+		CountDownLatch holding = new CountDownLatch(1);
+		CountDownLatch finish = new CountDownLatch(1);
+		Thread holder = new Thread(() -> {
+			try {
+				filter.doFilter(new MockHttpServletRequest("GET", "/employees/1"), new MockHttpServletResponse(),
+						(request, response) -> {
+							holding.countDown();
+							awaitUninterruptibly(finish);
+						});
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		holder.start();
+		holding.await();
+
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(new MockHttpServletRequest("GET", "/employees/2"), response, (req, res) -> {
+			throw new AssertionError("must not reach the controller");
+		});
+		finish.countDown();
+		holder.join(TimeUnit.SECONDS.toMillis(5));
+
+		assertThat(response.getStatus()).isEqualTo(503);
+		assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+		assertThat(filter.rejectedRequests()).isEqualTo(1);
+		assertThat(filter.availablePermits()).isEqualTo(1);
+	}
+
+	@Test
+	void asyncResponseKeepsItsPermitUntilComplete() throws Exception {
+		DatabasePermitFilter filter = new DatabasePermitFilter(1, Duration.ofMillis(10));
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/employees/export");
+		request.setAsyncSupported(true);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(request, response, (req, res) -> req.startAsync());
+		assertThat(filter.availablePermits()).isZero();
+
+		((MockAsyncContext) request.getAsyncContext()).complete();
+		assertThat(filter.availablePermits()).isEqualTo(1);
+	}
+
+	@Test
+	void changeStreamDoesNotTakeAPermit() throws Exception {
+		DatabasePermitFilter filter = new DatabasePermitFilter(1, Duration.ofMillis(10));
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/employees/changes/stream");
+		request.setServletPath("/employees/changes/stream");
+		request.setAsyncSupported(true);
+
+		filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+
+		assertThat(filter.availablePermits()).isEqualTo(1);
+	}
+
+	private static void awaitUninterruptibly(CountDownLatch latch) {
+		while (latch.getCount() > 0) {
+			LockSupport.parkNanos(1_000_000);
+		}
+	}
+}
@@ -0,0 +1,240 @@
+package com.examples;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.employeemanagementsystem.BulkCreateResponseDTO;
+import com.employeemanagementsystem.BulkRowResultDTO;
+import com.employeemanagementsystem.Employee;
+import com.employeemanagementsystem.EmployeeBulkService;
+import com.employeemanagementsystem.EmployeeCache;
+import com.employeemanagementsystem.EmployeeController;
+import com.employeemanagementsystem.EmployeeDTO;
+import com.employeemanagementsystem.EmployeeLookupIndex;
+import com.employeemanagementsystem.EmployeeManagementSystemApplication;
+import com.employeemanagementsystem.EmployeeOrgChart;
+import com.employeemanagementsystem.EmployeeOutbox;
+import com.employeemanagementsystem.EmployeeOutboxRepository;
+import com.employeemanagementsystem.EmployeeRepository;
+import com.employeemanagementsystem.EmployeeService;
+import com.employeemanagementsystem.EmployeeTombstoneRepository;
+import com.employeemanagementsystem.PhoneNumberDTO;
+import com.employeemanagementsystem.PhoneNumberRepository;
+import com.employeemanagementsystem.SalaryStatsService;
+import com.employeemanagementsystem.VoterIDRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+
+/**
+ * POST /employees/bulk inserts valid rows in chunks, reports invalid ones without touching the
+ * database, and replays a failed chunk row by row so only the offending row fails. Created rows go
+ * through the same outbox, cache and index updates as a single create.
+ */
+@DataJpaTest
+@ContextConfiguration(classes = EmployeeManagementSystemApplication.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmployeeBulkCreateTest {
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private EmployeeOutboxRepository outboxRepository;
+
+	@Autowired
+	private EmployeeTombstoneRepository tombstoneRepository;
+
+	@Autowired
+	private PhoneNumberRepository phoneNumberRepository;
+
+	@Autowired
+	private VoterIDRepository voterIDRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules()
+			.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+
+	private TransactionTemplate transactionTemplate;
+	private EmployeeCache employeeCache;
+	private EmployeeOrgChart orgChart;
+	private EmployeeBulkService bulkService;
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		transactionTemplate = new TransactionTemplate(transactionManager);
+		employeeCache = new EmployeeCache(100, Duration.ofMinutes(10), 1_000);
+		orgChart = new EmployeeOrgChart();
+		EmployeeService employeeService = new EmployeeService(employeeRepository);
+		ReflectionTestUtils.setField(employeeService, "phoneNumberRepository", phoneNumberRepository);
+		ReflectionTestUtils.setField(employeeService, "voterIDRepository", voterIDRepository);
+		ReflectionTestUtils.setField(employeeService, "employeeCache", employeeCache);
+		ReflectionTestUtils.setField(employeeService, "employeeLookupIndex", new EmployeeLookupIndex());
+		ReflectionTestUtils.setField(employeeService, "employeeOrgChart", orgChart);
+		ReflectionTestUtils.setField(employeeService, "salaryStatsService",
+				new SalaryStatsService(employeeRepository, transactionManager));
+		ReflectionTestUtils.setField(employeeService, "employeeOutbox", new EmployeeOutbox(outboxRepository, tombstoneRepository, objectMapper));
+
+		bulkService = new EmployeeBulkService(Validation.buildDefaultValidatorFactory().getValidator(), objectMapper,
+				transactionManager, employeeService);
+		ReflectionTestUtils.setField(bulkService, "entityManager", entityManager);
+		ReflectionTestUtils.setField(bulkService, "chunkSize", 4);
+		ReflectionTestUtils.setField(bulkService, "maxRows", 20);
+		mockMvc = MockMvcBuilders.standaloneSetup(new EmployeeController(employeeService, null, bulkService, null,
+				null, null, null, null, null)).build();
+	}
+
+	@AfterEach
+	void tearDown() {
+		transactionTemplate.executeWithoutResult(status -> {
+			outboxRepository.deleteAllInBatch();
+			phoneNumberRepository.deleteAllInBatch();
+			employeeRepository.deleteAll();
+		});
+	}
+
+	@Test
+	void aFailedChunkIsReplayedRowByRow() {
+		// Already in the table: fails the second chunk at flush time, not in validation
+		transactionTemplate.executeWithoutResult(status -> employeeRepository.save(entity(6)));
+		employeeCache.putTeam(101, List.of());
+
+		List<EmployeeDTO> rows = new ArrayList<>();
+		for (int id = 1; id <= 10; id++) {
+			rows.add(dto(id, 101));
+		}
+		BulkCreateResponseDTO response = bulkService.createEmployees(rows);
+
+		assertThat(response.getTotal()).isEqualTo(10);
+		assertThat(response.getCreated()).isEqualTo(9);
+		assertThat(response.getFailed()).isEqualTo(1);
+		assertThat(response.getResults().get(5).getStatus()).isEqualTo(BulkRowResultDTO.FAILED);
+		assertThat(response.getResults().get(5).getEmployeeId()).isEqualTo(6);
+		assertThat(response.getResults()).filteredOn(result -> result.getIndex() != 5)
+				.extracting(BulkRowResultDTO::getStatus).containsOnly(BulkRowResultDTO.CREATED);
+
+		assertThat(employeeRepository.count()).isEqualTo(10);
+		assertThat(phoneNumberRepository.count()).isEqualTo(9);
+		// One outbox event per created row, and nothing for the rolled back chunk
+		assertThat(outboxRepository.count()).isEqualTo(9);
+		assertThat(orgChart.isInTeamOf(9, 101)).isTrue();
+		assertThat(employeeCache.getTeam(101, managerId -> null)).isNull();
+	}
+
+	@Test
+	void invalidRowsAndCyclesAreReportedWithoutBeingInserted() {
+		// Employee 103 reports to employee 7, so 7 cannot report to 103
+		orgChart.put(103, 7);
+
+		EmployeeDTO badName = dto(1, 101);
+		badName.setName("Not 4 letters");
+		List<EmployeeDTO> rows = List.of(badName, dto(2, 101), dto(2, 102), dto(7, 103), dto(103, 103), dto(8, 104));
+		BulkCreateResponseDTO response = bulkService.createEmployees(rows);
+
+		assertThat(response.getResults()).extracting(BulkRowResultDTO::getStatus).containsExactly(
+				BulkRowResultDTO.INVALID, BulkRowResultDTO.CREATED, BulkRowResultDTO.INVALID, BulkRowResultDTO.INVALID,
+				BulkRowResultDTO.INVALID, BulkRowResultDTO.CREATED);
+		assertThat(response.getResults().get(2).getErrors()).containsExactly("employeeId: duplicated within the request");
+		assertThat(response.getResults().get(3).getErrors().get(0)).startsWith("managerId:");
+		assertThat(response.getResults().get(4).getErrors().get(0)).startsWith("managerId:");
+		assertThat(employeeRepository.findAll()).extracting(Employee::getEmployeeId).containsExactlyInAnyOrder(2, 8);
+	}
+
+	@Test
+	void rowsThatWouldManageEachOtherAreCaughtBeforeTheyAreInserted() {
+		// 105 reports to 103, which is not an employee yet
+		orgChart.put(105, 103);
+
+		List<EmployeeDTO> rows = List.of(dto(101, 102), dto(102, 101), dto(103, 104), dto(104, 105), dto(1, 103));
+		BulkCreateResponseDTO response = bulkService.createEmployees(rows);
+
+		// 102 -> 101 -> 102, and 104 -> 105 -> 103 -> 104 once 103 has joined
+		assertThat(response.getResults()).extracting(BulkRowResultDTO::getStatus).containsExactly(
+				BulkRowResultDTO.CREATED, BulkRowResultDTO.INVALID, BulkRowResultDTO.CREATED, BulkRowResultDTO.INVALID,
+				BulkRowResultDTO.CREATED);
+		assertThat(response.getResults().get(1).getErrors())
+				.containsExactly("managerId: employee 101 reports to employee 102");
+		assertThat(response.getResults().get(3).getErrors())
+				.containsExactly("managerId: employee 105 reports to employee 104");
+		assertThat(orgChart.chainOfCommand(1)).containsExactly(103, 104);
+	}
+
+	@Test
+	void endpointAcceptsNdjsonAndRejectsMalformedBodies() throws Exception {
+		String body = objectMapper.writeValueAsString(dto(1, 101)) + "\n" + objectMapper.writeValueAsString(dto(2, 102));
+		mockMvc.perform(post("/employees/bulk").contentType(MediaType.APPLICATION_NDJSON).content(body))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.created").value(2))
+				.andExpect(jsonPath("$.results[1].status").value(BulkRowResultDTO.CREATED));
+
+		mockMvc.perform(post("/employees/bulk").contentType(MediaType.APPLICATION_JSON).content("[{\"employeeId\": 3,"))
+				.andExpect(status().isBadRequest());
+		String tooMany = IntStream.rangeClosed(10, 30)
+				.mapToObj(id -> "{\"employeeId\": " + id + "}").collect(Collectors.joining("\n"));
+		mockMvc.perform(post("/employees/bulk").contentType(MediaType.APPLICATION_NDJSON).content(tooMany))
+				.andExpect(status().isBadRequest());
+		assertThat(employeeRepository.count()).isEqualTo(2);
+	}
+
+	private static EmployeeDTO dto(int id, int managerId) {
+		EmployeeDTO employeeDTO = new EmployeeDTO();
+		employeeDTO.setEmployeeId(id);
+		employeeDTO.setName("Employee");
+		employeeDTO.setDob(LocalDate.of(1990, 1, 1));
+		employeeDTO.setManagerId(managerId);
+		employeeDTO.setSalary(new BigDecimal("50000.00"));
+		employeeDTO.setEmailId("employee" + id + "@example.com");
+		PhoneNumberDTO phoneNumberDTO = new PhoneNumberDTO();
+		phoneNumberDTO.setPhoneId(id);
+		phoneNumberDTO.setPhoneNumber("98765" + (10000 + id));
+		phoneNumberDTO.setProvider("Jio");
+		phoneNumberDTO.setType("MOBILE");
+		employeeDTO.setPhoneNumbers(List.of(phoneNumberDTO));
+		return employeeDTO;
+	}
+
+	private static Employee entity(int id) {
+		Employee employee = new Employee();
+		employee.setEmployeeId(id);
+		employee.setName("Employee");
+		employee.setDob(LocalDate.of(1990, 1, 1));
+		employee.setManagerId(101);
+		employee.setSalary(new BigDecimal("50000.00"));
+		employee.setEmailId("employee" + id + "@example.com");
+		return employee;
+	}
+}
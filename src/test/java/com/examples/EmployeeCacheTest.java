@@ -0,0 +1,161 @@
+package com.examples;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.employeemanagementsystem.Employee;
+import com.employeemanagementsystem.EmployeeCache;
+import com.employeemanagementsystem.EmployeeCacheStatsDTO;
+import com.employeemanagementsystem.EmployeeDTO;
+import com.employeemanagementsystem.EmployeeManagementSystemApplication;
+import com.employeemanagementsystem.EmployeeRepository;
+import com.employeemanagementsystem.EmployeeService;
+
+/**
+ * GET /employees/{id} reads through EmployeeCache: hits and misses are counted for /cache/stats,
+ * entries are bounded by size and TTL, and an update cannot leave a stale DTO behind even when a
+ * concurrent reader reloads the old row while the update is still uncommitted.
+ */
+@DataJpaTest
+@ContextConfiguration(classes = EmployeeManagementSystemApplication.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmployeeCacheTest {
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private TransactionTemplate transactionTemplate;
+	private EmployeeCache cache;
+	private EmployeeService employeeService;
+
+	@BeforeEach
+	void setUp() {
+		transactionTemplate = new TransactionTemplate(transactionManager);
+		cache = new EmployeeCache(100, Duration.ofMinutes(10), 1_000);
+		employeeService = new EmployeeService(employeeRepository);
+		ReflectionTestUtils.setField(employeeService, "employeeCache", cache);
+		transactionTemplate.executeWithoutResult(status -> {
+			employeeRepository.save(employee(1));
+			employeeRepository.save(employee(2));
+		});
+	}
+
+	@AfterEach
+	void tearDown() {
+		transactionTemplate.executeWithoutResult(status -> employeeRepository.deleteAll());
+	}
+
+	@Test
+	void readsThroughAndCountsHitsAndMisses() {
+		EmployeeDTO first = employeeService.getEmployeeDTO(1).orElseThrow();
+		assertThat(employeeService.getEmployeeDTO(1).orElseThrow()).isSameAs(first);
+		assertThat(employeeService.getEmployeeDTO(2)).isPresent();
+		// Unknown IDs are looked up every time rather than cached as absent
+		assertThat(employeeService.getEmployeeDTO(99)).isEmpty();
+		assertThat(employeeService.getEmployeeDTO(99)).isEmpty();
+
+		EmployeeCacheStatsDTO stats = employeeService.getCacheStats();
+		assertThat(stats.getHitCount()).isEqualTo(1);
+		assertThat(stats.getMissCount()).isEqualTo(4);
+		assertThat(stats.getSize()).isEqualTo(2);
+		assertThat(stats.getHitRate()).isEqualTo(0.2);
+	}
+
+	@Test
+	void entriesAreBoundedBySizeAndTtl() throws InterruptedException {
+		EmployeeCache small = new EmployeeCache(10, Duration.ofMinutes(10), 1_000);
+		for (int id = 1; id <= 100; id++) {
+			small.put(id, new EmployeeDTO());
+		}
+		EmployeeCacheStatsDTO stats = small.stats();
+		assertThat(stats.getSize()).isEqualTo(10);
+		assertThat(stats.getEvictionCount()).isEqualTo(90);
+
+		EmployeeCache shortLived = new EmployeeCache(10, Duration.ofMillis(50), 1_000);
+		shortLived.put(1, new EmployeeDTO());
+		assertThat(shortLived.getIfPresent(1)).isNotNull();
+		Thread.sleep(200);
+		assertThat(shortLived.getIfPresent(1)).isNull();
+	}
+
+	@Test
+	void updateEvictsAgainAfterCommitWhatAConcurrentReaderReloaded() {
+		employeeService.getEmployeeDTO(1);
+		ExecutorService reader = Executors.newSingleThreadExecutor();
+		try {
+			transactionTemplate.executeWithoutResult(status -> {
+				Employee employee = employeeRepository.findById(1).orElseThrow();
+				employee.setSalary(new BigDecimal("60000.00"));
+				employeeRepository.flush();
+				cache.invalidate(1);
+				assertThat(cache.getIfPresent(1)).isNull();
+
+				// Another request misses and caches the row as last committed, before this commit
+				EmployeeDTO stale = await(reader, () -> employeeService.getEmployeeDTO(1).orElseThrow());
+				assertThat(stale.getSalary()).isEqualByComparingTo("50000.00");
+				assertThat(cache.getIfPresent(1)).isSameAs(stale);
+			});
+		} finally {
+			reader.shutdown();
+		}
+
+		assertThat(cache.getIfPresent(1)).isNull();
+		assertThat(employeeService.getEmployeeDTO(1).orElseThrow().getSalary()).isEqualByComparingTo("60000.00");
+	}
+
+	@Test
+	void rolledBackUpdateAlsoEvicts() {
+		employeeService.getEmployeeDTO(1);
+		transactionTemplate.executeWithoutResult(status -> {
+			cache.invalidate(1);
+			employeeService.getEmployeeDTO(1);
+			status.setRollbackOnly();
+		});
+		assertThat(cache.getIfPresent(1)).isNull();
+
+		// Outside a transaction the eviction is immediate and final
+		employeeService.getEmployeeDTO(2);
+		cache.invalidate(2);
+		assertThat(cache.getIfPresent(2)).isNull();
+	}
+
+	private static <T> T await(ExecutorService executor, Callable<T> task) {
+		try {
+			return executor.submit(task).get();
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static Employee employee(int id) {
+		Employee employee = new Employee();
+		employee.setEmployeeId(id);
+		employee.setName("Employee");
+		employee.setDob(LocalDate.of(1990, 1, 1));
+		employee.setManagerId(101);
+		employee.setSalary(new BigDecimal("50000.00"));
+		employee.setEmailId("employee" + id + "@example.com");
+		return employee;
+	}
+}
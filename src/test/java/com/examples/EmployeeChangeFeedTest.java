@@ -0,0 +1,276 @@
+package com.examples;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.employeemanagementsystem.EmployeeChangeDTO;
+import com.employeemanagementsystem.EmployeeChangeFeed;
+import com.employeemanagementsystem.EmployeeChangeFeedScheduler;
+import com.employeemanagementsystem.EmployeeChangeLog;
+import com.employeemanagementsystem.EmployeeChangeLog.ChangeRecord;
+import com.employeemanagementsystem.EmployeeOutboxRelay;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Subscribers of the SSE change feed get what is appended to the change log, filtered by manager,
+ * can resume from the last event ID, and are disconnected instead of buffering without bound when
+ * they stop reading. The relay and the heartbeat run on a thread of their own. Fan-out throughput
+ * is in EmployeeChangeFeedBenchmark.
+ */
+class EmployeeChangeFeedTest {
+
+	private static final int SUBSCRIBERS = 50;
+
+	@TempDir
+	Path directory;
+
+	private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules()
+			.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+
+	private EmployeeChangeLog changeLog;
+	private EmployeeChangeFeed feed;
+	private MockMvc mockMvc;
+	private SseEmitter lastEmitter;
+
+	@AfterEach
+	void close() throws Exception {
+		feed.stop();
+		changeLog.destroy();
+	}
+
+	@Test
+	void pushesAppendedChangesFilteredByManager() throws Exception {
+		open(256, 10_000);
+		MvcResult all = subscribe(null, null);
+		MvcResult team = subscribe(101, null);
+
+		append(change(EmployeeChangeDTO.CREATED, 1, 101, null));
+		append(change(EmployeeChangeDTO.CREATED, 2, 102, null));
+		// Moved from 101 to 102: both teams see it
+		append(change(EmployeeChangeDTO.UPDATED, 1, 102, 101));
+		append(change(EmployeeChangeDTO.DELETED, 2, 102, null));
+
+		awaitEvents(all, 4);
+		awaitEvents(team, 2);
+		assertThat(ids(all)).containsExactly("0", "1", "2", "3");
+		assertThat(ids(team)).containsExactly("0", "2");
+		assertThat(content(team)).contains("event:CREATED", "event:UPDATED", "\"previousManagerId\":101");
+	}
+
+	@Test
+	void resumesAfterTheLastEventId() throws Exception {
+		open(256, 10_000);
+		for (int i = 0; i < 5; i++) {
+			append(change(EmployeeChangeDTO.UPDATED, i, 101, null));
+		}
+
+		MvcResult resumed = subscribe(null, "2");
+		append(change(EmployeeChangeDTO.UPDATED, 5, 101, null));
+
+		awaitEvents(resumed, 3);
+		assertThat(ids(resumed)).containsExactly("3", "4", "5");
+	}
+
+	@Test
+	void asksForAReloadWhenTheBacklogIsTooLargeToReplay() throws Exception {
+		open(256, 3);
+		for (int i = 0; i < 10; i++) {
+			append(change(EmployeeChangeDTO.UPDATED, i, 101, null));
+		}
+
+		MvcResult resumed = subscribe(null, "1");
+		append(change(EmployeeChangeDTO.UPDATED, 10, 101, null));
+
+		awaitEvents(resumed, 2);
+		assertThat(content(resumed)).contains("event:RESET", "\"endOffset\":10");
+		// The reset moves Last-Event-ID to the end, then live changes follow
+		assertThat(ids(resumed)).containsExactly("9", "10");
+	}
+
+	@Test
+	void catchesUpFromTheLogAfterABurstLargerThanItsBuffer() throws Exception {
+		open(4, 10_000);
+		MvcResult result = subscribe(null, null);
+
+		for (int i = 0; i < 100; i++) {
+			append(change(EmployeeChangeDTO.UPDATED, i, 101, null));
+		}
+
+		awaitEvents(result, 100);
+		assertThat(ids(result)).hasSize(100).first().isEqualTo("0");
+		assertThat(ids(result)).last().isEqualTo("99");
+		assertThat(feed.evictedSubscribers()).isZero();
+	}
+
+	@Test
+	void disconnectsASubscriberThatFallsTooFarBehind() throws Exception {
+		open(4, 50);
+		MvcResult slow = subscribe(null, null);
+		SseEmitter emitter = lastEmitter;
+		MvcResult fast = subscribe(null, null);
+
+		// Holding the emitter's monitor blocks its sends, as a client that stopped reading would
+		synchronized (emitter) {
+			for (int batch = 0; batch < 10; batch++) {
+				for (int i = 0; i < 10; i++) {
+					append(change(EmployeeChangeDTO.UPDATED, batch * 10 + i, 101, null));
+				}
+				awaitEvents(fast, batch * 10 + 10);
+			}
+			assertThat(feed.evictedSubscribers()).isEqualTo(1);
+			assertThat(feed.subscriberCount()).isEqualTo(1);
+		}
+
+		assertThat(ids(fast)).hasSize(100);
+		// Whatever was queued is dropped and the stream is closed once the blocked send returns
+		await(() -> slow.getResponse().getContentAsString().length() > 0);
+		LockSupport.parkNanos(Duration.ofMillis(100).toNanos());
+		assertThat(ids(slow).size()).isLessThan(10);
+	}
+
+	@Test
+	void fansOutEveryChangeToEachSubscriberOfTheTeam() throws Exception {
+		open(256, 10_000);
+		List<MvcResult> results = new ArrayList<>(SUBSCRIBERS);
+		for (int i = 0; i < SUBSCRIBERS; i++) {
+			results.add(subscribe(101 + i % 5, null));
+		}
+		int changes = 100;
+
+		for (int i = 0; i < changes; i++) {
+			append(change(EmployeeChangeDTO.UPDATED, i, 101 + i % 5, null));
+		}
+		for (int i = 0; i < SUBSCRIBERS; i++) {
+			awaitEvents(results.get(i), changes / 5);
+			// The offsets of the team's changes, in order
+			assertThat(ids(results.get(i))).containsExactlyElementsOf(
+					IntStream.iterate(i % 5, offset -> offset < changes, offset -> offset + 5).mapToObj(String::valueOf).toList());
+		}
+
+		assertThat(feed.sentEvents()).isEqualTo((long) SUBSCRIBERS * changes / 5);
+		assertThat(feed.subscriberCount()).isEqualTo(SUBSCRIBERS);
+	}
+
+	@Test
+	void relayAndHeartbeatKeepRunningOnTheirOwnThread() throws Exception {
+		open(256, 10_000);
+		List<String> relayThreads = new CopyOnWriteArrayList<>();
+		EmployeeOutboxRelay relay = mock(EmployeeOutboxRelay.class);
+		doAnswer(invocation -> {
+			relayThreads.add(Thread.currentThread().getName());
+			throw new IllegalStateException("Database unavailable");
+		}).when(relay).scheduledRelay();
+		EmployeeChangeFeedScheduler scheduler = new EmployeeChangeFeedScheduler(relay, feed, 5, 20);
+		MvcResult idle = subscribe(null, null);
+
+		scheduler.afterSingletonsInstantiated();
+		try {
+			// A failed relay run is tried again, and the heartbeat goes on meanwhile
+			await(() -> relayThreads.size() >= 3 && content(idle).contains(":heartbeat"));
+		} finally {
+			scheduler.stop();
+		}
+		assertThat(relayThreads).allMatch(name -> name.startsWith("change-feed-scheduler-"));
+	}
+
+	private void open(int bufferSize, int maxReplay) throws IOException {
+		changeLog = new EmployeeChangeLog(directory.toString(), DataSize.ofMegabytes(16), Duration.ofDays(7), false, true);
+		feed = new EmployeeChangeFeed(changeLog, objectMapper, new SimpleMeterRegistry(), bufferSize, 10_000, maxReplay,
+				4, Duration.ofMinutes(5));
+		mockMvc = MockMvcBuilders.standaloneSetup(new StreamController()).build();
+	}
+
+	private MvcResult subscribe(Integer managerId, String lastEventId) throws Exception {
+		var builder = get("/stream");
+		if (managerId != null) {
+			builder.param("managerId", managerId.toString());
+		}
+		if (lastEventId != null) {
+			builder.header("Last-Event-ID", lastEventId);
+		}
+		return mockMvc.perform(builder).andExpect(request().asyncStarted()).andReturn();
+	}
+
+	private void append(EmployeeChangeDTO change) throws IOException {
+		changeLog.append(List.of(new ChangeRecord(changeLog.endOffset(), change.getEmployeeId(), 0, changeLog.endOffset(),
+				System.currentTimeMillis(), objectMapper.writeValueAsBytes(change))));
+	}
+
+	private static EmployeeChangeDTO change(String changeType, int employeeId, int managerId, Integer previousManagerId) {
+		EmployeeChangeDTO change = new EmployeeChangeDTO();
+		change.setChangeType(changeType);
+		change.setEmployeeId(employeeId);
+		change.setManagerId(managerId);
+		change.setPreviousManagerId(previousManagerId);
+		return change;
+	}
+
+	private static String content(MvcResult result) {
+		try {
+			return result.getResponse().getContentAsString();
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static List<String> ids(MvcResult result) {
+		return content(result).lines().filter(line -> line.startsWith("id:")).map(line -> line.substring(3)).toList();
+	}
+
+	private static void awaitEvents(MvcResult result, int events) throws Exception {
+		await(() -> ids(result).size() >= events);
+	}
+
+	private static void await(Condition condition) throws Exception {
+		long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+		while (!condition.met()) {
+			assertThat(System.nanoTime()).as("condition not met within 10s").isLessThan(deadline);
+			LockSupport.parkNanos(1_000_000);
+		}
+	}
+
+	private interface Condition {
+		boolean met() throws Exception;
+	}
+
+	@RestController
+	class StreamController {
+
+		@GetMapping("/stream")
+		ResponseEntity<SseEmitter> stream(@RequestParam(required = false) Integer managerId,
+				@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) throws IOException {
+			lastEmitter = feed.subscribe(managerId, lastEventId);
+			return ResponseEntity.ok(lastEmitter);
+		}
+	}
+}
@@ -0,0 +1,257 @@
+package com.examples;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.AdditionalAnswers;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import com.employeemanagementsystem.EmployeeChangeLog;
+import com.employeemanagementsystem.EmployeeChangeLog.ChangeRecord;
+
+/**
+ * Segment rolling, reads by offset, crash recovery, failed writes, retention and compaction of the
+ * change log. Append and read throughput are in EmployeeChangeLogBenchmark.
+ */
+class EmployeeChangeLogTest {
+
+	private static final long DAY_MILLIS = Duration.ofDays(1).toMillis();
+
+	@TempDir
+	Path directory;
+
+	private final List<EmployeeChangeLog> opened = new ArrayList<>();
+
+	@AfterEach
+	void close() throws IOException {
+		for (EmployeeChangeLog log : opened) {
+			log.destroy();
+		}
+	}
+
+	@Test
+	void readsByOffsetAcrossSegments() throws IOException {
+		EmployeeChangeLog log = open(DataSize.ofKilobytes(8));
+		for (int batch = 0; batch < 100; batch++) {
+			List<ChangeRecord> records = new ArrayList<>();
+			for (int i = 0; i < 37; i++) {
+				int n = batch * 37 + i;
+				records.add(record(n, n % 50, 1_000L + n));
+			}
+			assertThat(log.append(records)).isEqualTo(batch * 37L);
+		}
+
+		assertThat(log.endOffset()).isEqualTo(3700);
+		assertThat(log.segmentCount()).isGreaterThan(10);
+		for (long from : new long[] { 0, 1, 999, 1234, 3699 }) {
+			List<ChangeRecord> read = log.read(from, 500);
+			assertThat(read).hasSize((int) Math.min(500, 3700 - from));
+			for (int i = 0; i < read.size(); i++) {
+				ChangeRecord record = read.get(i);
+				assertThat(record.getOffset()).isEqualTo(from + i);
+				assertThat(record.getEventId()).isEqualTo(from + i);
+				assertThat(payload(record)).isEqualTo(payload((int) (from + i)));
+			}
+		}
+		assertThat(log.read(3700, 10)).isEmpty();
+	}
+
+	@Test
+	void recoveryDropsATornRecordAndContinuesTheOffsets() throws IOException {
+		EmployeeChangeLog log = open(DataSize.ofMegabytes(1));
+		log.append(List.of(record(0, 1, 1_000), record(1, 2, 1_000), record(2, 3, 1_000)));
+		log.destroy();
+		opened.remove(log);
+
+		// Half a record, as a crash in the middle of a write leaves it
+		Path segment;
+		try (Stream<Path> files = Files.list(directory)) {
+			segment = files.filter(file -> file.toString().endsWith(".log")).findFirst().orElseThrow();
+		}
+		long intact = Files.size(segment);
+		try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+			channel.write(ByteBuffer.wrap(new byte[] { 0, 0, 0, 64, 1, 2, 3, 4, 5, 6 }));
+		}
+
+		EmployeeChangeLog reopened = open(DataSize.ofMegabytes(1));
+		assertThat(Files.size(segment)).isEqualTo(intact);
+		assertThat(reopened.endOffset()).isEqualTo(3);
+		assertThat(reopened.append(List.of(record(3, 4, 1_000)))).isEqualTo(3);
+		assertThat(reopened.read(0, 10)).extracting(ChangeRecord::getEmployeeId).containsExactly(1, 2, 3, 4);
+	}
+
+	@Test
+	void aFailedWriteIsRolledBackSoTheBatchCanBeAppendedAgain() throws IOException {
+		EmployeeChangeLog log = open(DataSize.ofMegabytes(1));
+		List<ChangeRecord> first = new ArrayList<>();
+		List<ChangeRecord> second = new ArrayList<>();
+		for (int i = 0; i < 40; i++) {
+			(i < 20 ? first : second).add(record(i, i, 1_000L + i, 1_000));
+		}
+		log.append(first);
+		long size = log.sizeBytes();
+
+		// The disk fills up halfway through writing the second batch
+		Object segment = ReflectionTestUtils.getField(log, "active");
+		FileChannel channel = (FileChannel) ReflectionTestUtils.getField(segment, "channel");
+		FileChannel failing = mock(FileChannel.class, AdditionalAnswers.delegatesTo(channel));
+		doAnswer(invocation -> {
+			ByteBuffer buffer = invocation.getArgument(0);
+			ByteBuffer half = buffer.slice(buffer.position(), buffer.remaining() / 2);
+			channel.write(half, invocation.getArgument(1));
+			buffer.position(buffer.position() + half.position());
+			throw new IOException("No space left on device");
+		}).doAnswer(AdditionalAnswers.delegatesTo(channel)).when(failing).write(any(ByteBuffer.class), anyLong());
+		ReflectionTestUtils.setField(segment, "channel", failing);
+
+		assertThatThrownBy(() -> log.append(second)).isInstanceOf(IOException.class);
+		assertThat(log.endOffset()).isEqualTo(20);
+		assertThat(log.sizeBytes()).isEqualTo(size);
+		assertThat(channel.size()).isEqualTo(size);
+
+		assertThat(log.append(second)).isEqualTo(20);
+		List<ChangeRecord> read = log.read(0, 100);
+		assertThat(read).extracting(ChangeRecord::getOffset).containsExactlyElementsOf(LongStream.range(0, 40).boxed().toList());
+		assertThat(read).extracting(ChangeRecord::getEventId).containsExactlyElementsOf(LongStream.range(0, 40).boxed().toList());
+		// Reads that start from the index land on the right records, before and after a restart
+		assertThat(log.read(35, 1)).extracting(ChangeRecord::getEventId).containsExactly(35L);
+		log.destroy();
+		opened.remove(log);
+		EmployeeChangeLog reopened = open(DataSize.ofMegabytes(1));
+		assertThat(reopened.endOffset()).isEqualTo(40);
+		assertThat(reopened.read(0, 100)).extracting(ChangeRecord::getEventId)
+				.containsExactlyElementsOf(LongStream.range(0, 40).boxed().toList());
+	}
+
+	@Test
+	void retentionDeletesExpiredClosedSegments() throws IOException {
+		EmployeeChangeLog log = open(DataSize.ofKilobytes(4));
+		long now = System.currentTimeMillis();
+		for (int i = 0; i < 200; i++) {
+			// The first half is ten days old
+			log.append(List.of(record(i, i, i < 100 ? now - 10 * DAY_MILLIS : now)));
+		}
+		int segments = log.segmentCount();
+
+		assertThat(log.deleteExpiredSegments(now)).isPositive();
+		assertThat(log.segmentCount()).isLessThan(segments);
+		assertThat(log.startOffset()).isGreaterThan(0).isLessThanOrEqualTo(100);
+		List<ChangeRecord> remaining = log.read(0, 1_000);
+		assertThat(remaining.get(0).getOffset()).isEqualTo(log.startOffset());
+		assertThat(remaining.get(remaining.size() - 1).getOffset()).isEqualTo(199);
+	}
+
+	@Test
+	void compactionKeepsTheLatestRecordPerEmployee() throws IOException {
+		EmployeeChangeLog log = open(DataSize.ofKilobytes(4));
+		Map<Integer, Long> latest = new HashMap<>();
+		for (int i = 0; i < 1_000; i++) {
+			int employeeId = i % 20;
+			log.append(List.of(record(i, employeeId, 1_000)));
+			latest.put(employeeId, (long) i);
+		}
+		List<ChangeRecord> before = log.read(0, 2_000);
+
+		int removed = log.compact();
+
+		List<ChangeRecord> after = log.read(0, 2_000);
+		assertThat(removed).isPositive();
+		assertThat(after).hasSize(before.size() - removed);
+		Map<Integer, Long> latestAfter = new HashMap<>();
+		for (ChangeRecord record : after) {
+			latestAfter.put(record.getEmployeeId(), record.getOffset());
+			assertThat(payload(record)).isEqualTo(payload((int) record.getOffset()));
+		}
+		assertThat(latestAfter).isEqualTo(latest);
+		// Offsets are kept, so reading from inside a compacted gap starts at the next survivor
+		long survivor = after.get(0).getOffset();
+		assertThat(survivor).isPositive();
+		assertThat(log.read(0, 1)).extracting(ChangeRecord::getOffset).containsExactly(survivor);
+
+		// The rewritten segments read back the same after a restart, and appends carry on
+		log.destroy();
+		opened.remove(log);
+		EmployeeChangeLog reopened = open(DataSize.ofKilobytes(4));
+		assertThat(reopened.read(0, 2_000)).extracting(ChangeRecord::getOffset)
+				.isEqualTo(after.stream().map(ChangeRecord::getOffset).toList());
+		assertThat(reopened.append(List.of(record(1_000, 1, 1_000)))).isEqualTo(1_000);
+	}
+
+	@Test
+	void compactionKeepsTheLatestGenerationAndVersionWhateverTheRelayOrder() throws IOException {
+		EmployeeChangeLog log = open(DataSize.ofKilobytes(4));
+		// Event IDs come from pooled blocks, so they say nothing about which change committed last.
+		// Employee 1's version 2 is relayed before its version 1 lands; employee 2 is deleted at
+		// version 3 and created again (generation 1, version 0), and that batch is relayed twice
+		log.append(List.of(new ChangeRecord(500, 1, 0, 2, 1_000, bytes(500)),
+				new ChangeRecord(300, 2, 0, 3, 1_000, bytes(300))));
+		log.append(List.of(new ChangeRecord(900, 1, 0, 1, 1_000, bytes(900))));
+		log.append(List.of(new ChangeRecord(250, 2, 1, 0, 1_000, bytes(250))));
+		log.append(List.of(new ChangeRecord(250, 2, 1, 0, 1_000, bytes(250))));
+		for (int i = 0; i < 100; i++) {
+			log.append(List.of(record(1_000 + i, 3, 1_000)));
+		}
+
+		log.compact();
+
+		List<ChangeRecord> survivors = log.read(0, 1_000).stream()
+				.filter(record -> record.getEmployeeId() != 3).toList();
+		assertThat(survivors).extracting(ChangeRecord::getEmployeeId, ChangeRecord::getEventId, ChangeRecord::getOffset)
+				.containsExactly(tuple(1, 500L, 0L), tuple(2, 250L, 4L));
+	}
+
+	private EmployeeChangeLog open(DataSize segmentSize) throws IOException {
+		// fsync off: the tests are about the format, not the disk
+		EmployeeChangeLog log = new EmployeeChangeLog(directory.toString(), segmentSize, Duration.ofDays(7), false, true);
+		opened.add(log);
+		return log;
+	}
+
+	// One version per event, so the records of an employee are in version order
+	private static ChangeRecord record(int eventId, int employeeId, long timestamp) {
+		return new ChangeRecord(eventId, employeeId, 0, eventId, timestamp, bytes(eventId));
+	}
+
+	// Padded to about the given size, so that a handful of records spans several index entries
+	private static ChangeRecord record(int eventId, int employeeId, long timestamp, int bytes) {
+		String payload = payload(eventId);
+		return new ChangeRecord(eventId, employeeId, 0, eventId, timestamp,
+				(payload + " ".repeat(Math.max(0, bytes - payload.length()))).getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static byte[] bytes(int n) {
+		return payload(n).getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static String payload(int n) {
+		return "{\"changeType\":\"UPDATED\",\"employeeId\":" + n + ",\"name\":\"Employee\",\"salary\":" + (50_000 + n) + "}";
+	}
+
+	private static String payload(ChangeRecord record) {
+		return new String(record.getPayload(), StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,329 @@
+package com.examples;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionManager;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.employeemanagementsystem.Employee;
+import com.employeemanagementsystem.EmployeeColumnarFormat;
+import com.employeemanagementsystem.EmployeeColumnarFormat.Column;
+import com.employeemanagementsystem.EmployeeColumnarReader;
+import com.employeemanagementsystem.EmployeeColumnarReader.RowGroup;
+import com.employeemanagementsystem.EmployeeController;
+import com.employeemanagementsystem.EmployeeDTO;
+import com.employeemanagementsystem.EmployeeExportService;
+import com.employeemanagementsystem.EmployeeManagementSystemApplication;
+import com.employeemanagementsystem.EmployeeRepository;
+import com.employeemanagementsystem.EmployeeService;
+import com.employeemanagementsystem.PhoneNumber;
+import com.employeemanagementsystem.PhoneNumberRepository;
+import com.employeemanagementsystem.VoterID;
+import com.employeemanagementsystem.VoterIDRepository;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * The columnar export reads back as the tables hold the rows, picks RLE for manager IDs and a
+ * dictionary for cities, and a projected scan matches the database's own aggregate and a scan of
+ * the NDJSON export. Both exports stream under their own async timeout. Export and scan times are
+ * in EmployeeColumnarExportBenchmark.
+ */
+@DataJpaTest
+@ContextConfiguration(classes = EmployeeManagementSystemApplication.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmployeeColumnarExportTest {
+
+	private static final int EMPLOYEES = 5_000;
+	private static final String[] CITIES = { "Pune", "Mumbai", "Delhi", "Chennai", "Kolkata", "Bengaluru" };
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private PhoneNumberRepository phoneNumberRepository;
+
+	@Autowired
+	private VoterIDRepository voterIDRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules()
+			.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+
+	private TransactionTemplate transactionTemplate;
+	private EmployeeExportService exportService;
+
+	@BeforeEach
+	void setUp() {
+		transactionTemplate = new TransactionTemplate(transactionManager);
+		EmployeeService employeeService = new EmployeeService(employeeRepository);
+		ReflectionTestUtils.setField(employeeService, "phoneNumberRepository", phoneNumberRepository);
+		ReflectionTestUtils.setField(employeeService, "voterIDRepository", voterIDRepository);
+		exportService = new EmployeeExportService(employeeRepository, employeeService, objectMapper);
+		ReflectionTestUtils.setField(exportService, "entityManager", entityManager);
+		ReflectionTestUtils.setField(exportService, "batchSize", 500);
+		ReflectionTestUtils.setField(exportService, "rowGroupSize", 1_000);
+	}
+
+	@AfterEach
+	void tearDown() {
+		transactionTemplate.executeWithoutResult(status -> {
+			phoneNumberRepository.deleteAllInBatch();
+			voterIDRepository.deleteAllInBatch();
+			employeeRepository.deleteAllInBatch();
+		});
+	}
+
+	@Test
+	void readsBackWhatTheTablesHold() throws IOException {
+		seed(2_500);
+		transactionTemplate.executeWithoutResult(status ->
+				employeeRepository.findById(10).orElseThrow().setSalary(new BigDecimal("123456.78")));
+		Map<Integer, EmployeeDTO> expected = new HashMap<>();
+		for (EmployeeDTO employee : employeeRepository.findAll().stream().map(this::toDTO).toList()) {
+			expected.put(employee.getEmployeeId(), employee);
+		}
+
+		List<RowGroup> rowGroups = readAll(exportColumnar(), EnumSet.allOf(Column.class));
+		assertThat(rowGroups).extracting(RowGroup::rows).containsExactly(1_000, 1_000, 500);
+		assertThat(rowGroups.get(0).encoding(Column.MANAGER_ID)).isEqualTo("RLE");
+		assertThat(rowGroups.get(0).encoding(Column.CITY)).isEqualTo("DICTIONARY");
+		assertThat(rowGroups.get(0).encoding(Column.EMAIL_ID)).isEqualTo("PLAIN");
+		assertThat(rowGroups.get(0).encoding(Column.EMPLOYEE_ID)).isEqualTo("PLAIN");
+
+		int previousManager = Integer.MIN_VALUE;
+		int rows = 0;
+		for (RowGroup rowGroup : rowGroups) {
+			for (int row = 0; row < rowGroup.rows(); row++) {
+				EmployeeDTO employee = expected.get(rowGroup.ints(Column.EMPLOYEE_ID)[row]);
+				assertThat(rowGroup.strings(Column.NAME)[row]).isEqualTo(employee.getName());
+				assertThat(rowGroup.ints(Column.DOB)[row]).isEqualTo(employee.getDob().toEpochDay());
+				assertThat(rowGroup.ints(Column.MANAGER_ID)[row]).isEqualTo(employee.getManagerId())
+						.isGreaterThanOrEqualTo(previousManager);
+				previousManager = rowGroup.ints(Column.MANAGER_ID)[row];
+				assertThat(rowGroup.longs(Column.SALARY_CENTS)[row])
+						.isEqualTo(employee.getSalary().movePointRight(2).longValueExact());
+				assertThat(rowGroup.strings(Column.EMAIL_ID)[row]).isEqualTo(employee.getEmailId());
+				assertThat(rowGroup.longs(Column.CREATED_MICROS)[row]).isEqualTo(micros(employee.getCreatedDateTime()));
+				if (employee.getUpdatedDateTime() == null) {
+					assertThat(rowGroup.longs(Column.UPDATED_MICROS)[row]).isEqualTo(EmployeeColumnarFormat.NULL_LONG);
+				} else {
+					assertThat(rowGroup.longs(Column.UPDATED_MICROS)[row]).isEqualTo(micros(employee.getUpdatedDateTime()));
+				}
+				if (employee.getVoterID() == null) {
+					assertThat(rowGroup.strings(Column.VOTER_NUMBER)[row]).isNull();
+					assertThat(rowGroup.strings(Column.CITY)[row]).isNull();
+				} else {
+					assertThat(rowGroup.strings(Column.VOTER_NUMBER)[row]).isEqualTo(employee.getVoterID().getVoterNumber());
+					assertThat(rowGroup.strings(Column.CITY)[row]).isEqualTo(employee.getVoterID().getCity());
+				}
+				rows++;
+			}
+		}
+		assertThat(rows).isEqualTo(expected.size());
+	}
+
+	@Test
+	void projectedScanMatchesTheDatabaseAggregate() throws IOException {
+		seed(3_000);
+		Map<Integer, Long> totals = new HashMap<>();
+		for (RowGroup rowGroup : readAll(exportColumnar(), EnumSet.of(Column.MANAGER_ID, Column.SALARY_CENTS))) {
+			sumByManager(rowGroup, totals);
+			assertThat(rowGroup.encoding(Column.MANAGER_ID)).isEqualTo("RLE");
+		}
+
+		Map<Integer, Long> expected = new HashMap<>();
+		for (Object[] row : employeeRepository.summarizeSalariesByManager()) {
+			expected.put((Integer) row[0], ((BigDecimal) row[2]).movePointRight(2).longValueExact());
+		}
+		assertThat(totals).isEqualTo(expected);
+	}
+
+	@Test
+	void isSmallerThanJsonAndScansToTheSameAnswers() throws IOException {
+		seed(EMPLOYEES);
+		byte[] json = exportNdjson();
+		byte[] columnar = exportColumnar();
+
+		// Salary per manager and the city of every employee, as the analysts read them
+		Map<Integer, Long> jsonTotals = new HashMap<>();
+		int jsonCities = 0;
+		try (MappingIterator<EmployeeDTO> employees = objectMapper.readerFor(EmployeeDTO.class).readValues(json)) {
+			while (employees.hasNext()) {
+				EmployeeDTO employee = employees.next();
+				jsonTotals.merge(employee.getManagerId(), employee.getSalary().movePointRight(2).longValueExact(), Long::sum);
+				jsonCities += employee.getVoterID() == null ? 0 : 1;
+			}
+		}
+
+		Map<Integer, Long> columnarTotals = new HashMap<>();
+		int columnarCities = 0;
+		EmployeeColumnarReader reader = new EmployeeColumnarReader(new ByteArrayInputStream(columnar),
+				EnumSet.of(Column.MANAGER_ID, Column.SALARY_CENTS, Column.DOB, Column.CITY));
+		for (RowGroup rowGroup = reader.next(); rowGroup != null; rowGroup = reader.next()) {
+			sumByManager(rowGroup, columnarTotals);
+			for (String city : rowGroup.strings(Column.CITY)) {
+				columnarCities += city == null ? 0 : 1;
+			}
+		}
+
+		assertThat(columnarTotals).isEqualTo(jsonTotals);
+		assertThat(columnarCities).isEqualTo(jsonCities);
+		assertThat(columnar.length).isLessThan(json.length / 3);
+	}
+
+	@Test
+	void theExportEndpointsStreamUnderTheirOwnTimeout() throws Exception {
+		seed(1_500);
+		// The controller streams on another thread, so the service needs its @Transactional
+		ProxyFactory proxyFactory = new ProxyFactory(exportService);
+		proxyFactory.setProxyTargetClass(true);
+		proxyFactory.addAdvice(new TransactionInterceptor((TransactionManager) transactionManager,
+				new AnnotationTransactionAttributeSource()));
+		EmployeeController controller = new EmployeeController(null, (EmployeeExportService) proxyFactory.getProxy(),
+				null, null, null, null, null, null, null);
+		ReflectionTestUtils.setField(controller, "exportTimeout", Duration.ofMinutes(30));
+		MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+		for (String path : List.of("/employees/export", "/employees/export/columnar")) {
+			MvcResult result = mockMvc.perform(get(path)).andExpect(request().asyncStarted()).andReturn();
+			assertThat(result.getRequest().getAsyncContext().getTimeout()).isEqualTo(1_800_000);
+			mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+			assertThat(result.getResponse().getContentAsByteArray())
+					.isEqualTo(path.endsWith("columnar") ? exportColumnar() : exportNdjson());
+		}
+		assertThat(mockMvc.perform(get("/employees/export/columnar")).andReturn().getResponse().getContentType())
+				.isEqualTo(EmployeeColumnarFormat.MEDIA_TYPE);
+	}
+
+	private static void sumByManager(RowGroup rowGroup, Map<Integer, Long> totals) {
+		int[] managerIds = rowGroup.ints(Column.MANAGER_ID);
+		long[] salaryCents = rowGroup.longs(Column.SALARY_CENTS);
+		for (int row = 0; row < rowGroup.rows(); row++) {
+			totals.merge(managerIds[row], salaryCents[row], Long::sum);
+		}
+	}
+
+	private byte[] exportColumnar() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		transactionTemplate.executeWithoutResult(status -> {
+			try {
+				exportService.exportColumnar(out);
+			} catch (IOException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		return out.toByteArray();
+	}
+
+	private byte[] exportNdjson() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		transactionTemplate.executeWithoutResult(status -> {
+			try {
+				exportService.exportNdjson(out);
+			} catch (IOException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		return out.toByteArray();
+	}
+
+	private static List<RowGroup> readAll(byte[] bytes, EnumSet<Column> columns) throws IOException {
+		EmployeeColumnarReader reader = new EmployeeColumnarReader(new ByteArrayInputStream(bytes), columns);
+		List<RowGroup> rowGroups = new ArrayList<>();
+		for (RowGroup rowGroup = reader.next(); rowGroup != null; rowGroup = reader.next()) {
+			rowGroups.add(rowGroup);
+		}
+		return rowGroups;
+	}
+
+	private EmployeeDTO toDTO(Employee employee) {
+		EmployeeDTO employeeDTO = new EmployeeDTO(employee.getEmployeeId(), employee.getName(), employee.getDob(),
+				employee.getManagerId(), employee.getSalary(), employee.getEmailId(), employee.getCreatedDateTime(),
+				employee.getUpdatedDateTime(), employee.getVersion());
+		voterIDRepository.findDTOsByEmployeeIdIn(List.of(employee.getEmployeeId())).forEach(employeeDTO::setVoterID);
+		return employeeDTO;
+	}
+
+	private static long micros(LocalDateTime value) {
+		return value.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + value.getNano() / 1_000;
+	}
+
+	// Two phones each; every seventh employee has no voter ID
+	private void seed(int count) {
+		for (int from = 1; from <= count; from += 1_000) {
+			int start = from;
+			transactionTemplate.executeWithoutResult(status -> {
+				for (int id = start; id < Math.min(start + 1_000, count + 1); id++) {
+					Employee employee = new Employee();
+					employee.setEmployeeId(id);
+					employee.setName("Employee");
+					employee.setDob(LocalDate.of(1960, 1, 1).plusDays(id % 15_000));
+					employee.setManagerId(101 + id % 5);
+					employee.setSalary(new BigDecimal(30_000 + id % 90_000 + ".50"));
+					employee.setEmailId("employee" + id + "@example.com");
+					for (int p = 0; p < 2; p++) {
+						PhoneNumber phoneNumber = new PhoneNumber();
+						phoneNumber.setPhoneId(id * 10 + p);
+						phoneNumber.setPhoneNumber("98765432" + p + id);
+						phoneNumber.setProvider("Jio");
+						phoneNumber.setType("Mobile");
+						phoneNumber.setEmployee(employee);
+					}
+					if (id % 7 != 0) {
+						VoterID voterID = new VoterID();
+						voterID.setVoterId(id);
+						voterID.setVoterNumber("VOTER" + id);
+						voterID.setCity(CITIES[id % CITIES.length]);
+						employee.setVoterID(voterID);
+					}
+					entityManager.persist(employee);
+				}
+			});
+		}
+	}
+}
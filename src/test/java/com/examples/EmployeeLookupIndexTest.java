@@ -0,0 +1,100 @@
+package com.examples;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import com.employeemanagementsystem.EmployeeLookupIndex;
+import com.employeemanagementsystem.EmployeeLookupResultDTO;
+
+/**
+ * Queries the lookup index directly: matches on each indexed field, word prefixes, updates and
+ * removals. Query latency and load time are measured by EmployeeLookupBenchmark in the benchmarks
+ * module.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EmployeeLookupIndexTest {
+
+	// Enough for employee 42424, whose phone number the tests look up
+	private static final int EMPLOYEES = 50_000;
+	private static final int LIMIT = 20;
+	private static final String[] FIRST_NAMES = { "Aarav", "Priya", "Rohan", "Ananya", "Vikram", "Meera", "Kabir",
+			"Sneha", "Arjun", "Divya", "Nikhil", "Pooja", "Rahul", "Kavya", "Siddharth", "Isha" };
+	private static final String[] LAST_NAMES = { "Sharma", "Patel", "Iyer", "Reddy", "Nair", "Gupta", "Mehta",
+			"Das", "Kulkarni", "Joshi", "Menon", "Rao", "Bose", "Verma", "Singh", "Chopra", "Pillai" };
+
+	private final EmployeeLookupIndex index = new EmployeeLookupIndex();
+
+	@BeforeAll
+	void seed() {
+		for (int id = 1; id <= EMPLOYEES; id++) {
+			index.index(id, name(id), email(id), List.of(phone(id)));
+		}
+		index.compact();
+	}
+
+	@Test
+	void matchesNamesEmailLocalPartsAndPhoneDigits() {
+		assertThat(index.lookup("Kulkarni", LIMIT)).isNotEmpty().allSatisfy(result -> {
+			assertThat(result.getName()).contains("Kulkarni");
+			assertThat(result.getMatchedOn()).isEqualTo("name");
+		});
+
+		List<EmployeeLookupResultDTO> byEmail = index.lookup("employee.4242@", LIMIT);
+		assertThat(byEmail).extracting(EmployeeLookupResultDTO::getEmployeeId).contains(4242);
+		assertThat(byEmail).allSatisfy(result -> assertThat(result.getEmailId()).startsWith("employee.4242"));
+
+		List<EmployeeLookupResultDTO> byPhone = index.lookup("+91 (900) 004-2424", LIMIT);
+		assertThat(byPhone).extracting(EmployeeLookupResultDTO::getEmployeeId).containsExactly(42424);
+		assertThat(byPhone.get(0).getMatchedOn()).isEqualTo("phoneNumber");
+	}
+
+	@Test
+	void shortQueriesMatchWordPrefixes() {
+		assertThat(index.lookup("ch", LIMIT)).hasSize(LIMIT).allSatisfy(result ->
+				assertThat(result.getName().toLowerCase()).matches("(^|.* )ch.*"));
+		assertThat(index.lookup("zq", LIMIT)).isEmpty();
+	}
+
+	@Test
+	void sharingEveryTrigramIsNotAMatch() {
+		int id = EMPLOYEES + 2;
+		// "tarat" shares tar, ara and rat with "tara rat" without being part of it
+		index.index(id, "Tara Rat", "tara.rat@example.com", List.of());
+		assertThat(index.lookup("tara r", LIMIT)).extracting(EmployeeLookupResultDTO::getEmployeeId).containsExactly(id);
+		assertThat(index.lookup("tarat", LIMIT)).isEmpty();
+		index.remove(id);
+	}
+
+	@Test
+	void updatesAndRemovalsAreVisibleImmediately() {
+		int id = EMPLOYEES + 1;
+		index.index(id, "Zubin Wadia", "zubin.wadia@example.com", List.of("8000000001"));
+		assertThat(index.lookup("zubin", LIMIT)).extracting(EmployeeLookupResultDTO::getEmployeeId).containsExactly(id);
+
+		index.index(id, "Zubin Mistry", "zubin.mistry@example.com", List.of());
+		assertThat(index.lookup("wadia", LIMIT)).isEmpty();
+		assertThat(index.lookup("8000000001", LIMIT)).isEmpty();
+		assertThat(index.lookup("mistry", LIMIT)).extracting(EmployeeLookupResultDTO::getEmployeeId).containsExactly(id);
+
+		index.remove(id);
+		assertThat(index.lookup("zubin", LIMIT)).isEmpty();
+		assertThat(index.size()).isEqualTo(EMPLOYEES);
+	}
+
+	private static String name(int id) {
+		return FIRST_NAMES[id % FIRST_NAMES.length] + " " + LAST_NAMES[(id / FIRST_NAMES.length) % LAST_NAMES.length];
+	}
+
+	private static String email(int id) {
+		return "employee." + id + "@example.com";
+	}
+
+	private static String phone(int id) {
+		return String.format("+91-9%09d", id);
+	}
+}
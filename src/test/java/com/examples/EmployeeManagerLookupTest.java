@@ -0,0 +1,84 @@
+package com.examples;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+
+import com.employeemanagementsystem.Employee;
+import com.employeemanagementsystem.EmployeeManagementSystemApplication;
+import com.employeemanagementsystem.EmployeeRepository;
+import com.employeemanagementsystem.PhoneNumber;
+import com.employeemanagementsystem.VoterID;
+
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ContextConfiguration(classes = EmployeeManagementSystemApplication.class)
+class EmployeeManagerLookupTest {
+
+	private static final int TEAM_SIZE = 20;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void seedTeam() {
+		for (int i = 1; i <= TEAM_SIZE; i++) {
+			Employee employee = new Employee();
+			employee.setEmployeeId(i);
+			employee.setName("Employee");
+			employee.setDob(LocalDate.of(1990, 1, 1));
+			employee.setManagerId(101);
+			employee.setSalary(new BigDecimal("50000.00"));
+			employee.setEmailId("employee" + i + "@example.com");
+
+			VoterID voterID = new VoterID();
+			voterID.setVoterId(i);
+			voterID.setVoterNumber("VOTER" + i);
+			voterID.setCity("Pune");
+			employee.setVoterID(voterID);
+
+			for (int p = 0; p < 3; p++) {
+				PhoneNumber phoneNumber = new PhoneNumber();
+				phoneNumber.setPhoneId(i * 10 + p);
+				phoneNumber.setPhoneNumber("98765432" + p + i);
+				phoneNumber.setProvider("Jio");
+				phoneNumber.setType("MOBILE");
+				phoneNumber.setEmployee(employee);
+			}
+			entityManager.persist(employee);
+		}
+		entityManager.flush();
+		entityManager.clear();
+
+		statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void managerTeamIsLoadedWithASingleStatement() {
+		List<Employee> team = employeeRepository.findByManagerId(101);
+
+		assertThat(team).hasSize(TEAM_SIZE);
+		for (Employee employee : team) {
+			assertThat(employee.getPhoneNumbers()).hasSize(3);
+			assertThat(employee.getVoterID().getCity()).isEqualTo("Pune");
+		}
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+}
@@ -0,0 +1,157 @@
+package com.examples;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+
+import com.employeemanagementsystem.Employee;
+import com.employeemanagementsystem.EmployeeManagementSystemApplication;
+import com.employeemanagementsystem.EmployeeMergePatch;
+import com.employeemanagementsystem.EmployeeRepository;
+import com.employeemanagementsystem.PhoneNumber;
+import com.employeemanagementsystem.RequestException;
+import com.employeemanagementsystem.VoterID;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Applies merge patches to a loaded employee and checks what reaches the database: nothing for a
+ * no-op patch, and only the patched columns otherwise.
+ */
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"spring.jpa.properties.hibernate.session_factory.statement_inspector=com.examples.EmployeeMergePatchTest$CapturingInspector" })
+@ContextConfiguration(classes = EmployeeManagementSystemApplication.class)
+class EmployeeMergePatchTest {
+
+	private static final int EMPLOYEE_ID = 1;
+
+	public static class CapturingInspector implements StatementInspector {
+		static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+		@Override
+		public String inspect(String sql) {
+			STATEMENTS.add(sql);
+			return sql;
+		}
+	}
+
+	private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void seedEmployee() {
+		Employee employee = new Employee();
+		employee.setEmployeeId(EMPLOYEE_ID);
+		employee.setName("Employee");
+		employee.setDob(LocalDate.of(1990, 1, 1));
+		employee.setManagerId(101);
+		employee.setSalary(new BigDecimal("50000.00"));
+		employee.setEmailId("employee@example.com");
+
+		VoterID voterID = new VoterID();
+		voterID.setVoterId(EMPLOYEE_ID);
+		voterID.setVoterNumber("VOTER1");
+		voterID.setCity("Pune");
+		employee.setVoterID(voterID);
+
+		PhoneNumber phoneNumber = new PhoneNumber();
+		phoneNumber.setPhoneId(10);
+		phoneNumber.setPhoneNumber("9876543210");
+		phoneNumber.setProvider("Jio");
+		phoneNumber.setType("MOBILE");
+		phoneNumber.setEmployee(employee);
+
+		entityManager.persist(employee);
+		entityManager.flush();
+		entityManager.clear();
+
+		statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		CapturingInspector.STATEMENTS.clear();
+	}
+
+	@Test
+	void noOpPatchWritesNothing() throws Exception {
+		Employee employee = load();
+
+		boolean changed = EmployeeMergePatch.apply(employee, patch("""
+				{"name": "Employee", "salary": 50000, "voterID": {"city": "Pune"},
+				 "phoneNumbers": [{"phoneId": 10, "phoneNumber": "9876543210", "provider": "Jio", "type": "MOBILE"}]}
+				"""), objectMapper);
+		entityManager.flush();
+
+		assertThat(changed).isFalse();
+		assertThat(statistics.getEntityUpdateCount() + statistics.getEntityInsertCount()
+				+ statistics.getEntityDeleteCount()).isZero();
+	}
+
+	@Test
+	void patchUpdatesOnlyTheChangedColumn() throws Exception {
+		Employee employee = load();
+
+		assertThat(EmployeeMergePatch.apply(employee, patch("{\"salary\": 60000.50}"), objectMapper)).isTrue();
+		entityManager.flush();
+
+		List<String> updates = CapturingInspector.STATEMENTS.stream()
+				.filter(sql -> sql.toLowerCase().startsWith("update")).toList();
+		assertThat(updates).hasSize(1);
+		assertThat(updates.get(0).toUpperCase()).contains("SALARY")
+				.doesNotContain("EMP_NAME").doesNotContain("EMAIL_ID").doesNotContain("DOB");
+		entityManager.clear();
+		assertThat(load().getSalary()).isEqualByComparingTo("60000.50");
+	}
+
+	@Test
+	void nullRemovesTheVoterID() throws Exception {
+		Employee employee = load();
+
+		assertThat(EmployeeMergePatch.apply(employee, patch("{\"voterID\": null}"), objectMapper)).isTrue();
+		entityManager.flush();
+
+		assertThat(statistics.getEntityDeleteCount()).isEqualTo(1);
+		entityManager.clear();
+		assertThat(load().getVoterID()).isNull();
+	}
+
+	@Test
+	void readOnlyFieldsAreRejected() throws Exception {
+		Employee employee = load();
+
+		assertThatThrownBy(() -> EmployeeMergePatch.apply(employee, patch("{\"employeeId\": 2}"), objectMapper))
+				.isInstanceOf(RequestException.class);
+		assertThatThrownBy(() -> EmployeeMergePatch.apply(employee, patch("[]"), objectMapper))
+				.isInstanceOf(RequestException.class);
+	}
+
+	private Employee load() {
+		return employeeRepository.findByIdWithDetails(EMPLOYEE_ID).orElseThrow();
+	}
+
+	private JsonNode patch(String json) throws Exception {
+		return objectMapper.readTree(json);
+	}
+}
@@ -0,0 +1,261 @@
+package com.examples;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.employeemanagementsystem.Employee;
+import com.employeemanagementsystem.EmployeeCache;
+import com.employeemanagementsystem.EmployeeController;
+import com.employeemanagementsystem.EmployeeETag;
+import com.employeemanagementsystem.EmployeeLookupIndex;
+import com.employeemanagementsystem.EmployeeManagementSystemApplication;
+import com.employeemanagementsystem.EmployeeOrgChart;
+import com.employeemanagementsystem.EmployeeOutbox;
+import com.employeemanagementsystem.EmployeeOutboxRepository;
+import com.employeemanagementsystem.EmployeeRepository;
+import com.employeemanagementsystem.EmployeeService;
+import com.employeemanagementsystem.EmployeeTombstoneRepository;
+import com.employeemanagementsystem.EmployeeUpdateRequestDTO;
+import com.employeemanagementsystem.SalaryStatsService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Two writers that read the same version: the first commit wins, the second fails instead of
+ * silently overwriting it. Also covers how the conditional headers map onto versions and onto the
+ * 304 and 412 answers of the controller.
+ */
+@DataJpaTest
+@ContextConfiguration(classes = EmployeeManagementSystemApplication.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmployeeOptimisticLockingTest {
+
+	private static final int EMPLOYEE_ID = 1;
+	private static final int MISSING_ID = 99;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private EmployeeOutboxRepository outboxRepository;
+
+	@Autowired
+	private EmployeeTombstoneRepository tombstoneRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules()
+			.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+
+	private TransactionTemplate transactionTemplate;
+	private EmployeeService employeeService;
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void seedEmployee() {
+		transactionTemplate = new TransactionTemplate(transactionManager);
+		employeeService = new EmployeeService(employeeRepository);
+		ReflectionTestUtils.setField(employeeService, "employeeCache", new EmployeeCache(100, Duration.ofMinutes(10), 1_000));
+		ReflectionTestUtils.setField(employeeService, "employeeLookupIndex", new EmployeeLookupIndex());
+		ReflectionTestUtils.setField(employeeService, "employeeOrgChart", new EmployeeOrgChart());
+		ReflectionTestUtils.setField(employeeService, "salaryStatsService",
+				new SalaryStatsService(employeeRepository, transactionManager));
+		ReflectionTestUtils.setField(employeeService, "employeeOutbox", new EmployeeOutbox(outboxRepository, tombstoneRepository, objectMapper));
+		ReflectionTestUtils.setField(employeeService, "employeeTombstoneRepository", tombstoneRepository);
+		mockMvc = MockMvcBuilders.standaloneSetup(new EmployeeController(employeeService, null, null, null, null,
+				null, null, null, null)).build();
+
+		transactionTemplate.executeWithoutResult(status -> {
+			Employee employee = new Employee();
+			employee.setEmployeeId(EMPLOYEE_ID);
+			employee.setName("Employee");
+			employee.setDob(LocalDate.of(1990, 1, 1));
+			employee.setManagerId(101);
+			employee.setSalary(new BigDecimal("50000.00"));
+			employee.setEmailId("employee@example.com");
+			employeeRepository.save(employee);
+		});
+	}
+
+	@AfterEach
+	void deleteEmployee() {
+		transactionTemplate.executeWithoutResult(status -> {
+			outboxRepository.deleteAllInBatch();
+			tombstoneRepository.deleteAllInBatch();
+			employeeRepository.deleteAll();
+		});
+	}
+
+	@Test
+	void everyUpdateBumpsTheVersion() {
+		assertThat(version()).isZero();
+
+		transactionTemplate.executeWithoutResult(status ->
+				employeeRepository.findById(EMPLOYEE_ID).orElseThrow().setSalary(new BigDecimal("60000.00")));
+
+		assertThat(version()).isEqualTo(1);
+	}
+
+	@Test
+	void staleWriterFailsInsteadOfOverwriting() {
+		// Writer A reads version 0 and keeps its copy while writer B commits
+		EntityManager writerA = entityManagerFactory.createEntityManager();
+		try {
+			writerA.getTransaction().begin();
+			Employee staleCopy = writerA.find(Employee.class, EMPLOYEE_ID);
+
+			transactionTemplate.executeWithoutResult(status ->
+					employeeRepository.findById(EMPLOYEE_ID).orElseThrow().setName("Renamed"));
+
+			staleCopy.setSalary(new BigDecimal("70000.00"));
+			assertThatThrownBy(writerA::flush).isInstanceOf(jakarta.persistence.OptimisticLockException.class);
+			writerA.getTransaction().rollback();
+		} finally {
+			writerA.close();
+		}
+
+		Employee current = employeeRepository.findById(EMPLOYEE_ID).orElseThrow();
+		assertThat(current.getName()).isEqualTo("Renamed");
+		assertThat(current.getSalary()).isEqualByComparingTo("50000.00");
+	}
+
+	@Test
+	void versionedDeleteOfAStaleCopyFails() {
+		Employee staleCopy = employeeRepository.findById(EMPLOYEE_ID).orElseThrow();
+		transactionTemplate.executeWithoutResult(status ->
+				employeeRepository.findById(EMPLOYEE_ID).orElseThrow().setName("Renamed"));
+
+		assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> employeeRepository.delete(staleCopy)))
+				.isInstanceOf(ObjectOptimisticLockingFailureException.class);
+		assertThat(employeeRepository.existsById(EMPLOYEE_ID)).isTrue();
+	}
+
+	@Test
+	void conditionalHeadersMapOntoVersions() {
+		String eTag = EmployeeETag.of(3L);
+
+		assertThat(eTag).isEqualTo("\"3\"");
+		assertThat(EmployeeETag.matchesIfNoneMatch("\"2\", W/\"3\"", eTag)).isTrue();
+		assertThat(EmployeeETag.matchesIfNoneMatch("*", eTag)).isTrue();
+		assertThat(EmployeeETag.matchesIfNoneMatch("\"4\"", eTag)).isFalse();
+		assertThat(EmployeeETag.matchesIfNoneMatch(null, eTag)).isFalse();
+
+		assertThat(EmployeeETag.expectedVersion("\"3\"")).isEqualTo(3L);
+		assertThat(EmployeeETag.expectedVersion(null)).isNull();
+		assertThat(EmployeeETag.expectedVersion("*")).isNull();
+		assertThat(EmployeeETag.expectedVersion("W/\"3\"")).isNegative();
+	}
+
+	@Test
+	void serviceRejectsAStaleOrMissingExpectedVersion() {
+		assertThatThrownBy(() -> employeeService.updateEmployeeDetails(EMPLOYEE_ID, request("60000.00"), 1L))
+				.isInstanceOf(ObjectOptimisticLockingFailureException.class);
+		assertThatThrownBy(() -> employeeService.updateEmployeeDetails(MISSING_ID, request("60000.00"), 0L))
+				.isInstanceOf(ObjectOptimisticLockingFailureException.class);
+		// Unconditional: a missing row is simply not found
+		assertThatThrownBy(() -> employeeService.updateEmployeeDetails(MISSING_ID, request("60000.00"), null))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThat(version()).isZero();
+
+		// The service is not proxied here, so the transaction @Transactional would open is opened by hand
+		transactionTemplate.executeWithoutResult(status ->
+				employeeService.updateEmployeeDetails(EMPLOYEE_ID, request("60000.00"), 0L));
+		assertThat(version()).isEqualTo(1);
+	}
+
+	@Test
+	void ifNoneMatchOnTheCurrentVersionAnswers304() throws Exception {
+		mockMvc.perform(get("/employees/{id}", EMPLOYEE_ID).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+				.andExpect(content().string(""));
+		mockMvc.perform(get("/employees/{id}", EMPLOYEE_ID).header(HttpHeaders.IF_NONE_MATCH, "\"1\""))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+	}
+
+	@Test
+	void ifMatchOnAStaleVersionAnswers412AndChangesNothing() throws Exception {
+		mockMvc.perform(update(EMPLOYEE_ID, "\"1\"")).andExpect(status().isPreconditionFailed());
+		mockMvc.perform(update(EMPLOYEE_ID, "W/\"0\"")).andExpect(status().isPreconditionFailed());
+		mockMvc.perform(delete("/employees/delete/{id}", EMPLOYEE_ID).header(HttpHeaders.IF_MATCH, "\"1\""))
+				.andExpect(status().isPreconditionFailed());
+		assertThat(version()).isZero();
+		assertThat(outboxRepository.count()).isZero();
+
+		transactionTemplate.executeWithoutResult(status -> {
+			try {
+				mockMvc.perform(update(EMPLOYEE_ID, "\"0\"")).andExpect(status().isOk());
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		assertThat(version()).isEqualTo(1);
+	}
+
+	@Test
+	void ifMatchOnAMissingRowAnswers412() throws Exception {
+		mockMvc.perform(update(MISSING_ID, "\"0\"")).andExpect(status().isPreconditionFailed());
+		mockMvc.perform(delete("/employees/delete/{id}", MISSING_ID).header(HttpHeaders.IF_MATCH, "\"0\""))
+				.andExpect(status().isPreconditionFailed());
+		// Without the precondition the same update is a plain 404
+		mockMvc.perform(update(MISSING_ID, null)).andExpect(status().isNotFound());
+	}
+
+	private MockHttpServletRequestBuilder update(int id, String ifMatch) throws Exception {
+		MockHttpServletRequestBuilder builder = put("/employees/update/{id}", id).contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(request("60000.00")));
+		return ifMatch == null ? builder : builder.header(HttpHeaders.IF_MATCH, ifMatch);
+	}
+
+	private static EmployeeUpdateRequestDTO request(String salary) {
+		EmployeeUpdateRequestDTO request = new EmployeeUpdateRequestDTO();
+		request.setEmployeeId(EMPLOYEE_ID);
+		request.setName("Employee");
+		request.setDob(LocalDate.of(1990, 1, 1));
+		request.setManagerId(101);
+		request.setSalary(new BigDecimal(salary));
+		request.setEmailId("employee@example.com");
+		return request;
+	}
+
+	private long version() {
+		return employeeRepository.findById(EMPLOYEE_ID).orElseThrow().getVersion();
+	}
+}
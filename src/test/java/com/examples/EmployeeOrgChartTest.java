@@ -0,0 +1,169 @@
+package com.examples;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.employeemanagementsystem.EmployeeOrgChart;
+import com.employeemanagementsystem.EmployeeOrgChartStatsDTO;
+import com.employeemanagementsystem.EmployeeReportDTO;
+import com.employeemanagementsystem.EmployeeReportsDTO;
+
+/**
+ * Builds the org chart from arrays, checks the hierarchy queries, and replays random manager
+ * changes against a chart rebuilt from scratch. The memory test builds a ten-way tree; build and
+ * query times are measured by EmployeeOrgChartBenchmark in the benchmarks module.
+ */
+class EmployeeOrgChartTest {
+
+	private static final int EMPLOYEES = 10_000;
+	private static final int FAN_OUT = 10;
+
+	private EmployeeOrgChart orgChart;
+
+	// 101 is a manager that is not an employee; 1 and 2 report to it, 3..6 to 1, 7 to 3
+	@BeforeEach
+	void buildSmallChart() {
+		orgChart = new EmployeeOrgChart();
+		orgChart.rebuild(new int[] { 1, 2, 3, 4, 5, 6, 7 }, new int[] { 101, 101, 1, 1, 1, 1, 3 }, 7);
+	}
+
+	@Test
+	void reportsAreListedLevelByLevel() {
+		EmployeeReportsDTO reports = orgChart.reports(101, Integer.MAX_VALUE);
+
+		assertThat(reports.getTeamSize()).isEqualTo(7);
+		assertThat(reports.getReports()).extracting(EmployeeReportDTO::getEmployeeId).containsExactly(1, 2, 3, 4, 5, 6, 7);
+		assertThat(reports.getReports()).extracting(EmployeeReportDTO::getLevel).containsExactly(1, 1, 2, 2, 2, 2, 3);
+
+		EmployeeReportsDTO direct = orgChart.reports(1, 1);
+		assertThat(direct.getTeamSize()).isEqualTo(5);
+		assertThat(direct.getReports()).extracting(EmployeeReportDTO::getEmployeeId).containsExactly(3, 4, 5, 6);
+		assertThat(orgChart.reports(999, 1)).isNull();
+	}
+
+	@Test
+	void chainOfCommandRunsToTheTop() {
+		assertThat(orgChart.chainOfCommand(7)).containsExactly(3, 1, 101);
+		assertThat(orgChart.chainOfCommand(2)).containsExactly(101);
+		assertThat(orgChart.chainOfCommand(101)).isNull();
+	}
+
+	@Test
+	void managerChangesMoveTheWholeTeam() {
+		orgChart.put(3, 2);
+
+		assertThat(orgChart.reports(1, 1).getTeamSize()).isEqualTo(3);
+		assertThat(orgChart.reports(2, Integer.MAX_VALUE).getReports()).extracting(EmployeeReportDTO::getEmployeeId)
+				.containsExactly(3, 7);
+		assertThat(orgChart.reports(101, 1).getTeamSize()).isEqualTo(7);
+		assertThat(orgChart.chainOfCommand(7)).containsExactly(3, 2, 101);
+
+		assertThat(orgChart.isInTeamOf(7, 2)).isTrue();
+		assertThat(orgChart.isInTeamOf(7, 1)).isFalse();
+		assertThat(orgChart.isInTeamOf(2, 2)).isTrue();
+	}
+
+	@Test
+	void createAndDeleteKeepTeamSizes() {
+		orgChart.put(8, 7);
+		assertThat(orgChart.reports(101, 1).getTeamSize()).isEqualTo(8);
+		assertThat(orgChart.chainOfCommand(8)).containsExactly(7, 3, 1, 101);
+
+		// 3 is gone but 7 still names it as manager, so 3 stays as a root with its team
+		orgChart.remove(3);
+		assertThat(orgChart.reports(1, 1).getTeamSize()).isEqualTo(3);
+		assertThat(orgChart.reports(3, Integer.MAX_VALUE).getTeamSize()).isEqualTo(2);
+		assertThat(orgChart.chainOfCommand(3)).isNull();
+		assertThat(orgChart.chainOfCommand(8)).containsExactly(7, 3);
+		assertThat(orgChart.stats().getEmployees()).isEqualTo(7);
+
+		// Nobody reports to a deleted 2, so it is not found, like an ID that was never there
+		orgChart.remove(2);
+		assertThat(orgChart.reports(2, 1)).isNull();
+		assertThat(orgChart.reports(101, 1).getReports()).extracting(EmployeeReportDTO::getEmployeeId)
+				.containsExactly(1);
+		orgChart.put(5, 2);
+		assertThat(orgChart.reports(2, 1).getReports()).extracting(EmployeeReportDTO::getEmployeeId)
+				.containsExactly(5);
+	}
+
+	@Test
+	void reportsThatMoveAwayAndBackAreListedOnce() {
+		orgChart.put(3, 2);
+		orgChart.put(3, 1);
+		orgChart.put(3, 2);
+		orgChart.put(3, 2);
+		orgChart.put(3, 1);
+
+		assertThat(orgChart.reports(1, Integer.MAX_VALUE).getReports()).extracting(EmployeeReportDTO::getEmployeeId)
+				.containsExactly(3, 4, 5, 6, 7);
+		assertThat(orgChart.reports(2, 1).getReports()).isEmpty();
+		assertThat(orgChart.stats().getEdges()).isEqualTo(7);
+	}
+
+	@Test
+	void incrementalChangesMatchAFullRebuild() {
+		int employees = 5_000;
+		int[] employeeIds = new int[employees];
+		int[] managerIds = new int[employees];
+		for (int i = 0; i < employees; i++) {
+			employeeIds[i] = i + 1;
+			managerIds[i] = i == 0 ? EmployeeOrgChart.NO_MANAGER : i / FAN_OUT + 1;
+		}
+		EmployeeOrgChart incremental = new EmployeeOrgChart();
+		incremental.rebuild(employeeIds, managerIds, employees);
+
+		Random random = new Random(42);
+		// Enough changes for one batched rebuild of the adjacency and a batch still pending
+		for (int change = 0; change < 2_000; change++) {
+			int employee = random.nextInt(employees - 1) + 2;
+			int manager = random.nextInt(employees) + 1;
+			if (!incremental.isInTeamOf(manager, employee)) {
+				incremental.put(employee, manager);
+				managerIds[employee - 1] = manager;
+			}
+		}
+		EmployeeOrgChart rebuilt = new EmployeeOrgChart();
+		rebuilt.rebuild(employeeIds, managerIds, employees);
+
+		for (int id = 1; id <= employees; id += 7) {
+			EmployeeReportsDTO expected = rebuilt.reports(id, Integer.MAX_VALUE);
+			EmployeeReportsDTO actual = incremental.reports(id, Integer.MAX_VALUE);
+			assertThat(actual.getTeamSize()).isEqualTo(expected.getTeamSize()).isEqualTo(actual.getReports().size());
+			assertThat(sortedIds(actual.getReports())).isEqualTo(sortedIds(expected.getReports()));
+			assertThat(incremental.chainOfCommand(id)).isEqualTo(rebuilt.chainOfCommand(id));
+		}
+	}
+
+	@Test
+	void memoryPerEmployeeIsBounded() {
+		int[] employeeIds = new int[EMPLOYEES];
+		int[] managerIds = new int[EMPLOYEES];
+		for (int i = 0; i < EMPLOYEES; i++) {
+			employeeIds[i] = i + 1;
+			managerIds[i] = i == 0 ? EmployeeOrgChart.NO_MANAGER : i / FAN_OUT + 1;
+		}
+		EmployeeOrgChart large = new EmployeeOrgChart();
+		large.rebuild(employeeIds, managerIds, EMPLOYEES);
+		large.put(EMPLOYEES, 2);
+
+		EmployeeOrgChartStatsDTO stats = large.stats();
+		assertThat(large.reports(1, Integer.MAX_VALUE).getTeamSize()).isEqualTo(EMPLOYEES - 1);
+		assertThat(large.chainOfCommand(EMPLOYEES)).containsExactly(2, 1);
+		assertThat(stats.getEmployees()).isEqualTo(EMPLOYEES);
+		// Five int arrays plus the open addressing index at a load factor of at most one half
+		assertThat(stats.getBytesPerEmployee()).isLessThan(48);
+	}
+
+	private static List<Integer> sortedIds(List<EmployeeReportDTO> reports) {
+		int[] ids = reports.stream().mapToInt(EmployeeReportDTO::getEmployeeId).toArray();
+		Arrays.sort(ids);
+		return Arrays.stream(ids).boxed().toList();
+	}
+}
@@ -0,0 +1,211 @@
+package com.examples;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import com.employeemanagementsystem.Employee;
+import com.employeemanagementsystem.EmployeeChangeDTO;
+import com.employeemanagementsystem.EmployeeChangeLog;
+import com.employeemanagementsystem.EmployeeChangeLog.ChangeRecord;
+import com.employeemanagementsystem.EmployeeManagementSystemApplication;
+import com.employeemanagementsystem.EmployeeOutbox;
+import com.employeemanagementsystem.EmployeeOutboxRelay;
+import com.employeemanagementsystem.EmployeeOutboxRepository;
+import com.employeemanagementsystem.EmployeeOutboxStatsDTO;
+import com.employeemanagementsystem.EmployeeRepository;
+import com.employeemanagementsystem.EmployeeTombstone;
+import com.employeemanagementsystem.EmployeeTombstoneRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Outbox events exist exactly when the employee write commits, and the relay moves them into the
+ * change log in order and in batches. Relay throughput is in EmployeeOutboxRelayBenchmark.
+ */
+@DataJpaTest
+@ContextConfiguration(classes = EmployeeManagementSystemApplication.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmployeeOutboxRelayTest {
+
+	// Two full batches and a partial one
+	private static final int EVENTS = 1_200;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private EmployeeOutboxRepository outboxRepository;
+
+	@Autowired
+	private EmployeeTombstoneRepository tombstoneRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@TempDir
+	Path directory;
+
+	private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules()
+			.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+
+	private TransactionTemplate transactionTemplate;
+	private EmployeeOutbox outbox;
+	private EmployeeChangeLog changeLog;
+	private EmployeeOutboxRelay relay;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		transactionTemplate = new TransactionTemplate(transactionManager);
+		outbox = new EmployeeOutbox(outboxRepository, tombstoneRepository, objectMapper);
+		changeLog = new EmployeeChangeLog(directory.toString(), DataSize.ofMegabytes(16), Duration.ofDays(7), false, true);
+		relay = new EmployeeOutboxRelay(outboxRepository, changeLog, transactionManager, new SimpleMeterRegistry(), 500, true);
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		changeLog.destroy();
+		transactionTemplate.executeWithoutResult(status -> {
+			outboxRepository.deleteAllInBatch();
+			tombstoneRepository.deleteAllInBatch();
+			employeeRepository.deleteAll();
+		});
+	}
+
+	@Test
+	void onlyCommittedWritesAreRelayed() throws IOException {
+		transactionTemplate.executeWithoutResult(status -> create(employee(1, 101)));
+		// Rolled back with its write: the event never becomes visible
+		transactionTemplate.executeWithoutResult(status -> {
+			create(employee(2, 101));
+			status.setRollbackOnly();
+		});
+		transactionTemplate.executeWithoutResult(status -> {
+			Employee employee = employeeRepository.findById(1).orElseThrow();
+			employee.setManagerId(102);
+			employeeRepository.flush();
+			outbox.recordUpdated(employee, 101);
+		});
+		transactionTemplate.executeWithoutResult(status -> {
+			Employee employee = employeeRepository.findById(1).orElseThrow();
+			employeeRepository.delete(employee);
+			outbox.recordDeleted(employee, outbox.generationOf(1));
+		});
+
+		assertThat(outboxRepository.count()).isEqualTo(3);
+		assertThat(relay.relay()).isEqualTo(3);
+		assertThat(outboxRepository.count()).isZero();
+
+		List<EmployeeChangeDTO> changes = new ArrayList<>();
+		for (ChangeRecord record : changeLog.read(0, 10)) {
+			changes.add(objectMapper.readValue(new String(record.getPayload(), StandardCharsets.UTF_8), EmployeeChangeDTO.class));
+		}
+		assertThat(changes).extracting(EmployeeChangeDTO::getChangeType)
+				.containsExactly(EmployeeChangeDTO.CREATED, EmployeeChangeDTO.UPDATED, EmployeeChangeDTO.DELETED);
+		assertThat(changes).extracting(EmployeeChangeDTO::getEmployeeId).containsOnly(1);
+		assertThat(changes.get(0).getVersion()).isZero();
+		assertThat(changes.get(1).getVersion()).isEqualTo(1);
+		assertThat(changes.get(1).getManagerId()).isEqualTo(102);
+		assertThat(changes.get(1).getPreviousManagerId()).isEqualTo(101);
+		assertThat(changes.get(2).getName()).isNull();
+
+		// Nothing left: a second run appends nothing
+		assertThat(relay.relay()).isZero();
+		assertThat(changeLog.endOffset()).isEqualTo(3);
+	}
+
+	@Test
+	void anEmployeeCreatedAgainAfterADeleteStartsTheNextGeneration() throws IOException {
+		transactionTemplate.executeWithoutResult(status -> create(employee(1, 101)));
+		transactionTemplate.executeWithoutResult(status -> {
+			Employee employee = employeeRepository.findById(1).orElseThrow();
+			employee.setSalary(new BigDecimal("60000.00"));
+			employeeRepository.flush();
+			outbox.recordUpdated(employee, 101);
+		});
+		// As EmployeeService.deleteEmployee does it
+		transactionTemplate.executeWithoutResult(status -> {
+			Employee employee = employeeRepository.findById(1).orElseThrow();
+			int generation = outbox.generationOf(1);
+			employeeRepository.delete(employee);
+			tombstoneRepository.save(new EmployeeTombstone(1, 101, LocalDateTime.now(), generation));
+			outbox.recordDeleted(employee, generation);
+		});
+		transactionTemplate.executeWithoutResult(status -> create(employee(1, 102)));
+
+		relay.relay();
+
+		// Back at version 0, yet ordered after the delete, whose version is past the last update's
+		assertThat(changeLog.read(0, 10)).extracting(ChangeRecord::getGeneration, ChangeRecord::getVersion)
+				.containsExactly(tuple(0, 0L), tuple(0, 1L), tuple(0, 2L), tuple(1, 0L));
+	}
+
+	@Test
+	void relaysABacklogInBatches() throws IOException {
+		for (int from = 0; from < EVENTS; from += 1_000) {
+			int start = from;
+			transactionTemplate.executeWithoutResult(status -> {
+				List<Employee> employees = new ArrayList<>();
+				for (int id = start; id < Math.min(start + 1_000, EVENTS); id++) {
+					Employee employee = employee(id, 101 + id % 5);
+					employee.setVersion(0L); // as if inserted
+					employees.add(employee);
+				}
+				outbox.recordCreated(employees);
+			});
+		}
+
+		int relayed = relay.relay();
+		EmployeeOutboxStatsDTO stats = relay.stats();
+
+		assertThat(relayed).isEqualTo(EVENTS);
+		assertThat(stats.getPendingEvents()).isZero();
+		assertThat(stats.getLogEndOffset()).isEqualTo(EVENTS);
+		assertThat(stats.getRelayBatches()).isEqualTo(3);
+		assertThat(stats.getLastRunEvents()).isEqualTo(EVENTS);
+		assertThat(changeLog.read(0, EVENTS)).extracting(ChangeRecord::getEmployeeId)
+				.containsExactlyElementsOf(IntStream.range(0, EVENTS).boxed().toList());
+	}
+
+	private void create(Employee employee) {
+		employeeRepository.saveAndFlush(employee);
+		outbox.recordCreated(List.of(employee));
+	}
+
+	private static Employee employee(int id, int managerId) {
+		Employee employee = new Employee();
+		employee.setEmployeeId(id);
+		employee.setName("Employee");
+		employee.setDob(LocalDate.of(1990, 1, 1));
+		employee.setManagerId(managerId);
+		employee.setSalary(new BigDecimal("50000.00"));
+		employee.setEmailId("employee" + id + "@example.com");
+		return employee;
+	}
+}
@@ -0,0 +1,189 @@
+package com.examples;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.employeemanagementsystem.Employee;
+import com.employeemanagementsystem.EmployeeController;
+import com.employeemanagementsystem.EmployeeCursor;
+import com.employeemanagementsystem.EmployeeDTO;
+import com.employeemanagementsystem.EmployeeManagementSystemApplication;
+import com.employeemanagementsystem.EmployeePageDTO;
+import com.employeemanagementsystem.EmployeeRepository;
+import com.employeemanagementsystem.EmployeeService;
+import com.employeemanagementsystem.PhoneNumber;
+import com.employeemanagementsystem.PhoneNumberRepository;
+import com.employeemanagementsystem.VoterID;
+import com.employeemanagementsystem.VoterIDRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * GET /employees walks the table in employee ID order through opaque cursors; the last page has no
+ * next cursor, and bad cursors and page sizes are rejected with 400.
+ */
+@DataJpaTest
+@ContextConfiguration(classes = EmployeeManagementSystemApplication.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmployeePaginationTest {
+
+	private static final int EMPLOYEES = 25;
+	private static final int MAX_PAGE_SIZE = 20;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private PhoneNumberRepository phoneNumberRepository;
+
+	@Autowired
+	private VoterIDRepository voterIDRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	private TransactionTemplate transactionTemplate;
+	private EmployeeService employeeService;
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		transactionTemplate = new TransactionTemplate(transactionManager);
+		employeeService = new EmployeeService(employeeRepository);
+		ReflectionTestUtils.setField(employeeService, "phoneNumberRepository", phoneNumberRepository);
+		ReflectionTestUtils.setField(employeeService, "voterIDRepository", voterIDRepository);
+		ReflectionTestUtils.setField(employeeService, "defaultPageSize", 10);
+		ReflectionTestUtils.setField(employeeService, "maxPageSize", MAX_PAGE_SIZE);
+		mockMvc = MockMvcBuilders.standaloneSetup(new EmployeeController(employeeService, null, null, null, null,
+				null, null, null, null)).build();
+
+		// Inserted out of order so the pages only come out sorted if the query orders them
+		transactionTemplate.executeWithoutResult(status -> {
+			for (int i = EMPLOYEES; i >= 1; i--) {
+				entityManager.persist(employee(i * 10));
+			}
+		});
+	}
+
+	@AfterEach
+	void tearDown() {
+		transactionTemplate.executeWithoutResult(status -> employeeRepository.deleteAll());
+	}
+
+	@Test
+	void cursorsWalkEveryEmployeeOnceInIdOrder() {
+		List<Integer> ids = new ArrayList<>();
+		List<Integer> pageSizes = new ArrayList<>();
+		String cursor = null;
+		do {
+			EmployeePageDTO page = employeeService.getEmployeePage(cursor, null);
+			pageSizes.add(page.getEmployees().size());
+			for (EmployeeDTO employee : page.getEmployees()) {
+				ids.add(employee.getEmployeeId());
+				assertThat(employee.getPhoneNumbers()).hasSize(1);
+				assertThat(employee.getVoterID().getVoterNumber()).isEqualTo("VOTER" + employee.getEmployeeId());
+			}
+			cursor = page.getNextCursor();
+		} while (cursor != null);
+
+		assertThat(pageSizes).containsExactly(10, 10, 5);
+		assertThat(ids).hasSize(EMPLOYEES).isSorted().doesNotHaveDuplicates();
+	}
+
+	@Test
+	void aFullLastPageIsFollowedByAnEmptyPageWithoutCursor() {
+		EmployeePageDTO last = employeeService.getEmployeePage(EmployeeCursor.encode(200), 5);
+		assertThat(last.getEmployees()).extracting(EmployeeDTO::getEmployeeId).containsExactly(210, 220, 230, 240, 250);
+		assertThat(EmployeeCursor.decode(last.getNextCursor())).isEqualTo(250);
+
+		EmployeePageDTO empty = employeeService.getEmployeePage(last.getNextCursor(), 5);
+		assertThat(empty.getEmployees()).isEmpty();
+		assertThat(empty.getNextCursor()).isNull();
+	}
+
+	@Test
+	void cursorsRoundTripAndRejectAnythingElse() {
+		assertThat(EmployeeCursor.decode(EmployeeCursor.encode(42))).isEqualTo(42);
+		assertThat(EmployeeCursor.decode(EmployeeCursor.encode(-7))).isEqualTo(-7);
+
+		assertThatThrownBy(() -> EmployeeCursor.decode("not base64!")).isInstanceOf(IllegalArgumentException.class);
+		// Valid base64 of "42" and of "emp:x": wrong prefix, not a number
+		assertThatThrownBy(() -> EmployeeCursor.decode("NDI")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> EmployeeCursor.decode("ZW1wOng")).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void pageSizeMustBeWithinBounds() {
+		assertThat(employeeService.getEmployeePage(null, MAX_PAGE_SIZE).getEmployees()).hasSize(MAX_PAGE_SIZE);
+		assertThat(employeeService.getEmployeePage(null, 1).getEmployees()).hasSize(1);
+		assertThatThrownBy(() -> employeeService.getEmployeePage(null, 0)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> employeeService.getEmployeePage(null, MAX_PAGE_SIZE + 1))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void controllerAnswersBadCursorsAndSizesWith400() throws Exception {
+		mockMvc.perform(get("/employees").param("size", "10"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.employees.length()").value(10))
+				.andExpect(jsonPath("$.nextCursor").value(EmployeeCursor.encode(100)));
+		mockMvc.perform(get("/employees").param("cursor", EmployeeCursor.encode(240)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.employees.length()").value(1))
+				.andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+		mockMvc.perform(get("/employees").param("cursor", "not-a-cursor")).andExpect(status().isBadRequest());
+		mockMvc.perform(get("/employees").param("size", "0")).andExpect(status().isBadRequest());
+		mockMvc.perform(get("/employees").param("size", String.valueOf(MAX_PAGE_SIZE + 1)))
+				.andExpect(status().isBadRequest());
+	}
+
+	private static Employee employee(int id) {
+		Employee employee = new Employee();
+		employee.setEmployeeId(id);
+		employee.setName("Employee");
+		employee.setDob(LocalDate.of(1990, 1, 1));
+		employee.setManagerId(101);
+		employee.setSalary(new BigDecimal("50000.00"));
+		employee.setEmailId("employee" + id + "@example.com");
+
+		VoterID voterID = new VoterID();
+		voterID.setVoterId(id);
+		voterID.setVoterNumber("VOTER" + id);
+		voterID.setCity("Pune");
+		employee.setVoterID(voterID);
+
+		PhoneNumber phoneNumber = new PhoneNumber();
+		phoneNumber.setPhoneId(id);
+		phoneNumber.setPhoneNumber("98765" + (10000 + id));
+		phoneNumber.setProvider("Jio");
+		phoneNumber.setType("MOBILE");
+		phoneNumber.setEmployee(employee);
+		return employee;
+	}
+}
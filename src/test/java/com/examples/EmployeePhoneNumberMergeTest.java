@@ -0,0 +1,234 @@
+package com.examples;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.employeemanagementsystem.Employee;
+import com.employeemanagementsystem.EmployeeCache;
+import com.employeemanagementsystem.EmployeeLookupIndex;
+import com.employeemanagementsystem.EmployeeManagementSystemApplication;
+import com.employeemanagementsystem.EmployeeOrgChart;
+import com.employeemanagementsystem.EmployeeOutbox;
+import com.employeemanagementsystem.EmployeeOutboxRepository;
+import com.employeemanagementsystem.EmployeeRepository;
+import com.employeemanagementsystem.EmployeeService;
+import com.employeemanagementsystem.EmployeeTombstoneRepository;
+import com.employeemanagementsystem.EmployeeUpdateRequestDTO;
+import com.employeemanagementsystem.PhoneNumber;
+import com.employeemanagementsystem.PhoneNumberDTO;
+import com.employeemanagementsystem.SalaryStatsService;
+import com.employeemanagementsystem.VoterID;
+import com.employeemanagementsystem.VoterIDDTO;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Counts the statements and rows written by EmployeeService.updateEmployeeDetails: only phones that
+ * actually differ may be inserted, updated or deleted, and the statement count must not grow with
+ * the size of the collection.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ContextConfiguration(classes = EmployeeManagementSystemApplication.class)
+class EmployeePhoneNumberMergeTest {
+
+	private static final int EMPLOYEE_ID = 1;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private EmployeeOutboxRepository outboxRepository;
+
+	@Autowired
+	private EmployeeTombstoneRepository tombstoneRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	private EmployeeService employeeService;
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		employeeService = new EmployeeService(employeeRepository);
+		ReflectionTestUtils.setField(employeeService, "employeeCache", new EmployeeCache(100, Duration.ofMinutes(10), 1_000));
+		ReflectionTestUtils.setField(employeeService, "employeeLookupIndex", new EmployeeLookupIndex());
+		ReflectionTestUtils.setField(employeeService, "employeeOrgChart", new EmployeeOrgChart());
+		ReflectionTestUtils.setField(employeeService, "salaryStatsService",
+				new SalaryStatsService(employeeRepository, transactionManager));
+		ReflectionTestUtils.setField(employeeService, "employeeOutbox", new EmployeeOutbox(outboxRepository, tombstoneRepository,
+				JsonMapper.builder().findAndAddModules().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build()));
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 1, 50, 500 })
+	void unchangedRequestWritesNothing(int phoneCount) {
+		seed(phoneCount);
+
+		update(request(phoneCount));
+
+		// The single fetch-joined read, and no event for a request that changed nothing
+		assertStatements(1);
+		assertWrites(0, 0, 0);
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 1, 50, 500 })
+	void changedPhoneIsTheOnlyUpdate(int phoneCount) {
+		seed(phoneCount);
+		EmployeeUpdateRequestDTO request = request(phoneCount);
+		request.getPhoneNumbers().get(0).setProvider("Airtel");
+
+		update(request);
+
+		// The read, the phone, the employee's updated stamp and version, and the outbox event
+		assertStatementsWithEvent(4);
+		assertWrites(1, 2, 0);
+		assertThat(reload().getPhoneNumbers()).hasSize(phoneCount)
+				.filteredOn(phoneNumber -> "Airtel".equals(phoneNumber.getProvider())).hasSize(1);
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 1, 50, 500 })
+	void addedAndRemovedPhonesAreTheOnlyInsertAndDelete(int phoneCount) {
+		seed(phoneCount);
+		EmployeeUpdateRequestDTO request = request(phoneCount);
+		List<PhoneNumberDTO> phoneNumbers = request.getPhoneNumbers();
+		phoneNumbers.remove(phoneNumbers.size() - 1);
+		phoneNumbers.add(phoneNumberDTO(EMPLOYEE_ID * 1000 + phoneCount));
+
+		update(request);
+
+		assertStatementsWithEvent(5);
+		assertWrites(2, 1, 1);
+		assertThat(reload().getPhoneNumbers()).extracting(PhoneNumber::getPhoneId)
+				.containsExactlyInAnyOrderElementsOf(phoneNumbers.stream().map(PhoneNumberDTO::getPhoneId).toList());
+	}
+
+	@Test
+	void voterIDIsUpdatedInPlace() {
+		seed(1);
+		EmployeeUpdateRequestDTO request = request(1);
+		request.setVoterID(voterIDDTO("Mumbai"));
+
+		update(request);
+
+		assertStatementsWithEvent(4);
+		assertWrites(1, 2, 0);
+		assertThat(reload().getVoterID().getCity()).isEqualTo("Mumbai");
+	}
+
+	private void seed(int phoneCount) {
+		Employee employee = new Employee();
+		employee.setEmployeeId(EMPLOYEE_ID);
+		employee.setName("Employee");
+		employee.setDob(LocalDate.of(1990, 1, 1));
+		employee.setManagerId(101);
+		employee.setSalary(new BigDecimal("50000.00"));
+		employee.setEmailId("employee@example.com");
+
+		VoterID voterID = new VoterID();
+		voterID.setVoterId(EMPLOYEE_ID);
+		voterID.setVoterNumber("VOTER" + EMPLOYEE_ID);
+		voterID.setCity("Pune");
+		employee.setVoterID(voterID);
+
+		for (PhoneNumberDTO phoneNumberDTO : phoneNumberDTOs(phoneCount)) {
+			PhoneNumber phoneNumber = new PhoneNumber();
+			phoneNumber.setPhoneId(phoneNumberDTO.getPhoneId());
+			phoneNumber.setPhoneNumber(phoneNumberDTO.getPhoneNumber());
+			phoneNumber.setProvider(phoneNumberDTO.getProvider());
+			phoneNumber.setType(phoneNumberDTO.getType());
+			phoneNumber.setEmployee(employee);
+		}
+		entityManager.persist(employee);
+		entityManager.flush();
+		entityManager.clear();
+
+		statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	// Flushes what the commit would, so the outbox insert is counted too
+	private void update(EmployeeUpdateRequestDTO request) {
+		employeeService.updateEmployeeDetails(EMPLOYEE_ID, request, null);
+		entityManager.flush();
+	}
+
+	private Employee reload() {
+		entityManager.clear();
+		return employeeRepository.findByIdWithDetails(EMPLOYEE_ID).orElseThrow();
+	}
+
+	private void assertStatements(long statements) {
+		assertThat(statistics.getPrepareStatementCount()).as("statements").isEqualTo(statements);
+	}
+
+	// Plus the tombstone read for the event's generation, and the sequence call when the outbox insert
+	// starts a new block of IDs
+	private void assertStatementsWithEvent(long statements) {
+		assertThat(statistics.getPrepareStatementCount()).as("statements").isBetween(statements + 1, statements + 2);
+	}
+
+	private void assertWrites(long inserts, long updates, long deletes) {
+		assertThat(statistics.getEntityInsertCount()).as("inserts").isEqualTo(inserts);
+		assertThat(statistics.getEntityUpdateCount()).as("updates").isEqualTo(updates);
+		assertThat(statistics.getEntityDeleteCount()).as("deletes").isEqualTo(deletes);
+	}
+
+	private static EmployeeUpdateRequestDTO request(int phoneCount) {
+		EmployeeUpdateRequestDTO request = new EmployeeUpdateRequestDTO();
+		request.setEmployeeId(EMPLOYEE_ID);
+		request.setName("Employee");
+		request.setDob(LocalDate.of(1990, 1, 1));
+		request.setManagerId(101);
+		request.setSalary(new BigDecimal("50000.00"));
+		request.setEmailId("employee@example.com");
+		request.setPhoneNumbers(phoneNumberDTOs(phoneCount));
+		request.setVoterID(voterIDDTO("Pune"));
+		return request;
+	}
+
+	private static List<PhoneNumberDTO> phoneNumberDTOs(int phoneCount) {
+		List<PhoneNumberDTO> phoneNumberDTOs = new ArrayList<>(phoneCount);
+		for (int i = 0; i < phoneCount; i++) {
+			phoneNumberDTOs.add(phoneNumberDTO(EMPLOYEE_ID * 1000 + i));
+		}
+		return phoneNumberDTOs;
+	}
+
+	private static PhoneNumberDTO phoneNumberDTO(int phoneId) {
+		PhoneNumberDTO phoneNumberDTO = new PhoneNumberDTO();
+		phoneNumberDTO.setPhoneId(phoneId);
+		phoneNumberDTO.setPhoneNumber("98765" + phoneId);
+		phoneNumberDTO.setProvider("Jio");
+		phoneNumberDTO.setType("MOBILE");
+		return phoneNumberDTO;
+	}
+
+	private static VoterIDDTO voterIDDTO(String city) {
+		return new VoterIDDTO(EMPLOYEE_ID, EMPLOYEE_ID, "VOTER" + EMPLOYEE_ID, city);
+	}
+}
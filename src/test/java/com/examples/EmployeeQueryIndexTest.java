@@ -0,0 +1,146 @@
+package com.examples;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.sql.DataSource;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.employeemanagementsystem.EmployeeManagementSystemApplication;
+import com.employeemanagementsystem.EmployeeRepository;
+
+/**
+ * Runs the Flyway migrations against H2 in Oracle mode, seeds the employee tables and checks that
+ * the SQL Hibernate generates for the lookup queries is planned through the V3 indexes.
+ * The default seed keeps the suite fast; run the full-size check with -Dindex.test.employees=1000000.
+ */
+@DataJpaTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:indexes;MODE=Oracle;DB_CLOSE_DELAY=-1",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.hibernate.ddl-auto=none",
+		"employee.jpa-cache.enabled=false",
+		"spring.jpa.properties.hibernate.session_factory.statement_inspector=com.examples.EmployeeQueryIndexTest$CapturingInspector" })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = EmployeeManagementSystemApplication.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EmployeeQueryIndexTest {
+
+	private static final int EMPLOYEES = Integer.getInteger("index.test.employees", 5_000);
+	private static final int SEED_CHUNK = 20_000;
+
+	public static class CapturingInspector implements StatementInspector {
+		static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+		@Override
+		public String inspect(String sql) {
+			STATEMENTS.add(sql);
+			return sql;
+		}
+	}
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@BeforeAll
+	void seed() throws SQLException {
+		try (Connection connection = dataSource.getConnection()) {
+			// Chunked so H2 does not keep an undo log for the whole table
+			for (int from = 1; from <= EMPLOYEES; from += SEED_CHUNK) {
+				String range = "SYSTEM_RANGE(" + from + ", " + Math.min(from + SEED_CHUNK - 1, EMPLOYEES) + ")";
+				connection.createStatement().execute("INSERT INTO employee (EMPLOYEE_ID, EMP_NAME, DOB, MANAGER_ID, SALARY, EMAIL_ID, CREATED_DATETIME) "
+						+ "SELECT X, 'Employee', DATE '1990-01-01', 101 + MOD(X, 5), 10000 + MOD(X * 7919, 190000), 'employee' || X || '@example.com', CURRENT_TIMESTAMP "
+						+ "FROM " + range);
+				connection.createStatement().execute("INSERT INTO phone_number (PHONE_ID, EMPLOYEE_ID, PHONE_NUMBER, PROVIDER, TYPE) "
+						+ "SELECT X, X, '9' || LPAD(X, 9, '0'), 'Jio', 'MOBILE' FROM " + range);
+				// Every 1000th employee has no voter ID
+				connection.createStatement().execute("INSERT INTO VoterID (VOTER_ID, EMPLOYEE_ID, VOTER_NUMBER, CITY) "
+						+ "SELECT X, X, 'VOTER' || X, 'Pune' FROM " + range + " WHERE MOD(X, 1000) <> 0");
+			}
+			connection.createStatement().execute("ANALYZE");
+		}
+	}
+
+	@BeforeEach
+	void resetCapturedStatements() {
+		CapturingInspector.STATEMENTS.clear();
+	}
+
+	@Test
+	void managerLookupUsesManagerAndForeignKeyIndexes() throws SQLException {
+		employeeRepository.findByManagerId(999);
+
+		String plan = explain(firstStatement(), 999);
+		assertThat(plan).contains("IDX_EMPLOYEE_MANAGER_ID: MANAGER_ID = ?1");
+		assertThat(plan).containsPattern(employeeIdIndex("PHONE_NUMBER"));
+		assertThat(plan).containsPattern(employeeIdIndex("VOTERID"));
+	}
+
+	@Test
+	void salaryLookupUsesSalaryIndex() throws SQLException {
+		BigDecimal threshold = new BigDecimal("199990");
+		employeeRepository.findBySalaryGreaterThan(threshold);
+
+		assertThat(explain(firstStatement(), threshold)).contains("IDX_EMPLOYEE_SALARY: SALARY > ?1");
+	}
+
+	@Test
+	void missingVoterIdLookupIsAnIndexedAntiJoin() throws SQLException {
+		assertThat(employeeRepository.findByVoterIdIsNull()).hasSize(EMPLOYEES / 1000);
+
+		String plan = explain(firstStatement());
+		assertThat(plan).contains("NOT EXISTS");
+		assertThat(plan).containsPattern(employeeIdIndex("VOTERID"));
+	}
+
+	// H2 indexes foreign key columns on its own and then prefers that index over the V3 one on the
+	// same column; Oracle does not, which is what V3 is for. Either index proves there is no scan.
+	private String employeeIdIndex(String table) {
+		return "(IDX_" + table + "_EMPLOYEE_ID|FK_" + table + "_EMPLOYEE_INDEX_\\d+): EMPLOYEE_ID = ";
+	}
+
+	private String firstStatement() {
+		List<String> statements = CapturingInspector.STATEMENTS;
+		assertThat(statements).isNotEmpty();
+		return statements.get(0);
+	}
+
+	private String explain(String sql, Object... parameters) throws SQLException {
+		try (Connection connection = dataSource.getConnection();
+				PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+			for (int i = 0; i < parameters.length; i++) {
+				statement.setObject(i + 1, parameters[i]);
+			}
+			StringBuilder plan = new StringBuilder();
+			try (ResultSet resultSet = statement.executeQuery()) {
+				while (resultSet.next()) {
+					plan.append(resultSet.getString(1)).append('\n');
+				}
+			}
+			return plan.toString().toUpperCase();
+		}
+	}
+}
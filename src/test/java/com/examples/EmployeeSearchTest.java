@@ -0,0 +1,191 @@
+package com.examples;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.sql.DataSource;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.employeemanagementsystem.Employee;
+import com.employeemanagementsystem.EmployeeDTO;
+import com.employeemanagementsystem.EmployeeManagementSystemApplication;
+import com.employeemanagementsystem.EmployeeRepository;
+import com.employeemanagementsystem.EmployeeSearchCriteria;
+import com.employeemanagementsystem.EmployeeSpecifications;
+
+/**
+ * Runs the search specifications against the migrated schema in H2 (Oracle mode): results must match
+ * the same filters written as plain SQL, and manager and salary filters must be planned through their
+ * indexes. Page and count timings are measured by EmployeeSearchBenchmark in the benchmarks module.
+ */
+@DataJpaTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:search;MODE=Oracle;DB_CLOSE_DELAY=-1",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.hibernate.ddl-auto=none",
+		"employee.jpa-cache.enabled=false",
+		"spring.jpa.properties.hibernate.session_factory.statement_inspector=com.examples.EmployeeSearchTest$CapturingInspector" })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = EmployeeManagementSystemApplication.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EmployeeSearchTest {
+
+	private static final int EMPLOYEES = 5_000;
+	private static final int PAGE_SIZE = 100;
+
+	public static class CapturingInspector implements StatementInspector {
+		static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+		@Override
+		public String inspect(String sql) {
+			STATEMENTS.add(sql);
+			return sql;
+		}
+	}
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@BeforeAll
+	void seed() throws SQLException {
+		try (Connection connection = dataSource.getConnection()) {
+			String range = "SYSTEM_RANGE(1, " + EMPLOYEES + ")";
+			// Names start with A..Z, managers 101..105, DOBs spread over ~40 years
+			connection.createStatement().execute("INSERT INTO employee (EMPLOYEE_ID, EMP_NAME, DOB, MANAGER_ID, SALARY, EMAIL_ID, CREATED_DATETIME) "
+					+ "SELECT X, CHAR(65 + MOD(X, 26)) || 'mployee', DATE '1960-01-01' + MOD(X, 15000), 101 + MOD(X, 5), "
+					+ "10000 + MOD(X * 7919, 190000), 'employee' || X || '@example.com', CURRENT_TIMESTAMP FROM " + range);
+			connection.createStatement().execute("INSERT INTO phone_number (PHONE_ID, EMPLOYEE_ID, PHONE_NUMBER, PROVIDER, TYPE) "
+					+ "SELECT X, X, '9' || LPAD(X, 9, '0'), CASE MOD(X, 3) WHEN 0 THEN 'Jio' WHEN 1 THEN 'Airtel' ELSE 'Vi' END, 'MOBILE' "
+					+ "FROM " + range);
+			connection.createStatement().execute("INSERT INTO VoterID (VOTER_ID, EMPLOYEE_ID, VOTER_NUMBER, CITY) "
+					+ "SELECT X, X, 'VOTER' || X, CASE MOD(X, 4) WHEN 0 THEN 'Pune' WHEN 1 THEN 'Mumbai' WHEN 2 THEN 'Delhi' ELSE 'Chennai' END "
+					+ "FROM " + range + " WHERE MOD(X, 1000) <> 0");
+			connection.createStatement().execute("ANALYZE");
+		}
+	}
+
+	@BeforeEach
+	void resetCapturedStatements() {
+		CapturingInspector.STATEMENTS.clear();
+	}
+
+	@Test
+	void combinedFiltersMatchTheSameFiltersInPlainSql() throws SQLException {
+		EmployeeSearchCriteria criteria = new EmployeeSearchCriteria();
+		criteria.setName("C");
+		criteria.setManagerId(102);
+		criteria.setMinSalary(new BigDecimal("50000"));
+		criteria.setMaxSalary(new BigDecimal("150000"));
+		criteria.setDobFrom(LocalDate.of(1970, 1, 1));
+		criteria.setCity("Pune");
+		criteria.setProvider("Jio");
+		Specification<Employee> specification = EmployeeSpecifications.matching(criteria);
+
+		List<EmployeeDTO> employees = employeeRepository.searchDTOs(specification,
+				Sort.by(Sort.Direction.DESC, "salary").and(Sort.by("employeeId")), 0, EMPLOYEES);
+
+		long expected = countWithSql("SELECT COUNT(*) FROM employee e WHERE e.EMP_NAME LIKE 'C%' AND e.MANAGER_ID = 102 "
+				+ "AND e.SALARY BETWEEN 50000 AND 150000 AND e.DOB >= DATE '1970-01-01' "
+				+ "AND EXISTS (SELECT 1 FROM VoterID v WHERE v.EMPLOYEE_ID = e.EMPLOYEE_ID AND v.CITY = 'Pune') "
+				+ "AND EXISTS (SELECT 1 FROM phone_number p WHERE p.EMPLOYEE_ID = e.EMPLOYEE_ID AND p.PROVIDER = 'Jio')");
+		assertThat(expected).isPositive();
+		assertThat(employees).hasSize((int) expected);
+		assertThat(employeeRepository.count(specification)).isEqualTo(expected);
+		assertThat(employees).isSortedAccordingTo(Comparator.comparing(EmployeeDTO::getSalary).reversed()
+				.thenComparing(EmployeeDTO::getEmployeeId));
+		assertThat(employees).allSatisfy(employee -> {
+			assertThat(employee.getName()).startsWith("C");
+			assertThat(employee.getManagerId()).isEqualTo(102);
+			assertThat(employee.getVersion()).isZero();
+		});
+	}
+
+	@Test
+	void pagesAreDisjointAndOrdered() {
+		Specification<Employee> specification = EmployeeSpecifications.managedBy(103);
+		Sort sort = Sort.by("name").and(Sort.by("employeeId"));
+
+		List<EmployeeDTO> first = employeeRepository.searchDTOs(specification, sort, 0, PAGE_SIZE);
+		List<EmployeeDTO> second = employeeRepository.searchDTOs(specification, sort, PAGE_SIZE, PAGE_SIZE);
+
+		assertThat(first).hasSize(PAGE_SIZE);
+		assertThat(second).hasSize(PAGE_SIZE);
+		assertThat(first.get(PAGE_SIZE - 1).getName().compareTo(second.get(0).getName())).isLessThanOrEqualTo(0);
+		assertThat(first).extracting(EmployeeDTO::getEmployeeId)
+				.doesNotContainAnyElementsOf(second.stream().map(EmployeeDTO::getEmployeeId).toList());
+	}
+
+	@Test
+	void managerFilterUsesManagerIndex() throws SQLException {
+		employeeRepository.searchDTOs(EmployeeSpecifications.managedBy(999), Sort.by("employeeId"), 0, PAGE_SIZE + 1);
+
+		assertThat(explain(firstStatement(), 999, PAGE_SIZE + 1)).contains("IDX_EMPLOYEE_MANAGER_ID: MANAGER_ID = ?1");
+	}
+
+	@Test
+	void salaryRangeUsesSalaryIndex() throws SQLException {
+		BigDecimal min = new BigDecimal("199000");
+		BigDecimal max = new BigDecimal("199500");
+		employeeRepository.searchDTOs(EmployeeSpecifications.salaryBetween(min, max),
+				Sort.by(Sort.Direction.DESC, "salary").and(Sort.by("employeeId")), 0, PAGE_SIZE + 1);
+
+		assertThat(explain(firstStatement(), min, max, PAGE_SIZE + 1)).contains("IDX_EMPLOYEE_SALARY");
+	}
+
+	private long countWithSql(String sql) throws SQLException {
+		try (Connection connection = dataSource.getConnection();
+				ResultSet resultSet = connection.createStatement().executeQuery(sql)) {
+			resultSet.next();
+			return resultSet.getLong(1);
+		}
+	}
+
+	private String firstStatement() {
+		List<String> statements = CapturingInspector.STATEMENTS;
+		assertThat(statements).isNotEmpty();
+		return statements.get(0);
+	}
+
+	private String explain(String sql, Object... parameters) throws SQLException {
+		try (Connection connection = dataSource.getConnection();
+				PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+			for (int i = 0; i < parameters.length; i++) {
+				statement.setObject(i + 1, parameters[i]);
+			}
+			StringBuilder plan = new StringBuilder();
+			try (ResultSet resultSet = statement.executeQuery()) {
+				while (resultSet.next()) {
+					plan.append(resultSet.getString(1)).append('\n');
+				}
+			}
+			return plan.toString().toUpperCase();
+		}
+	}
+}
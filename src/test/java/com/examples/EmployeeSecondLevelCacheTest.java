@@ -0,0 +1,127 @@
+package com.examples;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.employeemanagementsystem.Employee;
+import com.employeemanagementsystem.EmployeeManagementSystemApplication;
+import com.employeemanagementsystem.EmployeeRepository;
+import com.employeemanagementsystem.PhoneNumber;
+import com.employeemanagementsystem.VoterID;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * With the second-level and query cache enabled, only the first manager or ID lookup goes to the
+ * database; the repeats, each in its own transaction like separate HTTP requests, issue no
+ * statements at all.
+ */
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"employee.jpa-cache.enabled=true" })
+@ContextConfiguration(classes = EmployeeManagementSystemApplication.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmployeeSecondLevelCacheTest {
+
+	private static final int TEAM_SIZE = 20;
+	private static final int REPEATS = 50;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private TransactionTemplate transactionTemplate;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void seedTeam() {
+		transactionTemplate = new TransactionTemplate(transactionManager);
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		transactionTemplate.executeWithoutResult(status -> {
+			for (int i = 1; i <= TEAM_SIZE; i++) {
+				Employee employee = new Employee();
+				employee.setEmployeeId(i);
+				employee.setName("Employee");
+				employee.setDob(LocalDate.of(1990, 1, 1));
+				employee.setManagerId(102);
+				employee.setSalary(new BigDecimal("50000.00"));
+				employee.setEmailId("employee" + i + "@example.com");
+
+				VoterID voterID = new VoterID();
+				voterID.setVoterId(i);
+				voterID.setVoterNumber("VOTER" + i);
+				voterID.setCity("Pune");
+				employee.setVoterID(voterID);
+
+				PhoneNumber phoneNumber = new PhoneNumber();
+				phoneNumber.setPhoneId(i);
+				phoneNumber.setPhoneNumber("987654321" + i);
+				phoneNumber.setProvider("Jio");
+				phoneNumber.setType("MOBILE");
+				phoneNumber.setEmployee(employee);
+				employeeRepository.save(employee);
+			}
+		});
+		entityManagerFactory.getCache().evictAll();
+	}
+
+	@AfterEach
+	void cleanUp() {
+		transactionTemplate.executeWithoutResult(status -> employeeRepository.deleteAll());
+		entityManagerFactory.getCache().evictAll();
+	}
+
+	@Test
+	void repeatedManagerLookupsAreServedFromTheQueryCache() {
+		long firstLookup = countStatements(1, () -> employeeRepository.findByManagerId(102).forEach(this::touch));
+		long repeatedLookups = countStatements(REPEATS, () -> employeeRepository.findByManagerId(102).forEach(this::touch));
+
+		assertThat(firstLookup).isPositive();
+		assertThat(repeatedLookups).isZero();
+		assertThat(statistics.getQueryCacheHitCount()).isEqualTo(REPEATS);
+	}
+
+	@Test
+	void repeatedIdLookupsAreServedFromTheSecondLevelCache() {
+		long firstLookup = countStatements(1, () -> touch(employeeRepository.findByIdWithDetails(7).orElseThrow()));
+		long repeatedLookups = countStatements(REPEATS, () -> touch(employeeRepository.findByIdWithDetails(7).orElseThrow()));
+
+		assertThat(firstLookup).isPositive();
+		assertThat(repeatedLookups).isZero();
+		assertThat(statistics.getQueryCacheHitCount()).isEqualTo(REPEATS);
+	}
+
+	private long countStatements(int repeats, Runnable lookup) {
+		statistics.clear();
+		for (int i = 0; i < repeats; i++) {
+			transactionTemplate.executeWithoutResult(status -> lookup.run());
+		}
+		return statistics.getPrepareStatementCount();
+	}
+
+	private void touch(Employee employee) {
+		employee.getPhoneNumbers().size();
+		employee.getVoterID().getCity();
+	}
+}
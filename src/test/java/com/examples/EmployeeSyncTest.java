@@ -0,0 +1,262 @@
+package com.examples;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.employeemanagementsystem.Employee;
+import com.employeemanagementsystem.EmployeeDTO;
+import com.employeemanagementsystem.EmployeeManagementSystemApplication;
+import com.employeemanagementsystem.EmployeeRepository;
+import com.employeemanagementsystem.EmployeeService;
+import com.employeemanagementsystem.EmployeeSyncPageDTO;
+import com.employeemanagementsystem.EmployeeSyncService;
+import com.employeemanagementsystem.EmployeeSyncToken;
+import com.employeemanagementsystem.EmployeeTombstone;
+import com.employeemanagementsystem.EmployeeTombstoneRepository;
+import com.employeemanagementsystem.PhoneNumberRepository;
+import com.employeemanagementsystem.SyncTokenExpiredException;
+import com.employeemanagementsystem.VoterIDRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * A full sync returns every employee once across its pages; the following syncs return only what
+ * was created, updated or deleted in between. Sync times are in EmployeeSyncBenchmark.
+ */
+@DataJpaTest
+@ContextConfiguration(classes = EmployeeManagementSystemApplication.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmployeeSyncTest {
+
+	private static final int EMPLOYEES = 2_000;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private EmployeeTombstoneRepository tombstoneRepository;
+
+	@Autowired
+	private PhoneNumberRepository phoneNumberRepository;
+
+	@Autowired
+	private VoterIDRepository voterIDRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules()
+			.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+
+	private TransactionTemplate transactionTemplate;
+	private EmployeeService employeeService;
+	private EmployeeSyncService syncService;
+
+	@BeforeEach
+	void setUp() {
+		transactionTemplate = new TransactionTemplate(transactionManager);
+		employeeService = new EmployeeService(employeeRepository);
+		ReflectionTestUtils.setField(employeeService, "phoneNumberRepository", phoneNumberRepository);
+		ReflectionTestUtils.setField(employeeService, "voterIDRepository", voterIDRepository);
+		// No overlap: every write in these tests has committed before the next sync starts
+		syncService = syncService(Duration.ZERO);
+	}
+
+	@AfterEach
+	void tearDown() {
+		transactionTemplate.executeWithoutResult(status -> {
+			tombstoneRepository.deleteAllInBatch();
+			employeeRepository.deleteAll();
+		});
+	}
+
+	@Test
+	void incrementalSyncReturnsOnlyTheChanges() {
+		seed(1, 250);
+		Sync full = syncAll(null, 100);
+		assertThat(full.pages).isEqualTo(3);
+		assertThat(full.changed).hasSize(250).doesNotHaveDuplicates();
+		assertThat(full.deleted).isEmpty();
+
+		update(7);
+		update(120);
+		update(249);
+		delete(3);
+		delete(200);
+		seed(1_000, 1);
+		// Deleted and re-created: synced as the employee, not as a delete
+		delete(50);
+		seed(50, 1);
+
+		Sync delta = syncAll(full.token, 100);
+		assertThat(delta.changed).containsExactlyInAnyOrder(7, 120, 249, 1_000, 50);
+		assertThat(delta.deleted).containsExactlyInAnyOrder(3, 200);
+
+		// One change per page still ends up with the same set, in (change time, ID) order
+		Sync paged = syncAll(full.token, 1);
+		assertThat(paged.pages).isEqualTo(7);
+		assertThat(paged.changed).containsExactlyInAnyOrderElementsOf(delta.changed);
+		assertThat(paged.deleted).containsExactlyElementsOf(delta.deleted);
+
+		Sync nothing = syncAll(delta.token, 100);
+		assertThat(nothing.changed).isEmpty();
+		assertThat(nothing.deleted).isEmpty();
+	}
+
+	@Test
+	void aChangeCommittedAfterTheSyncReadPastItsTimeIsServedByTheNextOne() {
+		seed(1, 10);
+		Sync full = syncAll(null, 100);
+
+		// Stamped before the full sync ended, as by a transaction still in flight or a clock behind
+		seed(20, 1);
+		transactionTemplate.executeWithoutResult(status ->
+				entityManager.createNativeQuery("UPDATE employee SET CREATED_DATETIME = :created WHERE EMPLOYEE_ID = 20")
+						.setParameter("created", LocalDateTime.now().minusSeconds(10))
+						.executeUpdate());
+
+		assertThat(syncAll(full.token, 100).changed).isEmpty();
+
+		// The overlap serves it, along with the employees seeded within it again
+		EmployeeSyncService overlapping = syncService(Duration.ofMinutes(1));
+		Sync delta = syncAll(full.token, 100, overlapping);
+		assertThat(delta.changed).contains(20).hasSize(11);
+	}
+
+	@Test
+	void refusesExpiredAndMalformedTokens() {
+		String expired = new EmployeeSyncToken(LocalDateTime.now().minusDays(31), Integer.MAX_VALUE, null, false).encode();
+		assertThatThrownBy(() -> syncService.getChangesSince(expired, null)).isInstanceOf(SyncTokenExpiredException.class);
+		assertThatThrownBy(() -> syncService.getChangesSince("not-a-token", null))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> syncService.getChangesSince(null, 0)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void purgeDropsOnlyExpiredTombstones() {
+		transactionTemplate.executeWithoutResult(status -> {
+			tombstoneRepository.save(new EmployeeTombstone(1, 101, LocalDateTime.now().minusDays(40), 0));
+			tombstoneRepository.save(new EmployeeTombstone(2, 101, LocalDateTime.now().minusDays(1), 0));
+		});
+
+		Integer purged = transactionTemplate.execute(status -> syncService.purgeTombstones());
+		assertThat(purged).isEqualTo(1);
+		assertThat(tombstoneRepository.findAll()).extracting(EmployeeTombstone::getEmployeeId).containsExactly(2);
+	}
+
+	@Test
+	void deltaTransfersAFractionOfTheFullSync() {
+		seed(1, EMPLOYEES);
+		Sync full = syncAll(null, 1_000);
+
+		int changes = EMPLOYEES / 100;
+		for (int i = 0; i < changes; i++) {
+			update(1 + i * 100);
+		}
+		Sync delta = syncAll(full.token, 1_000);
+
+		assertThat(full.pages).isEqualTo(2);
+		assertThat(delta.pages).isEqualTo(1);
+		assertThat(delta.changed).hasSize(changes);
+		assertThat(delta.bytes).isLessThan(full.bytes / 50);
+	}
+
+	private EmployeeSyncService syncService(Duration overlap) {
+		return new EmployeeSyncService(employeeRepository, tombstoneRepository, employeeService, 100, 1_000, overlap,
+				Duration.ofDays(30));
+	}
+
+	private Sync syncAll(String token, int size) {
+		return syncAll(token, size, syncService);
+	}
+
+	private Sync syncAll(String token, int size, EmployeeSyncService syncService) {
+		Sync sync = new Sync();
+		EmployeeSyncPageDTO page;
+		do {
+			page = syncService.getChangesSince(token, size);
+			sync.pages++;
+			try {
+				sync.bytes += objectMapper.writeValueAsBytes(page).length;
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+			for (EmployeeDTO employee : page.getChanged()) {
+				sync.changed.add(employee.getEmployeeId());
+			}
+			sync.deleted.addAll(page.getDeleted());
+			token = page.getNextToken();
+		} while (page.isHasMore());
+		sync.token = token;
+		Set<Integer> unique = new HashSet<>(sync.changed);
+		assertThat(unique).hasSameSizeAs(sync.changed);
+		return sync;
+	}
+
+	private void seed(int firstId, int count) {
+		for (int from = firstId; from < firstId + count; from += 1_000) {
+			int start = from;
+			transactionTemplate.executeWithoutResult(status -> {
+				for (int id = start; id < Math.min(start + 1_000, firstId + count); id++) {
+					Employee employee = new Employee();
+					employee.setEmployeeId(id);
+					employee.setName("Employee");
+					employee.setDob(LocalDate.of(1990, 1, 1));
+					employee.setManagerId(101 + id % 5);
+					employee.setSalary(new BigDecimal("50000.00"));
+					employee.setEmailId("employee" + id + "@example.com");
+					entityManager.persist(employee);
+				}
+			});
+		}
+	}
+
+	private void update(int id) {
+		transactionTemplate.executeWithoutResult(status ->
+				employeeRepository.findById(id).orElseThrow().setSalary(new BigDecimal("60000.00")));
+	}
+
+	// What EmployeeService.deleteEmployee does to the two tables
+	private void delete(int id) {
+		transactionTemplate.executeWithoutResult(status -> {
+			Employee employee = employeeRepository.findById(id).orElseThrow();
+			employeeRepository.delete(employee);
+			tombstoneRepository.save(new EmployeeTombstone(id, employee.getManagerId(), LocalDateTime.now(), 0));
+		});
+	}
+
+	private static final class Sync {
+		private final List<Integer> changed = new ArrayList<>();
+		private final List<Integer> deleted = new ArrayList<>();
+		private String token;
+		private int pages;
+		private long bytes;
+	}
+}
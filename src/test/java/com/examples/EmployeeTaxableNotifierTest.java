@@ -0,0 +1,186 @@
+package com.examples;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.employeemanagementsystem.Employee;
+import com.employeemanagementsystem.EmployeeManagementSystemApplication;
+import com.employeemanagementsystem.EmployeeRepository;
+import com.employeemanagementsystem.EmployeeService;
+import com.employeemanagementsystem.JobCheckpoint;
+import com.employeemanagementsystem.JobCheckpointRepository;
+import com.employeemanagementsystem.NotificationEvent;
+import com.employeemanagementsystem.NotificationPipeline;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * The taxable-salary notifier in incremental mode reports each change once, reads only up to now
+ * minus the commit window and keeps that as its high-water mark, so a row stamped before a run but
+ * committed after it is reported by the next run instead of never. A run the notification queue
+ * refuses stops there and keeps the old mark.
+ */
+@DataJpaTest
+@ContextConfiguration(classes = EmployeeManagementSystemApplication.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmployeeTaxableNotifierTest {
+
+	private static final String JOB = "taxable-salary-notifier";
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private JobCheckpointRepository jobCheckpointRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	private TransactionTemplate transactionTemplate;
+	private RecordingPipeline pipeline;
+	private EmployeeService employeeService;
+
+	@BeforeEach
+	void setUp() {
+		transactionTemplate = new TransactionTemplate(transactionManager);
+		pipeline = new RecordingPipeline();
+		employeeService = new EmployeeService(employeeRepository);
+		ReflectionTestUtils.setField(employeeService, "jobCheckpointRepository", jobCheckpointRepository);
+		ReflectionTestUtils.setField(employeeService, "notificationPipeline", pipeline);
+		ReflectionTestUtils.setField(employeeService, "taxableThreshold", new BigDecimal("100000"));
+		ReflectionTestUtils.setField(employeeService, "taxableIncremental", true);
+		// Two per chunk, so the keyset loop runs over several chunks
+		ReflectionTestUtils.setField(employeeService, "notifierChunkSize", 2);
+		ReflectionTestUtils.setField(employeeService, "notifierCommitWindow", Duration.ofSeconds(5));
+
+		LocalDateTime anHourAgo = LocalDateTime.now().minusHours(1);
+		for (int id = 1; id <= 5; id++) {
+			insert(id, id <= 4 ? "150000.00" : "50000.00", anHourAgo);
+		}
+	}
+
+	@AfterEach
+	void tearDown() {
+		transactionTemplate.executeWithoutResult(status -> {
+			jobCheckpointRepository.deleteAll();
+			employeeRepository.deleteAll();
+		});
+	}
+
+	@Test
+	void incrementalRunsReportEachChangeOnceAndKeepTheCommitWindow() {
+		LocalDateTime firstRun = LocalDateTime.now();
+		assertThat(run()).containsExactly(1, 2, 3, 4);
+		LocalDateTime mark = checkpoint();
+		assertThat(mark).isBetween(firstRun.minusSeconds(6), LocalDateTime.now().minusSeconds(5));
+
+		assertThat(run()).isEmpty();
+		mark = checkpoint();
+
+		// Stamped seconds before that run, but committed only now: the mark lags behind by the commit
+		// window, so the next run still covers it
+		insert(6, "200000.00", mark.plusNanos(1_000));
+		// Changed now, within the commit window: left for a later run
+		transactionTemplate.executeWithoutResult(status ->
+				employeeRepository.findById(5).orElseThrow().setSalary(new BigDecimal("120000.00")));
+		assertThat(run()).containsExactly(6);
+
+		ReflectionTestUtils.setField(employeeService, "notifierCommitWindow", Duration.ZERO);
+		assertThat(run()).containsExactly(5);
+		assertThat(run()).isEmpty();
+	}
+
+	@Test
+	void aRefusedNotificationStopsTheRunAndKeepsTheMark() {
+		ReflectionTestUtils.setField(employeeService, "notifierCommitWindow", Duration.ZERO);
+		pipeline.accepting = 2;
+		assertThat(run()).containsExactly(1, 2);
+		assertThat(pipeline.refused).isEqualTo(1);
+		assertThat(jobCheckpointRepository.findById(JOB)).isEmpty();
+
+		pipeline.accepting = Integer.MAX_VALUE;
+		assertThat(run()).containsExactly(1, 2, 3, 4);
+		assertThat(run()).isEmpty();
+	}
+
+	@Test
+	void fullScanReportsEveryoneAboveTheThresholdAndKeepsNoCheckpoint() {
+		ReflectionTestUtils.setField(employeeService, "taxableIncremental", false);
+		assertThat(run()).containsExactly(1, 2, 3, 4);
+		assertThat(run()).containsExactly(1, 2, 3, 4);
+		assertThat(jobCheckpointRepository.findById(JOB)).isEmpty();
+	}
+
+	private List<Integer> run() {
+		pipeline.published.clear();
+		employeeService.sendTaxableSalaryMessage();
+		return new ArrayList<>(pipeline.published);
+	}
+
+	private LocalDateTime checkpoint() {
+		return jobCheckpointRepository.findById(JOB).map(JobCheckpoint::getHighWaterMark).orElseThrow();
+	}
+
+	// CREATED_DATETIME is set by @PrePersist and not updatable, so back-date it with SQL
+	private void insert(int id, String salary, LocalDateTime createdDateTime) {
+		transactionTemplate.executeWithoutResult(status -> {
+			Employee employee = new Employee();
+			employee.setEmployeeId(id);
+			employee.setName("Employee");
+			employee.setDob(LocalDate.of(1990, 1, 1));
+			employee.setManagerId(101);
+			employee.setSalary(new BigDecimal(salary));
+			employee.setEmailId("employee" + id + "@example.com");
+			entityManager.persist(employee);
+			entityManager.flush();
+			entityManager.createNativeQuery("UPDATE employee SET CREATED_DATETIME = :created WHERE EMPLOYEE_ID = :id")
+					.setParameter("created", createdDateTime)
+					.setParameter("id", id)
+					.executeUpdate();
+		});
+	}
+
+	// Accepts events until it has taken the given number in one run, then refuses the rest
+	private static final class RecordingPipeline extends NotificationPipeline {
+		private final List<Integer> published = new ArrayList<>();
+		private int accepting = Integer.MAX_VALUE;
+		private int refused;
+
+		RecordingPipeline() {
+			super(batch -> { }, new SimpleMeterRegistry(), 1, 1, 1, 1, Duration.ZERO, Duration.ZERO);
+		}
+
+		@Override
+		public boolean publish(NotificationEvent event) {
+			if (published.size() >= accepting) {
+				refused++;
+				return false;
+			}
+			published.add(event.getEmployeeId());
+			return true;
+		}
+	}
+}
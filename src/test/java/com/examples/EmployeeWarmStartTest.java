@@ -0,0 +1,231 @@
+package com.examples;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.employeemanagementsystem.Employee;
+import com.employeemanagementsystem.EmployeeCache;
+import com.employeemanagementsystem.EmployeeDTO;
+import com.employeemanagementsystem.EmployeeManagementSystemApplication;
+import com.employeemanagementsystem.EmployeeMapper;
+import com.employeemanagementsystem.EmployeeRepository;
+import com.employeemanagementsystem.EmployeeService;
+import com.employeemanagementsystem.EmployeeSyncService;
+import com.employeemanagementsystem.EmployeeTombstone;
+import com.employeemanagementsystem.EmployeeTombstoneRepository;
+import com.employeemanagementsystem.EmployeeWarmStartSnapshot;
+import com.employeemanagementsystem.PhoneNumber;
+import com.employeemanagementsystem.PhoneNumberDTO;
+import com.employeemanagementsystem.PhoneNumberRepository;
+import com.employeemanagementsystem.VoterID;
+import com.employeemanagementsystem.VoterIDRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+
+/**
+ * A warm-start snapshot prefills the employee and team caches with what the database would have
+ * returned, including the changes made after it was written, and a damaged or expired one is
+ * ignored. Write and load times and the first lookups after a start are in EmployeeWarmStartBenchmark.
+ */
+@DataJpaTest
+@ContextConfiguration(classes = EmployeeManagementSystemApplication.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmployeeWarmStartTest {
+
+	private static final int EMPLOYEES = 2_000;
+	private static final int LOOKUPS = 200;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private EmployeeTombstoneRepository tombstoneRepository;
+
+	@Autowired
+	private PhoneNumberRepository phoneNumberRepository;
+
+	@Autowired
+	private VoterIDRepository voterIDRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@TempDir
+	Path directory;
+
+	private TransactionTemplate transactionTemplate;
+	private Path file;
+
+	@BeforeEach
+	void setUp() {
+		transactionTemplate = new TransactionTemplate(transactionManager);
+		file = directory.resolve("employees.snapshot");
+	}
+
+	@AfterEach
+	void tearDown() {
+		transactionTemplate.executeWithoutResult(status -> {
+			phoneNumberRepository.deleteAllInBatch();
+			voterIDRepository.deleteAllInBatch();
+			tombstoneRepository.deleteAllInBatch();
+			employeeRepository.deleteAllInBatch();
+		});
+	}
+
+	@Test
+	void prefillsTheCachesAndCatchesUpWithLaterChanges() throws IOException {
+		seed(1, 300);
+		assertThat(snapshot(new EmployeeCache(10_000, Duration.ofMinutes(10), 100_000), Duration.ZERO).write())
+				.isEqualTo(300);
+
+		transactionTemplate.executeWithoutResult(status ->
+				employeeRepository.findById(7).orElseThrow().setSalary(new BigDecimal("60000.00")));
+		transactionTemplate.executeWithoutResult(status -> {
+			Employee employee = employeeRepository.findById(8).orElseThrow();
+			employeeRepository.delete(employee);
+			tombstoneRepository.save(new EmployeeTombstone(8, employee.getManagerId(), LocalDateTime.now(), 0));
+		});
+		seed(1_000, 1);
+
+		EmployeeCache cache = new EmployeeCache(10_000, Duration.ofMinutes(10), 100_000);
+		assertThat(snapshot(cache, Duration.ZERO).load()).isTrue();
+		EmployeeService employeeService = employeeService(cache);
+
+		// Served from the cache, as the database has them now
+		EmployeeDTO cached = employeeService.getEmployeeDTO(5).orElseThrow();
+		EmployeeDTO stored = transactionTemplate.execute(status ->
+				employeeService.findByIdWithDetails(5).map(EmployeeMapper::convertToDTO)
+						.orElseThrow());
+		assertThat(cached).usingRecursiveComparison().ignoringFields("phoneNumbers").isEqualTo(stored);
+		assertThat(cached.getPhoneNumbers()).extracting(PhoneNumberDTO::getPhoneId)
+				.containsExactlyInAnyOrderElementsOf(stored.getPhoneNumbers().stream().map(PhoneNumberDTO::getPhoneId).toList());
+		assertThat(employeeService.getEmployeeDTO(7).orElseThrow().getSalary()).isEqualByComparingTo("60000.00");
+		assertThat(employeeService.getEmployeeDTO(1_000)).isPresent();
+		assertThat(cache.stats().getMissCount()).isZero();
+		assertThat(cache.getIfPresent(8)).isNull();
+
+		// 1000 joined team 101 and 8 left team 104 (IDs 3, 8, 13, ...) after the snapshot
+		assertThat(employeeService.getTeamDTOs(101)).extracting(EmployeeDTO::getEmployeeId).contains(1_000).hasSize(61);
+		assertThat(employeeService.getTeamDTOs(104)).extracting(EmployeeDTO::getEmployeeId).doesNotContain(8).hasSize(59);
+		assertThat(employeeService.getTeamDTOs(104).get(0).getVoterID().getVoterNumber()).isEqualTo("VOTER3");
+	}
+
+	@Test
+	void ignoresAMissingDamagedOrExpiredSnapshot() throws IOException {
+		EmployeeCache cache = new EmployeeCache(10_000, Duration.ofMinutes(10), 100_000);
+		assertThat(snapshot(cache, Duration.ZERO).load()).isFalse();
+
+		seed(1, 50);
+		snapshot(cache, Duration.ZERO).write();
+		byte[] bytes = Files.readAllBytes(file);
+		bytes[bytes.length / 2] ^= 0x40;
+		Files.write(file, bytes);
+		assertThat(snapshot(cache, Duration.ZERO).load()).isFalse();
+		assertThat(cache.stats().getSize()).isZero();
+
+		// A commit window of 31 days dates the snapshot back beyond the 30 days of tombstones
+		snapshot(cache, Duration.ofDays(31)).write();
+		assertThat(snapshot(cache, Duration.ZERO).load()).isFalse();
+		assertThat(cache.stats().getSize()).isZero();
+	}
+
+	@Test
+	void aWarmStartServesTheFirstLookupsFromTheCache() throws IOException {
+		seed(1, EMPLOYEES);
+		assertThat(snapshot(new EmployeeCache(EMPLOYEES, Duration.ofMinutes(10), EMPLOYEES), Duration.ZERO).write())
+				.isEqualTo(EMPLOYEES);
+
+		EmployeeCache cold = new EmployeeCache(EMPLOYEES, Duration.ofMinutes(10), EMPLOYEES);
+		firstLookups(employeeService(cold));
+
+		EmployeeCache warm = new EmployeeCache(EMPLOYEES, Duration.ofMinutes(10), EMPLOYEES);
+		assertThat(snapshot(warm, Duration.ZERO).load()).isTrue();
+		assertThat(warm.stats().getSize()).isEqualTo(EMPLOYEES);
+		firstLookups(employeeService(warm));
+
+		assertThat(warm.stats().getMissCount()).isZero();
+		assertThat(cold.stats().getMissCount()).isPositive();
+	}
+
+	private void firstLookups(EmployeeService employeeService) {
+		Random random = new Random(42);
+		for (int i = 0; i < LOOKUPS; i++) {
+			assertThat(employeeService.getEmployeeDTO(1 + random.nextInt(EMPLOYEES))).isPresent();
+		}
+	}
+
+	private EmployeeWarmStartSnapshot snapshot(EmployeeCache cache, Duration overlap) {
+		EmployeeService employeeService = employeeService(cache);
+		EmployeeSyncService syncService = new EmployeeSyncService(employeeRepository, tombstoneRepository, employeeService,
+				100, 1_000, Duration.ZERO, Duration.ofDays(30));
+		EmployeeWarmStartSnapshot snapshot = new EmployeeWarmStartSnapshot(employeeRepository, employeeService, syncService,
+				cache, transactionManager, new SimpleMeterRegistry(), file.toString(), false, 1_000, 0, 1_000, overlap);
+		ReflectionTestUtils.setField(snapshot, "entityManager", entityManager);
+		return snapshot;
+	}
+
+	private EmployeeService employeeService(EmployeeCache cache) {
+		EmployeeService employeeService = new EmployeeService(employeeRepository);
+		ReflectionTestUtils.setField(employeeService, "phoneNumberRepository", phoneNumberRepository);
+		ReflectionTestUtils.setField(employeeService, "voterIDRepository", voterIDRepository);
+		ReflectionTestUtils.setField(employeeService, "employeeCache", cache);
+		return employeeService;
+	}
+
+	// Two phones and a voter ID each
+	private void seed(int firstId, int count) {
+		for (int from = firstId; from < firstId + count; from += 1_000) {
+			int start = from;
+			transactionTemplate.executeWithoutResult(status -> {
+				for (int id = start; id < Math.min(start + 1_000, firstId + count); id++) {
+					Employee employee = new Employee();
+					employee.setEmployeeId(id);
+					employee.setName("Employee");
+					employee.setDob(LocalDate.of(1990, 1, 1));
+					employee.setManagerId(101 + id % 5);
+					employee.setSalary(new BigDecimal("50000.00"));
+					employee.setEmailId("employee" + id + "@example.com");
+					for (int p = 0; p < 2; p++) {
+						PhoneNumber phoneNumber = new PhoneNumber();
+						phoneNumber.setPhoneId(id * 10 + p);
+						phoneNumber.setPhoneNumber("98765432" + p + id);
+						phoneNumber.setProvider("Jio");
+						phoneNumber.setType("Mobile");
+						phoneNumber.setEmployee(employee);
+					}
+					VoterID voterID = new VoterID();
+					voterID.setVoterId(id);
+					voterID.setVoterNumber("VOTER" + id);
+					voterID.setCity("Pune");
+					employee.setVoterID(voterID);
+					entityManager.persist(employee);
+				}
+			});
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package com.examples;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.data.RepositoryMetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.employeemanagementsystem.EmployeeManagementSystemApplication;
+import com.employeemanagementsystem.EmployeeRepository;
+import com.employeemanagementsystem.PhoneNumberRepository;
+import com.employeemanagementsystem.SalaryStatsService;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Repository calls and @Timed scheduled jobs show up as meters. Uses the same auto-configuration
+ * as the application, minus the web layer, and with the embedded test database instead of Hikari.
+ */
+@DataJpaTest
+@ContextConfiguration(classes = EmployeeManagementSystemApplication.class)
+@ImportAutoConfiguration({ MetricsAutoConfiguration.class, CompositeMeterRegistryAutoConfiguration.class,
+		SimpleMetricsExportAutoConfiguration.class, RepositoryMetricsAutoConfiguration.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MetricsInstrumentationTest {
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private PhoneNumberRepository phoneNumberRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void repositoryCallsAreTimedPerMethod() {
+		employeeRepository.findById(1);
+		phoneNumberRepository.count();
+
+		Timer findById = meterRegistry.find("spring.data.repository.invocations")
+				.tags("repository", "EmployeeRepository", "method", "findById", "state", "SUCCESS").timer();
+		assertThat(findById).isNotNull();
+		assertThat(findById.count()).isEqualTo(1);
+		assertThat(meterRegistry.find("spring.data.repository.invocations")
+				.tags("repository", "PhoneNumberRepository", "method", "count").timer()).isNotNull();
+	}
+
+	@Test
+	void scheduledJobRunsAreTimed() {
+		AspectJProxyFactory proxyFactory = new AspectJProxyFactory(
+				new SalaryStatsService(employeeRepository, transactionManager));
+		proxyFactory.setProxyTargetClass(true);
+		proxyFactory.addAspect(new TimedAspect(meterRegistry));
+		SalaryStatsService salaryStatsService = proxyFactory.getProxy();
+
+		salaryStatsService.reconcile();
+
+		Timer reconcile = meterRegistry.find("employee.scheduled.jobs")
+				.tags("class", SalaryStatsService.class.getName(), "method", "reconcile", "exception", "none").timer();
+		assertThat(reconcile).isNotNull();
+		assertThat(reconcile.count()).isEqualTo(1);
+	}
+}
@@ -0,0 +1,87 @@
+package com.examples;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.employeemanagementsystem.InMemoryNotificationSink;
+import com.employeemanagementsystem.NotificationEvent;
+import com.employeemanagementsystem.NotificationPipeline;
+import com.employeemanagementsystem.NotificationSink;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class NotificationPipelineTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void deliversEverythingInBatchesAndRetriesFailures() throws Exception {
+		InMemoryNotificationSink memory = new InMemoryNotificationSink();
+		AtomicInteger calls = new AtomicInteger();
+		// Every other delivery attempt fails
+		NotificationSink flaky = batch -> {
+			if (calls.incrementAndGet() % 2 == 1) {
+				throw new IOException("sink unavailable");
+			}
+			memory.deliver(batch);
+		};
+		NotificationPipeline pipeline = new NotificationPipeline(flaky, meterRegistry, 1000, 2, 50, 3, Duration.ofMillis(1),
+				Duration.ofMillis(10));
+		pipeline.start();
+		for (int i = 0; i < 500; i++) {
+			assertThat(pipeline.publish(new NotificationEvent(NotificationEvent.TAXABLE_SALARY, i, "message " + i))).isTrue();
+		}
+		pipeline.stop();
+
+		assertThat(memory.getDelivered()).hasSize(500);
+		assertThat(pipeline.stats().getDelivered()).isEqualTo(500);
+		assertThat(pipeline.stats().getRetries()).isPositive();
+		assertThat(pipeline.stats().getFailed()).isZero();
+		assertThat(meterRegistry.get("employee.notification.events").tag("outcome", "delivered").functionCounter().count())
+				.isEqualTo(500);
+		assertThat(meterRegistry.get("employee.notification.retries").functionCounter().count()).isPositive();
+		assertThat(meterRegistry.get("employee.notification.queue.depth").gauge().value()).isZero();
+	}
+
+	@Test
+	void slowSinkDoesNotBlockProducersBeyondTheOfferTimeout() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		NotificationSink stuck = batch -> {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		};
+		NotificationPipeline pipeline = new NotificationPipeline(stuck, meterRegistry, 10, 1, 5, 1, Duration.ofMillis(1),
+				Duration.ofMillis(5));
+		pipeline.start();
+
+		long start = System.nanoTime();
+		int accepted = 0;
+		for (int i = 0; i < 100; i++) {
+			if (pipeline.publish(new NotificationEvent(NotificationEvent.MISSING_VOTER_ID, i, "message " + i))) {
+				accepted++;
+			}
+		}
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		// Queue capacity plus at most one batch held by the worker
+		assertThat(accepted).isLessThanOrEqualTo(15);
+		assertThat(pipeline.stats().getDropped()).isEqualTo(100 - accepted);
+		assertThat(meterRegistry.get("employee.notification.events").tag("outcome", "dropped").functionCounter().count())
+				.isEqualTo(100 - accepted);
+		assertThat(meterRegistry.get("employee.notification.queue.capacity").gauge().value()).isEqualTo(10);
+		assertThat(elapsedMillis).isLessThan(100 * 5 + 2000);
+		release.countDown();
+		pipeline.stop();
+		assertThat(pipeline.stats().getQueueDepth()).isZero();
+	}
+}
@@ -0,0 +1,201 @@
+package com.examples;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.employeemanagementsystem.EmployeeManagementSystemApplication;
+import com.employeemanagementsystem.EmployeeRepository;
+import com.employeemanagementsystem.PayrollPartitionDTO;
+import com.employeemanagementsystem.PayrollSnapshotBand;
+import com.employeemanagementsystem.PayrollSnapshotDTO;
+import com.employeemanagementsystem.PayrollSnapshotRepository;
+import com.employeemanagementsystem.PayrollSnapshotService;
+
+/**
+ * Runs the payroll snapshot job at 1, 2, 4 and 16 threads over a synthetic table and checks every
+ * run against the same totals computed in SQL, that sparse IDs still give partitions of
+ * employees, that runs side by side stay within the payroll connection budget, and that no run
+ * asks for more threads than that budget. Speed-up and scaling efficiency are measured by
+ * PayrollSnapshotBenchmark in the benchmarks module.
+ */
+@DataJpaTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:payroll;MODE=Oracle;DB_CLOSE_DELAY=-1",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.datasource.hikari.maximum-pool-size=20",
+		"spring.jpa.hibernate.ddl-auto=none",
+		"employee.jpa-cache.enabled=false" })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = EmployeeManagementSystemApplication.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PayrollSnapshotScalingTest {
+
+	private static final int EMPLOYEES = 10_000;
+	private static final int PARTITIONS = 64;
+	private static final int[] THREADS = { 1, 2, 4, 16 };
+	private static final BigDecimal THRESHOLD = new BigDecimal("100000");
+	private static final BigDecimal[] BANDS = { new BigDecimal("0"), new BigDecimal("50000"),
+			new BigDecimal("100000"), new BigDecimal("200000") };
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private PayrollSnapshotRepository payrollSnapshotRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@BeforeAll
+	void seed() throws SQLException {
+		// Salaries 10000.00..249999.99 spread over every band
+		execute("INSERT INTO employee (EMPLOYEE_ID, EMP_NAME, DOB, MANAGER_ID, SALARY, EMAIL_ID) "
+				+ "SELECT X, 'Employee', DATE '1990-01-01', 101 + MOD(X, 5), 10000 + MOD(X * 7919, 24000000) / 100.0, "
+				+ "'employee' || X || '@example.com' FROM SYSTEM_RANGE(1, " + EMPLOYEES + ")");
+	}
+
+	@Test
+	void everyParallelismProducesTheSameSnapshot() throws SQLException {
+		BigDecimal expectedTotal = querySql("SELECT SUM(SALARY) FROM employee");
+		BigDecimal expectedTaxable = querySql("SELECT SUM(SALARY - 100000) FROM employee WHERE SALARY > 100000");
+
+		List<PayrollSnapshotDTO> runs = new ArrayList<>();
+		for (int threads : THREADS) {
+			runs.add(service().createSnapshot(threads));
+		}
+
+		for (PayrollSnapshotDTO run : runs) {
+			assertThat(run.getHeadcount()).isEqualTo(EMPLOYEES);
+			assertThat(run.getTotalSalary()).isEqualByComparingTo(expectedTotal);
+			assertThat(run.getTotalTaxable()).isEqualByComparingTo(expectedTaxable);
+			assertThat(run.getBands()).extracting(PayrollSnapshotBand::getHeadcount)
+					.isEqualTo(runs.get(0).getBands().stream().map(PayrollSnapshotBand::getHeadcount).toList());
+			assertThat(run.getPartitions()).hasSize(PARTITIONS);
+			assertThat(run.getPartitions().stream().mapToInt(PayrollPartitionDTO::getEmployees).sum()).isEqualTo(EMPLOYEES);
+		}
+		assertThat(runs).extracting(PayrollSnapshotDTO::getParallelism).containsExactly(1, 2, 4, 16);
+
+		// Written once and read back unchanged, bands included
+		PayrollSnapshotDTO stored = service().getSnapshot(runs.get(0).getSnapshotId()).orElseThrow();
+		assertThat(stored.getTotalSalary()).isEqualByComparingTo(expectedTotal);
+		assertThat(stored.getBands()).hasSize(BANDS.length);
+		assertThat(stored.getPartitions()).isNull();
+	}
+
+	@Test
+	void concurrentRunsShareTheConnectionBudget() throws Exception {
+		int budget = 3;
+		AtomicInteger reading = new AtomicInteger();
+		AtomicInteger maxReading = new AtomicInteger();
+		// Counts the partition reads in flight, each held a moment so that runs overlap
+		EmployeeRepository countingRepository = mock(EmployeeRepository.class, invocation -> {
+			boolean partitionRead = invocation.getMethod().getName().equals("findSalariesByEmployeeIdBetween");
+			if (partitionRead) {
+				maxReading.accumulateAndGet(reading.incrementAndGet(), Math::max);
+				LockSupport.parkNanos(1_000_000);
+			}
+			try {
+				return invocation.getMethod().invoke(employeeRepository, invocation.getArguments());
+			} finally {
+				if (partitionRead) {
+					reading.decrementAndGet();
+				}
+			}
+		});
+		PayrollSnapshotService service = service(countingRepository, budget);
+
+		ExecutorService callers = Executors.newFixedThreadPool(2);
+		try {
+			Future<PayrollSnapshotDTO> first = callers.submit(() -> service.createSnapshot(budget));
+			Future<PayrollSnapshotDTO> second = callers.submit(() -> service.createSnapshot(null));
+			assertThat(first.get().getParallelism()).isEqualTo(budget);
+			assertThat(second.get().getParallelism()).isEqualTo(budget);
+			assertThat(second.get().getHeadcount()).isEqualTo(EMPLOYEES);
+		} finally {
+			callers.shutdownNow();
+		}
+		assertThat(maxReading.get()).isLessThanOrEqualTo(budget);
+	}
+
+	@Test
+	void sparseIdsAreCutIntoPartitionsOfEmployeesNotOfIds() throws SQLException {
+		execute("INSERT INTO employee (EMPLOYEE_ID, EMP_NAME, DOB, MANAGER_ID, SALARY, EMAIL_ID) "
+				+ "SELECT X, 'Employee', DATE '1990-01-01', 101, 50000, 'employee' || X || '@example.com' "
+				+ "FROM (VALUES 1000000000, 2000000000) AS IDS(X)");
+		try {
+			PayrollSnapshotDTO run = service().createSnapshot(4);
+
+			// Fixed-width ID slices would have been some 12 million, nearly all of them empty
+			assertThat(run.getHeadcount()).isEqualTo(EMPLOYEES + 2);
+			assertThat(run.getPartitions()).hasSize(PARTITIONS);
+			assertThat(run.getPartitions()).allSatisfy(partition -> assertThat(partition.getEmployees())
+					.isLessThanOrEqualTo((EMPLOYEES + PARTITIONS - 1) / PARTITIONS));
+			assertThat(run.getPartitions().get(0).getFromId()).isEqualTo(1);
+			assertThat(run.getPartitions().get(PARTITIONS - 1).getToId()).isEqualTo(2_000_000_000);
+		} finally {
+			execute("DELETE FROM employee WHERE EMPLOYEE_ID > " + EMPLOYEES);
+		}
+	}
+
+	@Test
+	void parallelismBeyondTheConnectionBudgetIsRejected() {
+		assertThatThrownBy(() -> service(employeeRepository, 4).createSnapshot(8))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Parallelism must be between 1 and employee.payroll.max-connections (4)");
+		assertThatThrownBy(() -> service().createSnapshot(-1)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private PayrollSnapshotService service() {
+		return service(employeeRepository, THREADS[THREADS.length - 1]);
+	}
+
+	private PayrollSnapshotService service(EmployeeRepository repository, int maxConnections) {
+		return new PayrollSnapshotService(repository, payrollSnapshotRepository, transactionManager, THRESHOLD,
+				BANDS, (EMPLOYEES + PARTITIONS - 1) / PARTITIONS, 0, maxConnections);
+	}
+
+	private void execute(String sql) throws SQLException {
+		try (Connection connection = dataSource.getConnection()) {
+			connection.createStatement().execute(sql);
+		}
+	}
+
+	private BigDecimal querySql(String sql) throws SQLException {
+		try (Connection connection = dataSource.getConnection();
+				ResultSet resultSet = connection.createStatement().executeQuery(sql)) {
+			resultSet.next();
+			return resultSet.getBigDecimal(1);
+		}
+	}
+}
@@ -0,0 +1,244 @@
+package com.examples;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.employeemanagementsystem.Employee;
+import com.employeemanagementsystem.EmployeeManagementSystemApplication;
+import com.employeemanagementsystem.EmployeeRepository;
+import com.employeemanagementsystem.SalarySketch;
+import com.employeemanagementsystem.SalaryStatsDTO;
+import com.employeemanagementsystem.SalaryStatsService;
+
+/**
+ * Salary stats built from the table, moved by deltas, and repaired by reconciliation when rows
+ * change behind their back, without losing deltas that arrive during a rebuild or mistaking ones
+ * still on their way for drift. Also checks the sketch's percentile error bound.
+ */
+@DataJpaTest
+@ContextConfiguration(classes = EmployeeManagementSystemApplication.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SalaryStatsServiceTest {
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private TransactionTemplate transactionTemplate;
+
+	private SalaryStatsService salaryStatsService;
+
+	// Manager 101: 10000, 20000, 30000; manager 102: 40000, 50000
+	@BeforeEach
+	void seedEmployees() {
+		transactionTemplate = new TransactionTemplate(transactionManager);
+		transactionTemplate.executeWithoutResult(status -> {
+			employeeRepository.save(employee(1, 101, "10000.00"));
+			employeeRepository.save(employee(2, 101, "20000.00"));
+			employeeRepository.save(employee(3, 101, "30000.00"));
+			employeeRepository.save(employee(4, 102, "40000.00"));
+			employeeRepository.save(employee(5, 102, "50000.00"));
+		});
+		salaryStatsService = statsService(employeeRepository);
+		salaryStatsService.rebuild();
+	}
+
+	@AfterEach
+	void deleteEmployees() {
+		transactionTemplate.executeWithoutResult(status -> employeeRepository.deleteAll());
+	}
+
+	@Test
+	void statsAreComputedPerManagerAndCompanyWide() {
+		SalaryStatsDTO company = salaryStatsService.getCompanyStats();
+		assertThat(company.getCount()).isEqualTo(5);
+		assertThat(company.getTotal()).isEqualByComparingTo("150000");
+		assertThat(company.getAverage()).isEqualByComparingTo("30000");
+		assertThat(company.getMin()).isEqualByComparingTo("10000");
+		assertThat(company.getMax()).isEqualByComparingTo("50000");
+		assertThat(company.getP50().doubleValue()).isCloseTo(30000, within(300.0));
+
+		SalaryStatsDTO manager = salaryStatsService.getManagerStats(102);
+		assertThat(manager.getCount()).isEqualTo(2);
+		assertThat(manager.getAverage()).isEqualByComparingTo("45000");
+		assertThat(salaryStatsService.getAllStats().getManagers()).extracting(SalaryStatsDTO::getManagerId)
+				.containsExactly(101, 102);
+		assertThat(salaryStatsService.getManagerStats(999)).isNull();
+	}
+
+	@Test
+	void deltasMoveSalariesBetweenManagers() {
+		// Outside a transaction the deltas apply at once
+		Employee promoted = employee(1, 102, "60000.00");
+		salaryStatsService.changeAfterCommit(101, new BigDecimal("10000.00"), promoted);
+		salaryStatsService.addAfterCommit(employee(6, 103, "5000.00"));
+		salaryStatsService.removeAfterCommit(employee(5, 102, "50000.00"));
+
+		// The only employee at 101's min left, so the next one is read off the sketch until reconciled
+		assertThat(salaryStatsService.getManagerStats(101).getMin().doubleValue()).isCloseTo(20000, within(200.0));
+		assertThat(salaryStatsService.getManagerStats(102).getMax()).isEqualByComparingTo("60000");
+		assertThat(salaryStatsService.getManagerStats(102).getCount()).isEqualTo(2);
+		assertThat(salaryStatsService.getCompanyStats().getTotal()).isEqualByComparingTo("155000");
+		assertThat(salaryStatsService.getCompanyStats().getMin()).isEqualByComparingTo("5000");
+		assertThat(salaryStatsService.getCompanyStats().getMax()).isEqualByComparingTo("60000");
+	}
+
+	@Test
+	void extremesReadOffTheSketchAreMadeExactByReconciliation() {
+		transactionTemplate.executeWithoutResult(status -> {
+			employeeRepository.deleteById(1);
+			employeeRepository.deleteById(5);
+		});
+		salaryStatsService.removeAfterCommit(employee(1, 101, "10000.00"));
+		salaryStatsService.removeAfterCommit(employee(5, 102, "50000.00"));
+		assertThat(salaryStatsService.getManagerStats(101).getMin()).isNotEqualByComparingTo("20000");
+		assertThat(salaryStatsService.getCompanyStats().getMax()).isNotEqualByComparingTo("40000");
+
+		assertThat(salaryStatsService.reconcile()).isZero();
+		assertThat(salaryStatsService.getManagerStats(101).getMin()).isEqualByComparingTo("20000");
+		assertThat(salaryStatsService.getManagerStats(102).getMax()).isEqualByComparingTo("40000");
+		assertThat(salaryStatsService.getCompanyStats().getMin()).isEqualByComparingTo("20000");
+		assertThat(salaryStatsService.getCompanyStats().getMax()).isEqualByComparingTo("40000");
+
+		// Exact again, and moved exactly by the next deltas
+		salaryStatsService.addAfterCommit(employee(6, 101, "15000.00"));
+		assertThat(salaryStatsService.getManagerStats(101).getMin()).isEqualByComparingTo("15000");
+	}
+
+	@Test
+	void reconciliationRepairsDrift() {
+		assertThat(salaryStatsService.reconcile()).isZero();
+
+		// Written without going through EmployeeService, so no delta is applied
+		transactionTemplate.executeWithoutResult(status -> {
+			employeeRepository.findById(2).orElseThrow().setSalary(new BigDecimal("25000.00"));
+			employeeRepository.save(employee(6, 103, "70000.00"));
+		});
+
+		assertThat(salaryStatsService.reconcile()).isEqualTo(3);
+		assertThat(salaryStatsService.getManagerStats(101).getTotal()).isEqualByComparingTo("65000");
+		assertThat(salaryStatsService.getManagerStats(103).getCount()).isEqualTo(1);
+		assertThat(salaryStatsService.getCompanyStats().getMax()).isEqualByComparingTo("70000");
+		assertThat(salaryStatsService.reconcile()).isZero();
+	}
+
+	@Test
+	void deltasArrivingDuringARebuildAreReplayedOnTheRebuiltGroups() {
+		EmployeeRepository repository = mock(EmployeeRepository.class, AdditionalAnswers.delegatesTo(employeeRepository));
+		SalaryStatsService service = statsService(repository);
+		doAnswer(invocation -> {
+			Stream<Object[]> rows = employeeRepository.streamManagerSalaries();
+			// Committed after the scan's snapshot, delivered while it runs
+			CompletableFuture.runAsync(() -> service.addAfterCommit(employee(6, 102, "60000.00"))).join();
+			return rows;
+		}).when(repository).streamManagerSalaries();
+
+		service.rebuild();
+
+		assertThat(service.getManagerStats(102).getCount()).isEqualTo(3);
+		assertThat(service.getManagerStats(102).getMax()).isEqualByComparingTo("60000");
+		assertThat(service.getCompanyStats().getTotal()).isEqualByComparingTo("210000");
+
+		// Later deltas apply once, as before
+		service.removeAfterCommit(employee(6, 102, "60000.00"));
+		assertThat(service.getCompanyStats().getCount()).isEqualTo(5);
+	}
+
+	@Test
+	void aDeltaStillOnItsWayIsNotTakenForDrift() {
+		EmployeeRepository repository = mock(EmployeeRepository.class, AdditionalAnswers.delegatesTo(employeeRepository));
+		SalaryStatsService service = statsService(repository);
+		service.rebuild();
+		// Committed, but its after-commit delta has not arrived when the GROUP BY runs
+		Employee created = transactionTemplate.execute(status -> employeeRepository.save(employee(6, 103, "70000.00")));
+		AtomicInteger summaries = new AtomicInteger();
+		doAnswer(invocation -> {
+			if (summaries.incrementAndGet() == 2) {
+				service.addAfterCommit(created);
+			}
+			return employeeRepository.summarizeSalariesByManager();
+		}).when(repository).summarizeSalariesByManager();
+
+		assertThat(service.reconcile()).isZero();
+		assertThat(summaries).hasValue(2);
+		// No rebuild beyond the first
+		verify(repository, times(1)).streamManagerSalaries();
+		assertThat(service.getManagerStats(103).getCount()).isEqualTo(1);
+		assertThat(service.getCompanyStats().getCount()).isEqualTo(6);
+	}
+
+	@Test
+	void sketchPercentilesStayWithinOnePercent() {
+		Random random = new Random(7);
+		double[] salaries = new double[100_000];
+		SalarySketch sketch = new SalarySketch();
+		SalarySketch left = new SalarySketch();
+		SalarySketch right = new SalarySketch();
+		for (int i = 0; i < salaries.length; i++) {
+			salaries[i] = Math.round(Math.exp(10 + random.nextGaussian()) * 100) / 100.0 + 1;
+			sketch.add(salaries[i]);
+			(i % 2 == 0 ? left : right).add(salaries[i]);
+		}
+		left.merge(right);
+		double[] sorted = salaries.clone();
+		Arrays.sort(sorted);
+
+		for (double q : new double[] { 0.01, 0.5, 0.9, 0.99, 1.0 }) {
+			double exact = sorted[(int) Math.floor(q * (sorted.length - 1))];
+			assertThat(sketch.quantile(q)).isCloseTo(exact, within(exact * 0.01));
+			assertThat(left.quantile(q)).isEqualTo(sketch.quantile(q));
+		}
+
+		// Removing the even-indexed salaries leaves exactly the odd-indexed sketch
+		for (int i = 0; i < salaries.length; i += 2) {
+			sketch.remove(salaries[i]);
+		}
+		assertThat(sketch.count()).isEqualTo(right.count());
+		assertThat(sketch.quantile(0.5)).isEqualTo(right.quantile(0.5));
+	}
+
+	private SalaryStatsService statsService(EmployeeRepository repository) {
+		SalaryStatsService service = new SalaryStatsService(repository, transactionManager);
+		ReflectionTestUtils.setField(service, "reconcileGrace", Duration.ZERO);
+		return service;
+	}
+
+	private static Employee employee(int id, int managerId, String salary) {
+		Employee employee = new Employee();
+		employee.setEmployeeId(id);
+		employee.setName("Employee");
+		employee.setDob(LocalDate.of(1990, 1, 1));
+		employee.setManagerId(managerId);
+		employee.setSalary(new BigDecimal(salary));
+		employee.setEmailId("employee" + id + "@example.com");
+		return employee;
+	}
+}